@@ -0,0 +1,78 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.utils.AmortizationKernel;
+import br.com.installmentmicroservice.utils.MathRecipesUtil;
+import br.com.installmentmicroservice.utils.ScheduleBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the fixed-point kernel against the previous DecimalFormat based rounding of sacCalculation and
+ ** priceCalculation. Maturity dates and logging are left out so only the amortization arithmetic is measured.
+ ** Run it from the shaded jar of this module: mvn package, then java -jar target/benchmarks.jar AmortizationKernel */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmortizationKernelBenchmark {
+
+    @Param({"12", "120", "360", "999"})
+    int numberOfInstallments;
+
+    LoanDTO loan;
+    ScheduleBuffer buffer;
+    DecimalFormat df;
+
+    @Setup
+    public void setup() {
+        loan = BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.PRICE);
+        buffer = new ScheduleBuffer(numberOfInstallments);
+        df = new DecimalFormat("0.00");
+    }
+
+    @Benchmark
+    public void legacySac(Blackhole blackhole) {
+        double amortizationValue = (loan.getOriginalValue() / loan.getNumberOfInstallments());
+        double debitBalance = loan.getOriginalValue();
+        for (int i = 1; i <= loan.getNumberOfInstallments(); i++) {
+            blackhole.consume(Double.valueOf(df.format(amortizationValue).replace(",", ".")));
+            double interest = (debitBalance / 100) * loan.getInterestRate();
+            blackhole.consume(Double.valueOf(df.format(interest).replace(",", ".")));
+            blackhole.consume(Double.valueOf(df.format(amortizationValue + interest).replace(",", ".")));
+            debitBalance -= amortizationValue;
+        }
+    }
+
+    @Benchmark
+    public void legacyPrice(Blackhole blackhole) {
+        double debitBalance = loan.getOriginalValue();
+        double value = MathRecipesUtil.priceInstallmentValueRecipe(loan);
+        for (int i = 1; i <= loan.getNumberOfInstallments(); i++) {
+            blackhole.consume(Double.valueOf(df.format(value).replace(",", ".")));
+            double interest = debitBalance * (loan.getInterestRate() / 100);
+            blackhole.consume(Double.valueOf(df.format(interest).replace(",", ".")));
+            double amortizationValue = (value - interest);
+            blackhole.consume(Double.valueOf(df.format(amortizationValue).replace(",", ".")));
+            debitBalance -= amortizationValue;
+        }
+    }
+
+    @Benchmark
+    public ScheduleBuffer kernelSac() {
+        AmortizationKernel.sac(loan, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ScheduleBuffer kernelPrice() {
+        AmortizationKernel.price(loan, buffer);
+        return buffer;
+    }
+
+}
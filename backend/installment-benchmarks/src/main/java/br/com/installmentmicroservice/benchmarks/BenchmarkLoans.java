@@ -0,0 +1,17 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.models.enums.PaymentDateEnum;
+
+/** Loan used by every benchmark, so the results of different benchmarks stay comparable */
+class BenchmarkLoans {
+
+    BenchmarkLoans() {}
+
+    static LoanDTO loan(int numberOfInstallments, AmortizationEnum amortization) {
+        return new LoanDTO("2022-08-02", 250000.0, 1.15, numberOfInstallments, PaymentDateEnum.FIFTH_BUSINESS_DAY,
+                amortization);
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.services.InstallmentCalculationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Whole schedule calculation of InstallmentCalculationService, without the schedule cache */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstallmentCalculationBenchmark {
+
+    @Param({"12", "120", "360", "999"})
+    int numberOfInstallments;
+
+    InstallmentCalculationService service;
+    LoanDTO sacLoan;
+    LoanDTO priceLoan;
+
+    @Setup
+    public void setup() {
+        service = new InstallmentCalculationService();
+        sacLoan = BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.SAC);
+        priceLoan = BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.PRICE);
+    }
+
+    @Benchmark
+    public List<InstallmentDTO> sacCalculation() throws ParseException {
+        return service.sacCalculation(sacLoan);
+    }
+
+    @Benchmark
+    public List<InstallmentDTO> priceCalculation() throws ParseException {
+        return service.priceCalculation(priceLoan);
+    }
+
+}
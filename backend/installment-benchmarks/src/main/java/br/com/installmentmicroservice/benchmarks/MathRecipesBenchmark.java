@@ -0,0 +1,33 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.utils.MathRecipesUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathRecipesBenchmark {
+
+    @Param({"12", "120", "360", "999"})
+    int numberOfInstallments;
+
+    LoanDTO loan;
+
+    @Setup
+    public void setup() {
+        loan = BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.PRICE);
+    }
+
+    @Benchmark
+    public Double priceInstallmentValueRecipe() {
+        return MathRecipesUtil.priceInstallmentValueRecipe(loan);
+    }
+
+}
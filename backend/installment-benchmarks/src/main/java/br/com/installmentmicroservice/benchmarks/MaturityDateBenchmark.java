@@ -0,0 +1,46 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.utils.MaturityDateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/** Maturity dates of a whole schedule, calculated one installment at a time (as the service used to) and as a
+ ** single series */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaturityDateBenchmark {
+
+    @Param({"12", "120", "360", "999"})
+    int numberOfInstallments;
+
+    MaturityDateUtil maturityDateUtil;
+    LoanDTO loan;
+
+    @Setup
+    public void setup() {
+        maturityDateUtil = new MaturityDateUtil();
+        loan = BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.SAC);
+    }
+
+    @Benchmark
+    public void maturityDateCalculation(Blackhole blackhole) throws ParseException {
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            blackhole.consume(maturityDateUtil.maturityDateCalculation(loan, i));
+        }
+    }
+
+    @Benchmark
+    public String[] maturityDateSeries() throws ParseException {
+        return maturityDateUtil.maturityDateSeries(loan);
+    }
+
+}
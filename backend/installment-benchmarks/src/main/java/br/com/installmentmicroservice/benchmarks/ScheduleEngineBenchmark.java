@@ -0,0 +1,59 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.utils.LoanColumns;
+import br.com.installmentmicroservice.utils.ScalarScheduleEngine;
+import br.com.installmentmicroservice.utils.ScheduleBuffer;
+import br.com.installmentmicroservice.utils.VectorScheduleEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Batch pricing of loans with different rates and terms by the scalar and the SIMD schedule engines */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScheduleEngineBenchmark {
+
+    @Param({"12", "120", "360", "999"})
+    int numberOfInstallments;
+
+    @Param({"PRICE", "SAC"})
+    AmortizationEnum amortization;
+
+    LoanColumns loans;
+    ScheduleBuffer[] buffers;
+    ScalarScheduleEngine scalar;
+    VectorScheduleEngine vector;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        loans = new LoanColumns(1024);
+        buffers = new ScheduleBuffer[1024];
+        for (int i = 0; i < 1024; i++) {
+            loans.add(1000 + random.nextInt(500000), 0.5 + random.nextInt(300) / 100.0,
+                    numberOfInstallments - random.nextInt(Math.max(1, numberOfInstallments / 10)), amortization);
+            buffers[i] = new ScheduleBuffer(numberOfInstallments);
+        }
+        scalar = new ScalarScheduleEngine();
+        vector = new VectorScheduleEngine();
+    }
+
+    @Benchmark
+    public ScheduleBuffer[] scalarEngine() {
+        scalar.calculate(loans, buffers);
+        return buffers;
+    }
+
+    @Benchmark
+    public ScheduleBuffer[] vectorEngine() {
+        vector.calculate(loans, buffers);
+        return buffers;
+    }
+
+}
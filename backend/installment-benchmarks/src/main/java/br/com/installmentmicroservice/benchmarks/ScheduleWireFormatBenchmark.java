@@ -0,0 +1,67 @@
+package br.com.installmentmicroservice.benchmarks;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.services.InstallmentCalculationService;
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Serialization of a calculated schedule as the JSON array and as the binary ScheduleWireFormat, on the way out of the
+ ** installment-service and on the way into the loan-api. The payload sizes are printed by the setup */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleWireFormatBenchmark {
+
+    private static final TypeReference<List<InstallmentDTO>> SCHEDULE = new TypeReference<>() {};
+
+    @Param({"12", "360", "999"})
+    int numberOfInstallments;
+
+    ObjectMapper objectMapper;
+    List<InstallmentDTO> installments;
+    byte[] json;
+    byte[] binary;
+
+    @Setup
+    public void setup() throws ParseException, IOException {
+        objectMapper = new ObjectMapper();
+        installments = new InstallmentCalculationService().priceCalculation(
+                BenchmarkLoans.loan(numberOfInstallments, AmortizationEnum.PRICE));
+        json = objectMapper.writeValueAsBytes(installments);
+        binary = ScheduleWireFormat.encode(installments);
+        System.out.printf("%n%d installments: json %d bytes, binary %d bytes%n",
+                numberOfInstallments, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(installments);
+    }
+
+    @Benchmark
+    public List<InstallmentDTO> jsonDecode() throws IOException {
+        return objectMapper.readValue(json, SCHEDULE);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return ScheduleWireFormat.encode(installments);
+    }
+
+    @Benchmark
+    public List<InstallmentDTO> binaryDecode() {
+        return ScheduleWireFormat.decode(binary);
+    }
+
+}
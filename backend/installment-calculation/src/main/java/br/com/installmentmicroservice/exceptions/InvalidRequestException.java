@@ -0,0 +1,10 @@
+package br.com.installmentmicroservice.exceptions;
+
+/** Exception used in cases of invalid request params. The installment-service answers it with a 400 */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+}
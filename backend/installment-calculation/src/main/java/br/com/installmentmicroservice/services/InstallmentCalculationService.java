@@ -0,0 +1,207 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.utils.AmortizationKernel;
+import br.com.installmentmicroservice.utils.BusinessDayCalendar;
+import br.com.installmentmicroservice.utils.MaturityDateUtil;
+import br.com.installmentmicroservice.utils.ScheduleBuffer;
+import br.com.installmentmicroservice.utils.ScheduleCursor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Installment calculation engine, free of any framework so the installment-service and the loan-api, when it falls
+ ** back to calculating in-process, produce exactly the same schedules */
+@Slf4j
+public class InstallmentCalculationService {
+
+    private static final ThreadLocal<ScheduleBuffer> SCHEDULE_BUFFER = ThreadLocal.withInitial(() -> new ScheduleBuffer(360));
+
+    ScheduleCache scheduleCache;
+
+    MaturityDateUtil maturityDateUtil;
+
+    /** Calculates the maturity dates with the holidays bundled in BusinessDayCalendar.DEFAULT_HOLIDAYS_RESOURCE */
+    public InstallmentCalculationService() {
+        this(BusinessDayCalendar.defaultCalendar(), null);
+    }
+
+    /** Every calculated schedule is memoized in the cache, when there is one */
+    public InstallmentCalculationService(BusinessDayCalendar calendar, ScheduleCache scheduleCache) {
+        this.maturityDateUtil = new MaturityDateUtil(calendar);
+        this.scheduleCache = scheduleCache;
+    }
+
+    public List<InstallmentDTO> installmentDistributorByAmortizationType(LoanDTO loan) throws ParseException {
+
+        LocalDate startDate = MaturityDateUtil.parseStartDate(loan.getStartDate());
+
+        if (scheduleCache == null) {
+            return calculate(loan, startDate);
+        }
+
+        return scheduleCache.get(loan, startDate, () -> calculate(loan, startDate));
+
+    }
+
+    public List<InstallmentDTO> sacCalculation(LoanDTO loan) throws ParseException {
+        long startedAt = System.nanoTime();
+        ScheduleBuffer buffer = SCHEDULE_BUFFER.get();
+        AmortizationKernel.sac(loan, buffer);
+        return toInstallments(loan, MaturityDateUtil.parseStartDate(loan.getStartDate()), buffer, startedAt);
+    }
+
+    public List<InstallmentDTO> priceCalculation(LoanDTO loan) throws ParseException {
+        long startedAt = System.nanoTime();
+        ScheduleBuffer buffer = SCHEDULE_BUFFER.get();
+        AmortizationKernel.price(loan, buffer);
+        return toInstallments(loan, MaturityDateUtil.parseStartDate(loan.getStartDate()), buffer, startedAt);
+    }
+
+    private List<InstallmentDTO> calculate(LoanDTO loan, LocalDate startDate) {
+
+        long startedAt = System.nanoTime();
+        ScheduleBuffer buffer = SCHEDULE_BUFFER.get();
+
+        if (loan.getAmortization().equals(AmortizationEnum.SAC)) {
+            AmortizationKernel.sac(loan, buffer);
+        }
+        else {
+            AmortizationKernel.price(loan, buffer);
+        }
+
+        return toInstallments(loan, startDate, buffer, startedAt);
+
+    }
+
+    /** The cached schedule of the loan, or null when it has to be calculated */
+    public List<InstallmentDTO> cachedSchedule(LoanDTO loan, LocalDate startDate) {
+        return scheduleCache == null ? null : scheduleCache.getIfPresent(loan, startDate);
+    }
+
+    /** Turns a schedule calculated by a ScheduleEngine into installments, caching it like any other schedule */
+    public List<InstallmentDTO> installmentsOf(LoanDTO loan, LocalDate startDate, ScheduleBuffer buffer) {
+
+        long startedAt = System.nanoTime();
+
+        if (scheduleCache == null) {
+            return toInstallments(loan, startDate, buffer, startedAt);
+        }
+
+        return scheduleCache.get(loan, startDate, () -> toInstallments(loan, startDate, buffer, startedAt));
+
+    }
+
+    /** Calculates only the installments from..to (1-based, inclusive) by jumping to the first one and walking from
+     ** there, so only the range is built. The installments are exactly the same slice of the whole schedule */
+    public List<InstallmentDTO> installmentRange(LoanDTO loan, int from, int to) throws ParseException {
+
+        if (from < 1 || to > loan.getNumberOfInstallments() || from > to) {
+            throw new InvalidRequestException("The installment range must be inside 1.." + loan.getNumberOfInstallments());
+        }
+
+        LocalDate startDate = MaturityDateUtil.parseStartDate(loan.getStartDate());
+        ScheduleCursor cursor = new ScheduleCursor(loan, loan.getAmortization());
+        List<InstallmentDTO> installmentsList = new ArrayList<>(to - from + 1);
+
+        cursor.moveTo(from);
+        for (int month = from; month <= to; month++, cursor.next()) {
+            installmentsList.add(new InstallmentDTO(
+                    null,
+                    maturityDateUtil.maturityDateCalculation(startDate, loan.getPaymentDate(), month),
+                    null,
+                    month,
+                    AmortizationKernel.toUnits(cursor.amortization()),
+                    AmortizationKernel.toUnits(cursor.interest()),
+                    AmortizationKernel.toUnits(cursor.value()),
+                    null));
+        }
+
+        return installmentsList;
+
+    }
+
+    /** Calculates the installments one at a time, handing each one to the consumer as soon as it is computed and
+     ** without keeping the schedule in memory. The same InstallmentDTO instance is reused between the calls */
+    public void streamInstallments(LoanDTO loan, InstallmentConsumer consumer) throws ParseException, IOException {
+        streamInstallments(loan, MaturityDateUtil.parseStartDate(loan.getStartDate()), consumer);
+    }
+
+    public void streamInstallments(LoanDTO loan, LocalDate startDate, InstallmentConsumer consumer) throws IOException {
+
+        long startedAt = System.nanoTime();
+        ScheduleCursor cursor = new ScheduleCursor(loan, loan.getAmortization());
+        InstallmentDTO installment = new InstallmentDTO();
+        long totalInterest = 0;
+
+        while (cursor.next()) {
+            totalInterest += cursor.interest();
+            installment.setMonth(cursor.month());
+            installment.setMaturityDate(
+                    maturityDateUtil.maturityDateCalculation(startDate, loan.getPaymentDate(), cursor.month()));
+            installment.setAmortization(AmortizationKernel.toUnits(cursor.amortization()));
+            installment.setInterest(AmortizationKernel.toUnits(cursor.interest()));
+            installment.setValue(AmortizationKernel.toUnits(cursor.value()));
+            consumer.accept(installment);
+        }
+
+        logSummary(loan, totalInterest, startedAt);
+
+    }
+
+    private List<InstallmentDTO> toInstallments(LoanDTO loan, LocalDate startDate, ScheduleBuffer buffer,
+                                                long startedAt) {
+
+        String[] maturityDates = maturityDateUtil.maturityDateSeries(startDate, loan.getPaymentDate(), buffer.size());
+        List<InstallmentDTO> installmentsList = new ArrayList<>(buffer.size());
+        boolean debug = log.isDebugEnabled();
+        long totalInterest = 0;
+
+        for (int i = 0; i < buffer.size(); i++) {
+
+            InstallmentDTO installment = new InstallmentDTO();
+
+            installment.setMonth(i + 1);
+            installment.setPaymentDate(null);
+            installment.setMaturityDate(maturityDates[i]);
+            installment.setAmortization(AmortizationKernel.toUnits(buffer.amortization(i)));
+            installment.setInterest(AmortizationKernel.toUnits(buffer.interest(i)));
+            installment.setValue(AmortizationKernel.toUnits(buffer.value(i)));
+            if (debug) {
+                log.debug("[PROGRESS] {}° installment - amortization: ${}, interest: ${}, value: ${}",
+                        i + 1, installment.getAmortization(), installment.getInterest(), installment.getValue());
+            }
+
+            totalInterest += buffer.interest(i);
+            installmentsList.add(installment);
+
+        }
+
+        logSummary(loan, totalInterest, startedAt);
+        return installmentsList;
+
+    }
+
+    /** The single INFO line of a calculated schedule. Every installment is only logged at DEBUG */
+    private void logSummary(LoanDTO loan, long totalInterest, long startedAt) {
+        if (!log.isInfoEnabled()) return;
+        log.info("[SUCCESS] {} schedule of {} installments - principal: ${}, interest: ${}, total: ${} in {} us",
+                loan.getAmortization(), loan.getNumberOfInstallments(), loan.getOriginalValue(),
+                AmortizationKernel.toUnits(totalInterest),
+                AmortizationKernel.toUnits(AmortizationKernel.toCents(loan.getOriginalValue()) + totalInterest),
+                (System.nanoTime() - startedAt) / 1_000);
+    }
+
+    @FunctionalInterface
+    public interface InstallmentConsumer {
+        void accept(InstallmentDTO installment) throws IOException;
+    }
+
+}
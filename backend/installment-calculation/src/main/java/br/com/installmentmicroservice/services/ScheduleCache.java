@@ -0,0 +1,20 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/** Memo of the schedules calculated by the InstallmentCalculationService, keyed by the loan fields they depend on.
+ ** The schedules returned are shared by every caller and can't be changed */
+public interface ScheduleCache {
+
+    /** The cached schedule, calculated and cached first when it isn't cached */
+    List<InstallmentDTO> get(LoanDTO loan, LocalDate startDate, Supplier<List<InstallmentDTO>> calculation);
+
+    /** The cached schedule, or null when it isn't cached */
+    List<InstallmentDTO> getIfPresent(LoanDTO loan, LocalDate startDate);
+
+}
@@ -0,0 +1,40 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+
+/** Fixed-point amortization kernel. Balances, interests and amortizations are kept in centavos (long) and rounded
+ ** HALF_EVEN with Math.rint, so the result no longer depends on the JVM locale. The residue left by rounding is
+ ** absorbed by the last installment, which always settles the remaining balance exactly */
+public class AmortizationKernel {
+
+    AmortizationKernel() {}
+
+    public static void sac(LoanDTO loan, ScheduleBuffer buffer) {
+        fill(new ScheduleCursor(loan, AmortizationEnum.SAC), loan.getNumberOfInstallments(), buffer);
+    }
+
+    public static void price(LoanDTO loan, ScheduleBuffer buffer) {
+        fill(new ScheduleCursor(loan, AmortizationEnum.PRICE), loan.getNumberOfInstallments(), buffer);
+    }
+
+    static void fill(ScheduleCursor cursor, int numberOfInstallments, ScheduleBuffer buffer) {
+        buffer.reset(numberOfInstallments);
+        while (cursor.next()) {
+            buffer.set(cursor.month() - 1, cursor.amortization(), cursor.interest());
+        }
+    }
+
+    public static long toCents(double value) {
+        return roundHalfEven(value * 100);
+    }
+
+    public static double toUnits(long cents) {
+        return cents / 100.0;
+    }
+
+    public static long roundHalfEven(double value) {
+        return (long) Math.rint(value);
+    }
+
+}
@@ -0,0 +1,270 @@
+package br.com.installmentmicroservice.utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** Business day calendar: weekdays that are not holidays. Holidays are read from a text file with one rule per line:
+ **   MM-dd          every year (e.g. 12-25)
+ **   yyyy-MM-dd     only that year
+ **   easter+N       N days from the easter sunday (e.g. easter-2 for good friday)
+ ** optionally followed by "from yyyy" when the rule only applies from that year on. Anything after # is a comment.
+ ** Every year is precomputed once into a bitset of business days plus index arrays, so the n-th business day, the
+ ** last business day and the next business day of any date are plain array lookups. Years between FIRST_CACHED_YEAR
+ ** and LAST_CACHED_YEAR are kept, others are computed on demand */
+public class BusinessDayCalendar {
+
+    public static final String DEFAULT_HOLIDAYS_RESOURCE = "calendar/holidays.txt";
+
+    private static final int FIRST_CACHED_YEAR = 1900;
+    private static final int LAST_CACHED_YEAR = 2199;
+
+    /** Days of the following year covered by a year, so the next business day of december 31 is still a lookup */
+    private static final int LOOKAHEAD_DAYS = 31;
+
+    private final List<HolidayRule> rules;
+    private final AtomicReferenceArray<BusinessYear> years =
+            new AtomicReferenceArray<>(LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1);
+
+    BusinessDayCalendar(List<HolidayRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public static BusinessDayCalendar defaultCalendar() {
+        return DefaultCalendarHolder.CALENDAR;
+    }
+
+    public static BusinessDayCalendar fromFile(Path holidaysFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(holidaysFile, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    public static BusinessDayCalendar fromClasspath(String resource) throws IOException {
+        InputStream input = BusinessDayCalendar.class.getClassLoader().getResourceAsStream(resource);
+        if (input == null) throw new FileNotFoundException("Holidays resource not found: " + resource);
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    public static BusinessDayCalendar parse(Reader holidays) throws IOException {
+
+        List<HolidayRule> rules = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(holidays);
+        String line;
+        int lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String rule = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (rule.isEmpty()) continue;
+            try {
+                rules.add(parseRule(rule));
+            }
+            catch (RuntimeException exception) {
+                throw new IOException("Invalid holiday rule at line " + lineNumber + ": " + line, exception);
+            }
+        }
+
+        return new BusinessDayCalendar(rules);
+
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return year(date.getYear()).isBusinessDay(date.getDayOfYear() - 1);
+    }
+
+    /** The date itself when it is a business day, otherwise the first business day after it */
+    public LocalDate nextBusinessDay(LocalDate date) {
+        BusinessYear businessYear = year(date.getYear());
+        int dayIndex = date.getDayOfYear() - 1;
+        return date.plusDays(businessYear.nextBusinessDay[dayIndex] - (long) dayIndex);
+    }
+
+    /** Day of the month of its n-th business day, or of its last business day when the month has less than n */
+    public int nthBusinessDay(int year, int month, int n) {
+        BusinessYear businessYear = year(year);
+        int first = businessYear.monthRank[month - 1];
+        int count = businessYear.monthRank[month] - first;
+        if (count == 0) return nextBusinessDay(year, month, 1);
+        return businessYear.businessDays[first + Math.min(n, count) - 1] - businessYear.monthStart[month - 1] + 1;
+    }
+
+    public int lastBusinessDay(int year, int month) {
+        BusinessYear businessYear = year(year);
+        int last = businessYear.monthRank[month] - 1;
+        if (last < businessYear.monthRank[month - 1]) return nextBusinessDay(year, month, 1);
+        return businessYear.businessDays[last] - businessYear.monthStart[month - 1] + 1;
+    }
+
+    /** Day of the month of the first business day on or after the given day. It is past the length of the month when
+     ** that business day falls in the following month */
+    public int nextBusinessDay(int year, int month, int day) {
+        BusinessYear businessYear = year(year);
+        int monthStart = businessYear.monthStart[month - 1];
+        return businessYear.nextBusinessDay[monthStart + day - 1] - monthStart + 1;
+    }
+
+    private BusinessYear year(int year) {
+
+        if (year < FIRST_CACHED_YEAR || year > LAST_CACHED_YEAR) return new BusinessYear(year, rules);
+
+        int index = year - FIRST_CACHED_YEAR;
+        BusinessYear businessYear = years.get(index);
+        if (businessYear == null) {
+            businessYear = new BusinessYear(year, rules);
+            if (!years.compareAndSet(index, null, businessYear)) businessYear = years.get(index);
+        }
+
+        return businessYear;
+
+    }
+
+    private static HolidayRule parseRule(String rule) {
+
+        String[] tokens = rule.split("\\s+");
+        HolidayRule holiday = parseDate(tokens[0]);
+
+        if (tokens.length == 1) return holiday;
+        if (tokens.length != 3 || !tokens[1].equals("from")) throw new IllegalArgumentException("Unexpected " + tokens[1]);
+
+        int fromYear = Integer.parseInt(tokens[2]);
+        return year -> year >= fromYear ? holiday.dateIn(year) : null;
+
+    }
+
+    private static HolidayRule parseDate(String date) {
+
+        if (date.startsWith("easter")) {
+            int offset = date.length() == 6 ? 0 : Integer.parseInt(date.substring(6));
+            return year -> easterSunday(year).plusDays(offset);
+        }
+
+        if (date.length() == 5) {
+            MonthDay monthDay = MonthDay.parse("--" + date);
+            return year -> monthDay.isValidYear(year) ? monthDay.atYear(year) : null;
+        }
+
+        LocalDate holiday = LocalDate.parse(date);
+        return year -> year == holiday.getYear() ? holiday : null;
+
+    }
+
+    /** Anonymous gregorian algorithm (Meeus/Jones/Butcher) */
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    @FunctionalInterface
+    interface HolidayRule {
+        /** The holiday date in the year, or null when the rule doesn't apply to it */
+        LocalDate dateIn(int year);
+    }
+
+    /** One year of the calendar. Days are indexed from january 1 (0) up to LOOKAHEAD_DAYS into the following year:
+     ** - businessDays: index of every business day of the year, in order
+     ** - monthRank: position in businessDays of the first business day of each month (13 entries, the last one is the
+     **   number of business days of the year)
+     ** - nextBusinessDay: index of the first business day on or after each day of the year */
+    private static class BusinessYear {
+
+        private final long[] businessDayBits;
+        private final int[] monthStart = new int[13];
+        private final short[] monthRank = new short[13];
+        private final short[] businessDays;
+        private final short[] nextBusinessDay;
+
+        BusinessYear(int year, List<HolidayRule> rules) {
+
+            LocalDate firstDay = LocalDate.of(year, 1, 1);
+            int lengthOfYear = firstDay.lengthOfYear();
+            int coveredDays = lengthOfYear + LOOKAHEAD_DAYS;
+            int firstDayOfWeek = firstDay.getDayOfWeek().getValue() - 1;
+
+            businessDayBits = new long[(coveredDays + 63) >>> 6];
+            for (int day = 0; day < coveredDays; day++) {
+                if ((firstDayOfWeek + day) % 7 < 5) businessDayBits[day >>> 6] |= 1L << day;
+            }
+            for (HolidayRule rule : rules) {
+                clearHoliday(rule.dateIn(year), firstDay, coveredDays);
+                clearHoliday(rule.dateIn(year + 1), firstDay, coveredDays);
+            }
+
+            for (int month = 1; month <= 12; month++) {
+                monthStart[month] = monthStart[month - 1] + firstDay.withMonth(month).lengthOfMonth();
+            }
+
+            short[] ranks = new short[lengthOfYear];
+            int rank = 0;
+            for (int month = 0; month < 12; month++) {
+                monthRank[month] = (short) rank;
+                for (int day = monthStart[month]; day < monthStart[month + 1]; day++) {
+                    if (isBusinessDay(day)) ranks[rank++] = (short) day;
+                }
+            }
+            monthRank[12] = (short) rank;
+            businessDays = Arrays.copyOf(ranks, rank);
+
+            nextBusinessDay = new short[lengthOfYear];
+            int next = -1;
+            for (int day = coveredDays - 1; day >= 0; day--) {
+                if (isBusinessDay(day)) next = day;
+                if (day < lengthOfYear) {
+                    if (next < 0) throw new IllegalStateException("No business day within " + LOOKAHEAD_DAYS + " days of " + year);
+                    nextBusinessDay[day] = (short) next;
+                }
+            }
+
+        }
+
+        boolean isBusinessDay(int day) {
+            return (businessDayBits[day >>> 6] & (1L << day)) != 0;
+        }
+
+        private void clearHoliday(LocalDate holiday, LocalDate firstDay, int coveredDays) {
+            if (holiday == null) return;
+            long day = holiday.toEpochDay() - firstDay.toEpochDay();
+            if (day >= 0 && day < coveredDays) businessDayBits[(int) day >>> 6] &= ~(1L << day);
+        }
+
+    }
+
+    private static class DefaultCalendarHolder {
+
+        private static final BusinessDayCalendar CALENDAR = load();
+
+        private static BusinessDayCalendar load() {
+            try {
+                return fromClasspath(DEFAULT_HOLIDAYS_RESOURCE);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+    }
+
+}
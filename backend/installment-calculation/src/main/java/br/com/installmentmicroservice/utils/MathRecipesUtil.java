@@ -0,0 +1,40 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+
+public class MathRecipesUtil {
+
+    MathRecipesUtil() {}
+
+    public static Double priceInstallmentValueRecipe(LoanDTO loan) {
+        return (priceAnnuityFactor(loan.getInterestRate()/100, loan.getNumberOfInstallments()) * loan.getOriginalValue());
+    }
+
+    public static double priceAnnuityFactor(double interest, int numberOfInstallments) {
+
+        if (interest == 0) return 1.0 / numberOfInstallments;
+
+        double pow = Math.pow((1 + interest), numberOfInstallments);
+
+        double firstRecipeLine = (pow) * interest;
+        double secondRecipeLine = (pow) - 1;
+
+        return firstRecipeLine/secondRecipeLine;
+
+    }
+
+    /** Outstanding PRICE balance after the installment k, written as originalValue * ((1+i)^n - (1+i)^k) / ((1+i)^n - 1)
+     ** instead of the usual future value difference, which would cancel catastrophically on long terms.
+     ** termPow is (1+i)^n, received precomputed since it is the same for every installment of the loan */
+    public static double priceOutstandingBalanceRecipe(double originalValue, double interest, double termPow,
+                                                       int numberOfInstallments, int installmentMonth) {
+
+        if (interest == 0) return originalValue * (numberOfInstallments - installmentMonth) / numberOfInstallments;
+
+        double pow = Math.pow((1 + interest), installmentMonth);
+
+        return originalValue * (termPow - pow) / (termPow - 1);
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.PaymentDateEnum;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/** Maturity date engine, whose only state is its BusinessDayCalendar. The start date is parsed once per loan and the whole series is produced with
+ ** primitive year/month arithmetic, looking the day of every month up in the BusinessDayCalendar:
+ ** - FIRST_BUSINESS_DAY and FIFTH_BUSINESS_DAY: the first and the fifth business day of the month
+ ** - LAST_BUSINESS_DAY: the last business day of the month, so it never rolls over to the following month
+ ** - DAY_TEN and DAY_TWENTY: that day, or the next business day when it is a weekend or a holiday */
+public class MaturityDateUtil {
+
+    /** Same tolerance of the previous lenient SimpleDateFormat("yyyy-MM-dd"): overflowing fields are rolled over */
+    private static final DateTimeFormatter START_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("u-M-d").withResolverStyle(ResolverStyle.LENIENT);
+
+    static final String INVALID_NUMBER_OF_INSTALLMENTS = "The number of installments must be at least 1";
+
+    private final BusinessDayCalendar calendar;
+
+    /** Uses the holidays bundled in BusinessDayCalendar.DEFAULT_HOLIDAYS_RESOURCE */
+    public MaturityDateUtil() {
+        this(BusinessDayCalendar.defaultCalendar());
+    }
+
+    public MaturityDateUtil(BusinessDayCalendar calendar) {
+        this.calendar = calendar;
+    }
+
+    public String maturityDateCalculation(LoanDTO loan, Integer installmentMonth) throws ParseException {
+        return maturityDateCalculation(parseStartDate(loan.getStartDate()), loan.getPaymentDate(), installmentMonth);
+    }
+
+    public String maturityDateCalculation(LocalDate startDate, PaymentDateEnum paymentDate, int installmentMonth) {
+        int monthIndex = startDate.getYear() * 12 + startDate.getMonthValue() - 1 + installmentMonth;
+        return maturityDate(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, paymentDate);
+    }
+
+    public String[] maturityDateSeries(LoanDTO loan) throws ParseException {
+        if (loan.getNumberOfInstallments() == null) throw new InvalidRequestException(INVALID_NUMBER_OF_INSTALLMENTS);
+        return maturityDateSeries(parseStartDate(loan.getStartDate()), loan.getPaymentDate(), loan.getNumberOfInstallments());
+    }
+
+    public String[] maturityDateSeries(LocalDate startDate, PaymentDateEnum paymentDate, int numberOfInstallments) {
+
+        if (numberOfInstallments < 1) throw new InvalidRequestException(INVALID_NUMBER_OF_INSTALLMENTS);
+
+        String[] maturityDates = new String[numberOfInstallments];
+        int year = startDate.getYear();
+        int month = startDate.getMonthValue();
+
+        for (int i = 0; i < maturityDates.length; i++) {
+            if (++month > 12) {
+                month = 1;
+                year++;
+            }
+            maturityDates[i] = maturityDate(year, month, paymentDate);
+        }
+
+        return maturityDates;
+
+    }
+
+    public static LocalDate parseStartDate(String startDate) throws ParseException {
+        try {
+            return LocalDate.parse(startDate, START_DATE_FORMATTER);
+        }
+        catch (DateTimeParseException exception) {
+            throw new ParseException(exception.getMessage(), exception.getErrorIndex());
+        }
+    }
+
+    public LocalDate verifyIfTheDayIsBusinessDay(LocalDate date) {
+        return calendar.nextBusinessDay(date);
+    }
+
+    private String maturityDate(int year, int month, PaymentDateEnum paymentDate) {
+
+        int day = day(year, month, paymentDate);
+
+        int lengthOfMonth = lengthOfMonth(year, month);
+        if (day > lengthOfMonth) {
+            day -= lengthOfMonth;
+            if (++month > 12) {
+                month = 1;
+                year++;
+            }
+        }
+
+        return year + "-" + month + "-" + day;
+
+    }
+
+    private int day(int year, int month, PaymentDateEnum paymentDate) {
+        switch (paymentDate) {
+            case FIRST_BUSINESS_DAY:
+            case FIFTH_BUSINESS_DAY: return calendar.nthBusinessDay(year, month, paymentDate.getDay());
+            case LAST_BUSINESS_DAY: return calendar.lastBusinessDay(year, month);
+            default: return calendar.nextBusinessDay(year, month, paymentDate.getDay());
+        }
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2: return Year.isLeap(year) ? 29 : 28;
+            case 4: case 6: case 9: case 11: return 30;
+            default: return 31;
+        }
+    }
+
+}
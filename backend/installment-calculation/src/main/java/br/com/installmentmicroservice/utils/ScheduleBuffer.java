@@ -0,0 +1,53 @@
+package br.com.installmentmicroservice.utils;
+
+/** Primitive, reusable storage for a computed schedule. Every monetary column is kept in centavos and the
+ ** installment month is the index + 1, so filling the buffer allocates nothing once it has grown to the term */
+public class ScheduleBuffer {
+
+    private long[] amortization;
+    private long[] interest;
+    private long[] value;
+    private int size;
+
+    public ScheduleBuffer(int capacity) {
+        this.amortization = new long[capacity];
+        this.interest = new long[capacity];
+        this.value = new long[capacity];
+    }
+
+    public void reset(int numberOfInstallments) {
+        if (numberOfInstallments > amortization.length) {
+            this.amortization = new long[numberOfInstallments];
+            this.interest = new long[numberOfInstallments];
+            this.value = new long[numberOfInstallments];
+        }
+        this.size = numberOfInstallments;
+    }
+
+    public void set(int index, long amortizationCents, long interestCents) {
+        this.amortization[index] = amortizationCents;
+        this.interest[index] = interestCents;
+        this.value[index] = amortizationCents + interestCents;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return amortization.length;
+    }
+
+    public long amortization(int index) {
+        return amortization[index];
+    }
+
+    public long interest(int index) {
+        return interest[index];
+    }
+
+    public long value(int index) {
+        return value[index];
+    }
+
+}
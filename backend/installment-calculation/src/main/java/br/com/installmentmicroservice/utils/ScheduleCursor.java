@@ -0,0 +1,106 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+
+/** Walks a schedule one installment at a time, keeping only the primitive state of the loan (debit balance and the
+ ** constant amortization or installment value), so a schedule of any term can be produced in constant memory.
+ ** All values are in centavos, rounded HALF_EVEN, with the residue settled by the last installment.
+ ** moveTo jumps to any installment with exactly the values of the walk */
+public class ScheduleCursor {
+
+    private final AmortizationEnum amortizationType;
+    private final double interestRate;
+    private final int numberOfInstallments;
+    private final long originalValue;
+    private final long constantValue;
+
+    private long debitBalance;
+    private int month;
+    private long amortization;
+    private long interest;
+
+    public ScheduleCursor(LoanDTO loan, AmortizationEnum amortizationType) {
+        this(loan.getOriginalValue(), loan.getInterestRate(), loan.getNumberOfInstallments(), amortizationType);
+    }
+
+    /** Value in reais and rate in percent, as they come in the LoanDTO */
+    public ScheduleCursor(double value, double rate, int term, AmortizationEnum amortizationType) {
+
+        this.amortizationType = amortizationType;
+        this.interestRate = rate / 100;
+        this.numberOfInstallments = term;
+        this.originalValue = AmortizationKernel.toCents(value);
+        this.debitBalance = originalValue;
+
+        if (amortizationType == AmortizationEnum.SAC) {
+            this.constantValue = AmortizationKernel.roundHalfEven((double) debitBalance / numberOfInstallments);
+        }
+        else {
+            this.constantValue = AmortizationKernel.roundHalfEven(
+                    debitBalance * MathRecipesUtil.priceAnnuityFactor(interestRate, numberOfInstallments));
+        }
+
+    }
+
+    public boolean next() {
+
+        if (month >= numberOfInstallments) return false;
+
+        debitBalance -= amortization;
+        month++;
+
+        interest = AmortizationKernel.roundHalfEven(debitBalance * interestRate);
+        if (month == numberOfInstallments) amortization = debitBalance;
+        else if (amortizationType == AmortizationEnum.SAC) amortization = constantValue;
+        else amortization = constantValue - interest;
+
+        return true;
+
+    }
+
+    /** Jumps to the installment k, whose values are then calculated as in the walk, which next() continues from there.
+     ** The SAC balance before k comes straight from a closed form. The PRICE one carries the residue of every rounded
+     ** interest before k, so it is walked from the start on the balance alone, a few primitive operations a month */
+    public void moveTo(int installmentMonth) {
+
+        if (installmentMonth < 1 || installmentMonth > numberOfInstallments) {
+            throw new IllegalArgumentException("The installment month must be between 1 and " + numberOfInstallments);
+        }
+
+        debitBalance = balanceBefore(installmentMonth);
+        month = installmentMonth - 1;
+        amortization = 0;
+        next();
+
+    }
+
+    public int month() {
+        return month;
+    }
+
+    public long amortization() {
+        return amortization;
+    }
+
+    public long interest() {
+        return interest;
+    }
+
+    public long value() {
+        return amortization + interest;
+    }
+
+    private long balanceBefore(int installmentMonth) {
+
+        if (amortizationType == AmortizationEnum.SAC) return originalValue - (installmentMonth - 1) * constantValue;
+
+        long balance = originalValue;
+        for (int paid = 1; paid < installmentMonth; paid++) {
+            balance -= constantValue - AmortizationKernel.roundHalfEven(balance * interestRate);
+        }
+        return balance;
+
+    }
+
+}
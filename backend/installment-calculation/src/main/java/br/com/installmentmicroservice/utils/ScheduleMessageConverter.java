@@ -0,0 +1,69 @@
+package br.com.installmentmicroservice.utils;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/** Reads and writes a List of the installment DTO of a module as a ScheduleWireFormat. The installment-service
+ ** registers it as a bean, so any endpoint returning a schedule can produce it, while the loan-api only hands it to
+ ** the InstallmentServiceProxy decoder, so its own endpoints keep answering JSON */
+public class ScheduleMessageConverter<T> extends AbstractGenericHttpMessageConverter<List<T>> {
+
+    private final ResolvableType scheduleType;
+    private final ScheduleWireFormat.Installments<T> installments;
+
+    public ScheduleMessageConverter(Class<T> installmentType, ScheduleWireFormat.Installments<T> installments) {
+        super(MediaType.parseMediaType(ScheduleWireFormat.MEDIA_TYPE));
+        this.scheduleType = ResolvableType.forClassWithGenerics(List.class, installmentType);
+        this.installments = installments;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isSchedule(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type != null && isSchedule(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<T> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected List<T> readInternal(Class<? extends List<T>> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return ScheduleWireFormat.decode(inputMessage.getBody().readAllBytes(), installments);
+        }
+        catch (IllegalArgumentException exception) {
+            throw new HttpMessageNotReadableException(exception.getMessage(), exception, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(List<T> schedule, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] encoded = ScheduleWireFormat.encode(schedule, installments);
+        outputMessage.getHeaders().setContentLength(encoded.length);
+        outputMessage.getBody().write(encoded);
+    }
+
+    private boolean isSchedule(Type type) {
+        return scheduleType.isAssignableFrom(ResolvableType.forType(type));
+    }
+
+}
@@ -0,0 +1,173 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Compact binary schedule, negotiated with Accept: application/x-installment-schedule. The installments are written as
+ ** columns of primitives instead of one JSON object each, so no field name is repeated and nothing is parsed as text:
+ **   int   magic "ISC1"
+ **   int   number of installments (n)
+ **   int   month[n]
+ **   int   maturity date as epoch day[n] (NO_DATE when there is none)
+ **   long  amortization in centavos[n]
+ **   long  interest in centavos[n]
+ **   long  value in centavos[n]
+ ** Big-endian, 8 + 32n bytes. Maturity dates keep the unpadded y-m-d text of the JSON schedule when decoded.
+ ** The installment-service writes it from the InstallmentDTO of this library and the loan-api reads it into its own
+ ** InstallmentDTO, each one through its Installments */
+public class ScheduleWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-installment-schedule";
+
+    /** Accept header of the requests: the binary schedule, or JSON from services that don't produce it */
+    public static final String ACCEPT = MEDIA_TYPE + ", application/json;q=0.5";
+
+    static final int MAGIC = 0x49534331;
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int INSTALLMENT_BYTES = 32;
+
+    /** The InstallmentDTO of this library */
+    public static final Installments<InstallmentDTO> INSTALLMENTS = new Installments<>() {
+
+        @Override
+        public InstallmentDTO installment(int month, String maturityDate, double amortization, double interest,
+                                          double value) {
+            return new InstallmentDTO(null, maturityDate, null, month, amortization, interest, value, null);
+        }
+
+        @Override
+        public int month(InstallmentDTO installment) {
+            return installment.getMonth();
+        }
+
+        @Override
+        public String maturityDate(InstallmentDTO installment) {
+            return installment.getMaturityDate();
+        }
+
+        @Override
+        public double amortization(InstallmentDTO installment) {
+            return installment.getAmortization();
+        }
+
+        @Override
+        public double interest(InstallmentDTO installment) {
+            return installment.getInterest();
+        }
+
+        @Override
+        public double value(InstallmentDTO installment) {
+            return installment.getValue();
+        }
+
+    };
+
+    ScheduleWireFormat() {}
+
+    public static byte[] encode(List<InstallmentDTO> installments) {
+        return encode(installments, INSTALLMENTS);
+    }
+
+    public static List<InstallmentDTO> decode(byte[] schedule) {
+        return decode(schedule, INSTALLMENTS);
+    }
+
+    public static <T> byte[] encode(List<T> installments, Installments<T> fields) {
+
+        int count = installments.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * INSTALLMENT_BYTES);
+        buffer.putInt(MAGIC).putInt(count);
+
+        for (T installment : installments) buffer.putInt(fields.month(installment));
+        for (T installment : installments) buffer.putInt(epochDay(fields.maturityDate(installment)));
+        for (T installment : installments) buffer.putLong(AmortizationKernel.toCents(fields.amortization(installment)));
+        for (T installment : installments) buffer.putLong(AmortizationKernel.toCents(fields.interest(installment)));
+        for (T installment : installments) buffer.putLong(AmortizationKernel.toCents(fields.value(installment)));
+
+        return buffer.array();
+
+    }
+
+    /** Reads the columns side by side with absolute gets, so every installment is built at once */
+    public static <T> List<T> decode(byte[] schedule, Installments<T> fields) {
+
+        ByteBuffer buffer = ByteBuffer.wrap(schedule);
+
+        try {
+
+            if (buffer.getInt() != MAGIC) throw new IllegalArgumentException("Not an installment schedule");
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() != (long) count * INSTALLMENT_BYTES) {
+                throw new IllegalArgumentException("Truncated installment schedule");
+            }
+
+            int dates = HEADER_BYTES + count * 4;
+            int amortizations = dates + count * 4;
+            int interests = amortizations + count * 8;
+            int values = interests + count * 8;
+
+            List<T> installments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                installments.add(fields.installment(
+                        buffer.getInt(HEADER_BYTES + i * 4),
+                        date(buffer.getInt(dates + i * 4)),
+                        AmortizationKernel.toUnits(buffer.getLong(amortizations + i * 8)),
+                        AmortizationKernel.toUnits(buffer.getLong(interests + i * 8)),
+                        AmortizationKernel.toUnits(buffer.getLong(values + i * 8))));
+            }
+
+            return installments;
+
+        }
+        catch (BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated installment schedule", exception);
+        }
+
+    }
+
+    /** Parses the y-m-d dates of MaturityDateUtil without a formatter */
+    static int epochDay(String date) {
+
+        if (date == null) return NO_DATE;
+
+        int firstDash = date.indexOf('-');
+        int secondDash = date.indexOf('-', firstDash + 1);
+
+        return (int) LocalDate.of(
+                Integer.parseInt(date, 0, firstDash, 10),
+                Integer.parseInt(date, firstDash + 1, secondDash, 10),
+                Integer.parseInt(date, secondDash + 1, date.length(), 10)).toEpochDay();
+
+    }
+
+    static String date(int epochDay) {
+        if (epochDay == NO_DATE) return null;
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() + "-" + date.getMonthValue() + "-" + date.getDayOfMonth();
+    }
+
+    /** Reads and builds the installment DTO of the module encoding or decoding a schedule */
+    public interface Installments<T> {
+
+        T installment(int month, String maturityDate, double amortization, double interest, double value);
+
+        int month(T installment);
+
+        String maturityDate(T installment);
+
+        double amortization(T installment);
+
+        double interest(T installment);
+
+        double value(T installment);
+
+    }
+
+}
@@ -5,9 +5,7 @@ import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
 @DisplayName("DTO: Installment")
 class InstallmentDTOTest {
 
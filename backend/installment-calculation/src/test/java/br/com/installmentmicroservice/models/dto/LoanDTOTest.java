@@ -6,9 +6,7 @@ import br.com.installmentmicroservice.models.enums.PaymentDateEnum;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
 @DisplayName("DTO: Loan")
 class LoanDTOTest {
 
@@ -3,9 +3,7 @@ package br.com.installmentmicroservice.models.enums;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
 @DisplayName("Enum: PaymentDate")
 class PaymentDateEnumTest {
 
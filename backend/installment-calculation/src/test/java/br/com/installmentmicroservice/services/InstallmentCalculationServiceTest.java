@@ -0,0 +1,143 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Service: InstallmentCalculationService")
+class InstallmentCalculationServiceTest {
+
+    InstallmentCalculationService service = new InstallmentCalculationService();
+
+    @Test
+    @DisplayName("Should test installmentDistributorByAmortizationType method with SAC amortization")
+    void shouldTestinstallmentDistributorByAmortizationTypeMethodWithSacAmortization() throws ParseException {
+        Assertions.assertEquals("[InstallmentDTO(id=null, maturityDate=17-6-8, paymentDate=null, month=1, " +
+                "amortization=500.0, interest=500.0, value=1000.0, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-7-7, paymentDate=null, month=2, amortization=500.0, interest=450.0, value=950.0, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-8-7, paymentDate=null, month=3, " +
+                "amortization=500.0, interest=400.0, value=900.0, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-9-8, paymentDate=null, month=4, amortization=500.0, interest=350.0, value=850.0, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-10-6, paymentDate=null, month=5, " +
+                "amortization=500.0, interest=300.0, value=800.0, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-11-8, paymentDate=null, month=6, amortization=500.0, interest=250.0, value=750.0, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-12-7, paymentDate=null, month=7, " +
+                "amortization=500.0, interest=200.0, value=700.0, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=18-1-8, paymentDate=null, month=8, amortization=500.0, interest=150.0, value=650.0, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=18-2-7, paymentDate=null, month=9, " +
+                "amortization=500.0, interest=100.0, value=600.0, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=18-3-9, paymentDate=null, month=10, amortization=500.0, interest=50.0, value=550.0, " +
+                "loan=null)]", service.installmentDistributorByAmortizationType(LoanDTODataBuilder.builder().build()).toString());
+    }
+
+    @Test
+    @DisplayName("Should test installmentDistributorByAmortizationType method with PRICE amortization")
+    void shouldTestinstallmentDistributorByAmortizationTypeMethodWithPriceAmortization() throws ParseException {
+        Assertions.assertEquals("[InstallmentDTO(id=null, maturityDate=17-6-8, paymentDate=null, month=1, " +
+                "amortization=313.73, interest=500.0, value=813.73, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-7-7, paymentDate=null, month=2, amortization=345.1, interest=468.63, value=813.73, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-8-7, paymentDate=null, month=3, " +
+                "amortization=379.61, interest=434.12, value=813.73, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-9-8, paymentDate=null, month=4, amortization=417.57, interest=396.16, value=813.73, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-10-6, paymentDate=null, month=5, " +
+                "amortization=459.33, interest=354.4, value=813.73, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=17-11-8, paymentDate=null, month=6, amortization=505.26, interest=308.47, value=813.73, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=17-12-7, paymentDate=null, month=7, " +
+                "amortization=555.79, interest=257.94, value=813.73, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=18-1-8, paymentDate=null, month=8, amortization=611.37, interest=202.36, value=813.73, " +
+                "loan=null), InstallmentDTO(id=null, maturityDate=18-2-7, paymentDate=null, month=9, " +
+                "amortization=672.51, interest=141.22, value=813.73, loan=null), InstallmentDTO(id=null, " +
+                "maturityDate=18-3-9, paymentDate=null, month=10, amortization=739.73, interest=73.97, value=813.7, " +
+                "loan=null)]", service.installmentDistributorByAmortizationType(LoanDTODataBuilder.builder()
+                .withPriceAmortization().build()).toString());
+    }
+
+    @Test
+    @DisplayName("Should stream the same installments of the list calculation")
+    void shouldStreamTheSameInstallmentsOfTheListCalculation() throws ParseException, IOException {
+        for (AmortizationEnum amortization : AmortizationEnum.values()) {
+            LoanDTO loan = LoanDTODataBuilder.builder().build();
+            loan.setStartDate("2022-08-02");
+            loan.setNumberOfInstallments(999);
+            loan.setAmortization(amortization);
+
+            List<String> streamed = new ArrayList<>();
+            service.streamInstallments(loan, installment -> streamed.add(installment.toString()));
+
+            Assertions.assertEquals(service.installmentDistributorByAmortizationType(loan).toString(), streamed.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should calculate an installment range equal to the same slice of the whole schedule")
+    void shouldCalculateAnInstallmentRangeEqualToTheSameSliceOfTheWholeSchedule() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("2022-08-02");
+        loan.setNumberOfInstallments(360);
+
+        Assertions.assertEquals(service.installmentDistributorByAmortizationType(loan).subList(119, 132),
+                service.installmentRange(loan, 120, 132));
+
+        loan.setAmortization(AmortizationEnum.PRICE);
+        Assertions.assertEquals(service.installmentDistributorByAmortizationType(loan).subList(0, 13),
+                service.installmentRange(loan, 1, 13));
+    }
+
+    @Test
+    @DisplayName("Should calculate any PRICE installment range equal to the same slice of the whole schedule")
+    void shouldCalculateAnyPriceInstallmentRangeEqualToTheSameSliceOfTheWholeSchedule() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().withPriceAmortization().build();
+        loan.setStartDate("2022-08-02");
+        loan.setNumberOfInstallments(360);
+        loan.setInterestRate(0.89);
+
+        List<InstallmentDTO> schedule = service.installmentDistributorByAmortizationType(loan);
+
+        for (int from = 1; from <= 360; from += 11) {
+            int to = Math.min(from + 12, 360);
+            Assertions.assertEquals(schedule.subList(from - 1, to), service.installmentRange(loan, from, to));
+        }
+        Assertions.assertEquals(schedule.subList(347, 360), service.installmentRange(loan, 348, 360));
+    }
+
+    @Test
+    @DisplayName("Should keep the constant PRICE value in a range jumped to")
+    void shouldKeepTheConstantPriceValueInARangeJumpedTo() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().withPriceAmortization().build();
+        loan.setStartDate("2022-08-02");
+        loan.setNumberOfInstallments(360);
+        loan.setInterestRate(0.89);
+
+        List<InstallmentDTO> schedule = service.installmentDistributorByAmortizationType(loan);
+        List<InstallmentDTO> range = service.installmentRange(loan, 120, 132);
+
+        Assertions.assertEquals(13, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            Assertions.assertEquals(120 + i, range.get(i).getMonth());
+            Assertions.assertEquals(schedule.get(119 + i).getMaturityDate(), range.get(i).getMaturityDate());
+            Assertions.assertEquals(schedule.get(0).getValue(), range.get(i).getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an installment range outside of the loan term")
+    void shouldRejectAnInstallmentRangeOutsideOfTheLoanTerm() {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.installmentRange(loan, 5, 11));
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.installmentRange(loan, 0, 1));
+    }
+
+}
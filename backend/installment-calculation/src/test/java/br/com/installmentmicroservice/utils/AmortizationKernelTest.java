@@ -0,0 +1,96 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Util: AmortizationKernel")
+class AmortizationKernelTest {
+
+    @Test
+    @DisplayName("Should settle the whole original value with SAC amortization")
+    void shouldSettleTheWholeOriginalValueWithSacAmortization() {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setOriginalValue(1000.0);
+        loan.setNumberOfInstallments(3);
+
+        ScheduleBuffer buffer = new ScheduleBuffer(1);
+        AmortizationKernel.sac(loan, buffer);
+
+        Assertions.assertEquals(3, buffer.size());
+        Assertions.assertEquals(33333L, buffer.amortization(0));
+        Assertions.assertEquals(33334L, buffer.amortization(2));
+        Assertions.assertEquals(100000L, buffer.amortization(0) + buffer.amortization(1) + buffer.amortization(2));
+    }
+
+    @Test
+    @DisplayName("Should place the rounding residue on the last PRICE installment")
+    void shouldPlaceTheRoundingResidueOnTheLastPriceInstallment() {
+        LoanDTO loan = LoanDTODataBuilder.builder().withPriceAmortization().build();
+
+        ScheduleBuffer buffer = new ScheduleBuffer(10);
+        AmortizationKernel.price(loan, buffer);
+
+        long amortizationSum = 0;
+        for (int i = 0; i < buffer.size(); i++) amortizationSum += buffer.amortization(i);
+
+        Assertions.assertEquals(500000L, amortizationSum);
+        Assertions.assertEquals(81373L, buffer.value(0));
+        Assertions.assertEquals(81370L, buffer.value(9));
+    }
+
+    @Test
+    @DisplayName("Should jump to any SAC installment with the same values of the sequential walk")
+    void shouldJumpToAnySacInstallmentWithTheSameValuesOfTheSequentialWalk() {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setNumberOfInstallments(360);
+        loan.setInterestRate(0.89);
+
+        ScheduleBuffer sequential = new ScheduleBuffer(360);
+        AmortizationKernel.sac(loan, sequential);
+
+        ScheduleCursor direct = new ScheduleCursor(loan, AmortizationEnum.SAC);
+        for (int month = 360; month >= 1; month -= 7) {
+            direct.moveTo(month);
+            Assertions.assertEquals(sequential.amortization(month - 1), direct.amortization());
+            Assertions.assertEquals(sequential.interest(month - 1), direct.interest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should jump to any PRICE installment with the same values of the sequential walk")
+    void shouldJumpToAnyPriceInstallmentWithTheSameValuesOfTheSequentialWalk() {
+        LoanDTO loan = LoanDTODataBuilder.builder().withPriceAmortization().build();
+        loan.setNumberOfInstallments(360);
+        loan.setInterestRate(0.89);
+
+        ScheduleBuffer sequential = new ScheduleBuffer(360);
+        AmortizationKernel.price(loan, sequential);
+
+        ScheduleCursor direct = new ScheduleCursor(loan, AmortizationEnum.PRICE);
+        for (int month = 360; month >= 1; month -= 7) {
+            direct.moveTo(month);
+            Assertions.assertEquals(sequential.amortization(month - 1), direct.amortization());
+            Assertions.assertEquals(sequential.interest(month - 1), direct.interest());
+        }
+
+        direct.moveTo(120);
+        for (int month = 121; direct.next(); month++) {
+            Assertions.assertEquals(sequential.amortization(month - 1), direct.amortization());
+            Assertions.assertEquals(sequential.interest(month - 1), direct.interest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should round half even")
+    void shouldRoundHalfEven() {
+        Assertions.assertEquals(2L, AmortizationKernel.roundHalfEven(2.5));
+        Assertions.assertEquals(4L, AmortizationKernel.roundHalfEven(3.5));
+        Assertions.assertEquals(12345L, AmortizationKernel.toCents(123.45));
+        Assertions.assertEquals(123.45, AmortizationKernel.toUnits(12345L));
+    }
+
+}
@@ -0,0 +1,77 @@
+package br.com.installmentmicroservice.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+@DisplayName("Util: BusinessDayCalendar")
+class BusinessDayCalendarTest {
+
+    BusinessDayCalendar calendar = BusinessDayCalendar.defaultCalendar();
+
+    @Test
+    @DisplayName("Should calculate the easter sunday")
+    void shouldCalculateTheEasterSunday() {
+        Assertions.assertEquals(LocalDate.of(2024, 3, 31), BusinessDayCalendar.easterSunday(2024));
+        Assertions.assertEquals(LocalDate.of(2025, 4, 20), BusinessDayCalendar.easterSunday(2025));
+        Assertions.assertEquals(LocalDate.of(2038, 4, 25), BusinessDayCalendar.easterSunday(2038));
+    }
+
+    @Test
+    @DisplayName("Should skip fixed, movable and dated holidays")
+    void shouldSkipFixedMovableAndDatedHolidays() {
+        Assertions.assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 2, 12)));
+        Assertions.assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 2, 13)));
+        Assertions.assertTrue(calendar.isBusinessDay(LocalDate.of(2024, 2, 14)));
+        Assertions.assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 5, 30)));
+        Assertions.assertTrue(calendar.isBusinessDay(LocalDate.of(2023, 11, 20)));
+        Assertions.assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 11, 20)));
+        Assertions.assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 11, 23)));
+    }
+
+    @Test
+    @DisplayName("Should answer the n-th and the last business day of the month")
+    void shouldAnswerTheNthAndTheLastBusinessDayOfTheMonth() {
+        Assertions.assertEquals(2, calendar.nthBusinessDay(2024, 1, 1));
+        Assertions.assertEquals(8, calendar.nthBusinessDay(2024, 1, 5));
+        Assertions.assertEquals(7, calendar.nthBusinessDay(2024, 2, 5));
+        Assertions.assertEquals(29, calendar.nthBusinessDay(2024, 2, 40));
+        Assertions.assertEquals(28, calendar.lastBusinessDay(2024, 3));
+        Assertions.assertEquals(29, calendar.lastBusinessDay(2024, 11));
+    }
+
+    @Test
+    @DisplayName("Should find the next business day across the end of the year")
+    void shouldFindTheNextBusinessDayAcrossTheEndOfTheYear() {
+        Assertions.assertEquals(LocalDate.of(2024, 1, 2), calendar.nextBusinessDay(LocalDate.of(2023, 12, 30)));
+        Assertions.assertEquals(33, calendar.nextBusinessDay(2023, 12, 30));
+        Assertions.assertEquals(LocalDate.of(2024, 1, 3), calendar.nextBusinessDay(LocalDate.of(2024, 1, 3)));
+    }
+
+    @Test
+    @DisplayName("Should load the holidays of a custom file")
+    void shouldLoadTheHolidaysOfACustomFile() throws IOException {
+        BusinessDayCalendar custom = BusinessDayCalendar.parse(new StringReader(
+                "# municipal holidays\n07-09 from 2000\n2024-01-25  # once\neaster\n"));
+
+        Assertions.assertTrue(custom.isBusinessDay(LocalDate.of(1999, 7, 9)));
+        Assertions.assertFalse(custom.isBusinessDay(LocalDate.of(2024, 7, 9)));
+        Assertions.assertFalse(custom.isBusinessDay(LocalDate.of(2024, 1, 25)));
+        Assertions.assertTrue(custom.isBusinessDay(LocalDate.of(2025, 1, 24)));
+        Assertions.assertTrue(custom.isBusinessDay(LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid holiday rules")
+    void shouldRejectInvalidHolidayRules() {
+        Assertions.assertThrows(IOException.class,
+                () -> BusinessDayCalendar.parse(new StringReader("01-01\n13-45\n")));
+        Assertions.assertThrows(IOException.class,
+                () -> BusinessDayCalendar.parse(new StringReader("01-01 until 2020\n")));
+    }
+
+}
@@ -0,0 +1,130 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.PaymentDateEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+@DisplayName("Util: MaturityDateUtil")
+class MaturityDateUtilTest {
+
+    MaturityDateUtil maturityDateUtil = new MaturityDateUtil();
+
+    @Test
+    @DisplayName("Should count the fifth business day skipping weekends and holidays")
+    void shouldCountTheFifthBusinessDaySkippingWeekendsAndHolidays() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("2022-09-15");
+        loan.setNumberOfInstallments(3);
+        loan.setPaymentDate(PaymentDateEnum.FIFTH_BUSINESS_DAY);
+
+        Assertions.assertArrayEquals(new String[]{"2022-10-7", "2022-11-8", "2022-12-7"},
+                maturityDateUtil.maturityDateSeries(loan));
+    }
+
+    @Test
+    @DisplayName("Should reject a series of less than one installment")
+    void shouldRejectASeriesOfLessThanOneInstallment() {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("2022-09-15");
+
+        for (int numberOfInstallments : new int[]{0, -1}) {
+            loan.setNumberOfInstallments(numberOfInstallments);
+            InvalidRequestException exception = Assertions.assertThrows(InvalidRequestException.class,
+                    () -> maturityDateUtil.maturityDateSeries(loan));
+            Assertions.assertEquals("The number of installments must be at least 1", exception.getMessage());
+        }
+
+        loan.setNumberOfInstallments(null);
+        Assertions.assertThrows(InvalidRequestException.class, () -> maturityDateUtil.maturityDateSeries(loan));
+    }
+
+    @Test
+    @DisplayName("Should produce the same dates of the single installment calculation")
+    void shouldProduceTheSameDatesOfTheSingleInstallmentCalculation() throws ParseException {
+        for (PaymentDateEnum paymentDate : PaymentDateEnum.values()) {
+            LoanDTO loan = LoanDTODataBuilder.builder().build();
+            loan.setStartDate("2023-01-31");
+            loan.setNumberOfInstallments(999);
+            loan.setPaymentDate(paymentDate);
+
+            String[] series = maturityDateUtil.maturityDateSeries(loan);
+            for (int i = 0; i < series.length; i++) {
+                Assertions.assertEquals(maturityDateUtil.maturityDateCalculation(loan, i + 1), series[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the last business day inside the month")
+    void shouldKeepTheLastBusinessDayInsideTheMonth() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("2023-01-10");
+        loan.setNumberOfInstallments(3);
+        loan.setPaymentDate(PaymentDateEnum.LAST_BUSINESS_DAY);
+
+        Assertions.assertArrayEquals(new String[]{"2023-2-28", "2023-3-31", "2023-4-28"},
+                maturityDateUtil.maturityDateSeries(loan));
+    }
+
+    @Test
+    @DisplayName("Should move fixed days falling on a holiday to the next business day")
+    void shouldMoveFixedDaysFallingOnAHolidayToTheNextBusinessDay() throws ParseException {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("2024-10-01");
+        loan.setPaymentDate(PaymentDateEnum.DAY_TWENTY);
+
+        Assertions.assertEquals("2024-11-21", maturityDateUtil.maturityDateCalculation(loan, 1));
+    }
+
+    @Test
+    @DisplayName("Should return identical results to 64 concurrent callers")
+    void shouldReturnIdenticalResultsToConcurrentCallers() throws Exception {
+
+        List<LoanDTO> loans = new ArrayList<>();
+        List<String[]> expected = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            LoanDTO loan = LoanDTODataBuilder.builder().build();
+            loan.setStartDate((2000 + i) + "-" + (i % 12 + 1) + "-" + (i % 28 + 1));
+            loan.setNumberOfInstallments(360);
+            loan.setPaymentDate(PaymentDateEnum.values()[i % PaymentDateEnum.values().length]);
+            loans.add(loan);
+            expected.add(maturityDateUtil.maturityDateSeries(loan));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < 64; thread++) {
+                int offset = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 50; round++) {
+                        int index = (offset + round) % loans.size();
+                        String[] series = maturityDateUtil.maturityDateSeries(loans.get(index));
+                        if (!Arrays.equals(expected.get(index), series)) return false;
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) Assertions.assertTrue(result.get(30, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("Util: ScheduleWireFormat")
+class ScheduleWireFormatTest {
+
+    @Test
+    @DisplayName("Should decode the same installments it encoded")
+    void shouldDecodeTheSameInstallmentsItEncoded() {
+
+        List<InstallmentDTO> installments = Arrays.asList(
+                new InstallmentDTO(null, "2022-9-12", null, 1, 400.0, 12.0, 412.0, null),
+                new InstallmentDTO(null, "2023-12-29", null, 2, 1234567.89, 0.01, 1234567.9, null),
+                new InstallmentDTO(null, null, null, 3, -0.5, 0.0, -0.5, null));
+
+        byte[] schedule = ScheduleWireFormat.encode(installments);
+
+        Assertions.assertEquals(8 + 3 * 32, schedule.length);
+        Assertions.assertEquals(installments, ScheduleWireFormat.decode(schedule));
+
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated schedule")
+    void shouldRejectATruncatedSchedule() {
+        byte[] schedule = ScheduleWireFormat.encode(List.of(new InstallmentDTO(null, "2022-9-12", null, 1, 400.0, 12.0, 412.0, null)));
+        byte[] truncated = Arrays.copyOf(schedule, schedule.length - 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ScheduleWireFormat.decode(truncated));
+    }
+
+    @Test
+    @DisplayName("Should reject what is not a schedule")
+    void shouldRejectWhatIsNotASchedule() {
+        byte[] json = "[{\"month\":1}]".getBytes();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ScheduleWireFormat.decode(json));
+    }
+
+}
@@ -10,6 +10,7 @@ import org.springframework.context.annotation.ComponentScan;
 @ComponentScan("br.com.installmentmicroservice.services")
 @ComponentScan("br.com.installmentmicroservice.resources")
 @ComponentScan("br.com.installmentmicroservice.config")
+@ComponentScan("br.com.installmentmicroservice.exceptions")
 @ComponentScan("br.com.installmentmicroservice.utils")
 @SpringBootApplication
 public class InstallmentMicroServiceApplication {
@@ -0,0 +1,17 @@
+package br.com.installmentmicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class BatchCalculationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool batchCalculationPool(@Value("${installment.batch.parallelism}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.installmentmicroservice.config;
+
+import br.com.installmentmicroservice.utils.BusinessDayCalendar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class BusinessDayCalendarConfig {
+
+    /** Loads the holidays file, when one is configured, for the InstallmentCalculationService. Without it the
+     ** holidays bundled in BusinessDayCalendar.DEFAULT_HOLIDAYS_RESOURCE are used */
+    @Bean
+    public BusinessDayCalendar businessDayCalendar(@Value("${installment.calendar.holidays-file}") String holidaysFile)
+            throws IOException {
+        return holidaysFile.isBlank()
+                ? BusinessDayCalendar.defaultCalendar()
+                : BusinessDayCalendar.fromFile(Path.of(holidaysFile));
+    }
+
+}
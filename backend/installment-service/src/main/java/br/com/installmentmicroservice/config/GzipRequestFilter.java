@@ -0,0 +1,181 @@
+package br.com.installmentmicroservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/** Inflates the request bodies sent with Content-Encoding gzip, which Tomcat hands over compressed (server.compression
+ ** only covers the responses). The controllers then read them as if they were sent plain. The inflated body is capped
+ ** at installment.gzip.max-inflated-size, so a small compressed body can't expand without limit */
+@Component
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private final long maxInflatedSize;
+
+    public GzipRequestFilter(@Value("${installment.gzip.max-inflated-size}") DataSize maxInflatedSize) {
+        this.maxInflatedSize = maxInflatedSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        GZIPInputStream inflated;
+        try {
+            inflated = new GZIPInputStream(request.getInputStream());
+        }
+        catch (IOException exception) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "The request body is not gzip");
+            return;
+        }
+
+        filterChain.doFilter(new InflatedRequest(request, new BoundedInputStream(inflated, maxInflatedSize)), response);
+
+    }
+
+    static class InflatedRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream body;
+
+        InflatedRequest(HttpServletRequest request, InputStream inflated) {
+            super(request);
+            this.body = new InflatedInputStream(inflated);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isInflatedHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isInflatedHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        private static boolean isInflatedHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+    }
+
+    /** The inflated body. Every read blocks on the compressed body, so the stream is always ready and a ReadListener
+     ** is handed the whole body at once: onDataAvailable reads it, then onAllDataRead once the end was reached */
+    static class InflatedInputStream extends ServletInputStream {
+
+        private final InputStream inflated;
+        private boolean finished;
+
+        InflatedInputStream(InputStream inflated) {
+            this.inflated = inflated;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = inflated.read();
+            if (read < 0) finished = true;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = inflated.read(bytes, offset, length);
+            if (read < 0) finished = true;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                if (finished) readListener.onAllDataRead();
+            }
+            catch (IOException | RuntimeException exception) {
+                readListener.onError(exception);
+            }
+        }
+
+    }
+
+    static class BoundedInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long remaining;
+
+        BoundedInputStream(InputStream delegate, long maxSize) {
+            this.delegate = delegate;
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = delegate.read();
+            if (read >= 0) consume(1);
+            return read;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = delegate.read(bytes, offset, length);
+            if (read > 0) consume(read);
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        private void consume(int bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) throw new IOException("The inflated request body is over the maximum size");
+        }
+
+    }
+
+}
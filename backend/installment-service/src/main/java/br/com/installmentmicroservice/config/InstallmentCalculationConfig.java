@@ -0,0 +1,30 @@
+package br.com.installmentmicroservice.config;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.services.InstallmentCalculationService;
+import br.com.installmentmicroservice.services.ScheduleCacheService;
+import br.com.installmentmicroservice.utils.BusinessDayCalendar;
+import br.com.installmentmicroservice.utils.ScheduleMessageConverter;
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InstallmentCalculationConfig {
+
+    /** The calculation engine of the installment-calculation library on the calendar of BusinessDayCalendarConfig,
+     ** memoized by the ScheduleCacheService when installment.cache.enabled is true */
+    @Bean
+    public InstallmentCalculationService installmentCalculationService(BusinessDayCalendar businessDayCalendar,
+                                                                       ObjectProvider<ScheduleCacheService> scheduleCache) {
+        return new InstallmentCalculationService(businessDayCalendar, scheduleCache.getIfAvailable());
+    }
+
+    /** Being a bean, Spring Boot adds it to the MVC converters, so any endpoint returning a schedule can produce it */
+    @Bean
+    public ScheduleMessageConverter<InstallmentDTO> scheduleMessageConverter() {
+        return new ScheduleMessageConverter<>(InstallmentDTO.class, ScheduleWireFormat.INSTALLMENTS);
+    }
+
+}
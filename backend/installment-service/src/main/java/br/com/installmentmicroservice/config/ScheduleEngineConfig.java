@@ -0,0 +1,35 @@
+package br.com.installmentmicroservice.config;
+
+import br.com.installmentmicroservice.utils.ScalarScheduleEngine;
+import br.com.installmentmicroservice.utils.ScheduleEngine;
+import br.com.installmentmicroservice.utils.VectorScheduleEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class ScheduleEngineConfig {
+
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** The vector engine is only created when its module was added to the JVM, otherwise its classes can't load */
+    @Bean
+    public ScheduleEngine scheduleEngine(@Value("${installment.engine}") String engine) {
+
+        if (engine.equals("scalar")) return new ScalarScheduleEngine();
+        if (!engine.equals("vector")) throw new IllegalArgumentException("Unknown installment.engine: " + engine);
+
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.warn("[FAILURE] installment.engine is vector but {} is missing, start the JVM with --add-modules {}. " +
+                    "Using the scalar engine", VECTOR_MODULE, VECTOR_MODULE);
+            return new ScalarScheduleEngine();
+        }
+
+        log.info("[STARTING] Vector schedule engine enabled");
+        return new VectorScheduleEngine();
+
+    }
+
+}
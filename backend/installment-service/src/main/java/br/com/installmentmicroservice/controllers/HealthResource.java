@@ -0,0 +1,30 @@
+package br.com.installmentmicroservice.controllers;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/installment-service/health")
+@Api(value = "This api may provide the health probe of the instance, polled by the loan-api load balancer")
+public class HealthResource {
+
+    @ApiOperation(
+            value = "Health probe",
+            notes = "This endpoint will answer UP while the instance takes calculations. An instance that doesn't " +
+                    "answer it is ejected by the loan-api load balancer until it does again"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Instance up", response = String.class)
+    })
+    @GetMapping
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok().body("UP");
+    }
+
+}
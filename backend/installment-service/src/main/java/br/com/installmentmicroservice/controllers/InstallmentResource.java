@@ -1,20 +1,33 @@
 package br.com.installmentmicroservice.controllers;
 
+import br.com.installmentmicroservice.models.dto.BatchResultDTO;
 import br.com.installmentmicroservice.models.dto.InstallmentDTO;
 import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.services.BatchCalculationService;
 import br.com.installmentmicroservice.services.InstallmentCalculationService;
+import br.com.installmentmicroservice.utils.MaturityDateUtil;
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.text.ParseException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,12 +35,21 @@ import java.util.List;
 @Api(value = "This api may provide the endpoints to calculate the installments of a Loan of the Loan-Project")
 public class InstallmentResource {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Autowired
     InstallmentCalculationService service;
 
+    @Autowired
+    BatchCalculationService batchService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @ApiOperation(
             value = "Installment calculator",
-            notes = "This endpoint will calculate the installments of a Loan"
+            notes = "This endpoint will calculate the installments of a Loan. Send Accept: " +
+                    ScheduleWireFormat.MEDIA_TYPE + " to receive them as a compact binary schedule"
     )
     @ApiResponses({
             @ApiResponse(code = 200, message = "Installments returned with success", response = InstallmentDTO.class),
@@ -35,9 +57,107 @@ public class InstallmentResource {
             @ApiResponse(code = 403, message = "Unauthorized access"),
             @ApiResponse(code = 500, message = "Bad Request")
     })
-    @PostMapping
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, ScheduleWireFormat.MEDIA_TYPE})
     public ResponseEntity<List<InstallmentDTO>> calculateInstallments(@RequestBody LoanDTO loanDTO) throws ParseException {
         return ResponseEntity.ok().body(service.installmentDistributorByAmortizationType(loanDTO));
     }
 
+    @ApiOperation(
+            value = "Installment calculator (NDJSON stream)",
+            notes = "Same of the installment calculator, writing one installment per line as soon as it is calculated"
+    )
+    @PostMapping(produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamInstallments(@RequestBody LoanDTO loanDTO) throws ParseException {
+        LocalDate startDate = MaturityDateUtil.parseStartDate(loanDTO.getStartDate());
+        return ndjson(line -> service.streamInstallments(loanDTO, startDate, line::write));
+    }
+
+    @ApiOperation(
+            value = "Installment range calculator",
+            notes = "This endpoint will calculate only the installments from..to (1-based, inclusive) of a Loan, " +
+                    "computing each one directly instead of the whole schedule"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Installments returned with success", response = InstallmentDTO.class),
+            @ApiResponse(code = 400, message = "The range is outside of the loan term"),
+            @ApiResponse(code = 401, message = "Forbidden"),
+            @ApiResponse(code = 403, message = "Unauthorized access")
+    })
+    @PostMapping(value = "/range", produces = {MediaType.APPLICATION_JSON_VALUE, ScheduleWireFormat.MEDIA_TYPE})
+    public ResponseEntity<List<InstallmentDTO>> calculateInstallmentRange(@RequestBody LoanDTO loanDTO,
+                                                                          @RequestParam Integer from,
+                                                                          @RequestParam(required = false) Integer to)
+            throws ParseException {
+        return ResponseEntity.ok().body(service.installmentRange(loanDTO, from, to != null ? to : from));
+    }
+
+    @ApiOperation(
+            value = "Batch installment calculator",
+            notes = "This endpoint will calculate the installments of many Loans in parallel, returning the results " +
+                    "in the same order of the request, with an error slot for each loan that failed"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Batch calculated with success", response = BatchResultDTO.class),
+            @ApiResponse(code = 400, message = "The batch exceeds the maximum size"),
+            @ApiResponse(code = 401, message = "Forbidden"),
+            @ApiResponse(code = 403, message = "Unauthorized access")
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> calculateBatch(@RequestBody List<LoanDTO> loans) {
+        return ResponseEntity.ok().body(batchService.calculateBatch(loans));
+    }
+
+    @ApiOperation(
+            value = "Batch installment calculator (NDJSON)",
+            notes = "Same of the batch calculator, reading one Loan per line of the request body"
+    )
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> calculateNdjsonBatch(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(batchService.calculateNdjsonBatch(body));
+    }
+
+    @ApiOperation(
+            value = "Batch installment calculator (NDJSON stream)",
+            notes = "Same of the batch calculator, writing one result per line as soon as its chunk is calculated"
+    )
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamBatch(@RequestBody List<LoanDTO> loans) {
+        batchService.verifyBatchSize(loans.size());
+        return ndjson(line -> batchService.streamBatch(loans, line::write));
+    }
+
+    @ApiOperation(
+            value = "Batch installment calculator (NDJSON in, NDJSON stream out)",
+            notes = "Same of the batch calculator, reading one Loan per line and writing one result per line"
+    )
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNdjsonBatch(InputStream body) {
+        return ndjson(line -> batchService.streamNdjsonBatch(body, line::write));
+    }
+
+    /** Each line is flushed once written, so the client receives it without waiting for the rest */
+    private ResponseEntity<StreamingResponseBody> ndjson(NdjsonWriter writer) {
+        StreamingResponseBody body = (OutputStream outputStream) -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            writer.write(value -> {
+                generator.writeObject(value);
+                generator.writeRaw('\n');
+                generator.flush();
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
+    }
+
+    @FunctionalInterface
+    private interface NdjsonWriter {
+        void write(NdjsonLine line) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface NdjsonLine {
+        void write(Object value) throws IOException;
+    }
+
 }
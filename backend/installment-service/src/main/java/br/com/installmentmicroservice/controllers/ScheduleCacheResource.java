@@ -0,0 +1,48 @@
+package br.com.installmentmicroservice.controllers;
+
+import br.com.installmentmicroservice.models.dto.ScheduleCacheStatsDTO;
+import br.com.installmentmicroservice.services.ScheduleCacheService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/installment-service/cache")
+@ConditionalOnProperty(prefix = "installment.cache", name = "enabled", havingValue = "true")
+@Api(value = "This api may provide the counters of the installment schedule cache")
+public class ScheduleCacheResource {
+
+    @Autowired
+    ScheduleCacheService service;
+
+    @ApiOperation(
+            value = "Cache statistics",
+            notes = "This endpoint will return the hit, miss and eviction counters of the schedule cache"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Statistics returned with success", response = ScheduleCacheStatsDTO.class)
+    })
+    @GetMapping
+    public ResponseEntity<ScheduleCacheStatsDTO> stats() {
+        return ResponseEntity.ok().body(service.stats());
+    }
+
+    @ApiOperation(
+            value = "Cache invalidation",
+            notes = "This endpoint will discard every cached schedule"
+    )
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        service.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,22 @@
+package br.com.installmentmicroservice.models.dto;
+
+import lombok.*;
+
+/** Class that contains the counters of the schedule cache. Weights are measured in installments */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ScheduleCacheStatsDTO {
+
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long entries;
+    private Long weight;
+    private Long maxWeight;
+    private Double hitRate;
+
+}
@@ -0,0 +1,298 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.models.dto.BatchResultDTO;
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.utils.LoanColumns;
+import br.com.installmentmicroservice.utils.MaturityDateUtil;
+import br.com.installmentmicroservice.utils.ScheduleBuffer;
+import br.com.installmentmicroservice.utils.ScheduleEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+@Slf4j
+@Service
+public class BatchCalculationService {
+
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    private static final ThreadLocal<ScheduleBuffer[]> SCHEDULE_BUFFERS = ThreadLocal.withInitial(() -> {
+        ScheduleBuffer[] buffers = new ScheduleBuffer[SEQUENTIAL_THRESHOLD];
+        for (int i = 0; i < buffers.length; i++) buffers[i] = new ScheduleBuffer(360);
+        return buffers;
+    });
+
+    @Autowired
+    InstallmentCalculationService calculationService;
+
+    @Autowired
+    ForkJoinPool batchCalculationPool;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ScheduleEngine scheduleEngine;
+
+    @Value("${installment.batch.max-size}")
+    int maxBatchSize;
+
+    public List<BatchResultDTO> calculateBatch(List<LoanDTO> loans) {
+        verifyBatchSize(loans.size());
+        return calculate(loans.toArray(new LoanDTO[0]), new BatchResultDTO[loans.size()]);
+    }
+
+    public List<BatchResultDTO> calculateNdjsonBatch(InputStream ndjson) throws IOException {
+        List<LoanDTO> loans = new ArrayList<>();
+        List<BatchResultDTO> parseErrors = readNdjson(ndjson, loans);
+        return calculate(loans.toArray(new LoanDTO[0]), toResultSlots(loans.size(), parseErrors));
+    }
+
+    /** Calculates the batch in chunks of a few loans per worker, handing the results of each chunk to the consumer
+     ** in the input order before the next chunk starts, so only one chunk of schedules is held in memory */
+    public void streamBatch(List<LoanDTO> loans, BatchResultConsumer consumer) throws IOException {
+        verifyBatchSize(loans.size());
+        stream(loans.toArray(new LoanDTO[0]), new BatchResultDTO[loans.size()], consumer);
+    }
+
+    /** Reads the loans line by line and calculates each chunk as soon as it is read, handing its results to the
+     ** consumer before reading the next one, so neither the request nor the results are ever held whole in memory.
+     ** The size of the batch is only known once read, when the response is already under way: a loan past the
+     ** maximum ends the stream with an error result of its index instead, and the rest of the request is not read */
+    public void streamNdjsonBatch(InputStream ndjson, BatchResultConsumer consumer) throws IOException {
+
+        long startedAt = System.nanoTime();
+        int chunkSize = batchCalculationPool.getParallelism() * SEQUENTIAL_THRESHOLD;
+        log.debug("[STARTING] Streaming an NDJSON batch with parallelism {}...", batchCalculationPool.getParallelism());
+        LoanDTO[] loans = new LoanDTO[chunkSize];
+        BatchResultDTO[] results = new BatchResultDTO[chunkSize];
+        int read = 0;
+        int buffered = 0;
+        int errors = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (read == maxBatchSize) {
+                    errors += streamChunk(loans, results, read - buffered, buffered, consumer);
+                    log.warn("[FAILURE] NDJSON batch stopped at the maximum of {} loans", maxBatchSize);
+                    consumer.accept(new BatchResultDTO(read, null, tooBig()));
+                    logSummary(read, errors + 1, startedAt);
+                    return;
+                }
+                try {
+                    loans[buffered] = objectMapper.readValue(line, LoanDTO.class);
+                }
+                catch (JsonProcessingException exception) {
+                    results[buffered] = new BatchResultDTO(read, null, "Invalid loan: " + exception.getOriginalMessage());
+                }
+                read++;
+                if (++buffered == chunkSize) {
+                    errors += streamChunk(loans, results, read - buffered, buffered, consumer);
+                    buffered = 0;
+                }
+            }
+        }
+        errors += streamChunk(loans, results, read - buffered, buffered, consumer);
+
+        logSummary(read, errors, startedAt);
+
+    }
+
+    private List<BatchResultDTO> readNdjson(InputStream ndjson, List<LoanDTO> loans) throws IOException {
+
+        List<BatchResultDTO> parseErrors = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                verifyBatchSize(loans.size() + 1);
+                try {
+                    loans.add(objectMapper.readValue(line, LoanDTO.class));
+                }
+                catch (JsonProcessingException exception) {
+                    loans.add(null);
+                    parseErrors.add(new BatchResultDTO(loans.size() - 1, null, "Invalid loan: " + exception.getOriginalMessage()));
+                }
+            }
+        }
+
+        return parseErrors;
+
+    }
+
+    private BatchResultDTO[] toResultSlots(int size, List<BatchResultDTO> parseErrors) {
+        BatchResultDTO[] results = new BatchResultDTO[size];
+        for (BatchResultDTO parseError : parseErrors) results[parseError.getIndex()] = parseError;
+        return results;
+    }
+
+    private List<BatchResultDTO> calculate(LoanDTO[] loans, BatchResultDTO[] results) {
+        long startedAt = System.nanoTime();
+        log.debug("[STARTING] Calculating a batch of {} loans with parallelism {}...",
+                loans.length, batchCalculationPool.getParallelism());
+        batchCalculationPool.invoke(new BatchCalculationTask(loans, results, 0, 0, loans.length));
+        logSummary(loans.length, countErrors(results, 0, results.length), startedAt);
+        return Arrays.asList(results);
+    }
+
+    private void stream(LoanDTO[] loans, BatchResultDTO[] results, BatchResultConsumer consumer) throws IOException {
+
+        long startedAt = System.nanoTime();
+        log.debug("[STARTING] Streaming a batch of {} loans with parallelism {}...",
+                loans.length, batchCalculationPool.getParallelism());
+        int chunkSize = batchCalculationPool.getParallelism() * SEQUENTIAL_THRESHOLD;
+        int errors = 0;
+
+        for (int from = 0; from < loans.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, loans.length);
+            batchCalculationPool.invoke(new BatchCalculationTask(loans, results, 0, from, to));
+            errors += countErrors(results, from, to);
+            for (int i = from; i < to; i++) {
+                consumer.accept(results[i]);
+                results[i] = null;
+                loans[i] = null;
+            }
+        }
+
+        logSummary(loans.length, errors, startedAt);
+
+    }
+
+    /** Calculates the first size loans of the chunk, whose first loan is the loan offset of the batch, and hands their
+     ** results to the consumer, clearing the chunk for the next one */
+    private int streamChunk(LoanDTO[] loans, BatchResultDTO[] results, int offset, int size,
+                            BatchResultConsumer consumer) throws IOException {
+        batchCalculationPool.invoke(new BatchCalculationTask(loans, results, offset, 0, size));
+        int errors = countErrors(results, 0, size);
+        for (int i = 0; i < size; i++) {
+            consumer.accept(results[i]);
+            results[i] = null;
+            loans[i] = null;
+        }
+        return errors;
+    }
+
+    private int countErrors(BatchResultDTO[] results, int from, int to) {
+        int errors = 0;
+        for (int i = from; i < to; i++) {
+            if (results[i].getError() != null) errors++;
+        }
+        return errors;
+    }
+
+    private void logSummary(int loans, int errors, long startedAt) {
+        log.info("[SUCCESS] Batch of {} loans calculated with {} errors in {} ms",
+                loans, errors, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /** Rejects a batch bigger than the maximum, before any of it is calculated or streamed */
+    public void verifyBatchSize(int size) {
+        if (size > maxBatchSize) throw new InvalidRequestException(tooBig());
+    }
+
+    private String tooBig() {
+        return "The batch can't have more than " + maxBatchSize + " loans";
+    }
+
+    /** Calculates the loans from..to that are neither failed nor cached in a single call to the ScheduleEngine. The
+     ** results are indexed from offset, the index in the batch of the loan 0 of the array */
+    private void calculateChunk(LoanDTO[] loans, BatchResultDTO[] results, int offset, int from, int to) {
+
+        ScheduleBuffer[] buffers = SCHEDULE_BUFFERS.get();
+        LoanColumns columns = new LoanColumns(to - from);
+        LocalDate[] startDates = new LocalDate[to - from];
+        int[] indexes = new int[to - from];
+
+        for (int i = from; i < to; i++) {
+            if (results[i] != null) continue;
+            try {
+                LocalDate startDate = MaturityDateUtil.parseStartDate(loans[i].getStartDate());
+                List<InstallmentDTO> cached = calculationService.cachedSchedule(loans[i], startDate);
+                if (cached != null) {
+                    results[i] = new BatchResultDTO(offset + i, cached, null);
+                    continue;
+                }
+                int column = columns.add(loans[i]);
+                startDates[column] = startDate;
+                indexes[column] = i;
+            }
+            catch (Exception exception) {
+                results[i] = error(offset + i, exception);
+            }
+        }
+
+        scheduleEngine.calculate(columns, buffers);
+
+        for (int column = 0; column < columns.size(); column++) {
+            int i = indexes[column];
+            try {
+                results[i] = new BatchResultDTO(offset + i,
+                        calculationService.installmentsOf(loans[i], startDates[column], buffers[column]), null);
+            }
+            catch (Exception exception) {
+                results[i] = error(offset + i, exception);
+            }
+        }
+
+    }
+
+    private BatchResultDTO error(int index, Exception exception) {
+        String message = exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName();
+        return new BatchResultDTO(index, null, message);
+    }
+
+    private class BatchCalculationTask extends RecursiveAction {
+
+        private final transient LoanDTO[] loans;
+        private final transient BatchResultDTO[] results;
+        private final int offset;
+        private final int from;
+        private final int to;
+
+        BatchCalculationTask(LoanDTO[] loans, BatchResultDTO[] results, int offset, int from, int to) {
+            this.loans = loans;
+            this.results = results;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                calculateChunk(loans, results, offset, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchCalculationTask(loans, results, offset, from, middle),
+                    new BatchCalculationTask(loans, results, offset, middle, to));
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface BatchResultConsumer {
+        void accept(BatchResultDTO result) throws IOException;
+    }
+
+}
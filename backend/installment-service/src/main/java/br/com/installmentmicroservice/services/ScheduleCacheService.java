@@ -0,0 +1,159 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.dto.ScheduleCacheStatsDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import br.com.installmentmicroservice.models.enums.PaymentDateEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/** Memoizes calculated schedules by the loan fields they depend on. The weight of an entry is its number of
+ ** installments, so installment.cache.max-weight bounds the cached installments rather than the cached loans.
+ ** The schedules are cached once, as unmodifiable lists of immutable installments, and every hit is handed that same
+ ** list: nothing is copied, and a caller trying to change a cached installment gets an UnsupportedOperationException
+ ** instead of changing the schedule served to the others */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "installment.cache", name = "enabled", havingValue = "true")
+public class ScheduleCacheService implements ScheduleCache {
+
+    private final Cache<ScheduleKey, List<InstallmentDTO>> cache;
+    private final long maxWeight;
+
+    @Autowired
+    public ScheduleCacheService(@Value("${installment.cache.max-weight}") long maxWeight,
+                                @Value("${installment.cache.ttl}") Duration ttl) {
+        this(maxWeight, ttl, ForkJoinPool.commonPool());
+    }
+
+    /** The evictions run on the maintenance executor, the common pool by default */
+    ScheduleCacheService(long maxWeight, Duration ttl, Executor maintenance) {
+        this.maxWeight = maxWeight;
+        this.cache = Caffeine.newBuilder()
+                .executor(maintenance)
+                .maximumWeight(maxWeight)
+                .weigher((ScheduleKey key, List<InstallmentDTO> schedule) -> schedule.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        log.info("[STARTING] Schedule cache enabled with max weight {} and ttl {}", maxWeight, ttl);
+    }
+
+    @Override
+    public List<InstallmentDTO> get(LoanDTO loan, LocalDate startDate, Supplier<List<InstallmentDTO>> calculation) {
+        return cache.get(ScheduleKey.of(loan, startDate), key -> immutable(calculation.get()));
+    }
+
+    @Override
+    public List<InstallmentDTO> getIfPresent(LoanDTO loan, LocalDate startDate) {
+        return cache.getIfPresent(ScheduleKey.of(loan, startDate));
+    }
+
+    public ScheduleCacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+        return new ScheduleCacheStatsDTO(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                weight,
+                maxWeight,
+                stats.hitRate());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /** Maps a calculated schedule, once, to the value cached */
+    static List<InstallmentDTO> immutable(List<InstallmentDTO> schedule) {
+        List<InstallmentDTO> installments = new ArrayList<>(schedule.size());
+        for (InstallmentDTO installment : schedule) installments.add(new CachedInstallment(installment));
+        return List.copyOf(installments);
+    }
+
+    /** InstallmentDTO whose setters refuse any change. Equal to, and printed as, the InstallmentDTO it was made of */
+    static final class CachedInstallment extends InstallmentDTO {
+
+        CachedInstallment(InstallmentDTO installment) {
+            super(null, installment.getMaturityDate(), null, installment.getMonth(), installment.getAmortization(),
+                    installment.getInterest(), installment.getValue(), null);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw immutable();
+        }
+
+        @Override
+        public void setMaturityDate(String maturityDate) {
+            throw immutable();
+        }
+
+        @Override
+        public void setPaymentDate(String paymentDate) {
+            throw immutable();
+        }
+
+        @Override
+        public void setMonth(Integer month) {
+            throw immutable();
+        }
+
+        @Override
+        public void setAmortization(Double amortization) {
+            throw immutable();
+        }
+
+        @Override
+        public void setInterest(Double interest) {
+            throw immutable();
+        }
+
+        @Override
+        public void setValue(Double value) {
+            throw immutable();
+        }
+
+        @Override
+        public void setLoan(LoanDTO loan) {
+            throw immutable();
+        }
+
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("Cached installments are shared and can't be changed");
+        }
+
+    }
+
+    record ScheduleKey(Double originalValue, Double interestRate, Integer numberOfInstallments,
+                       PaymentDateEnum paymentDate, AmortizationEnum amortization, LocalDate startDate) {
+
+        static ScheduleKey of(LoanDTO loan, LocalDate startDate) {
+            return new ScheduleKey(loan.getOriginalValue(), loan.getInterestRate(), loan.getNumberOfInstallments(),
+                    loan.getPaymentDate(), loan.getAmortization(), startDate);
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+
+import java.util.List;
+
+/** Structure-of-arrays view of many loans, holding only the fields the amortization depends on. Values are kept as
+ ** they come in the LoanDTO: originalValue in reais and interestRate in percent */
+public class LoanColumns {
+
+    private final double[] originalValues;
+    private final double[] interestRates;
+    private final int[] numberOfInstallments;
+    private final AmortizationEnum[] amortizations;
+    private int size;
+
+    public LoanColumns(int capacity) {
+        this.originalValues = new double[capacity];
+        this.interestRates = new double[capacity];
+        this.numberOfInstallments = new int[capacity];
+        this.amortizations = new AmortizationEnum[capacity];
+    }
+
+    public static LoanColumns of(List<LoanDTO> loans) {
+        LoanColumns columns = new LoanColumns(loans.size());
+        for (LoanDTO loan : loans) columns.add(loan);
+        return columns;
+    }
+
+    /** Appends the loan and returns its index. Fails before changing anything when a field is missing */
+    public int add(LoanDTO loan) {
+        return add(loan.getOriginalValue(), loan.getInterestRate(), loan.getNumberOfInstallments(), loan.getAmortization());
+    }
+
+    public int add(double originalValue, double interestRate, int numberOfInstallments, AmortizationEnum amortization) {
+        if (amortization == null) throw new IllegalArgumentException("The amortization can't be null");
+        this.originalValues[size] = originalValue;
+        this.interestRates[size] = interestRate;
+        this.numberOfInstallments[size] = numberOfInstallments;
+        this.amortizations[size] = amortization;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double originalValue(int index) {
+        return originalValues[index];
+    }
+
+    public double interestRate(int index) {
+        return interestRates[index];
+    }
+
+    public int numberOfInstallments(int index) {
+        return numberOfInstallments[index];
+    }
+
+    public AmortizationEnum amortization(int index) {
+        return amortizations[index];
+    }
+
+}
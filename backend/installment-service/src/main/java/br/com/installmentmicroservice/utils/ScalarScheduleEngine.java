@@ -0,0 +1,19 @@
+package br.com.installmentmicroservice.utils;
+
+/** Walks the ScheduleCursor of one loan after the other */
+public class ScalarScheduleEngine implements ScheduleEngine {
+
+    @Override
+    public void calculate(LoanColumns loans, ScheduleBuffer[] buffers) {
+        for (int i = 0; i < loans.size(); i++) {
+            calculate(loans, i, buffers[i]);
+        }
+    }
+
+    static void calculate(LoanColumns loans, int index, ScheduleBuffer buffer) {
+        ScheduleCursor cursor = new ScheduleCursor(loans.originalValue(index), loans.interestRate(index),
+                loans.numberOfInstallments(index), loans.amortization(index));
+        AmortizationKernel.fill(cursor, loans.numberOfInstallments(index), buffer);
+    }
+
+}
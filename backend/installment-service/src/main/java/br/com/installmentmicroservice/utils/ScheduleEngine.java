@@ -0,0 +1,9 @@
+package br.com.installmentmicroservice.utils;
+
+/** Calculates the schedules of many loans at once: the schedule of the loan i is written into buffers[i], which is
+ ** reset to the term of the loan. Every engine must produce exactly the same centavos as the ScheduleCursor */
+public interface ScheduleEngine {
+
+    void calculate(LoanColumns loans, ScheduleBuffer[] buffers);
+
+}
@@ -0,0 +1,168 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/** SIMD engine on jdk.incubator.vector for PRICE schedules: every lane is a loan, so the annuity factor, the balances
+ ** and the interest/amortization of the same installment month are calculated for SPECIES.length() loans at once.
+ ** Loans are sorted by term, so the loans sharing a vector have similar terms.
+ ** Every operation is the one of the ScheduleCursor walk, in the same order and on the same doubles, so the schedules
+ ** are the same of the ScalarScheduleEngine to the centavo, rounding residue of the last installment included.
+ ** SAC schedules have no work to share, their scalar loop is already faster than storing the lanes, so they are
+ ** handed to the ScalarScheduleEngine together with the loans the lanes can't represent exactly (zero or negative
+ ** rates, values near 2^52 centavos, terms whose (1+i)^n overflows).
+ ** Needs the JVM to be started with --add-modules jdk.incubator.vector */
+public class VectorScheduleEngine implements ScheduleEngine {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /** Adding and subtracting 2^52 rounds |x| < 2^52 to an integer HALF_EVEN, exactly as Math.rint */
+    private static final double ROUNDING_MAGIC = 0x1p52;
+    private static final double MAX_VECTOR_CENTS = 0x1p50;
+
+    @Override
+    public void calculate(LoanColumns loans, ScheduleBuffer[] buffers) {
+
+        long[] price = new long[loans.size()];
+        int priceCount = 0;
+
+        for (int i = 0; i < loans.size(); i++) {
+            buffers[i].reset(loans.numberOfInstallments(i));
+            if (fitsInLanes(loans, i)) {
+                price[priceCount++] = sortKey(loans, i);
+            }
+            else {
+                ScalarScheduleEngine.calculate(loans, i, buffers[i]);
+            }
+        }
+
+        Arrays.sort(price, 0, priceCount);
+
+        Lanes lanes = new Lanes();
+        for (int from = 0; from < priceCount; from += SPECIES.length()) {
+            lanes.load(loans, price, from, Math.min(from + SPECIES.length(), priceCount));
+            price(lanes, buffers);
+        }
+
+    }
+
+    private static boolean fitsInLanes(LoanColumns loans, int index) {
+        double rate = loans.interestRate(index) / 100;
+        double cents = Math.abs(AmortizationKernel.toCents(loans.originalValue(index)));
+        return loans.amortization(index) == AmortizationEnum.PRICE && rate > 0
+                && loans.numberOfInstallments(index) >= 1 && cents * (1 + rate) < MAX_VECTOR_CENTS;
+    }
+
+    private static long sortKey(LoanColumns loans, int index) {
+        return ((long) loans.numberOfInstallments(index) << 32) | index;
+    }
+
+    private static void price(Lanes lanes, ScheduleBuffer[] buffers) {
+
+        DoubleVector originalValue = DoubleVector.fromArray(SPECIES, lanes.originalValue, 0);
+        DoubleVector interestRate = DoubleVector.fromArray(SPECIES, lanes.interestRate, 0);
+        DoubleVector numberOfInstallments = DoubleVector.fromArray(SPECIES, lanes.numberOfInstallments, 0);
+        DoubleVector termPow = DoubleVector.fromArray(SPECIES, lanes.termPow, 0);
+
+        DoubleVector annuityFactor = termPow.mul(interestRate).div(termPow.sub(1));
+
+        VectorMask<Double> overflow = annuityFactor.test(VectorOperators.IS_FINITE).not();
+        if (overflow.anyTrue()) lanes.calculateScalar(overflow, buffers);
+
+        DoubleVector constantValue = rint(originalValue.mul(annuityFactor));
+        originalValue.intoArray(lanes.balance, 0);
+        DoubleVector.zero(SPECIES).intoArray(lanes.amortization, 0);
+
+        /* The vectors carried from one month to the next go through the lane arrays, which keeps C2 from boxing them */
+        for (int month = 1; month <= lanes.maxNumberOfInstallments; month++) {
+
+            DoubleVector balance = DoubleVector.fromArray(SPECIES, lanes.balance, 0)
+                    .sub(DoubleVector.fromArray(SPECIES, lanes.amortization, 0));
+            balance.intoArray(lanes.balance, 0);
+
+            DoubleVector interest = rint(balance.mul(interestRate));
+            VectorMask<Double> last = numberOfInstallments.compare(VectorOperators.EQ, month);
+            DoubleVector amortization = constantValue.sub(interest).blend(balance, last);
+
+            lanes.store(month, amortization, interest, buffers);
+
+        }
+
+    }
+
+    /** Sign-symmetric HALF_EVEN rounding of lanes below 2^52 */
+    private static DoubleVector rint(DoubleVector value) {
+        DoubleVector rounded = value.abs().add(ROUNDING_MAGIC).sub(ROUNDING_MAGIC);
+        return rounded.blend(rounded.neg(), value.compare(VectorOperators.LT, 0));
+    }
+
+    /** Loans of one vector. Lanes past count are padding and never stored */
+    private static class Lanes {
+
+        private final double[] originalValue = new double[SPECIES.length()];
+        private final double[] interestRate = new double[SPECIES.length()];
+        private final double[] numberOfInstallments = new double[SPECIES.length()];
+        private final double[] termPow = new double[SPECIES.length()];
+        private final int[] indexes = new int[SPECIES.length()];
+        private final double[] amortization = new double[SPECIES.length()];
+        private final double[] interest = new double[SPECIES.length()];
+        private final double[] balance = new double[SPECIES.length()];
+        private LoanColumns loans;
+        private int count;
+        private int maxNumberOfInstallments;
+
+        void load(LoanColumns loans, long[] sortKeys, int from, int to) {
+
+            this.loans = loans;
+            count = to - from;
+            maxNumberOfInstallments = 0;
+
+            for (int lane = 0; lane < SPECIES.length(); lane++) {
+                if (lane < count) {
+                    int index = (int) sortKeys[from + lane];
+                    indexes[lane] = index;
+                    originalValue[lane] = AmortizationKernel.toCents(loans.originalValue(index));
+                    interestRate[lane] = loans.interestRate(index) / 100;
+                    numberOfInstallments[lane] = loans.numberOfInstallments(index);
+                    termPow[lane] = Math.pow(1 + interestRate[lane], numberOfInstallments[lane]);
+                    maxNumberOfInstallments = Math.max(maxNumberOfInstallments, loans.numberOfInstallments(index));
+                }
+                else {
+                    indexes[lane] = -1;
+                    originalValue[lane] = 0;
+                    interestRate[lane] = 0.01;
+                    numberOfInstallments[lane] = 1;
+                    termPow[lane] = 1.01;
+                }
+            }
+
+        }
+
+        void store(int month, DoubleVector amortizations, DoubleVector interests, ScheduleBuffer[] buffers) {
+            amortizations.intoArray(amortization, 0);
+            interests.intoArray(interest, 0);
+            for (int lane = 0; lane < count; lane++) {
+                if (indexes[lane] >= 0 && month <= numberOfInstallments[lane]) {
+                    buffers[indexes[lane]].set(month - 1, (long) amortization[lane], (long) interest[lane]);
+                }
+            }
+        }
+
+        /** Calculates the lanes with the ScalarScheduleEngine, leaving them out of every following store */
+        void calculateScalar(VectorMask<Double> lanes, ScheduleBuffer[] buffers) {
+            for (int lane = 0; lane < count; lane++) {
+                if (lanes.laneIsSet(lane) && indexes[lane] >= 0) {
+                    ScalarScheduleEngine.calculate(loans, indexes[lane], buffers[indexes[lane]]);
+                    indexes[lane] = -1;
+                }
+            }
+        }
+
+    }
+
+}
@@ -1,18 +1,30 @@
 package br.com.installmentmicroservice;
 
+import br.com.installmentmicroservice.services.ScheduleCacheService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "installment.cache.enabled=true")
 @DisplayName("Main class test")
 class InstallmentMicroServiceApplicationTests {
 
+	@Autowired
+	ObjectProvider<ScheduleCacheService> scheduleCache;
+
 	@Test
 	void main() {
 		boolean ok = true;
 		Assertions.assertTrue(ok);
 	}
 
+	@Test
+	@DisplayName("Should start with the schedule cache enabled")
+	void shouldStartWithTheScheduleCacheEnabled() {
+		Assertions.assertNotNull(scheduleCache.getIfAvailable());
+	}
+
 }
@@ -0,0 +1,139 @@
+package br.com.installmentmicroservice.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@DisplayName("Config: GzipRequestFilter")
+class GzipRequestFilterTest {
+
+    private static final String LOAN = "{\"startDate\":\"2022-08-02\",\"originalValue\":5000.0,\"interestRate\":1.0," +
+            "\"numberOfInstallments\":10,\"paymentDate\":\"FIFTH_BUSINESS_DAY\",\"amortization\":\"SAC\"}";
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(DataSize.ofKilobytes(1));
+
+    @Test
+    @DisplayName("Should hand the controllers the inflated body without the encoding headers")
+    void shouldHandTheControllersTheInflatedBody() throws Exception {
+
+        MockHttpServletRequest request = request(gzip(LOAN));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest inflated = (HttpServletRequest) chain.getRequest();
+        Assertions.assertEquals(LOAN, new String(inflated.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        Assertions.assertNull(inflated.getHeader("Content-Encoding"));
+        Assertions.assertEquals(-1, inflated.getContentLength());
+
+    }
+
+    @Test
+    @DisplayName("Should tell the end of the inflated body and hand it to a read listener")
+    void shouldTellTheEndOfTheInflatedBodyAndHandItToAReadListener() throws Exception {
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(gzip(LOAN)), new MockHttpServletResponse(), chain);
+
+        ServletInputStream body = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        Assertions.assertFalse(body.isFinished());
+        body.setReadListener(new ReadListener() {
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[64];
+                int length;
+                while (body.isReady() && (length = body.read(buffer)) >= 0) read.write(buffer, 0, length);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("all");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+
+        });
+
+        Assertions.assertEquals(List.of("data", "all"), events);
+        Assertions.assertEquals(LOAN, read.toString(StandardCharsets.UTF_8));
+        Assertions.assertTrue(body.isFinished());
+
+    }
+
+    @Test
+    @DisplayName("Should let the plain bodies through untouched")
+    void shouldLetThePlainBodiesThroughUntouched() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/installment-service");
+        request.setContent(LOAN.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Assertions.assertSame(request, chain.getRequest());
+
+    }
+
+    @Test
+    @DisplayName("Should answer bad request to a body that is not gzip")
+    void shouldAnswerBadRequestToABodyThatIsNotGzip() throws Exception {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(LOAN.getBytes(StandardCharsets.UTF_8)), response, chain);
+
+        Assertions.assertEquals(400, response.getStatus());
+        Assertions.assertNull(chain.getRequest());
+
+    }
+
+    @Test
+    @DisplayName("Should stop inflating a body over the maximum size")
+    void shouldStopInflatingABodyOverTheMaximumSize() throws Exception {
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(gzip("0".repeat(4096))), new MockHttpServletResponse(), chain);
+
+        Assertions.assertThrows(IOException.class, () -> chain.getRequest().getInputStream().readAllBytes());
+
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/installment-service");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+}
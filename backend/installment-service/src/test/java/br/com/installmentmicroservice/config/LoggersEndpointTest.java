@@ -0,0 +1,55 @@
+package br.com.installmentmicroservice.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.Map;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@DisplayName("Config: Loggers endpoint")
+class LoggersEndpointTest {
+
+    private static final String LOGGER = "/actuator/loggers/br.com.installmentmicroservice.services";
+
+    @LocalServerPort
+    int serverPort;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Should switch a logger to debug and back on the management port")
+    void shouldSwitchALoggerToDebugAndBackOnTheManagementPort() {
+
+        String logger = "http://127.0.0.1:" + managementPort + LOGGER;
+
+        Assertions.assertEquals(HttpStatus.NO_CONTENT,
+                restTemplate.postForEntity(logger, Map.of("configuredLevel", "DEBUG"), Void.class).getStatusCode());
+        Assertions.assertEquals("DEBUG", restTemplate.getForObject(logger, Map.class).get("effectiveLevel"));
+
+        restTemplate.postForEntity(logger, Collections.singletonMap("configuredLevel", null), Void.class);
+        Assertions.assertNull(restTemplate.getForObject(logger, Map.class).get("configuredLevel"));
+
+    }
+
+    @Test
+    @DisplayName("Should not expose the loggers on the service port")
+    void shouldNotExposeTheLoggersOnTheServicePort() {
+        ResponseEntity<String> response =
+                restTemplate.getForEntity("http://127.0.0.1:" + serverPort + LOGGER, String.class);
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+}
@@ -0,0 +1,105 @@
+package br.com.installmentmicroservice.controllers;
+
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Resource: Installment")
+class InstallmentResourceTest {
+
+    private static final String LOAN = "{\"startDate\":\"2022-08-02\",\"originalValue\":1200.0,\"interestRate\":1.0," +
+            "\"numberOfInstallments\":3,\"paymentDate\":\"DAY_TEN\",\"amortization\":\"SAC\"}";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should keep answering a json array when no ndjson is requested")
+    void shouldKeepAnsweringAJsonArrayWhenNoNdjsonIsRequested() throws Exception {
+        mockMvc.perform(post("/installment-service").contentType(MediaType.APPLICATION_JSON).content(LOAN))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("Should answer a binary schedule when it is requested")
+    void shouldAnswerABinaryScheduleWhenItIsRequested() throws Exception {
+
+        byte[] body = mockMvc.perform(post("/installment-service")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(ScheduleWireFormat.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content(LOAN))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ScheduleWireFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<InstallmentDTO> installments = ScheduleWireFormat.decode(body);
+        Assertions.assertEquals(3, installments.size());
+        Assertions.assertEquals("2022-9-12", installments.get(0).getMaturityDate());
+        Assertions.assertEquals(400.0, installments.get(0).getAmortization());
+        Assertions.assertEquals(12.0, installments.get(0).getInterest());
+
+    }
+
+    @Test
+    @DisplayName("Should stream one installment per line when ndjson is requested")
+    void shouldStreamOneInstallmentPerLineWhenNdjsonIsRequested() throws Exception {
+
+        MvcResult result = mockMvc.perform(post("/installment-service")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(InstallmentResource.APPLICATION_NDJSON)
+                        .content(LOAN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"maturityDate\":\"2022-9-12\""));
+        Assertions.assertTrue(lines[2].contains("\"month\":3"));
+
+    }
+
+    @Test
+    @DisplayName("Should stream one batch result per line when ndjson is requested")
+    void shouldStreamOneBatchResultPerLineWhenNdjsonIsRequested() throws Exception {
+
+        MvcResult result = mockMvc.perform(post("/installment-service/batch")
+                        .contentType(InstallmentResource.APPLICATION_NDJSON)
+                        .accept(InstallmentResource.APPLICATION_NDJSON)
+                        .content(LOAN + "\n{broken}\n" + LOAN + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"index\":0"));
+        Assertions.assertTrue(lines[1].contains("Invalid loan"));
+        Assertions.assertTrue(lines[2].startsWith("{\"index\":2"));
+
+    }
+
+}
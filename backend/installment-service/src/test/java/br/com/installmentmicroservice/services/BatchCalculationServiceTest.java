@@ -0,0 +1,149 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.exceptions.InvalidRequestException;
+import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
+import br.com.installmentmicroservice.models.dto.BatchResultDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.utils.ScalarScheduleEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@DisplayName("Service: BatchCalculationService")
+class BatchCalculationServiceTest {
+
+    BatchCalculationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchCalculationService();
+        service.calculationService = new InstallmentCalculationService();
+        service.batchCalculationPool = new ForkJoinPool(4);
+        service.objectMapper = new ObjectMapper();
+        service.scheduleEngine = new ScalarScheduleEngine();
+        service.maxBatchSize = 1000;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.batchCalculationPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the results in the input order with an error slot for each failed loan")
+    void shouldReturnTheResultsInTheInputOrderWithAnErrorSlotForEachFailedLoan() throws ParseException {
+
+        List<LoanDTO> loans = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LoanDTO loan = LoanDTODataBuilder.builder().build();
+            loan.setNumberOfInstallments(i % 50 + 1);
+            if (i % 7 == 0) loan.setStartDate("invalid");
+            loans.add(loan);
+        }
+
+        List<BatchResultDTO> results = service.calculateBatch(loans);
+
+        Assertions.assertEquals(200, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchResultDTO result = results.get(i);
+            Assertions.assertEquals(i, result.getIndex());
+            if (i % 7 == 0) {
+                Assertions.assertNull(result.getInstallments());
+                Assertions.assertNotNull(result.getError());
+            }
+            else {
+                Assertions.assertNull(result.getError());
+                Assertions.assertEquals(service.calculationService.installmentDistributorByAmortizationType(loans.get(i)),
+                        result.getInstallments());
+            }
+        }
+
+    }
+
+    @Test
+    @DisplayName("Should read one loan per NDJSON line")
+    void shouldReadOneLoanPerNdjsonLine() throws IOException {
+
+        String body = "{\"startDate\":\"2022-08-02\",\"originalValue\":1000.0,\"interestRate\":1.0," +
+                "\"numberOfInstallments\":12,\"paymentDate\":\"DAY_TEN\",\"amortization\":\"PRICE\"}\n" +
+                "{not a loan}\n" +
+                "\n" +
+                "{\"startDate\":\"2022-08-02\",\"originalValue\":1000.0,\"interestRate\":1.0," +
+                "\"numberOfInstallments\":6,\"paymentDate\":\"DAY_TEN\",\"amortization\":\"SAC\"}\n";
+
+        List<BatchResultDTO> results = service.calculateNdjsonBatch(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(12, results.get(0).getInstallments().size());
+        Assertions.assertTrue(results.get(1).getError().startsWith("Invalid loan"));
+        Assertions.assertEquals(6, results.get(2).getInstallments().size());
+
+    }
+
+    @Test
+    @DisplayName("Should stream the results of each NDJSON chunk before reading the rest of the request")
+    void shouldStreamTheResultsOfEachNdjsonChunkBeforeReadingTheRestOfTheRequest() throws IOException {
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            body.append(i % 7 == 0 ? "{not a loan}" : "{\"startDate\":\"2022-08-02\",\"originalValue\":1000.0," +
+                    "\"interestRate\":1.0,\"numberOfInstallments\":" + (i % 50 + 1) + ",\"paymentDate\":\"DAY_TEN\"," +
+                    "\"amortization\":\"PRICE\"}").append('\n');
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream request = new ByteArrayInputStream(bytes);
+        List<BatchResultDTO> results = new ArrayList<>();
+        int[] unreadOnFirstResult = new int[1];
+
+        service.streamNdjsonBatch(request, result -> {
+            if (results.isEmpty()) unreadOnFirstResult[0] = request.available();
+            results.add(result);
+        });
+
+        Assertions.assertTrue(unreadOnFirstResult[0] > 0);
+        Assertions.assertEquals(300, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.assertEquals(i, results.get(i).getIndex());
+            if (i % 7 == 0) Assertions.assertTrue(results.get(i).getError().startsWith("Invalid loan"));
+            else Assertions.assertEquals(i % 50 + 1, results.get(i).getInstallments().size());
+        }
+
+    }
+
+    @Test
+    @DisplayName("Should reject a batch bigger than the configured maximum")
+    void shouldRejectABatchBiggerThanTheConfiguredMaximum() {
+        service.maxBatchSize = 1;
+        List<LoanDTO> loans = List.of(LoanDTODataBuilder.builder().build(), LoanDTODataBuilder.builder().build());
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.calculateBatch(loans));
+    }
+
+    @Test
+    @DisplayName("Should end an NDJSON stream bigger than the configured maximum with an error result")
+    void shouldEndAnNdjsonStreamBiggerThanTheConfiguredMaximumWithAnErrorResult() throws IOException {
+        service.maxBatchSize = 2;
+        String loan = "{\"startDate\":\"2022-08-02\",\"originalValue\":1000.0,\"interestRate\":1.0," +
+                "\"numberOfInstallments\":3,\"paymentDate\":\"DAY_TEN\",\"amortization\":\"PRICE\"}\n";
+        List<BatchResultDTO> results = new ArrayList<>();
+
+        service.streamNdjsonBatch(new ByteArrayInputStream((loan + loan + loan + loan).getBytes(StandardCharsets.UTF_8)),
+                results::add);
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(3, results.get(1).getInstallments().size());
+        Assertions.assertEquals(new BatchResultDTO(2, null, "The batch can't have more than 2 loans"), results.get(2));
+    }
+
+}
@@ -0,0 +1,82 @@
+package br.com.installmentmicroservice.services;
+
+import br.com.installmentmicroservice.mocks.LoanDTODataBuilder;
+import br.com.installmentmicroservice.models.dto.InstallmentDTO;
+import br.com.installmentmicroservice.models.dto.LoanDTO;
+import br.com.installmentmicroservice.utils.BusinessDayCalendar;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+@DisplayName("Service: ScheduleCacheService")
+class ScheduleCacheServiceTest {
+
+    ScheduleCacheService scheduleCache;
+
+    InstallmentCalculationService calculationService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleCache = new ScheduleCacheService(1000, Duration.ofMinutes(1), Runnable::run);
+        calculationService = new InstallmentCalculationService(BusinessDayCalendar.defaultCalendar(), scheduleCache);
+    }
+
+    @Test
+    @DisplayName("Should hand every cache hit the same immutable schedule")
+    void shouldHandEveryCacheHitTheSameImmutableSchedule() throws ParseException {
+
+        List<InstallmentDTO> first = calculationService.installmentDistributorByAmortizationType(loan("2022-08-02"));
+        List<InstallmentDTO> second = calculationService.installmentDistributorByAmortizationType(loan("2022-8-2"));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(120, second.size());
+        Assertions.assertEquals(calculationService.sacCalculation(loan("2022-08-02")), second);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.get(0).setValue(0.0));
+        Assertions.assertThrows(UnsupportedOperationException.class, first::clear);
+        Assertions.assertEquals(1L, scheduleCache.stats().getHits());
+        Assertions.assertEquals(1L, scheduleCache.stats().getMisses());
+
+    }
+
+    @Test
+    @DisplayName("Should calculate again when any key field changes")
+    void shouldCalculateAgainWhenAnyKeyFieldChanges() throws ParseException {
+
+        LoanDTO other = loan("2022-08-02");
+        other.setInterestRate(2.0);
+
+        Assertions.assertNotEquals(calculationService.installmentDistributorByAmortizationType(loan("2022-08-02")),
+                calculationService.installmentDistributorByAmortizationType(other));
+        Assertions.assertEquals(2L, scheduleCache.stats().getMisses());
+
+    }
+
+    @Test
+    @DisplayName("Should evict schedules beyond the max weight")
+    void shouldEvictSchedulesBeyondTheMaxWeight() throws ParseException {
+
+        for (int i = 1; i <= 20; i++) {
+            LoanDTO loan = loan("2022-08-02");
+            loan.setNumberOfInstallments(100 + i);
+            calculationService.installmentDistributorByAmortizationType(loan);
+        }
+        scheduleCache.cleanUp();
+
+        Assertions.assertTrue(scheduleCache.stats().getWeight() <= 1000);
+        Assertions.assertTrue(scheduleCache.stats().getEvictions() > 0);
+
+    }
+
+    private LoanDTO loan(String startDate) {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate(startDate);
+        loan.setNumberOfInstallments(120);
+        return loan;
+    }
+
+}
@@ -0,0 +1,77 @@
+package br.com.installmentmicroservice.utils;
+
+import br.com.installmentmicroservice.models.enums.AmortizationEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+@DisplayName("Util: VectorScheduleEngine")
+class VectorScheduleEngineTest {
+
+    private static final double[] RATES = {0.0, 0.0001, 0.01, 0.5, 0.99, 1.0, 1.15, 2.5, 9.99, 15.0, 120.0};
+
+    @Test
+    @DisplayName("Should match the scalar engine to the centavo")
+    void shouldMatchTheScalarEngineToTheCentavo() {
+
+        Random random = new Random(42);
+        LoanColumns loans = new LoanColumns(3000);
+
+        for (int i = 0; i < 3000; i++) {
+            double originalValue = Math.round(Math.pow(10, 1 + random.nextDouble() * 7) * 100) / 100.0;
+            double interestRate = i % 3 == 0 ? RATES[random.nextInt(RATES.length)]
+                    : Math.round(random.nextDouble() * 1500) / 100.0;
+            loans.add(originalValue, interestRate, 1 + random.nextInt(999),
+                    i % 2 == 0 ? AmortizationEnum.SAC : AmortizationEnum.PRICE);
+        }
+
+        ScheduleBuffer[] scalar = buffers(loans.size());
+        ScheduleBuffer[] vector = buffers(loans.size());
+        new ScalarScheduleEngine().calculate(loans, scalar);
+        new VectorScheduleEngine().calculate(loans, vector);
+
+        for (int loan = 0; loan < loans.size(); loan++) {
+            Assertions.assertEquals(scalar[loan].size(), vector[loan].size());
+            for (int i = 0; i < scalar[loan].size(); i++) {
+                int index = i;
+                int loanIndex = loan;
+                Assertions.assertEquals(scalar[loan].amortization(i), vector[loan].amortization(i),
+                        () -> "Amortization of the installment " + (index + 1) + " of the loan " + loanIndex);
+                Assertions.assertEquals(scalar[loan].interest(i), vector[loan].interest(i),
+                        () -> "Interest of the installment " + (index + 1) + " of the loan " + loanIndex);
+            }
+        }
+
+    }
+
+    @Test
+    @DisplayName("Should keep the schedule of the loans the lanes can't represent")
+    void shouldKeepTheScheduleOfTheLoansTheLanesCantRepresent() {
+
+        LoanColumns loans = new LoanColumns(3);
+        loans.add(1.0, 1.0, 999, AmortizationEnum.SAC);
+        loans.add(1000.0, 0.0, 12, AmortizationEnum.PRICE);
+        loans.add(1e14, 1.0, 12, AmortizationEnum.PRICE);
+
+        ScheduleBuffer[] buffers = buffers(3);
+        new VectorScheduleEngine().calculate(loans, buffers);
+
+        for (int loan = 0; loan < 3; loan++) {
+            ScheduleBuffer expected = new ScheduleBuffer(1);
+            ScalarScheduleEngine.calculate(loans, loan, expected);
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.value(i), buffers[loan].value(i));
+            }
+        }
+
+    }
+
+    private ScheduleBuffer[] buffers(int size) {
+        ScheduleBuffer[] buffers = new ScheduleBuffer[size];
+        for (int i = 0; i < size; i++) buffers[i] = new ScheduleBuffer(12);
+        return buffers;
+    }
+
+}
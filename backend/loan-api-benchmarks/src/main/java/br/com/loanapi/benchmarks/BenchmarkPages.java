@@ -0,0 +1,100 @@
+package br.com.loanapi.benchmarks;
+
+import br.com.loanapi.models.entities.*;
+import br.com.loanapi.models.enums.AmortizationEnum;
+import br.com.loanapi.models.enums.PaymentDateEnum;
+import br.com.loanapi.models.enums.PhoneTypeEnum;
+import br.com.loanapi.models.enums.StateEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A page of customers as the list endpoints load it: every customer with its address, two phones and two loans of
+ ** twelve installments, all of them pointing back to the customer */
+class BenchmarkPages {
+
+    static final int PHONES = 2;
+    static final int LOANS = 2;
+    static final int INSTALLMENTS = 12;
+
+    BenchmarkPages() {}
+
+    static List<CustomerEntity> customers(int pageSize) {
+        List<CustomerEntity> customers = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) customers.add(customer(id));
+        return customers;
+    }
+
+    static List<LoanEntity> loans(List<CustomerEntity> customers) {
+        List<LoanEntity> loans = new ArrayList<>();
+        for (CustomerEntity customer : customers) loans.addAll(customer.getLoans());
+        return loans;
+    }
+
+    private static CustomerEntity customer(long id) {
+
+        AddressEntity address = new AddressEntity();
+        address.setId(id);
+        address.setStreet("Rua 9");
+        address.setNeighborhood("Lauzane Paulista");
+        address.setNumber(583);
+        address.setPostalCode("02442-090");
+        address.setCity("São Paulo");
+        address.setState(StateEnum.SAO_PAULO);
+
+        CustomerEntity customer = new CustomerEntity();
+        customer.setId(id);
+        customer.setName("João");
+        customer.setLastName("da Silva");
+        customer.setBirthDate("2011-11-11");
+        customer.setSignUpDate("2021-11-11T10:15:30");
+        customer.setRg("55.626.926-4");
+        customer.setCpf("391.534.277-44");
+        customer.setEmail("joao" + id + "@email.com");
+        customer.setPontuation(0.0);
+        address.addCustomer(customer);
+
+        for (int p = 0; p < PHONES; p++) {
+            PhoneEntity phone = new PhoneEntity();
+            phone.setId(id * PHONES + p);
+            phone.setPrefix(11);
+            phone.setNumber("97981-54" + (10 + p));
+            phone.setPhoneType(PhoneTypeEnum.MOBILE);
+            customer.addPhone(phone);
+        }
+
+        for (int l = 0; l < LOANS; l++) customer.addLoan(loan(id * LOANS + l));
+
+        return customer;
+
+    }
+
+    private static LoanEntity loan(long id) {
+
+        LoanEntity loan = new LoanEntity();
+        loan.setId(id);
+        loan.setStartDate("2022-08-02");
+        loan.setOriginalValue(12000.0);
+        loan.setDebitBalance(12000.0);
+        loan.setInterestRate(1.15);
+        loan.setNumberOfInstallments(INSTALLMENTS);
+        loan.setPaymentDate(PaymentDateEnum.FIFTH_BUSINESS_DAY);
+        loan.setAmortization(AmortizationEnum.SAC);
+
+        for (int month = 1; month <= INSTALLMENTS; month++) {
+            InstallmentEntity installment = new InstallmentEntity();
+            installment.setId(id * INSTALLMENTS + month);
+            installment.setMaturityDate("2022-" + (month < 5 ? month + 8 : month - 4) + "-05");
+            installment.setMonth(month);
+            installment.setAmortization(1000.0);
+            installment.setInterest(138.0 - month * 11.5);
+            installment.setValue(1138.0 - month * 11.5);
+            installment.setLoan(loan);
+            loan.getInstallments().add(installment);
+        }
+
+        return loan;
+
+    }
+
+}
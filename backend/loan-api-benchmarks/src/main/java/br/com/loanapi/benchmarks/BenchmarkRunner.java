@@ -0,0 +1,29 @@
+package br.com.loanapi.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Runs the JMH command line with the defaults of this module: gc profiler and JSON results in jmh-result.json.
+ ** Any JMH option given in the command line (benchmark regex, -rff, -p, -f...) is kept */
+public class BenchmarkRunner {
+
+    BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        options.addProfiler(GCProfiler.class);
+        options.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        options.result(commandLine.getResult().orElse("jmh-result.json"));
+
+        new Runner(options.build()).run();
+
+    }
+
+}
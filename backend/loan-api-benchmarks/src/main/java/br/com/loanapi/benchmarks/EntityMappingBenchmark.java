@@ -0,0 +1,63 @@
+package br.com.loanapi.benchmarks;
+
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.entities.CustomerEntity;
+import br.com.loanapi.models.entities.LoanEntity;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.models.mappers.EntityMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** A list page mapped entity by entity to its DTOs, as the list endpoints did, with the reflective ModelMapper the
+ ** loan-api used (x -> modelMapper.mapper().map(x, CustomerDTO.class)) and with the generated EntityMapper. A customer
+ ** graph holds its address, phones, loans and their installments, a loan graph its installments and its customer */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    @Param({"50", "500"})
+    int pageSize;
+
+    ModelMapper modelMapper;
+    EntityMapper entityMapper;
+    List<CustomerEntity> customers;
+    List<LoanEntity> loans;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        entityMapper = new EntityMapperImpl();
+        customers = BenchmarkPages.customers(pageSize);
+        loans = BenchmarkPages.loans(customers).subList(0, pageSize);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> modelMapperCustomers() {
+        return customers.stream().map(x -> modelMapper.map(x, CustomerDTO.class)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CustomerDTO> generatedCustomers() {
+        return customers.stream().map(entityMapper::toDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LoanDTO> modelMapperLoans() {
+        return loans.stream().map(x -> modelMapper.map(x, LoanDTO.class)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LoanDTO> generatedLoans() {
+        return loans.stream().map(entityMapper::toDTO).collect(Collectors.toList());
+    }
+
+}
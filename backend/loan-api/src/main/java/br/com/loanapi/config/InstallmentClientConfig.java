@@ -0,0 +1,113 @@
+package br.com.loanapi.config;
+
+import br.com.loanapi.proxys.GzipRequestInterceptor;
+import br.com.loanapi.proxys.InstallmentClientMetrics;
+import br.com.loanapi.proxys.MeteredConnectionManager;
+import br.com.loanapi.utils.CircuitBreaker;
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import br.com.loanapi.utils.TimeoutBudget;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Pooled Apache HttpClient of the InstallmentServiceProxy (see InstallmentServiceProxyConfig). Connections are kept
+ ** alive and reused across loan creations, closed once idle for loan.installment-client.keep-alive (below the keep
+ ** alive timeout of the installment-service Tomcat, so the pool never hands out a connection the server closed) and
+ ** revalidated after 2 s of inactivity. Responses are accepted and decoded gzipped, large request bodies sent gzipped.
+ ** Being a CloseableHttpClient bean, it also replaces the Spring Cloud OpenFeign default pool. Scheduling is enabled
+ ** for the health probes of the InstallmentInstanceMonitor, which get their own thread of spring.task.scheduling.pool */
+@Configuration
+@EnableScheduling
+public class InstallmentClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public MeteredConnectionManager installmentConnectionManager(
+            @Value("${loan.installment-client.max-connections}") int maxConnections,
+            @Value("${loan.installment-client.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${loan.installment-client.time-to-live}") Duration timeToLive) {
+
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(timeToLive);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+
+    }
+
+    @Bean
+    public CloseableHttpClient installmentHttpClient(MeteredConnectionManager installmentConnectionManager,
+                                                     InstallmentClientMetrics metrics,
+                                                     @Value("${loan.installment-client.keep-alive}") Duration keepAlive,
+                                                     @Value("${loan.installment-client.lease-timeout}") Duration leaseTimeout,
+                                                     @Value("${loan.installment-client.gzip-min-request-size}") long gzipMinRequestSize) {
+
+        return HttpClients.custom()
+                .setConnectionManager(installmentConnectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return announced > 0 ? Math.min(announced, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictIdleConnections(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                .evictExpiredConnections()
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout((int) leaseTimeout.toMillis())
+                        .build())
+                .addInterceptorFirst(new GzipRequestInterceptor(gzipMinRequestSize, metrics.gzippedRequests()))
+                .disableCookieManagement()
+                .build();
+
+    }
+
+    /** Circuit breaker of the ResilientInstallmentClient */
+    @Bean
+    public CircuitBreaker installmentCircuitBreaker(
+            @Value("${loan.installment-client.circuit-breaker.window-size}") int windowSize,
+            @Value("${loan.installment-client.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${loan.installment-client.circuit-breaker.failure-rate-threshold}") double failureRateThreshold,
+            @Value("${loan.installment-client.circuit-breaker.open-duration}") Duration openDuration,
+            @Value("${loan.installment-client.circuit-breaker.half-open-calls}") int halfOpenCalls) {
+        return new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration.toNanos(),
+                halfOpenCalls, System::nanoTime);
+    }
+
+    /** Read timeout of the ResilientInstallmentClient calls */
+    @Bean
+    public TimeoutBudget installmentTimeoutBudget(
+            @Value("${loan.installment-client.timeout-budget.multiplier}") double multiplier,
+            @Value("${loan.installment-client.timeout-budget.min}") Duration min,
+            @Value("${loan.installment-client.timeout-budget.max}") Duration max,
+            @Value("${loan.installment-client.timeout-budget.window}") Duration window,
+            @Value("${loan.installment-client.timeout-budget.minimum-calls}") int minimumCalls) {
+        return new TimeoutBudget(multiplier, min, max, window, minimumCalls, System::nanoTime);
+    }
+
+    /** Read timeout per loan of the ResilientInstallmentClient batch calls */
+    @Bean
+    public TimeoutBudget installmentBatchTimeoutBudget(
+            @Value("${loan.installment-client.batch-timeout-budget.multiplier}") double multiplier,
+            @Value("${loan.installment-client.batch-timeout-budget.min}") Duration min,
+            @Value("${loan.installment-client.batch-timeout-budget.max}") Duration max,
+            @Value("${loan.installment-client.batch-timeout-budget.window}") Duration window,
+            @Value("${loan.installment-client.batch-timeout-budget.minimum-calls}") int minimumCalls) {
+        return new TimeoutBudget(multiplier, min, max, window, minimumCalls, System::nanoTime);
+    }
+
+    /** Instances of the installment-service the calls are spread across. The instances-file, when set, replaces the
+     ** static list once the InstallmentInstanceMonitor has read it */
+    @Bean
+    public LeastOutstandingBalancer installmentBalancer(
+            @Value("${loan.installment-client.instances}") List<String> instances,
+            @Value("${loan.installment-client.health-check.unhealthy-threshold}") int unhealthyThreshold) {
+        return new LeastOutstandingBalancer(instances, unhealthyThreshold);
+    }
+
+}
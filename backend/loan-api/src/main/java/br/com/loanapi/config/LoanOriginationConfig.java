@@ -0,0 +1,28 @@
+package br.com.loanapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Worker pool of the asynchronous loan originations and the schedule of the outbox poll, only in async mode. The
+ ** queue is bounded: a job it rejects stays pending in the outbox and is queued again by the next poll */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "loan.origination", name = "mode", havingValue = "async")
+public class LoanOriginationConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor loanOriginationExecutor(@Value("${loan.origination.workers}") int workers,
+                                                          @Value("${loan.origination.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("loan-origination-");
+        return executor;
+    }
+
+}
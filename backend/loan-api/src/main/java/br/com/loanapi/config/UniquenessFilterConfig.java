@@ -0,0 +1,12 @@
+package br.com.loanapi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Schedules the periodic rebuild of the uniqueness filter, only when it is enabled */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "loan.uniqueness-filter", name = "enabled", havingValue = "true")
+public class UniquenessFilterConfig {
+}
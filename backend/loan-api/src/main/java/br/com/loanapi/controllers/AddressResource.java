@@ -3,6 +3,7 @@ package br.com.loanapi.controllers;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.AddressDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.AddressService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -15,7 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/address")
@@ -44,7 +45,9 @@ public class AddressResource {
 
     @ApiOperation(
             value = "Find all",
-            notes = "This request will find all addresses saved in database",
+            notes = "This request will find all addresses saved in database, one page at a time. Send the next " +
+                    "token of a page as after to get the following one. limit defaults to 50 and is capped at 500. The " +
+                    "addresses come without customers, find a address by id to include them",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -54,13 +57,15 @@ public class AddressResource {
             @ApiResponse(code = 404, message = "There is no addresses saved in database", response = ObjectNotFoundException.class)
     })
     @GetMapping
-    public ResponseEntity<List<AddressDTO>> findAll(){
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<PageDTO<AddressDTO>> findAll(@RequestParam(required = false) String after,
+                                                       @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.findAll(after, limit));
     }
 
     @ApiOperation(
             value = "Find by id",
-            notes = "This request will find a address saved in database by id",
+            notes = "This request will find a address saved in database by id. The customers are only returned " +
+                    "with include=customers",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -71,8 +76,9 @@ public class AddressResource {
                     response = ObjectNotFoundException.class)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<AddressDTO> findById(@PathVariable Long id){
-        return ResponseEntity.ok().body(service.findById(id));
+    public ResponseEntity<AddressDTO> findById(@PathVariable Long id,
+                                              @RequestParam(required = false) Set<String> include) {
+        return ResponseEntity.ok().body(service.findById(id, include));
     }
 
     @ApiOperation(
@@ -3,7 +3,9 @@ package br.com.loanapi.controllers;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.CustomerService;
+import br.com.loanapi.services.IdempotencyService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -15,7 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/customer")
@@ -27,9 +29,14 @@ public class CustomerResource {
     @Autowired
     CustomerService service;
 
+    @Autowired
+    IdempotencyService idempotency;
+
     @ApiOperation(
             value = "Create",
-            notes = "This request will save a customer in database of the project",
+            notes = "This request will save a customer in database of the project. A retry sent with the same " +
+                    IdempotencyService.HEADER + " header returns the response of the first request instead of " +
+                    "saving the customer again",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -37,15 +44,21 @@ public class CustomerResource {
             @ApiResponse(code = 201, message = "Customer created with success", response = CustomerDTO.class),
             @ApiResponse(code = 400, message = "Fail on customer creation", response = InvalidRequestException.class),
             @ApiResponse(code = 401, message = "Unauthorized access"),
+            @ApiResponse(code = 409, message = "The first request with the Idempotency-Key is still running")
     })
     @PostMapping
-    public ResponseEntity<CustomerDTO> create(@RequestBody CustomerDTO customer) {
-        return ResponseEntity.ok().body(service.create(customer));
+    public ResponseEntity<Object> create(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                         @RequestBody CustomerDTO customer) {
+        if (idempotencyKey == null) return ResponseEntity.ok().body(service.create(customer));
+        return idempotency.execute(IdempotencyService.CUSTOMER_SCOPE, idempotencyKey, customer,
+                () -> ResponseEntity.ok().body(service.create(customer)));
     }
 
     @ApiOperation(
             value = "Find all",
-            notes = "This request will find all customers saved in database",
+            notes = "This request will find all customers saved in database, one page at a time. Send the next " +
+                    "token of a page as after to get the following one. limit defaults to 50 and is capped at 500. The " +
+                    "customers come without phones and loans, find a customer by id to include them",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -55,13 +68,15 @@ public class CustomerResource {
             @ApiResponse(code = 404, message = "There is no customers saved in database", response = ObjectNotFoundException.class)
     })
     @GetMapping
-    public ResponseEntity<List<CustomerDTO>> findAll(){
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<PageDTO<CustomerDTO>> findAll(@RequestParam(required = false) String after,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.findAll(after, limit));
     }
 
     @ApiOperation(
             value = "Find by id",
-            notes = "This request will find a customer saved in database by id",
+            notes = "This request will find a customer saved in database by id. Phones, loans and the installments " +
+                    "of the loans are only returned when listed in include, e.g. include=phones,loans",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -72,8 +87,9 @@ public class CustomerResource {
                     response = ObjectNotFoundException.class)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDTO> findById(@PathVariable Long id){
-        return ResponseEntity.ok().body(service.findById(id));
+    public ResponseEntity<CustomerDTO> findById(@PathVariable Long id,
+                                              @RequestParam(required = false) Set<String> include) {
+        return ResponseEntity.ok().body(service.findById(id, include));
     }
 
     @ApiOperation(
@@ -0,0 +1,97 @@
+package br.com.loanapi.controllers;
+
+import br.com.loanapi.exceptions.ObjectNotFoundException;
+import br.com.loanapi.models.dto.InstallmentClientStatsDTO;
+import br.com.loanapi.models.dto.InstallmentCoalescingStatsDTO;
+import br.com.loanapi.models.dto.InstallmentInstanceDTO;
+import br.com.loanapi.models.dto.InstallmentResilienceStatsDTO;
+import br.com.loanapi.proxys.InstallmentCalculationCoalescer;
+import br.com.loanapi.proxys.InstallmentClientMetrics;
+import br.com.loanapi.proxys.InstallmentInstanceMonitor;
+import br.com.loanapi.proxys.ResilientInstallmentClient;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/installment-client")
+@Api(value = "This api may provide the pool and the latencies of the installment-service HTTP client")
+public class InstallmentClientResource {
+
+    @Autowired
+    InstallmentClientMetrics metrics;
+
+    @Autowired
+    ResilientInstallmentClient client;
+
+    @Autowired
+    InstallmentInstanceMonitor instanceMonitor;
+
+    /** Only with loan.installment-client.coalescing.enabled */
+    @Autowired(required = false)
+    InstallmentCalculationCoalescer coalescer;
+
+    @ApiOperation(
+            value = "Client statistics",
+            notes = "This endpoint will return the connections leased and available in the pool, and the connect and " +
+                    "request latencies of the calls to the installment calculation micro service"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Statistics returned with success", response = InstallmentClientStatsDTO.class)
+    })
+    @GetMapping
+    public ResponseEntity<InstallmentClientStatsDTO> stats() {
+        return ResponseEntity.ok().body(metrics.stats());
+    }
+
+    @ApiOperation(
+            value = "Resilience statistics",
+            notes = "This endpoint will return the circuit breaker state, the calls rejected by the circuit breaker and " +
+                    "by the bulkhead, the current timeout budget and the schedules calculated locally instead"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Statistics returned with success", response = InstallmentResilienceStatsDTO.class)
+    })
+    @GetMapping("resilience")
+    public ResponseEntity<InstallmentResilienceStatsDTO> resilience() {
+        return ResponseEntity.ok().body(client.stats());
+    }
+
+    @ApiOperation(
+            value = "Instances",
+            notes = "This endpoint will return the installment calculation micro service instances the calls are " +
+                    "balanced across, whether each one is healthy or ejected, and its calls in flight and failures"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Instances returned with success", response = InstallmentInstanceDTO.class,
+                    responseContainer = "List")
+    })
+    @GetMapping("instances")
+    public ResponseEntity<List<InstallmentInstanceDTO>> instances() {
+        return ResponseEntity.ok().body(instanceMonitor.instances());
+    }
+
+    @ApiOperation(
+            value = "Coalescing statistics",
+            notes = "This endpoint will return the installment calculations made and the batch calls to the " +
+                    "installment calculation micro service they were coalesced into"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Statistics returned with success", response = InstallmentCoalescingStatsDTO.class),
+            @ApiResponse(code = 404, message = "Coalescing disabled")
+    })
+    @GetMapping("coalescing")
+    public ResponseEntity<InstallmentCoalescingStatsDTO> coalescing() {
+        if (coalescer == null) throw new ObjectNotFoundException("Coalescing disabled");
+        return ResponseEntity.ok().body(coalescer.stats());
+    }
+
+}
@@ -2,6 +2,7 @@ package br.com.loanapi.controllers;
 
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.InstallmentService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
 
 @RestController
 @RequestMapping("api/installment")
@@ -28,7 +28,8 @@ public class InstallmentResource {
 
     @ApiOperation(
             value = "Find all",
-            notes = "This request will find all Installments saved in database",
+            notes = "This request will find all Installments saved in database, one page at a time. Send the next " +
+                    "token of a page as after to get the following one. limit defaults to 50 and is capped at 500",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -38,8 +39,9 @@ public class InstallmentResource {
             @ApiResponse(code = 404, message = "There is no Installments saved in database", response = ObjectNotFoundException.class)
     })
     @GetMapping
-    public ResponseEntity<List<InstallmentDTO>> findAll() {
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<PageDTO<InstallmentDTO>> findAll(@RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.findAll(after, limit));
     }
 
     @ApiOperation(
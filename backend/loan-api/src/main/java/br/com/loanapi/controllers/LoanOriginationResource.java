@@ -0,0 +1,41 @@
+package br.com.loanapi.controllers;
+
+import br.com.loanapi.exceptions.ObjectNotFoundException;
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.services.LoanOriginationService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/loan/origination")
+@ConditionalOnProperty(prefix = "loan.origination", name = "mode", havingValue = "async")
+@Api(value = "This api may provide the progress of the loans accepted for asynchronous origination")
+public class LoanOriginationResource {
+
+    @Autowired
+    LoanOriginationService service;
+
+    @ApiOperation(
+            value = "Find by job id",
+            notes = "This request will return the status of an origination job: PENDING, PROCESSING, COMPLETED with " +
+                    "the id of the loan saved, or FAILED with the error of the last attempt"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Job finded with success", response = LoanOriginationDTO.class),
+            @ApiResponse(code = 404, message = "There is no job by the passed id", response = ObjectNotFoundException.class)
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<LoanOriginationDTO> findByJobId(@PathVariable String jobId) {
+        return ResponseEntity.ok().body(service.findByJobId(jobId));
+    }
+
+}
@@ -3,6 +3,10 @@ package br.com.loanapi.controllers;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.dto.PageDTO;
+import br.com.loanapi.services.IdempotencyService;
+import br.com.loanapi.services.LoanOriginationService;
 import br.com.loanapi.services.LoanService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -15,7 +19,9 @@ import org.springframework.web.bind.annotation.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/loan")
@@ -27,25 +33,51 @@ public class LoanResource {
     @Autowired
     LoanService service;
 
+    /** Only in loan.origination.mode async */
+    @Autowired(required = false)
+    LoanOriginationService originationService;
+
+    @Autowired
+    IdempotencyService idempotency;
+
     @ApiOperation(
             value = "Create",
-            notes = "This request will save a Loan in database of the project",
+            notes = "This request will save a Loan in database of the project. In asynchronous origination mode the " +
+                    "loan is accepted with 202 and a job, whose progress is found at the Location returned. A retry sent " +
+                    "with the same " + IdempotencyService.HEADER + " header returns the response of the first request " +
+                    "instead of creating the loan again",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
     @ApiResponses({
             @ApiResponse(code = 201, message = "Loan created with success", response = LoanDTO.class),
+            @ApiResponse(code = 202, message = "Loan accepted for asynchronous origination",
+                    response = LoanOriginationDTO.class),
             @ApiResponse(code = 400, message = "Fail on Loan creation", response = InvalidRequestException.class),
             @ApiResponse(code = 401, message = "Unauthorized access"),
+            @ApiResponse(code = 409, message = "The first request with the Idempotency-Key is still running")
     })
     @PostMapping
-    public ResponseEntity<LoanDTO> create(@RequestParam Long customerId, @RequestBody LoanDTO loan) {
+    public ResponseEntity<Object> create(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                         @RequestParam Long customerId, @RequestBody LoanDTO loan) {
+        if (idempotencyKey == null) return originate(customerId, loan);
+        return idempotency.execute(IdempotencyService.LOAN_SCOPE, idempotencyKey, List.of(customerId, loan),
+                () -> originate(customerId, loan));
+    }
+
+    private ResponseEntity<Object> originate(Long customerId, LoanDTO loan) {
+        if (originationService != null) {
+            LoanOriginationDTO job = originationService.accept(customerId, loan);
+            return ResponseEntity.accepted().location(URI.create("/api/loan/origination/" + job.getJobId())).body(job);
+        }
         return ResponseEntity.ok().body(service.create(customerId, loan));
     }
 
     @ApiOperation(
             value = "Find all",
-            notes = "This request will find all loans saved in database",
+            notes = "This request will find all loans saved in database, one page at a time. Send the next " +
+                    "token of a page as after to get the following one. limit defaults to 50 and is capped at 500. The " +
+                    "loans come without installments, find a loan by id to include them",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -55,13 +87,15 @@ public class LoanResource {
             @ApiResponse(code = 404, message = "There is no Loans saved in database", response = ObjectNotFoundException.class)
     })
     @GetMapping
-    public ResponseEntity<List<LoanDTO>> findAll() {
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<PageDTO<LoanDTO>> findAll(@RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.findAll(after, limit));
     }
 
     @ApiOperation(
             value = "Find by id",
-            notes = "This request will find a Loan saved in database by id",
+            notes = "This request will find a Loan saved in database by id. The installments are only returned " +
+                    "with include=installments",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -72,8 +106,9 @@ public class LoanResource {
                     response = ObjectNotFoundException.class)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<LoanDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok().body(service.findById(id));
+    public ResponseEntity<LoanDTO> findById(@PathVariable Long id,
+                                              @RequestParam(required = false) Set<String> include) {
+        return ResponseEntity.ok().body(service.findById(id, include));
     }
 
     @ApiOperation(
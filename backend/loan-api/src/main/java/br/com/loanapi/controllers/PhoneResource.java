@@ -3,6 +3,7 @@ package br.com.loanapi.controllers;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.PhoneDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.PhoneService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
 
 @RestController
 @RequestMapping("api/phone")
@@ -45,7 +45,8 @@ public class PhoneResource {
 
     @ApiOperation(
             value = "Find all",
-            notes = "This request will find all Phones saved in database",
+            notes = "This request will find all Phones saved in database, one page at a time. Send the next " +
+                    "token of a page as after to get the following one. limit defaults to 50 and is capped at 500",
             produces = MediaType.APPLICATION_JSON,
             consumes = MediaType.APPLICATION_JSON
     )
@@ -55,8 +56,9 @@ public class PhoneResource {
             @ApiResponse(code = 404, message = "There is no Phones saved in database", response = ObjectNotFoundException.class)
     })
     @GetMapping
-    public ResponseEntity<List<PhoneDTO>> findAll() {
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<PageDTO<PhoneDTO>> findAll(@RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.findAll(after, limit));
     }
 
     @ApiOperation(
@@ -0,0 +1,49 @@
+package br.com.loanapi.controllers;
+
+import br.com.loanapi.models.dto.UniquenessFilterStatsDTO;
+import br.com.loanapi.services.UniquenessFilterService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/uniqueness-filter")
+@ConditionalOnProperty(prefix = "loan.uniqueness-filter", name = "enabled", havingValue = "true")
+@Api(value = "This api may provide the size and the counters of the customer and phone uniqueness filter")
+public class UniquenessFilterResource {
+
+    @Autowired
+    UniquenessFilterService service;
+
+    @ApiOperation(
+            value = "Filter statistics",
+            notes = "This endpoint will return the memory footprint, the expected and the observed false positive " +
+                    "rate and the lookup counters of the uniqueness filter of this node"
+    )
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Statistics returned with success", response = UniquenessFilterStatsDTO.class)
+    })
+    @GetMapping
+    public ResponseEntity<UniquenessFilterStatsDTO> stats() {
+        return ResponseEntity.ok().body(service.stats());
+    }
+
+    @ApiOperation(
+            value = "Filter rebuild",
+            notes = "This endpoint will rebuild the uniqueness filter from the customers and phones tables"
+    )
+    @PostMapping("/rebuild")
+    public ResponseEntity<UniquenessFilterStatsDTO> rebuild() {
+        service.rebuild();
+        return ResponseEntity.ok().body(service.stats());
+    }
+
+}
@@ -0,0 +1,10 @@
+package br.com.loanapi.exceptions;
+
+/** The request conflicts with another one still running, like a retry whose first attempt didn't finish in time */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+}
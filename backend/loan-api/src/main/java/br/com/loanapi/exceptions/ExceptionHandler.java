@@ -57,4 +57,34 @@ public class ExceptionHandler extends ResponseEntityExceptionHandler {
 
     }
 
+    @org.springframework.web.bind.annotation.ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<StandartError> serviceUnavailableException(ServiceUnavailableException serviceUnavailableException,
+                                                                     HttpServletRequest httpServletRequest) {
+
+        StandartError standartError = new StandartError(
+                LocalDateTime.now(),
+                503,
+                serviceUnavailableException.getMessage(),
+                httpServletRequest.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(standartError);
+
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(ConflictException.class)
+    public ResponseEntity<StandartError> conflictException(ConflictException conflictException,
+                                                           HttpServletRequest httpServletRequest) {
+
+        StandartError standartError = new StandartError(
+                LocalDateTime.now(),
+                409,
+                conflictException.getMessage(),
+                httpServletRequest.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(standartError);
+
+    }
+
 }
@@ -0,0 +1,10 @@
+package br.com.loanapi.exceptions;
+
+/** A dependency is known to be unavailable (circuit open, or no room left for another call) and wasn't even called */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -46,6 +46,18 @@ public class AddressDTO {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private List<CustomerDTO> customers = new ArrayList<>();
 
+    /** Projection of the TB_ADDRESS columns, customers are only filled when requested */
+    public AddressDTO(Long id, String street, String neighborhood, Integer number, String postalCode, String city,
+                      StateEnum state) {
+        this.id = id;
+        this.street = street;
+        this.neighborhood = neighborhood;
+        this.number = number;
+        this.postalCode = postalCode;
+        this.city = city;
+        this.state = state;
+    }
+
     public void addCustomer(CustomerDTO customer) {
         customer.setAddress(this);
         this.customers.add(customer);
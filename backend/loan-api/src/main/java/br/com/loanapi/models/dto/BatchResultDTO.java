@@ -0,0 +1,21 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Class that contains the result of one loan of a batch calculation of the installment-service. The index is the
+ ** position of the loan in the request, and exactly one of installments or error is filled */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BatchResultDTO {
+
+    private Integer index;
+    private List<InstallmentDTO> installments;
+    private String error;
+
+}
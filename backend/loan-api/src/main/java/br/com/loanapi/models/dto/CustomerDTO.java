@@ -60,6 +60,20 @@ public class CustomerDTO {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private List<LoanDTO> loans = new ArrayList<>();
 
+    /** Projection of the TB_CUSTOMER columns, phones and loans are only filled when requested */
+    public CustomerDTO(Long id, String name, String lastName, String birthDate, String signUpDate, String rg,
+                       String cpf, String email, Double pontuation) {
+        this.id = id;
+        this.name = name;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+        this.signUpDate = signUpDate;
+        this.rg = rg;
+        this.cpf = cpf;
+        this.email = email;
+        this.pontuation = pontuation;
+    }
+
     public void setPhoneList(List<PhoneDTO> phoneDTO) {
         for (PhoneDTO phone: phones) {
             phone.setCustomer(this);
@@ -0,0 +1,33 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+/** Class that contains the pool and the latencies of the InstallmentServiceProxy HTTP client. Connects only count the
+ ** new TCP connections; the requests time from the pool lease to the response headers, connect included */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class InstallmentClientStatsDTO {
+
+    private Integer maxConnections;
+    private Integer maxConnectionsPerRoute;
+    private Integer leasedConnections;
+    private Integer availableConnections;
+    private Integer pendingLeases;
+    private Double poolUtilisation;
+    private Long connects;
+    private Double connectMeanMillis;
+    private Double connectP99Millis;
+    private Double connectMaxMillis;
+    private Long requests;
+    private Long failedRequests;
+    private Long gzippedRequests;
+    private Double requestMeanMillis;
+    private Double requestP50Millis;
+    private Double requestP99Millis;
+    private Double requestMaxMillis;
+
+}
@@ -0,0 +1,24 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+/** Class that contains the settings and counters of the coalescing of the installment calculations: the calls made,
+ ** the batch calls they were coalesced into and the ones sent alone because no other call joined their window */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class InstallmentCoalescingStatsDTO {
+
+    private String window;
+    private Integer maxBatchSize;
+    private Long calls;
+    private Long batches;
+    private Long fullBatches;
+    private Long singleCalls;
+    private Double meanBatchSize;
+    private Long largestBatch;
+
+}
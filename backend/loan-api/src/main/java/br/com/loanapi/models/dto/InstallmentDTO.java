@@ -46,4 +46,25 @@ public class InstallmentDTO {
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private LoanDTO loan;
 
+    /** Projection of the TB_INSTALLMENT columns */
+    public InstallmentDTO(Long id, String maturityDate, String paymentDate, Integer month, Double amortization,
+                          Double interest, Double value) {
+        this.id = id;
+        this.maturityDate = maturityDate;
+        this.paymentDate = paymentDate;
+        this.month = month;
+        this.amortization = amortization;
+        this.interest = interest;
+        this.value = value;
+    }
+
+    /** Projection of the installment of a loan, whose id is kept in a loan holding only it until the installment is
+     ** grouped under its LoanDTO */
+    public InstallmentDTO(Long loanId, Long id, String maturityDate, String paymentDate, Integer month,
+                          Double amortization, Double interest, Double value) {
+        this(id, maturityDate, paymentDate, month, amortization, interest, value);
+        this.loan = new LoanDTO();
+        this.loan.setId(loanId);
+    }
+
 }
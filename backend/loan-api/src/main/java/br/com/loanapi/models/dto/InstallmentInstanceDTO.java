@@ -0,0 +1,22 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+/** Class that contains the state of one installment-service instance of the load balancer: whether it takes calls,
+ ** the calls in flight and the calls and failures sent to it, retries included */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class InstallmentInstanceDTO {
+
+    private String baseUrl;
+    private Boolean healthy;
+    private Integer outstandingCalls;
+    private Long calls;
+    private Long failures;
+    private Long ejections;
+
+}
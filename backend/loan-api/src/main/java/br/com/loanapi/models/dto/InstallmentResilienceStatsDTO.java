@@ -0,0 +1,30 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+/** Class that contains the state of the guards of the installment-service calls: the circuit breaker, the bulkhead
+ ** and the timeout budget, plus the calls that failed and the schedules calculated locally instead */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class InstallmentResilienceStatsDTO {
+
+    private String circuitState;
+    private Double failureRate;
+    private Long circuitOpenings;
+    private Long openRemainingMillis;
+    private Long circuitRejections;
+    private Integer concurrentCalls;
+    private Integer maxConcurrentCalls;
+    private Long bulkheadRejections;
+    private Integer timeoutBudgetMillis;
+    /** Per loan of a batch call */
+    private Integer batchTimeoutBudgetMillis;
+    private Long timeouts;
+    private Long failures;
+    private Long fallbackCalculations;
+
+}
@@ -55,4 +55,18 @@ public class LoanDTO {
 
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private List<InstallmentDTO> installments = new ArrayList<>();
+
+    /** Projection of the TB_LOAN columns, installments are only filled when requested */
+    public LoanDTO(Long id, String startDate, Double originalValue, Double debitBalance, Double interestRate,
+                   Integer numberOfInstallments, PaymentDateEnum paymentDate, AmortizationEnum amortization) {
+        this.id = id;
+        this.startDate = startDate;
+        this.originalValue = originalValue;
+        this.debitBalance = debitBalance;
+        this.interestRate = interestRate;
+        this.numberOfInstallments = numberOfInstallments;
+        this.paymentDate = paymentDate;
+        this.amortization = amortization;
+    }
+
 }
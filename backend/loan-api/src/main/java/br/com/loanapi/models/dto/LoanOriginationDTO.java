@@ -0,0 +1,33 @@
+package br.com.loanapi.models.dto;
+
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Class that contains the progress of an asynchronous loan origination. The loan id is filled once it is saved, the
+ ** error once it is rejected or its attempts are exhausted */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class LoanOriginationDTO {
+
+    private String jobId;
+    private Long customerId;
+    private OriginationStatusEnum status;
+    private Integer attempts;
+    private Long loanId;
+    private String error;
+    private String createdAt;
+    private String updatedAt;
+
+    /** Projection of the TB_LOAN_ORIGINATION columns */
+    public LoanOriginationDTO(String jobId, Long customerId, OriginationStatusEnum status, Integer attempts,
+                              Long loanId, String error, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(jobId, customerId, status, attempts, loanId, error, createdAt.toString(), updatedAt.toString());
+    }
+
+}
@@ -0,0 +1,21 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Class that contains one page of a list endpoint. next is the token to send as ?after= to get the following page,
+ ** null on the last one */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class PageDTO<T> {
+
+    private List<T> content = new ArrayList<>();
+    private String next;
+
+}
@@ -40,4 +40,14 @@ public class PhoneDTO {
 
     @JsonIgnore
     private CustomerDTO customer;
+
+    /** Projection of the TB_PHONE columns */
+    public PhoneDTO(Long id, Integer prefix, String number, PhoneTypeEnum phoneType, Long customerJsonId) {
+        this.id = id;
+        this.prefix = prefix;
+        this.number = number;
+        this.phoneType = phoneType;
+        this.customerJsonId = customerJsonId;
+    }
+
 }
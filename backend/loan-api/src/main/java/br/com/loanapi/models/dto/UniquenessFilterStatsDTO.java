@@ -0,0 +1,28 @@
+package br.com.loanapi.models.dto;
+
+import lombok.*;
+
+/** Class that contains the size and the counters of the uniqueness filter. The observed false positive rate is the
+ ** share of the keys never saved that the filter reported as present (the probe then found no duplicate) */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class UniquenessFilterStatsDTO {
+
+    private Long keys;
+    private Long removedSinceRebuild;
+    private Long bitSize;
+    private Integer hashFunctions;
+    private Long memoryBytes;
+    private Double targetFalsePositiveRate;
+    private Double expectedFalsePositiveRate;
+    private Long definiteMisses;
+    private Long possibleDuplicates;
+    private Long falsePositives;
+    private Double observedFalsePositiveRate;
+    private String lastRebuild;
+
+}
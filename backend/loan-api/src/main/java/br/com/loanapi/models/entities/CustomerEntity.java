@@ -1,5 +1,6 @@
 package br.com.loanapi.models.entities;
 
+import br.com.loanapi.models.dto.CustomerDTO;
 import lombok.*;
 
 import javax.persistence.*;
@@ -14,6 +15,18 @@ import java.util.List;
  ** @github https://github.com/LagrotaGabriel/Loan-Project/blob/master/backend/loan-api/src/main/java/br/com/loanapi/models/entities/CustomerEntity.java */
 @Entity
 @Table(name = "TB_CUSTOMER")
+@NamedNativeQuery(name = "CustomerEntity.findDTOsByRgOrCpfOrEmail", resultSetMapping = "CustomerDTO",
+        query = "select customer_id, name, last_name, birth_date, signup_date, rg, cpf, email, pontuation " +
+                "from tb_customer where rg = ?1 " +
+                "union select customer_id, name, last_name, birth_date, signup_date, rg, cpf, email, pontuation " +
+                "from tb_customer where cpf = ?2 " +
+                "union select customer_id, name, last_name, birth_date, signup_date, rg, cpf, email, pontuation " +
+                "from tb_customer where email = ?3")
+@SqlResultSetMapping(name = "CustomerDTO", classes = @ConstructorResult(targetClass = CustomerDTO.class, columns = {
+        @ColumnResult(name = "customer_id", type = Long.class), @ColumnResult(name = "name"),
+        @ColumnResult(name = "last_name"), @ColumnResult(name = "birth_date"), @ColumnResult(name = "signup_date"),
+        @ColumnResult(name = "rg"), @ColumnResult(name = "cpf"), @ColumnResult(name = "email"),
+        @ColumnResult(name = "pontuation", type = Double.class)}))
 @Getter @Setter
 @AllArgsConstructor
 @NoArgsConstructor
@@ -23,7 +36,8 @@ public class CustomerEntity {
 
     @Id
     @Column(name = "customer_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", length = 65)
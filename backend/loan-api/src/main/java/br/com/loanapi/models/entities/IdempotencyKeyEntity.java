@@ -0,0 +1,65 @@
+package br.com.loanapi.models.entities;
+
+import br.com.loanapi.models.enums.IdempotencyStatusEnum;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/** Idempotency-Key received by a create endpoint (the scope). Claimed IN_PROGRESS by the first request with the key,
+ ** and COMPLETED with the response returned to it, which is then returned to every retry of the same request */
+@Entity
+@Table(name = "TB_IDEMPOTENCY_KEY",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_key",
+                columnNames = {"idempotency_scope", "idempotency_key"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_id", nullable = false, updatable = false, unique = true)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_key_seq")
+    @SequenceGenerator(name = "idempotency_key_seq", sequenceName = "idempotency_key_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "idempotency_scope", nullable = false, updatable = false, length = 32)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    /** SHA-256 of the request, so a key reused for another request is told apart from a retry */
+    @Column(name = "idempotency_requestHash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "idempotency_status", nullable = false, length = 11)
+    private IdempotencyStatusEnum status;
+
+    @Column(name = "idempotency_responseStatus")
+    private Integer responseStatus;
+
+    @Column(name = "idempotency_responseLocation")
+    private String responseLocation;
+
+    /** JSON body of the response */
+    @Lob
+    @Column(name = "idempotency_responseBody")
+    private String responseBody;
+
+    /** Claims so far: a request that finds the attempts changed has lost its claim to a retry */
+    @Column(name = "idempotency_attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "idempotency_createdAt", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Claim time while IN_PROGRESS, a claim older than loan.idempotency.lease is taken over */
+    @Column(name = "idempotency_updatedAt", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -20,9 +20,11 @@ import javax.persistence.*;
 @EqualsAndHashCode
 public class InstallmentEntity {
 
+    /** A block holds the ids of the longest schedule, so a loan takes them in a single round trip */
     @Id
     @Column(name = "installment_id", nullable = false, updatable = false, unique = true)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "installment_seq")
+    @SequenceGenerator(name = "installment_seq", sequenceName = "installment_seq", allocationSize = 1000)
     private Long id;
 
     @Column(name = "installment_maturityDate", nullable = false)
@@ -44,7 +46,7 @@ public class InstallmentEntity {
     private Double value;
 
     @ManyToOne(targetEntity = LoanEntity.class, fetch = FetchType.LAZY)
-    @JoinColumn(name = "loan_id")
+    @JoinColumn(name = "loan_id", nullable = false, updatable = false)
     private LoanEntity loan;
 
 }
@@ -26,7 +26,8 @@ public class LoanEntity {
 
     @Id
     @Column(name = "loan_id", nullable = false, updatable = false, unique = true)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "loan_startDate", nullable = false, updatable = false)
@@ -56,7 +57,7 @@ public class LoanEntity {
     @JoinColumn(name = "customer_id", updatable = false)
     private CustomerEntity customer;
 
-    @OneToMany(targetEntity = InstallmentEntity.class, cascade = CascadeType.ALL)
+    @OneToMany(targetEntity = InstallmentEntity.class, mappedBy = "loan", cascade = CascadeType.ALL)
     private List<InstallmentEntity> installments = new ArrayList<>();
 
 }
@@ -0,0 +1,77 @@
+package br.com.loanapi.models.entities;
+
+import br.com.loanapi.models.enums.AmortizationEnum;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import br.com.loanapi.models.enums.PaymentDateEnum;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/** Outbox row of an asynchronous loan origination: the loan requested, saved before the request is answered, and
+ ** the progress of the job that calculates and saves it. The loan only reaches TB_LOAN once the job completes */
+@Entity
+@Table(name = "TB_LOAN_ORIGINATION")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class LoanOriginationEntity {
+
+    @Id
+    @Column(name = "origination_id", nullable = false, updatable = false, unique = true)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_origination_seq")
+    @SequenceGenerator(name = "loan_origination_seq", sequenceName = "loan_origination_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "origination_jobId", nullable = false, updatable = false, unique = true, length = 36)
+    private String jobId;
+
+    @Column(name = "origination_customerId", nullable = false, updatable = false)
+    private Long customerId;
+
+    @Column(name = "origination_startDate", nullable = false, updatable = false)
+    private String startDate;
+
+    @Column(name = "origination_originalValue", nullable = false, updatable = false)
+    private Double originalValue;
+
+    @Column(name = "origination_interestRate", nullable = false, updatable = false)
+    private Double interestRate;
+
+    @Column(name = "origination_numberOfInstallments", nullable = false, updatable = false)
+    private Integer numberOfInstallments;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "origination_paymentDate", nullable = false, updatable = false)
+    private PaymentDateEnum paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "origination_amortization", nullable = false, updatable = false)
+    private AmortizationEnum amortization;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "origination_status", nullable = false, length = 10)
+    private OriginationStatusEnum status;
+
+    /** Claims so far: a claim that finds the attempts changed has lost its lease to another worker */
+    @Column(name = "origination_attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "origination_loanId")
+    private Long loanId;
+
+    /** Message of the exception of the last failed attempt, of any length */
+    @Lob
+    @Column(name = "origination_error")
+    private String error;
+
+    @Column(name = "origination_createdAt", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "origination_updatedAt", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -12,7 +12,8 @@ import javax.persistence.*;
  ** @email gabriellagrota23@gmail.com
  ** @github https://github.com/LagrotaGabriel/Loan-Project/blob/master/backend/loan-api/src/main/java/br/com/loanapi/models/entities/PhoneEntity.java */
 @Entity
-@Table(name = "TB_PHONE")
+@Table(name = "TB_PHONE", uniqueConstraints = @UniqueConstraint(name = "uk_phone_prefix_number",
+        columnNames = {"phone_number", "phone_prefix"}))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -23,7 +24,8 @@ public class PhoneEntity {
 
     @Id
     @Column(name = "phone_id", nullable = false, updatable = false, unique = true)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phone_seq")
+    @SequenceGenerator(name = "phone_seq", sequenceName = "phone_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "phone_prefix", nullable = false)
@@ -0,0 +1,16 @@
+package br.com.loanapi.models.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum IdempotencyStatusEnum {
+
+    IN_PROGRESS(1, "Claimed by a request still running"),
+    COMPLETED(2, "Response stored for the retries");
+
+    private final Integer code;
+    private final String desc;
+
+}
@@ -0,0 +1,18 @@
+package br.com.loanapi.models.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OriginationStatusEnum {
+
+    PENDING(1, "Accepted, waiting for a worker"),
+    PROCESSING(2, "Calculating and saving the installments"),
+    COMPLETED(3, "Loan saved"),
+    FAILED(4, "Loan rejected or attempts exhausted");
+
+    private final Integer code;
+    private final String desc;
+
+}
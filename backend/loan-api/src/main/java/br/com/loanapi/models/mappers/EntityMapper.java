@@ -0,0 +1,93 @@
+package br.com.loanapi.models.mappers;
+
+import br.com.loanapi.models.dto.*;
+import br.com.loanapi.models.entities.*;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+/** Maps the five entity/DTO pairs of br.com.loanapi.models with plain getters and setters generated by MapStruct at
+ ** compile time (see target/generated-sources/annotations/.../EntityMapperImpl), instead of matching properties by
+ ** reflection on every call. A property missing in a mapping fails the build. The methods without a MappingContext
+ ** start a new one, which is what callers want: cycles are only shared inside one graph.
+ ** Being @Named, they are never picked by MapStruct itself to map a nested property */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface EntityMapper {
+
+    @Named("customerToDTO")
+    default CustomerDTO toDTO(CustomerEntity customer) {
+        return toDTO(customer, new MappingContext());
+    }
+
+    @Named("customerToEntity")
+    default CustomerEntity toEntity(CustomerDTO customer) {
+        return toEntity(customer, new MappingContext());
+    }
+
+    @Named("addressToDTO")
+    default AddressDTO toDTO(AddressEntity address) {
+        return toDTO(address, new MappingContext());
+    }
+
+    @Named("addressToEntity")
+    default AddressEntity toEntity(AddressDTO address) {
+        return toEntity(address, new MappingContext());
+    }
+
+    @Named("phoneToDTO")
+    default PhoneDTO toDTO(PhoneEntity phone) {
+        return toDTO(phone, new MappingContext());
+    }
+
+    @Named("phoneToEntity")
+    default PhoneEntity toEntity(PhoneDTO phone) {
+        return toEntity(phone, new MappingContext());
+    }
+
+    @Named("loanToDTO")
+    default LoanDTO toDTO(LoanEntity loan) {
+        return toDTO(loan, new MappingContext());
+    }
+
+    @Named("loanToEntity")
+    default LoanEntity toEntity(LoanDTO loan) {
+        return toEntity(loan, new MappingContext());
+    }
+
+    @Named("installmentToDTO")
+    default InstallmentDTO toDTO(InstallmentEntity installment) {
+        return toDTO(installment, new MappingContext());
+    }
+
+    @Named("installmentToEntity")
+    default InstallmentEntity toEntity(InstallmentDTO installment) {
+        return toEntity(installment, new MappingContext());
+    }
+
+    /** setPhoneList is a helper of the create request, not a property */
+    @Mapping(target = "phoneList", ignore = true)
+    CustomerDTO toDTO(CustomerEntity customer, @Context MappingContext context);
+
+    CustomerEntity toEntity(CustomerDTO customer, @Context MappingContext context);
+
+    AddressDTO toDTO(AddressEntity address, @Context MappingContext context);
+
+    AddressEntity toEntity(AddressDTO address, @Context MappingContext context);
+
+    /** customerJsonId only comes in the create request */
+    @Mapping(target = "customerJsonId", ignore = true)
+    PhoneDTO toDTO(PhoneEntity phone, @Context MappingContext context);
+
+    PhoneEntity toEntity(PhoneDTO phone, @Context MappingContext context);
+
+    LoanDTO toDTO(LoanEntity loan, @Context MappingContext context);
+
+    LoanEntity toEntity(LoanDTO loan, @Context MappingContext context);
+
+    InstallmentDTO toDTO(InstallmentEntity installment, @Context MappingContext context);
+
+    InstallmentEntity toEntity(InstallmentDTO installment, @Context MappingContext context);
+
+}
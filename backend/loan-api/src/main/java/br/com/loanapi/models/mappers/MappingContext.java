@@ -0,0 +1,27 @@
+package br.com.loanapi.models.mappers;
+
+import org.mapstruct.BeforeMapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.TargetType;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/** Objects already mapped by one call of the EntityMapper. Entities and DTOs point back to their parents
+ ** (customer.address.customers, customer.phones[].customer, customer.loans[].customer), so every object is mapped
+ ** only once: meeting it again returns the copy made the first time, which keeps the cycle instead of following it */
+public class MappingContext {
+
+    private final Map<Object, Object> mapped = new IdentityHashMap<>();
+
+    @BeforeMapping
+    public <T> T mappedInstance(Object source, @TargetType Class<T> targetType) {
+        return targetType.cast(mapped.get(source));
+    }
+
+    @BeforeMapping
+    public void storeMappedInstance(Object source, @MappingTarget Object target) {
+        mapped.put(source, target);
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.com.loanapi.proxys;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Sends the request bodies of at least minSize bytes gzipped. Added first to the client, so the Content-Length and
+ ** Content-Encoding headers are then taken from the compressed entity. Smaller bodies would grow with the gzip header */
+public class GzipRequestInterceptor implements HttpRequestInterceptor {
+
+    private final long minSize;
+    private final LongAdder gzipped;
+
+    public GzipRequestInterceptor(long minSize, LongAdder gzipped) {
+        this.minSize = minSize;
+        this.gzipped = gzipped;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+
+        if (!(request instanceof HttpEntityEnclosingRequest) || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) return;
+
+        HttpEntityEnclosingRequest enclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosingRequest.getEntity();
+        if (entity == null || entity.getContentEncoding() != null || entity.getContentLength() < minSize) return;
+
+        enclosingRequest.setEntity(new GzipCompressingEntity(entity));
+        gzipped.increment();
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.exceptions.ConnectionFailedException;
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.models.dto.BatchResultDTO;
+import br.com.loanapi.models.dto.InstallmentCoalescingStatsDTO;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** Coalesces the concurrent calculations of the loan creations into batch calls to the installment-service. The first
+ ** call finding no open batch opens one and leads it: it waits up to loan.installment-client.coalescing.window, or
+ ** until the batch reaches max-batch-size, then sends every loan of the batch in one ResilientInstallmentClient batch
+ ** call and hands each caller its own result. The calls joining meanwhile only wait for their result, so no thread
+ ** is added. A batch of a single loan is sent as a single call. A loan the service rejects fails only its own caller
+ ** (InvalidRequestException), while a failed batch call fails every caller of the batch with its exception */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "loan.installment-client.coalescing", name = "enabled", havingValue = "true")
+public class InstallmentCalculationCoalescer {
+
+    @Autowired
+    ResilientInstallmentClient client;
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    /** Batch the next calls join, null until a call opens one */
+    private Batch open;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedLoans = new LongAdder();
+    private final LongAdder fullBatches = new LongAdder();
+    private final LongAdder singleCalls = new LongAdder();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+
+    public InstallmentCalculationCoalescer(@Value("${loan.installment-client.coalescing.window}") Duration window,
+                                           @Value("${loan.installment-client.coalescing.max-batch-size}") int maxBatchSize) {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("Invalid coalescing batch size");
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public List<InstallmentDTO> calculateInstallments(LoanDTO loan) {
+
+        calls.increment();
+        CompletableFuture<List<InstallmentDTO>> result = new CompletableFuture<>();
+        Batch batch;
+        boolean leader;
+
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) open = new Batch();
+            batch = open;
+            batch.loans.add(loan);
+            batch.results.add(result);
+            if (batch.loans.size() >= maxBatchSize) {
+                open = null;
+                batchFull.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        if (leader) send(awaitWindow(batch));
+
+        try {
+            return result.join();
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) throw (RuntimeException) exception.getCause();
+            throw exception;
+        }
+
+    }
+
+    public InstallmentCoalescingStatsDTO stats() {
+        long sentBatches = batches.sum();
+        return new InstallmentCoalescingStatsDTO(
+                Duration.ofNanos(windowNanos).toString(),
+                maxBatchSize,
+                calls.sum(),
+                sentBatches,
+                fullBatches.sum(),
+                singleCalls.sum(),
+                sentBatches == 0 ? 0.0 : (double) batchedLoans.sum() / sentBatches,
+                largestBatch.get());
+    }
+
+    /** Closes the batch once its window is over or it is full, whichever comes first */
+    private Batch awaitWindow(Batch batch) {
+
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (open == batch && remaining > 0) remaining = batchFull.awaitNanos(remaining);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            if (open == batch) open = null;
+            lock.unlock();
+        }
+
+        return batch;
+
+    }
+
+    private void send(Batch batch) {
+
+        int size = batch.loans.size();
+        if (size == 1) {
+            singleCalls.increment();
+            complete(batch.results.get(0), () -> client.calculateInstallments(batch.loans.get(0)));
+            return;
+        }
+
+        batches.increment();
+        batchedLoans.add(size);
+        if (size == maxBatchSize) fullBatches.increment();
+        largestBatch.accumulate(size);
+        log.debug("[PROGRESS] Sending a coalesced batch of {} loans to the installment-service...", size);
+
+        List<BatchResultDTO> results;
+        try {
+            results = client.calculateBatch(batch.loans);
+        }
+        catch (RuntimeException exception) {
+            batch.results.forEach(result -> result.completeExceptionally(exception));
+            return;
+        }
+
+        if (results == null || results.size() != size) {
+            log.error("[FAILURE] Coalesced batch of {} loans answered with {} results", size,
+                    results == null ? 0 : results.size());
+            ConnectionFailedException exception =
+                    new ConnectionFailedException(ResilientInstallmentClient.CONNECTION_FAILED);
+            batch.results.forEach(result -> result.completeExceptionally(exception));
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            BatchResultDTO slot = results.get(i);
+            CompletableFuture<List<InstallmentDTO>> result = batch.results.get(i);
+            if (slot.getError() != null) result.completeExceptionally(new InvalidRequestException(slot.getError()));
+            else result.complete(slot.getInstallments());
+        }
+
+    }
+
+    private static void complete(CompletableFuture<List<InstallmentDTO>> result,
+                                 Supplier<List<InstallmentDTO>> calculation) {
+        try {
+            result.complete(calculation.get());
+        }
+        catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+
+    private static final class Batch {
+        final List<LoanDTO> loans = new ArrayList<>();
+        final List<CompletableFuture<List<InstallmentDTO>>> results = new ArrayList<>();
+    }
+
+}
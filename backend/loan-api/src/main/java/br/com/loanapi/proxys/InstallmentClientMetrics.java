@@ -0,0 +1,58 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.models.dto.InstallmentClientStatsDTO;
+import br.com.loanapi.utils.LatencyHistogram;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters of the InstallmentServiceProxy HTTP client, read from its pool and recorded by its MeteredClient */
+@Component
+public class InstallmentClientMetrics {
+
+    @Autowired
+    MeteredConnectionManager connectionManager;
+
+    private final LatencyHistogram requests = new LatencyHistogram();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder gzippedRequests = new LongAdder();
+
+    /** A request answered, or failed with an IO error or a 5xx */
+    public void request(long nanos, boolean succeeded) {
+        requests.record(nanos);
+        if (!succeeded) failedRequests.increment();
+    }
+
+    public LongAdder gzippedRequests() {
+        return gzippedRequests;
+    }
+
+    public InstallmentClientStatsDTO stats() {
+
+        PoolStats pool = connectionManager.getTotalStats();
+        LatencyHistogram connects = connectionManager.connects();
+
+        return new InstallmentClientStatsDTO(
+                pool.getMax(),
+                connectionManager.getDefaultMaxPerRoute(),
+                pool.getLeased(),
+                pool.getAvailable(),
+                pool.getPending(),
+                pool.getMax() == 0 ? 0.0 : (double) pool.getLeased() / pool.getMax(),
+                connects.count(),
+                connects.meanMillis(),
+                connects.percentileMillis(0.99),
+                connects.maxMillis(),
+                requests.count(),
+                failedRequests.sum(),
+                gzippedRequests.sum(),
+                requests.meanMillis(),
+                requests.percentileMillis(0.5),
+                requests.percentileMillis(0.99),
+                requests.maxMillis());
+
+    }
+
+}
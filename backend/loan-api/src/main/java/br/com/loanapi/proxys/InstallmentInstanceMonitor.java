@@ -0,0 +1,124 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.models.dto.InstallmentInstanceDTO;
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import br.com.loanapi.utils.LeastOutstandingBalancer.Instance;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Keeps the instances of the LeastOutstandingBalancer up to date. When loan.installment-client.instances-file is set
+ ** the instances are read from it (one host:port per line, # starts a comment) at startup and again whenever it
+ ** changes, so instances are added and removed without a restart; otherwise the static list of
+ ** loan.installment-client.instances is used. Every instance is probed on GET /installment-service/health each
+ ** health-check interval, a failed probe counting as a failure of the instance and a successful one bringing an
+ ** ejected instance back */
+@Slf4j
+@Component
+public class InstallmentInstanceMonitor {
+
+    static final String HEALTH_PATH = "/installment-service/health";
+
+    @Autowired
+    LeastOutstandingBalancer balancer;
+
+    @Autowired
+    CloseableHttpClient installmentHttpClient;
+
+    private final String instancesFile;
+    private final RequestConfig probeConfig;
+    private long instancesFileModifiedAt;
+
+    public InstallmentInstanceMonitor(@Value("${loan.installment-client.instances-file}") String instancesFile,
+                                      @Value("${loan.installment-client.health-check.timeout}") Duration timeout) {
+        this.instancesFile = instancesFile;
+        this.probeConfig = RequestConfig.custom()
+                .setConnectTimeout((int) timeout.toMillis())
+                .setSocketTimeout((int) timeout.toMillis())
+                .setConnectionRequestTimeout((int) timeout.toMillis())
+                .build();
+    }
+
+    @PostConstruct
+    public void loadInstances() {
+        if (!instancesFile.isBlank()) refreshInstances();
+    }
+
+    @Scheduled(fixedDelayString = "${loan.installment-client.health-check.interval}",
+            initialDelayString = "${loan.installment-client.health-check.interval}")
+    public void probe() {
+        if (!instancesFile.isBlank()) refreshInstances();
+        for (Instance instance : balancer.instances()) {
+            boolean wasHealthy = instance.healthy();
+            balancer.probed(instance, isUp(instance));
+            if (wasHealthy != instance.healthy()) {
+                log.warn("[INFO] Installment-service instance {} is now {}", instance.baseUrl(),
+                        instance.healthy() ? "healthy" : "ejected");
+            }
+        }
+    }
+
+    public List<InstallmentInstanceDTO> instances() {
+        return balancer.instances().stream()
+                .map(instance -> new InstallmentInstanceDTO(instance.baseUrl(), instance.healthy(),
+                        instance.outstanding(), instance.calls(), instance.failures(), instance.ejections()))
+                .collect(Collectors.toList());
+    }
+
+    synchronized void refreshInstances() {
+
+        Path path = Path.of(instancesFile);
+        try {
+            long modifiedAt = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedAt == instancesFileModifiedAt) return;
+
+            List<String> addresses = Files.readAllLines(path).stream()
+                    .map(line -> line.replaceFirst("#.*", "").trim())
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toList());
+            balancer.update(addresses);
+            instancesFileModifiedAt = modifiedAt;
+            log.info("[SUCCESS] Installment-service instances loaded from {}: {}", instancesFile, addresses);
+        }
+        catch (IOException exception) {
+            if (instancesFileModifiedAt == 0) throw new UncheckedIOException(exception);
+            log.error("[FAILURE] Installment-service instances file {} could not be read, keeping the current ones",
+                    instancesFile);
+        }
+        catch (IllegalArgumentException exception) {
+            if (instancesFileModifiedAt == 0) throw exception;
+            log.error("[FAILURE] Installment-service instances file {} has no instance, keeping the current ones",
+                    instancesFile);
+        }
+
+    }
+
+    private boolean isUp(Instance instance) {
+        HttpGet probe = new HttpGet(instance.baseUrl() + HEALTH_PATH);
+        probe.setConfig(probeConfig);
+        try (CloseableHttpResponse response = installmentHttpClient.execute(probe)) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode() == 200;
+        }
+        catch (IOException exception) {
+            return false;
+        }
+    }
+
+}
@@ -1,18 +1,31 @@
 package br.com.loanapi.proxys;
 
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import br.com.loanapi.models.dto.BatchResultDTO;
 import br.com.loanapi.models.dto.InstallmentDTO;
 import br.com.loanapi.models.dto.LoanDTO;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "installment-service", url = "localhost:8091")
+/** The host of the url is only a name: the LoadBalancedClient sends every call to one of the instances of
+ ** loan.installment-client.instances (or instances-file) */
+@FeignClient(name = "installment-service", url = "http://installment-service", configuration = InstallmentServiceProxyConfig.class)
 public interface InstallmentServiceProxy {
 
-    @PostMapping(value="installment-service")
-    ResponseEntity<List<InstallmentDTO>> calculateInstallments(@RequestBody LoanDTO loanDTO);
+    /** Asks for the binary schedule, falling back to JSON when the service doesn't produce it. The options carry the
+     ** timeouts of the call, see ResilientInstallmentClient */
+    @PostMapping(value="installment-service", produces = ScheduleWireFormat.ACCEPT)
+    ResponseEntity<List<InstallmentDTO>> calculateInstallments(@RequestBody LoanDTO loanDTO, Request.Options options);
+
+    /** Calculates many loans in one call, see InstallmentCalculationCoalescer */
+    @PostMapping(value="installment-service/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<BatchResultDTO>> calculateBatch(@RequestBody List<LoanDTO> loans, Request.Options options);
 
 }
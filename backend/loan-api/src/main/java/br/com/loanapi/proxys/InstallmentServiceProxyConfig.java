@@ -0,0 +1,47 @@
+package br.com.loanapi.proxys;
+
+import br.com.installmentmicroservice.utils.ScheduleMessageConverter;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import feign.Client;
+import feign.codec.Decoder;
+import feign.httpclient.ApacheHttpClient;
+import feign.optionals.OptionalDecoder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Feign configuration of the InstallmentServiceProxy only, so it is not annotated with @Configuration: the default
+ ** Feign decoder plus the ScheduleMessageConverter in front of the application converters, and the pooled HTTP client
+ ** of InstallmentClientConfig, timed by a MeteredClient and spread across the instances by a LoadBalancedClient */
+public class InstallmentServiceProxyConfig {
+
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters) {
+
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new ScheduleMessageConverter<>(InstallmentDTO.class, new ScheduleInstallments()));
+        converters.addAll(messageConverters.getObject().getConverters());
+        HttpMessageConverters scheduleConverters = new HttpMessageConverters(false, converters);
+
+        return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> scheduleConverters)));
+
+    }
+
+    @Bean
+    public Client feignClient(CloseableHttpClient installmentHttpClient, InstallmentClientMetrics metrics,
+                              LeastOutstandingBalancer installmentBalancer,
+                              @Value("${loan.installment-client.retries}") int retries) {
+        return new LoadBalancedClient(new MeteredClient(new ApacheHttpClient(installmentHttpClient), metrics),
+                installmentBalancer, retries);
+    }
+
+}
@@ -0,0 +1,199 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import br.com.loanapi.utils.LeastOutstandingBalancer.Instance;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/** Feign client that sends every request to one of the installment-service instances of the balancer, replacing the
+ ** scheme, host and port of its URL. Every call of the InstallmentServiceProxy is a pure calculation, so a call that
+ ** failed with an IO error, a timeout or a 5xx is retried on another instance, up to retries times while an instance
+ ** not tried yet is left. The read timeout of the options is the budget of the whole call: every retry only gets the
+ ** time left on it and none is made once it is spent, the last failure is the one thrown or returned. The call of a
+ ** response returned is only reported to the balancer once its body is closed, so the instance keeps it outstanding
+ ** while the body is read and a body that fails to be read counts as a failure */
+@Slf4j
+public class LoadBalancedClient implements Client {
+
+    private final Client delegate;
+    private final LeastOutstandingBalancer balancer;
+    private final int retries;
+    private final LongSupplier nanoClock;
+
+    public LoadBalancedClient(Client delegate, LeastOutstandingBalancer balancer, int retries) {
+        this(delegate, balancer, retries, System::nanoTime);
+    }
+
+    public LoadBalancedClient(Client delegate, LeastOutstandingBalancer balancer, int retries, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+        this.retries = retries;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        long deadline = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(options.readTimeoutMillis());
+        Request.Options attemptOptions = options;
+        Set<Instance> tried = new HashSet<>();
+
+        while (true) {
+
+            Instance instance = balancer.choose(tried);
+            tried.add(instance);
+            boolean lastAttempt = tried.size() > retries || !balancer.hasUntried(tried);
+
+            Response response;
+            try {
+                response = delegate.execute(target(request, instance), attemptOptions);
+            }
+            catch (IOException | RuntimeException exception) {
+                balancer.finish(instance, false);
+                attemptOptions = lastAttempt ? null : remaining(options, deadline);
+                if (attemptOptions == null) throw exception;
+                log.warn("[FAILURE] Installment-service call to {} failed ({}), retrying on another instance",
+                        instance.baseUrl(), exception.getMessage());
+                continue;
+            }
+
+            boolean succeeded = response.status() < 500;
+            if (!succeeded && !lastAttempt) attemptOptions = remaining(options, deadline);
+            if (succeeded || lastAttempt || attemptOptions == null) return finishedOnClose(response, instance, succeeded);
+            balancer.finish(instance, false);
+
+            log.warn("[FAILURE] Installment-service call to {} answered {}, retrying on another instance",
+                    instance.baseUrl(), response.status());
+            response.close();
+
+        }
+
+    }
+
+    private Response finishedOnClose(Response response, Instance instance, boolean succeeded) {
+        if (response.body() == null) {
+            balancer.finish(instance, succeeded);
+            return response;
+        }
+        return response.toBuilder().body(new FinishingBody(response.body(), instance, succeeded)).build();
+    }
+
+    /** The options of the call cut to the time left before the deadline, or null when it is spent */
+    private Request.Options remaining(Request.Options options, long deadline) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - nanoClock.getAsLong());
+        if (remainingMillis < 1) return null;
+        return new Request.Options(Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                remainingMillis, TimeUnit.MILLISECONDS, options.isFollowRedirects());
+    }
+
+    static Request target(Request request, Instance instance) {
+        String url = request.url();
+        int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+        String path = pathStart < 0 ? "" : url.substring(pathStart);
+        return Request.create(request.httpMethod(), instance.baseUrl() + path, request.headers(), request.body(),
+                request.charset(), request.requestTemplate());
+    }
+
+    /** Body of a response returned, which reports its call to the balancer when closed, only once */
+    private final class FinishingBody implements Response.Body {
+
+        private final Response.Body body;
+        private final Instance instance;
+        private final boolean succeeded;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean readFailed;
+
+        FinishingBody(Response.Body body, Instance instance, boolean succeeded) {
+            this.body = body;
+            this.instance = instance;
+            this.succeeded = succeeded;
+        }
+
+        @Override
+        public Integer length() {
+            return body.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return body.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(body.asInputStream()) {
+
+                @Override
+                public int read() throws IOException {
+                    try {
+                        return super.read();
+                    }
+                    catch (IOException exception) {
+                        readFailed = true;
+                        throw exception;
+                    }
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    try {
+                        return super.read(buffer, offset, length);
+                    }
+                    catch (IOException exception) {
+                        readFailed = true;
+                        throw exception;
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    }
+                    finally {
+                        FinishingBody.this.close();
+                    }
+                }
+
+            };
+        }
+
+        @Override
+        @Deprecated
+        public Reader asReader() throws IOException {
+            return asReader(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                body.close();
+            }
+            finally {
+                if (finished.compareAndSet(false, true)) balancer.finish(instance, succeeded && !readFailed);
+            }
+        }
+
+    }
+
+}
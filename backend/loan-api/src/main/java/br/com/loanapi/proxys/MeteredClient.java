@@ -0,0 +1,34 @@
+package br.com.loanapi.proxys;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/** Feign client that times every request sent through the delegate, from the pool lease to the response headers */
+public class MeteredClient implements Client {
+
+    private final Client delegate;
+    private final InstallmentClientMetrics metrics;
+
+    public MeteredClient(Client delegate, InstallmentClientMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long startedAt = System.nanoTime();
+        try {
+            Response response = delegate.execute(request, options);
+            metrics.request(System.nanoTime() - startedAt, response.status() < 500);
+            return response;
+        }
+        catch (IOException | RuntimeException exception) {
+            metrics.request(System.nanoTime() - startedAt, false);
+            throw exception;
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.utils.LatencyHistogram;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Connection pool that times the TCP connects, which only happen when no kept alive connection of the route is free */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LatencyHistogram connects = new LatencyHistogram();
+
+    public MeteredConnectionManager(Duration timeToLive) {
+        super(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        try {
+            super.connect(managedConn, route, connectTimeout, context);
+        }
+        finally {
+            connects.record(System.nanoTime() - startedAt);
+        }
+    }
+
+    public LatencyHistogram connects() {
+        return connects;
+    }
+
+}
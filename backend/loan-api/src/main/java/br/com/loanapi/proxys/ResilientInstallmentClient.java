@@ -0,0 +1,218 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.exceptions.ConnectionFailedException;
+import br.com.loanapi.exceptions.ServiceUnavailableException;
+import br.com.loanapi.models.dto.BatchResultDTO;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.InstallmentResilienceStatsDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.services.LocalCalculationService;
+import br.com.loanapi.utils.CircuitBreaker;
+import br.com.loanapi.utils.TimeoutBudget;
+import feign.FeignException;
+import feign.Request;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static br.com.loanapi.utils.StringConstants.MICROSERVICE_CONNECTION_FAILED_LOG;
+
+/** Guards the InstallmentServiceProxy calls, so a slow or failing installment-service can't hold every request thread:
+ ** - a circuit breaker rejects the calls at once while the service keeps failing (IO errors, timeouts and 5xx)
+ ** - a bulkhead bounds the concurrent calls, the ones over it wait up to max-wait and are then rejected
+ ** - every call is given the read timeout of the TimeoutBudget, derived from the latencies of the latest calls
+ ** Single and batch calls (see InstallmentCalculationCoalescer) share the breaker and the bulkhead. A batch call is
+ ** given its own budget, kept per loan from the latencies of the batch calls and multiplied by the loans of the call,
+ ** so a large batch isn't timed out (and counted against the breaker) by the budget of a single schedule.
+ ** A 4xx is an answer of a healthy service and is thrown back as it is. When the fallback is enabled, calls rejected
+ ** or failed are calculated by the LocalCalculationService instead; otherwise a rejection surfaces as a
+ ** ServiceUnavailableException (503) and a failure as a ConnectionFailedException */
+@Slf4j
+@Component
+public class ResilientInstallmentClient {
+
+    static final String SERVICE_UNAVAILABLE = "Installment Microservice unavailable";
+    static final String CONNECTION_FAILED = "Installment Microservice connection failed";
+
+    @Autowired
+    InstallmentServiceProxy proxy;
+
+    @Autowired
+    LocalCalculationService localCalculation;
+
+    @Autowired
+    CircuitBreaker circuitBreaker;
+
+    @Autowired
+    @Qualifier("installmentTimeoutBudget")
+    TimeoutBudget timeoutBudget;
+
+    /** Per loan */
+    @Autowired
+    @Qualifier("installmentBatchTimeoutBudget")
+    TimeoutBudget batchTimeoutBudget;
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final boolean fallback;
+    private final Semaphore bulkhead;
+
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder fallbackCalculations = new LongAdder();
+
+    public ResilientInstallmentClient(
+            @Value("${loan.installment-client.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${loan.installment-client.bulkhead.max-wait}") Duration maxWait,
+            @Value("${loan.installment-client.fallback}") boolean fallback) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.fallback = fallback;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    public List<InstallmentDTO> calculateInstallments(LoanDTO loan) {
+        return call(timeoutBudget, 1, options -> proxy.calculateInstallments(loan, options),
+                () -> localCalculation.calculateInstallments(loan));
+    }
+
+    /** Calculates the loans in one call to the batch endpoint, with a result in the same order for each loan. The
+     ** call is guarded as a single one, with the batch budget; when calculated locally instead, a loan failing only
+     ** fails its own result */
+    public List<BatchResultDTO> calculateBatch(List<LoanDTO> loans) {
+        return call(batchTimeoutBudget, loans.size(), options -> proxy.calculateBatch(loans, options), () -> {
+            List<BatchResultDTO> results = new ArrayList<>(loans.size());
+            for (int i = 0; i < loans.size(); i++) {
+                try {
+                    results.add(new BatchResultDTO(i, localCalculation.calculateInstallments(loans.get(i)), null));
+                }
+                catch (RuntimeException exception) {
+                    results.add(new BatchResultDTO(i, null, exception.getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+
+    public InstallmentResilienceStatsDTO stats() {
+        return new InstallmentResilienceStatsDTO(
+                circuitBreaker.state().name(),
+                circuitBreaker.failureRate(),
+                circuitBreaker.openings(),
+                TimeUnit.NANOSECONDS.toMillis(circuitBreaker.remainingOpenNanos()),
+                circuitBreaker.rejections(),
+                maxConcurrentCalls - bulkhead.availablePermits(),
+                maxConcurrentCalls,
+                bulkheadRejections.sum(),
+                timeoutBudget.millis(),
+                batchTimeoutBudget.millis(),
+                timeouts.sum(),
+                failures.sum(),
+                fallbackCalculations.sum());
+    }
+
+    /** Calls the service with a read timeout of the budget times the loans of the call, recording its latency per loan */
+    private <T> T call(TimeoutBudget budget, int loans, Function<Request.Options, ResponseEntity<T>> remote,
+                       Supplier<T> local) {
+
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            return unavailable(local, "circuit open");
+        }
+
+        if (!enterBulkhead()) {
+            circuitBreaker.release(permit);
+            bulkheadRejections.increment();
+            return unavailable(local, "bulkhead full");
+        }
+
+        ResponseEntity<T> response;
+        try {
+            long timeout = (long) budget.millis() * Math.max(1, loans);
+            long startedAt = System.nanoTime();
+            response = remote.apply(
+                    new Request.Options(timeout, TimeUnit.MILLISECONDS, timeout, TimeUnit.MILLISECONDS, true));
+            circuitBreaker.onSuccess(permit);
+            budget.record((System.nanoTime() - startedAt) / Math.max(1, loans));
+        }
+        catch (FeignException exception) {
+
+            if (exception.status() >= 400 && exception.status() < 500) {
+                circuitBreaker.onSuccess(permit);
+                throw exception;
+            }
+
+            long openings = circuitBreaker.openings();
+            circuitBreaker.onFailure(permit);
+            if (exception.getCause() instanceof SocketTimeoutException) timeouts.increment();
+            else failures.increment();
+            if (circuitBreaker.openings() != openings) {
+                log.warn("[FAILURE] Installment-service circuit opened at a failure rate of {}%",
+                        circuitBreaker.failureRate());
+            }
+
+            return failed(local, exception);
+
+        }
+        catch (RuntimeException exception) {
+            circuitBreaker.onFailure(permit);
+            failures.increment();
+            throw exception;
+        }
+        finally {
+            bulkhead.release();
+        }
+
+        if (response.getStatusCode() != HttpStatus.OK) {
+            log.error(MICROSERVICE_CONNECTION_FAILED_LOG);
+            throw new ConnectionFailedException(CONNECTION_FAILED);
+        }
+
+        return response.getBody();
+
+    }
+
+    private boolean enterBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> T unavailable(Supplier<T> local, String reason) {
+        if (fallback) return calculateLocally(local, reason);
+        log.warn("[FAILURE] Installment-service call rejected: {}", reason);
+        throw new ServiceUnavailableException(SERVICE_UNAVAILABLE);
+    }
+
+    private <T> T failed(Supplier<T> local, FeignException exception) {
+        if (fallback) return calculateLocally(local, exception.getMessage());
+        log.error(MICROSERVICE_CONNECTION_FAILED_LOG);
+        throw new ConnectionFailedException(CONNECTION_FAILED);
+    }
+
+    private <T> T calculateLocally(Supplier<T> local, String reason) {
+        log.warn("[INFO] Installment-service unavailable ({}), calculating the installments locally", reason);
+        fallbackCalculations.increment();
+        return local.get();
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.loanapi.proxys;
+
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import br.com.loanapi.models.dto.InstallmentDTO;
+
+/** The loan-api InstallmentDTO in a ScheduleWireFormat, so the binary schedule is decoded straight into it */
+public class ScheduleInstallments implements ScheduleWireFormat.Installments<InstallmentDTO> {
+
+    @Override
+    public InstallmentDTO installment(int month, String maturityDate, double amortization, double interest,
+                                      double value) {
+        return new InstallmentDTO(null, maturityDate, null, month, amortization, interest, value);
+    }
+
+    @Override
+    public int month(InstallmentDTO installment) {
+        return installment.getMonth();
+    }
+
+    @Override
+    public String maturityDate(InstallmentDTO installment) {
+        return installment.getMaturityDate();
+    }
+
+    @Override
+    public double amortization(InstallmentDTO installment) {
+        return installment.getAmortization();
+    }
+
+    @Override
+    public double interest(InstallmentDTO installment) {
+        return installment.getInterest();
+    }
+
+    @Override
+    public double value(InstallmentDTO installment) {
+        return installment.getValue();
+    }
+
+}
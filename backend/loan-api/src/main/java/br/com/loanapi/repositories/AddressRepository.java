@@ -1,10 +1,13 @@
 package br.com.loanapi.repositories;
 
+import br.com.loanapi.models.dto.AddressDTO;
 import br.com.loanapi.models.entities.AddressEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +16,14 @@ public interface AddressRepository extends JpaRepository<AddressEntity, Long> {
     @Query("Select a From AddressEntity a where a.street = ?1 and a.number = ?2 and a.postalCode = ?3")
     Optional<AddressEntity> findByStreetNumberAndPostalCode(String street, Integer number, String postalCode);
 
+    @Query("Select new br.com.loanapi.models.dto.AddressDTO(" +
+            "a.id, a.street, a.neighborhood, a.number, a.postalCode, a.city, a.state) " +
+            "From AddressEntity a where a.id = ?1")
+    Optional<AddressDTO> findDTOById(Long id);
+
+    @Query("Select new br.com.loanapi.models.dto.AddressDTO(" +
+            "a.id, a.street, a.neighborhood, a.number, a.postalCode, a.city, a.state) " +
+            "From AddressEntity a where a.id > ?1 order by a.id")
+    List<AddressDTO> findPageAfter(Long id, Pageable pageable);
+
 }
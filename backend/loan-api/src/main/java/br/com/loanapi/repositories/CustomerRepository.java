@@ -1,22 +1,47 @@
 package br.com.loanapi.repositories;
 
+import br.com.loanapi.models.dto.CustomerDTO;
 import br.com.loanapi.models.entities.CustomerEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerEntity, Long> {
 
-    @Query("Select c From CustomerEntity c where c.rg = ?1")
-    Optional<CustomerEntity> findByRg(String rg);
+    /** Customers holding any of the unique keys passed, at most one per key, in a single query: the named native query
+     ** of CustomerEntity, a union of one point read per unique index. An "or" across the columns is only served by
+     ** planners that merge indexes, the others scan the table */
+    List<CustomerDTO> findDTOsByRgOrCpfOrEmail(String rg, String cpf, String email);
+
+    @Query("Select new br.com.loanapi.models.dto.CustomerDTO(" +
+            "c.id, c.name, c.lastName, c.birthDate, c.signUpDate, c.rg, c.cpf, c.email, c.pontuation) " +
+            "From CustomerEntity c where c.id = ?1")
+    Optional<CustomerDTO> findDTOById(Long id);
+
+    @Query("Select new br.com.loanapi.models.dto.CustomerDTO(" +
+            "c.id, c.name, c.lastName, c.birthDate, c.signUpDate, c.rg, c.cpf, c.email, c.pontuation) " +
+            "From CustomerEntity c where c.id > ?1 order by c.id")
+    List<CustomerDTO> findPageAfter(Long id, Pageable pageable);
 
-    @Query("Select c From CustomerEntity c where c.cpf = ?1")
-    Optional<CustomerEntity> findByCpf(String cpf);
+    @Query("Select new br.com.loanapi.models.dto.CustomerDTO(" +
+            "c.id, c.name, c.lastName, c.birthDate, c.signUpDate, c.rg, c.cpf, c.email, c.pontuation) " +
+            "From CustomerEntity c where c.address.id = ?1 order by c.id")
+    List<CustomerDTO> findDTOsByAddressId(Long addressId);
 
-    @Query("Select c From CustomerEntity c where c.email = ?1")
-    Optional<CustomerEntity> findByEmail(String email);
+    /** Rg, cpf and email of every customer, read a thousand rows at a time (a server side cursor on MySQL, with
+     ** useCursorFetch) instead of loading the table. Must be consumed and closed inside a transaction */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("Select c.rg, c.cpf, c.email From CustomerEntity c")
+    Stream<Object[]> streamUniqueKeys();
 
 }
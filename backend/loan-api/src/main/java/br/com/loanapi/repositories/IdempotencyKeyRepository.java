@@ -0,0 +1,51 @@
+package br.com.loanapi.repositories;
+
+import br.com.loanapi.models.entities.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    @Query("Select k From IdempotencyKeyEntity k where k.scope = ?1 and k.idempotencyKey = ?2")
+    Optional<IdempotencyKeyEntity> findByScopeAndKey(String scope, String idempotencyKey);
+
+    /** Claims again a key IN_PROGRESS claimed before the instant, whose request died with its node. 0 when another
+     ** request took it over, or it was completed or released meanwhile */
+    @Transactional
+    @Modifying
+    @Query("Update IdempotencyKeyEntity k set k.attempts = k.attempts + 1, k.updatedAt = ?3 " +
+            "where k.id = ?1 and k.updatedAt < ?2 " +
+            "and k.status = br.com.loanapi.models.enums.IdempotencyStatusEnum.IN_PROGRESS")
+    int takeOver(Long id, LocalDateTime updatedBefore, LocalDateTime now);
+
+    /** Stores the response of the request that claimed the key with the attempt. 0 when it lost the claim */
+    @Transactional
+    @Modifying
+    @Query("Update IdempotencyKeyEntity k " +
+            "set k.status = br.com.loanapi.models.enums.IdempotencyStatusEnum.COMPLETED, " +
+            "k.responseStatus = ?3, k.responseLocation = ?4, k.responseBody = ?5, k.updatedAt = ?6 " +
+            "where k.id = ?1 and k.attempts = ?2 " +
+            "and k.status = br.com.loanapi.models.enums.IdempotencyStatusEnum.IN_PROGRESS")
+    int complete(Long id, Integer attempts, Integer responseStatus, String responseLocation, String responseBody,
+                 LocalDateTime now);
+
+    /** Gives the key of a failed request back, so a retry runs it again */
+    @Transactional
+    @Modifying
+    @Query("Delete From IdempotencyKeyEntity k where k.id = ?1 and k.attempts = ?2 " +
+            "and k.status = br.com.loanapi.models.enums.IdempotencyStatusEnum.IN_PROGRESS")
+    int release(Long id, Integer attempts);
+
+    @Transactional
+    @Modifying
+    @Query("Delete From IdempotencyKeyEntity k where k.updatedAt < ?1")
+    int purge(LocalDateTime updatedBefore);
+
+}
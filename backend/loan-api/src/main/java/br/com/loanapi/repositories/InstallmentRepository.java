@@ -1,8 +1,50 @@
 package br.com.loanapi.repositories;
 
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
 import br.com.loanapi.models.entities.InstallmentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Repository
-public interface InstallmentRepository extends JpaRepository<InstallmentEntity, Long> {}
+public interface InstallmentRepository extends JpaRepository<InstallmentEntity, Long> {
+
+    @Query("Select new br.com.loanapi.models.dto.InstallmentDTO(" +
+            "i.id, i.maturityDate, i.paymentDate, i.month, i.amortization, i.interest, i.value) " +
+            "From InstallmentEntity i where i.id = ?1")
+    Optional<InstallmentDTO> findDTOById(Long id);
+
+    @Query("Select new br.com.loanapi.models.dto.InstallmentDTO(" +
+            "i.id, i.maturityDate, i.paymentDate, i.month, i.amortization, i.interest, i.value) " +
+            "From InstallmentEntity i where i.id > ?1 order by i.id")
+    List<InstallmentDTO> findPageAfter(Long id, Pageable pageable);
+
+    /** Installments of every loan passed, ordered by loan and month, each one keeping the id of its loan */
+    @Query("Select new br.com.loanapi.models.dto.InstallmentDTO(" +
+            "i.loan.id, i.id, i.maturityDate, i.paymentDate, i.month, i.amortization, i.interest, i.value) " +
+            "From InstallmentEntity i where i.loan.id in ?1 order by i.loan.id, i.month")
+    List<InstallmentDTO> findDTOsByLoanIds(Collection<Long> loanIds);
+
+    /** Fills the installments of the loans with a single query */
+    default void fillInstallments(List<LoanDTO> loans) {
+
+        if (loans.isEmpty()) return;
+
+        Map<Long, LoanDTO> loansById = loans.stream().collect(Collectors.toMap(LoanDTO::getId, Function.identity()));
+        for (InstallmentDTO installment : findDTOsByLoanIds(loansById.keySet())) {
+            loansById.get(installment.getLoan().getId()).getInstallments().add(installment);
+            installment.setLoan(null);
+        }
+
+    }
+
+}
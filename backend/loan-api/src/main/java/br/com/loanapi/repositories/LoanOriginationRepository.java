@@ -0,0 +1,46 @@
+package br.com.loanapi.repositories;
+
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.entities.LoanOriginationEntity;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LoanOriginationRepository extends JpaRepository<LoanOriginationEntity, Long> {
+
+    @Query("Select new br.com.loanapi.models.dto.LoanOriginationDTO(" +
+            "o.jobId, o.customerId, o.status, o.attempts, o.loanId, o.error, o.createdAt, o.updatedAt) " +
+            "From LoanOriginationEntity o where o.jobId = ?1")
+    Optional<LoanOriginationDTO> findDTOByJobId(String jobId);
+
+    /** Jobs of the status last updated before the instant, oldest first */
+    @Query("Select o.id From LoanOriginationEntity o where o.status = ?1 and o.updatedAt < ?2 order by o.updatedAt")
+    List<Long> findIdsByStatusUpdatedBefore(OriginationStatusEnum status, LocalDateTime updatedBefore, Pageable pageable);
+
+    /** Moves the job to PROCESSING if it is still in the status and wasn't updated since the instant. 0 when another
+     ** worker, on this node or another one, claimed it first */
+    @Transactional
+    @Modifying
+    @Query("Update LoanOriginationEntity o set o.status = br.com.loanapi.models.enums.OriginationStatusEnum.PROCESSING, " +
+            "o.attempts = o.attempts + 1, o.updatedAt = ?4 " +
+            "where o.id = ?1 and o.status = ?2 and o.updatedAt < ?3")
+    int claim(Long id, OriginationStatusEnum status, LocalDateTime updatedBefore, LocalDateTime now);
+
+    /** Ends the claim of the attempt. 0 when the lease expired and the job was claimed again meanwhile */
+    @Transactional
+    @Modifying
+    @Query("Update LoanOriginationEntity o set o.status = ?3, o.loanId = ?4, o.error = ?5, o.updatedAt = ?6 " +
+            "where o.id = ?1 and o.attempts = ?2 " +
+            "and o.status = br.com.loanapi.models.enums.OriginationStatusEnum.PROCESSING")
+    int release(Long id, Integer attempts, OriginationStatusEnum status, Long loanId, String error, LocalDateTime now);
+
+}
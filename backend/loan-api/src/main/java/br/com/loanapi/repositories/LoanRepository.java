@@ -1,6 +1,32 @@
 package br.com.loanapi.repositories;
 
+import br.com.loanapi.models.dto.LoanDTO;
 import br.com.loanapi.models.entities.LoanEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface LoanRepository extends JpaRepository<LoanEntity, Long> {}
+import java.util.List;
+import java.util.Optional;
+
+public interface LoanRepository extends JpaRepository<LoanEntity, Long> {
+
+    @Query("Select new br.com.loanapi.models.dto.LoanDTO(" +
+            "l.id, l.startDate, l.originalValue, l.debitBalance, l.interestRate, l.numberOfInstallments, " +
+            "l.paymentDate, l.amortization) " +
+            "From LoanEntity l where l.id = ?1")
+    Optional<LoanDTO> findDTOById(Long id);
+
+    @Query("Select new br.com.loanapi.models.dto.LoanDTO(" +
+            "l.id, l.startDate, l.originalValue, l.debitBalance, l.interestRate, l.numberOfInstallments, " +
+            "l.paymentDate, l.amortization) " +
+            "From LoanEntity l where l.id > ?1 order by l.id")
+    List<LoanDTO> findPageAfter(Long id, Pageable pageable);
+
+    @Query("Select new br.com.loanapi.models.dto.LoanDTO(" +
+            "l.id, l.startDate, l.originalValue, l.debitBalance, l.interestRate, l.numberOfInstallments, " +
+            "l.paymentDate, l.amortization) " +
+            "From LoanEntity l where l.customer.id = ?1 order by l.id")
+    List<LoanDTO> findDTOsByCustomerId(Long customerId);
+
+}
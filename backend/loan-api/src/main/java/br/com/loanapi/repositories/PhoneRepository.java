@@ -1,16 +1,49 @@
 package br.com.loanapi.repositories;
 
+import br.com.loanapi.models.dto.PhoneDTO;
 import br.com.loanapi.models.entities.PhoneEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PhoneRepository extends JpaRepository<PhoneEntity, Long> {
 
-    @Query("Select p From PhoneEntity p Where p.prefix=?1 and p.number=?2")
-    Optional<PhoneEntity> findByPrefixAndNumber(Integer prefix, String number);
+    /** Phones with any of the numbers passed, whatever their prefix, in a single query */
+    @Query("Select new br.com.loanapi.models.dto.PhoneDTO(" +
+            "p.id, p.prefix, p.number, p.phoneType, p.customer.id) " +
+            "From PhoneEntity p where p.number in ?1")
+    List<PhoneDTO> findDTOsByNumbers(Collection<String> numbers);
+
+    @Query("Select new br.com.loanapi.models.dto.PhoneDTO(" +
+            "p.id, p.prefix, p.number, p.phoneType, p.customer.id) " +
+            "From PhoneEntity p where p.id = ?1")
+    Optional<PhoneDTO> findDTOById(Long id);
+
+    @Query("Select new br.com.loanapi.models.dto.PhoneDTO(" +
+            "p.id, p.prefix, p.number, p.phoneType, p.customer.id) " +
+            "From PhoneEntity p where p.id > ?1 order by p.id")
+    List<PhoneDTO> findPageAfter(Long id, Pageable pageable);
+
+    @Query("Select new br.com.loanapi.models.dto.PhoneDTO(" +
+            "p.id, p.prefix, p.number, p.phoneType, p.customer.id) " +
+            "From PhoneEntity p where p.customer.id = ?1 order by p.id")
+    List<PhoneDTO> findDTOsByCustomerId(Long customerId);
+
+    /** Prefix and number of every phone, read a thousand rows at a time (a server side cursor on MySQL, with
+     ** useCursorFetch) instead of loading the table. Must be consumed and closed inside a transaction */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("Select p.prefix, p.number From PhoneEntity p")
+    Stream<Object[]> streamUniqueKeys();
 
 }
@@ -1,14 +1,17 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.AddressDTO;
 import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.models.entities.AddressEntity;
-import br.com.loanapi.models.entities.CustomerEntity;
 import br.com.loanapi.models.enums.ValidationTypeEnum;
+import br.com.loanapi.models.mappers.EntityMapper;
 import br.com.loanapi.repositories.AddressRepository;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.utils.Includes;
+import br.com.loanapi.utils.KeysetPagination;
 import br.com.loanapi.validations.AddressValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +20,8 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static br.com.loanapi.utils.StringConstants.*;
@@ -29,21 +34,23 @@ public class AddressService {
     AddressRepository repository;
 
     @Autowired
-    ModelMapperConfig modelMapper;
+    CustomerRepository customerRepository;
+
+    @Autowired
+    EntityMapper mapper;
 
     AddressValidation validation = new AddressValidation();
 
     public AddressDTO create(AddressDTO address){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting create method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting create method");
 
         if(validation.validateRequest(ValidationTypeEnum.CREATE, address, repository)) {
-            log.warn("[INFO] Address created at database: {}", address.getStreet() + ", " + address.getNumber());
+            log.debug("[INFO] Address created at database: {}", address.getStreet() + ", " + address.getNumber());
 
             log.warn(REQUEST_SUCCESSFULL);
-            return modelMapper.mapper().map(repository
-                    .save(modelMapper.mapper().map(address, AddressEntity.class)), AddressDTO.class);
+            return mapper.toDTO(repository.save(mapper.toEntity(address)));
         }
 
         log.error(ADDRESS_VALIDATION_FAILED_LOG);
@@ -51,38 +58,46 @@ public class AddressService {
 
     }
 
-    public List<AddressDTO> findAll(){
+    public PageDTO<AddressDTO> findAll(String after, Integer limit) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findAll method...");
-        log.info("[PROGRESS] Verifying if there is addresses saved in the database...");
-        if(!repository.findAll().isEmpty()) {
-            log.info(REQUEST_SUCCESSFULL);
-            return repository.findAll().stream().map(
-                    x -> modelMapper.mapper().map(x, AddressDTO.class)).collect(Collectors.toList());
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findAll method...");
+        log.debug("[PROGRESS] Searching for a page of addresses after the token {}...", after);
+        int pageSize = KeysetPagination.limit(limit);
+        Long afterId = KeysetPagination.afterId(after);
+        List<AddressDTO> page = repository.findPageAfter(afterId, KeysetPagination.pageable(pageSize));
+
+        if (page.isEmpty() && afterId == 0) {
+            log.error("[FAILURE]  There is no addresses saved in the database");
+            throw new ObjectNotFoundException("There is no addresses saved in the database");
         }
-        log.error("[FAILURE]  There is no addresses saved in the database");
-        throw new ObjectNotFoundException("There is no addresses saved in the database");
+
+        return KeysetPagination.page(page, pageSize, AddressDTO::getId, Function.identity());
+
     }
 
-    public AddressDTO findById(Long id){
+    public AddressDTO findById(Long id, Set<String> include) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findById method...");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findById method...");
 
-        log.info("[PROGRESS] Searching for a address by id {}...", id);
-        Optional<AddressEntity> address = repository.findById(id);
+        Set<String> includes = Includes.parse(include, Includes.CUSTOMERS);
 
-        address.ifPresent(addressEntity -> log.info(REQUEST_SUCCESSFULL));
+        log.debug("[PROGRESS] Searching for a address by id {}...", id);
+        Optional<AddressDTO> address = repository.findDTOById(id);
+
+        address.ifPresent(addressDTO -> log.info(REQUEST_SUCCESSFULL));
         if(address.isEmpty()) log.error("[FAILURE]  Address with id {} not found", id);
-        return modelMapper.mapper().map(
-                address.orElseThrow(() -> new ObjectNotFoundException(ADDRESS_NOT_FOUND)), AddressDTO.class);
+
+        AddressDTO addressDTO = address.orElseThrow(() -> new ObjectNotFoundException(ADDRESS_NOT_FOUND));
+        if (includes.contains(Includes.CUSTOMERS)) addressDTO.setCustomers(customerRepository.findDTOsByAddressId(id));
+        return addressDTO;
     }
 
     public AddressDTO update(Long id, AddressDTO address){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting update method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting update method");
 
         Optional<AddressEntity> addressOptional = repository.findById(id);
 
@@ -91,27 +106,27 @@ public class AddressService {
             address.setCustomers(customers);
         }
 
-        log.info("[PROGRESS] Verifying if the passed id brings a database address...");
+        log.debug("[PROGRESS] Verifying if the passed id brings a database address...");
         if (addressOptional.isPresent()) {
 
-            log.warn("[INFO] Address finded: {}, {}", address.getStreet(), address.getNumber());
+            log.debug("[INFO] Address finded: {}, {}", address.getStreet(), address.getNumber());
 
             AddressEntity addressEntity = addressOptional.get();
 
             if (validation.validateRequest(ValidationTypeEnum.UPDATE, address, repository)) {
 
-                log.info("[PROGRESS] Setting the new attributes values to persisted address...");
+                log.debug("[PROGRESS] Setting the new attributes values to persisted address...");
                 addressEntity.setStreet(address.getStreet());
                 addressEntity.setNumber(address.getNumber());
                 addressEntity.setNeighborhood(address.getNeighborhood());
                 addressEntity.setCity(address.getCity());
                 addressEntity.setState(address.getState());
                 addressEntity.setPostalCode(address.getPostalCode());
-                addressEntity.setCustomers(address.getCustomers().stream().map(x -> modelMapper.mapper().map(x, CustomerEntity.class)).collect(Collectors.toList()));
+                addressEntity.setCustomers(address.getCustomers().stream().map(mapper::toEntity).collect(Collectors.toList()));
 
-                log.warn("[INFO] Address successfully updated at database");
+                log.debug("[INFO] Address successfully updated at database");
                 log.warn(REQUEST_SUCCESSFULL);
-                return modelMapper.mapper().map(repository.save(addressEntity), AddressDTO.class);
+                return mapper.toDTO(repository.save(addressEntity));
 
             }
 
@@ -126,14 +141,14 @@ public class AddressService {
 
     public Boolean deleteById(Long id) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting deleteById method...");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting deleteById method...");
 
-        log.info("[PROGRESS] Searching for a address by id {}...", id);
+        log.debug("[PROGRESS] Searching for a address by id {}...", id);
         Optional<AddressEntity> address = repository.findById(id);
 
         if (address.isPresent()) {
-            log.warn("[PROGRESS] Address finded. Removing...");
+            log.debug("[PROGRESS] Address finded. Removing...");
             repository.deleteById(id);
 
             log.warn(REQUEST_SUCCESSFULL);
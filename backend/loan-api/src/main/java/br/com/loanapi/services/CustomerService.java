@@ -1,26 +1,34 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.AddressDTO;
 import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.models.dto.PhoneDTO;
 import br.com.loanapi.models.entities.*;
 import br.com.loanapi.models.enums.ValidationTypeEnum;
+import br.com.loanapi.models.mappers.EntityMapper;
 import br.com.loanapi.repositories.AddressRepository;
 import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.InstallmentRepository;
+import br.com.loanapi.repositories.LoanRepository;
 import br.com.loanapi.repositories.PhoneRepository;
+import br.com.loanapi.utils.Includes;
+import br.com.loanapi.utils.KeysetPagination;
 import br.com.loanapi.validations.AddressValidation;
 import br.com.loanapi.validations.CustomerValidation;
 import br.com.loanapi.validations.PhoneValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 import static br.com.loanapi.utils.StringConstants.*;
 
@@ -38,7 +46,16 @@ public class CustomerService {
     PhoneRepository phoneRepository;
 
     @Autowired
-    ModelMapperConfig modelMapper;
+    LoanRepository loanRepository;
+
+    @Autowired
+    InstallmentRepository installmentRepository;
+
+    @Autowired
+    EntityMapper mapper;
+
+    @Autowired(required = false)
+    UniquenessFilterService uniquenessFilter;
 
     CustomerValidation validation = new CustomerValidation();
     AddressValidation addressValidation = new AddressValidation();
@@ -46,14 +63,14 @@ public class CustomerService {
 
     public CustomerDTO create(CustomerDTO customer) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting create method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting create method");
 
-        log.info("[PROGRESS] Starting customer, customer phone and customer address validations...");
+        log.debug("[PROGRESS] Starting customer, customer phone and customer address validations...");
 
         if (validation.validateRequest(ValidationTypeEnum.CREATE, customer, repository, phoneRepository)) {
 
-            log.info("[PROGRESS] Verifying if the address already exists at database: {}", customer.getAddress());
+            log.debug("[PROGRESS] Verifying if the address already exists at database: {}", customer.getAddress());
 
             Optional<AddressEntity> addressEntity = addressRepository.findByStreetNumberAndPostalCode(
                     customer.getAddress().getStreet(),
@@ -63,19 +80,33 @@ public class CustomerService {
             AddressDTO addressDTO;
 
             if (addressEntity.isPresent()) {
-                log.warn("[INFO] The passed address already exist");
-                addressDTO = modelMapper.mapper().map(addressEntity.get(), AddressDTO.class);
+                log.debug("[INFO] The passed address already exist");
+                addressDTO = mapper.toDTO(addressEntity.get());
             } else {
 
-                log.warn("[INFO] The passed address dont exist");
+                log.debug("[INFO] The passed address dont exist");
                 addressDTO = customer.getAddress();
             }
 
             customer.setPhoneList(customer.getPhones());
             addressDTO.addCustomer(customer);
 
-            log.info("[PROGRESS] Saving the customer at database...");
-            addressRepository.save(modelMapper.mapper().map(addressDTO, AddressEntity.class));
+            if (uniquenessFilter != null && uniquenessFilter.mightContain(customer)) {
+                log.debug("[PROGRESS] Some key may be saved already. Searching for duplicates before saving...");
+                validation.verifyDuplicates(customer, repository, phoneRepository);
+                uniquenessFilter.falsePositive();
+            }
+
+            log.debug("[PROGRESS] Saving the customer at database...");
+            try {
+                addressRepository.save(mapper.toEntity(addressDTO));
+                if (uniquenessFilter != null) uniquenessFilter.put(customer);
+            }
+            catch (DataIntegrityViolationException exception) {
+                log.debug("[PROGRESS] A unique key was violated. Searching for the duplicated one...");
+                validation.verifyDuplicates(customer, repository, phoneRepository);
+                throw exception;
+            }
             log.info("[SUCCESS] Request successfull");
             return customer;
 
@@ -86,47 +117,66 @@ public class CustomerService {
 
     }
 
-    public List<CustomerDTO> findAll() {
-        if (!repository.findAll().isEmpty()) return repository.findAll()
-                .stream().map(x -> modelMapper.mapper().map(x, CustomerDTO.class)).collect(Collectors.toList());
-        throw new ObjectNotFoundException("There is no consumers saved in the database");
+    public PageDTO<CustomerDTO> findAll(String after, Integer limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        Long afterId = KeysetPagination.afterId(after);
+        List<CustomerDTO> page = repository.findPageAfter(afterId, KeysetPagination.pageable(pageSize));
+
+        if (page.isEmpty() && afterId == 0) {
+            throw new ObjectNotFoundException("There is no consumers saved in the database");
+        }
+
+        return KeysetPagination.page(page, pageSize, CustomerDTO::getId, Function.identity());
     }
 
-    public CustomerDTO findById(Long id) {
-        Optional<CustomerEntity> customer = repository.findById(id);
-        return modelMapper.mapper().map(
-                customer.orElseThrow(() -> new ObjectNotFoundException(CUSTOMER_NOT_FOUND)), CustomerDTO.class);
+    /** One query for the customer plus one for each included collection, at most four whatever the customer has */
+    public CustomerDTO findById(Long id, Set<String> include) {
+
+        Set<String> includes = Includes.parse(include, Includes.PHONES, Includes.LOANS, Includes.INSTALLMENTS);
+        CustomerDTO customer = repository.findDTOById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(CUSTOMER_NOT_FOUND));
+
+        if (includes.contains(Includes.PHONES)) customer.setPhones(phoneRepository.findDTOsByCustomerId(id));
+
+        if (includes.contains(Includes.LOANS) || includes.contains(Includes.INSTALLMENTS)) {
+            List<LoanDTO> loans = loanRepository.findDTOsByCustomerId(id);
+            if (includes.contains(Includes.INSTALLMENTS)) installmentRepository.fillInstallments(loans);
+            customer.setLoans(loans);
+        }
+
+        return customer;
+
     }
 
     public CustomerDTO update(Long id, CustomerDTO customer) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting update method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting update method");
 
-        log.info("[PROGRESS] Creating the customer method variables...");
+        log.debug("[PROGRESS] Creating the customer method variables...");
         Optional<CustomerEntity> optionalCustomer = repository.findById(id);
         CustomerEntity findedCustomer;
 
-        log.info("[PROGRESS] Creating the address method variables...");
+        log.debug("[PROGRESS] Creating the address method variables...");
         Optional<AddressEntity> optionalAddress = addressRepository.findByStreetNumberAndPostalCode(
                 customer.getAddress().getStreet(),
                 customer.getAddress().getNumber(),
                 customer.getAddress().getPostalCode());
         AddressEntity findedAddress;
 
-        log.info("[PROGRESS] Creating the updated objects variables...");
+        log.debug("[PROGRESS] Creating the updated objects variables...");
         AddressEntity updatedAddress;
         CustomerEntity updatedCustomer;
 
-        log.info("[PROGRESS] Verifying if a customer with the id {} exists...", id);
+        log.debug("[PROGRESS] Verifying if a customer with the id {} exists...", id);
         if (validation.validateRequest(ValidationTypeEnum.UPDATE, customer, repository, phoneRepository)
                 && optionalCustomer.isPresent()
                 && addressValidation.validateRequest(ValidationTypeEnum.UPDATE, customer.getAddress(), addressRepository)) {
 
             findedCustomer = optionalCustomer.get();
-            log.warn("[INFO] Customer found: {} {}", findedCustomer.getName(), findedCustomer.getLastName());
+            log.debug("[INFO] Customer found: {} {}", findedCustomer.getName(), findedCustomer.getLastName());
 
-            log.info("[PROGRESS] Updating the updatedCustomer with the JSON values...");
+            log.debug("[PROGRESS] Updating the updatedCustomer with the JSON values...");
             updatedCustomer = findedCustomer;
             updatedCustomer.setName(customer.getName());
             updatedCustomer.setLastName(customer.getLastName());
@@ -136,60 +186,69 @@ public class CustomerService {
             updatedCustomer.setCpf(customer.getCpf());
             for (PhoneDTO phone : customer.getPhones()) {
                 if (phoneValidation.validateRequest(ValidationTypeEnum.CREATE, phone, phoneRepository)) {
-                    updatedCustomer.addPhone(modelMapper.mapper().map(phone, PhoneEntity.class));
+                    updatedCustomer.addPhone(mapper.toEntity(phone));
                 }
             }
 
-            log.info("[PROGRESS] Verifying if the passed JSON Address already exist at database...");
+            log.debug("[PROGRESS] Verifying if the passed JSON Address already exist at database...");
             if (optionalAddress.isPresent()) {
 
                 findedAddress = optionalAddress.get();
-                log.info("[INFO] Address found: {}, {}", findedAddress.getStreet(), findedAddress.getNumber());
+                log.debug("[INFO] Address found: {}, {}", findedAddress.getStreet(), findedAddress.getNumber());
 
-                log.info("[PROGRESS] Verifying if the JSON address is different of the older customer address...");
+                log.debug("[PROGRESS] Verifying if the JSON address is different of the older customer address...");
                 if (findedCustomer.getAddress() != findedAddress) {
 
-                    log.warn("[INFO] The JSON address is different.");
-                    log.info("[PROGRESS] Removing the customer of the old address...");
+                    log.debug("[INFO] The JSON address is different.");
+                    log.debug("[PROGRESS] Removing the customer of the old address...");
                     AddressEntity oldAddress = findedCustomer.getAddress();
                     oldAddress.removeCustomer(findedCustomer);
 
-                    log.info("[PROGRESS] Saving the old address without the customer...");
+                    log.debug("[PROGRESS] Saving the old address without the customer...");
                     addressRepository.save(oldAddress);
 
-                    log.info("[PROGRESS] Setting the updatedAddress value with the finded address value...");
-                    updatedAddress = modelMapper.mapper().map(findedAddress, AddressEntity.class);
+                    log.debug("[PROGRESS] Setting the updatedAddress value with the finded address value...");
+                    updatedAddress = findedAddress;
 
                 } else {
-                    log.warn("[INFO] The JSON address is equals than the older customer address.");
-                    log.info("[PROGRESS] Setting the updatedAddress value to the JSON address value...");
+                    log.debug("[INFO] The JSON address is equals than the older customer address.");
+                    log.debug("[PROGRESS] Setting the updatedAddress value to the JSON address value...");
                     updatedAddress = findedAddress;
                 }
 
             } else {
 
-                log.warn("[INFO] Address not found.");
+                log.debug("[INFO] Address not found.");
 
-                log.info("[PROGRESS] Removing the customer of the old address...");
+                log.debug("[PROGRESS] Removing the customer of the old address...");
                 AddressEntity oldAddress = findedCustomer.getAddress();
                 oldAddress.removeCustomer(findedCustomer);
 
-                log.info("[PROGRESS] Saving the old address without the customer...");
+                log.debug("[PROGRESS] Saving the old address without the customer...");
                 addressRepository.save(oldAddress);
 
-                log.info("[PROGRESS] Setting the updatedAddress value to the JSON address value...");
-                updatedAddress = modelMapper.mapper().map(customer.getAddress(), AddressEntity.class);
+                log.debug("[PROGRESS] Setting the updatedAddress value to the JSON address value...");
+                updatedAddress = mapper.toEntity(customer.getAddress());
 
             }
 
-            log.info("[PROGRESS] Adding the address to customer and the customer to address...");
+            log.debug("[PROGRESS] Adding the address to customer and the customer to address...");
             updatedAddress.addCustomer(updatedCustomer);
 
-            log.info("[PROGRESS] Saving the new address with the updated customer inside...");
-            addressRepository.save(updatedAddress);
+            log.debug("[PROGRESS] Saving the new address with the updated customer inside...");
+            try {
+                addressRepository.save(updatedAddress);
+                if (uniquenessFilter != null) uniquenessFilter.put(customer);
+            }
+            catch (DataIntegrityViolationException exception) {
+                log.debug("[PROGRESS] A unique key was violated. Searching for the duplicated one...");
+                customer.setId(id);
+                validation.verifyDuplicates(customer, repository, phoneRepository);
+                throw exception;
+            }
 
             log.warn(REQUEST_SUCCESSFULL);
-            return modelMapper.mapper().map(updatedCustomer, CustomerDTO.class);
+            return mapper.toDTO(updatedCustomer);
         }
 
         log.info(CUSTOMER_NOT_FOUND_LOG);
@@ -198,28 +257,29 @@ public class CustomerService {
 
     public Boolean deleteById(Long id) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting deleteById method...");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting deleteById method...");
 
-        log.info("[PROGRESS] Searching for a customer by id {}...", id);
+        log.debug("[PROGRESS] Searching for a customer by id {}...", id);
         Optional<CustomerEntity> optionalCustomer = repository.findById(id);
 
         if (optionalCustomer.isPresent()) {
 
-            log.warn("[INFO] Customer found.");
+            log.debug("[INFO] Customer found.");
 
-            log.info("[PROGRESS] Searching for the customer address at database...");
+            log.debug("[PROGRESS] Searching for the customer address at database...");
             Optional<AddressEntity> optionalAddress = addressRepository.findByStreetNumberAndPostalCode(
                     optionalCustomer.get().getAddress().getStreet(),
                     optionalCustomer.get().getAddress().getNumber(),
                     optionalCustomer.get().getAddress().getPostalCode());
 
-            log.info("[PROGRESS] Removing the customer of the database...");
+            log.debug("[PROGRESS] Removing the customer of the database...");
             repository.deleteById(id);
-            log.info("[PROGRESS] Removing the customer of the adress customers list...");
+            if (uniquenessFilter != null) uniquenessFilter.removed();
+            log.debug("[PROGRESS] Removing the customer of the adress customers list...");
             optionalAddress.ifPresent(addressEntity -> addressEntity.getCustomers().remove(optionalCustomer.get()));
             if (optionalAddress.isPresent()) {
-                log.info("[PROGRESS] Saving the address updated without the deleted customer at the list...");
+                log.debug("[PROGRESS] Saving the address updated without the deleted customer at the list...");
                 addressRepository.save(optionalAddress.get());
             }
 
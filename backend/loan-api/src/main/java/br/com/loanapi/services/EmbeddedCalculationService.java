@@ -0,0 +1,31 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/** Embedded calculation mode (loan.calculation.mode: embedded), for single node deployments where the HTTP hop to the
+ ** installment-service costs far more than the calculation itself. The installments are calculated in-process by the
+ ** LocalCalculationService, with the engine of the installment-service, instead of the ResilientInstallmentClient */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "loan.calculation", name = "mode", havingValue = "embedded")
+public class EmbeddedCalculationService {
+
+    @Autowired
+    LocalCalculationService localCalculation;
+
+    public EmbeddedCalculationService() {
+        log.info("[STARTING] Installments calculated in-process, the installment-service isn't called");
+    }
+
+    public List<InstallmentDTO> calculateInstallments(LoanDTO loan) {
+        return localCalculation.calculateInstallments(loan);
+    }
+
+}
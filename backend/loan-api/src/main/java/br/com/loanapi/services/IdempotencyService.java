@@ -0,0 +1,338 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.exceptions.ConflictException;
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.models.entities.IdempotencyKeyEntity;
+import br.com.loanapi.models.enums.IdempotencyStatusEnum;
+import br.com.loanapi.repositories.IdempotencyKeyRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/** Runs a create request at most once per Idempotency-Key and returns the stored response to its retries. The key is
+ ** claimed in TB_IDEMPOTENCY_KEY before the request runs, so only one request across every node runs it; the response is
+ ** stored with the key, and the key is released when the request fails, so a retry runs it again. A retry sent while
+ ** the first request still runs waits for it: on the same node on the in-flight execution, on another node by polling
+ ** the key, up to loan.idempotency.wait-timeout (then 409). The latest responses are also kept in a bounded local
+ ** store, so most retries don't read the table. A key reused for a different request is rejected with 400.
+ ** A claim older than loan.idempotency.lease is taken to be lost with its node and is taken over by the next retry.
+ ** Requests are compared by the fields read from their body only, so the defaults of the READ_ONLY fields (e.g. the
+ ** signUpDate of a customer) don't tell two retries apart and the WRITE_ONLY ones (e.g. its address) do */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    /** Sent with the stored responses returned to the retries */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public static final String LOAN_SCOPE = "POST /api/loan";
+    public static final String CUSTOMER_SCOPE = "POST /api/customer";
+
+    static final int MAX_KEY_LENGTH = 255;
+    static final long POLL_MILLIS = 50;
+
+    String INVALID_KEY = "The Idempotency-Key must have from 1 to " + MAX_KEY_LENGTH + " characters";
+    String KEY_REUSED = "The Idempotency-Key was already used for a different request";
+    String KEY_IN_USE = "A request with the same Idempotency-Key is still running";
+
+    @Autowired
+    IdempotencyKeyRepository repository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final Duration retention;
+    private final Duration lease;
+    private final Duration waitTimeout;
+
+    /** Latest completed responses by scope and key, least recently used evicted first */
+    private final Map<String, StoredResponse> completed;
+    /** Requests running on this node by scope and key, the retries arriving meanwhile wait for them */
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /** Writes the requests hashed, built from the objectMapper on the first hash */
+    private volatile ObjectWriter requestWriter;
+
+    public IdempotencyService(@Value("${loan.idempotency.local-entries}") int localEntries,
+                              @Value("${loan.idempotency.retention}") Duration retention,
+                              @Value("${loan.idempotency.lease}") Duration lease,
+                              @Value("${loan.idempotency.wait-timeout}") Duration waitTimeout) {
+        this.retention = retention;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > localEntries;
+            }
+        });
+    }
+
+    /** Runs the action unless a request with the key already ran in the scope, whose response is returned instead.
+     ** The request is what the action depends on, compared with the one of the key */
+    public ResponseEntity<Object> execute(String scope, String key, Object request,
+                                          Supplier<ResponseEntity<Object>> action) {
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) throw new InvalidRequestException(INVALID_KEY);
+        String requestHash = hash(request);
+        String localKey = scope + ' ' + key;
+
+        StoredResponse stored = completed.get(localKey);
+        if (stored != null && System.nanoTime() - stored.storedAt < retention.toNanos()) {
+            log.debug("[INFO] Returning the stored response of the idempotency key {}", key);
+            return stored.replay(requestHash, KEY_REUSED);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(localKey, execution);
+        if (running != null) {
+            log.debug("[PROGRESS] Waiting for the request running with the idempotency key {}...", key);
+            return await(running).replay(requestHash, KEY_REUSED);
+        }
+
+        try {
+            IdempotencyKeyEntity row = claim(scope, key, requestHash);
+            if (row.getStatus() == IdempotencyStatusEnum.COMPLETED) {
+                StoredResponse ranFirst = StoredResponse.of(row);
+                remember(localKey, ranFirst, execution);
+                return ranFirst.replay(requestHash, KEY_REUSED);
+            }
+            return run(row, action, localKey, execution);
+        }
+        catch (RuntimeException exception) {
+            execution.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            inFlight.remove(localKey, execution);
+        }
+
+    }
+
+    /** Deletes the keys older than the retention */
+    @Scheduled(fixedDelayString = "${loan.idempotency.purge-interval}",
+            initialDelayString = "${loan.idempotency.purge-interval}")
+    public void purge() {
+        int purged = repository.purge(LocalDateTime.now().minus(retention));
+        log.info("[SUCCESS] {} idempotency keys older than {} purged", purged, retention);
+    }
+
+    /** Claims the key for this request, returning the claim (IN_PROGRESS), or the key COMPLETED by the request that
+     ** ran first */
+    private IdempotencyKeyEntity claim(String scope, String key, String requestHash) {
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+
+            LocalDateTime now = LocalDateTime.now();
+            Optional<IdempotencyKeyEntity> existing = repository.findByScopeAndKey(scope, key);
+
+            if (existing.isEmpty()) {
+                try {
+                    return repository.saveAndFlush(new IdempotencyKeyEntity(null, scope, key, requestHash,
+                            IdempotencyStatusEnum.IN_PROGRESS, null, null, null, 1, now, now));
+                }
+                catch (DataIntegrityViolationException exception) {
+                    log.debug("[INFO] Idempotency key {} claimed meanwhile by another request", key);
+                }
+            }
+            else {
+                IdempotencyKeyEntity row = existing.get();
+                if (!row.getRequestHash().equals(requestHash)) throw new InvalidRequestException(KEY_REUSED);
+                if (row.getStatus() == IdempotencyStatusEnum.COMPLETED) return row;
+                LocalDateTime leaseStart = now.minus(lease);
+                if (row.getUpdatedAt().isBefore(leaseStart) && repository.takeOver(row.getId(), leaseStart, now) == 1) {
+                    log.warn("[INFO] Idempotency key {} taken over from a request past its lease", key);
+                    row.setAttempts(row.getAttempts() + 1);
+                    return row;
+                }
+            }
+
+            if (System.nanoTime() >= deadline) {
+                log.warn("[FAILURE] Idempotency key {} still claimed by another request", key);
+                throw new ConflictException(KEY_IN_USE);
+            }
+            pause();
+
+        }
+
+    }
+
+    private ResponseEntity<Object> run(IdempotencyKeyEntity claim, Supplier<ResponseEntity<Object>> action,
+                                       String localKey, CompletableFuture<StoredResponse> execution) {
+
+        String key = claim.getIdempotencyKey();
+        ResponseEntity<Object> response;
+        try {
+            response = action.get();
+        }
+        catch (RuntimeException exception) {
+            try {
+                repository.release(claim.getId(), claim.getAttempts());
+            }
+            catch (RuntimeException releaseException) {
+                log.error("[FAILURE] Idempotency key {} could not be released, retries wait for its lease", key);
+            }
+            throw exception;
+        }
+
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(claim.getRequestHash(), response.getStatusCodeValue(),
+                location != null ? location.toString() : null, json(response.getBody()));
+
+        try {
+            if (repository.complete(claim.getId(), claim.getAttempts(), stored.status, stored.location, stored.body,
+                    LocalDateTime.now()) == 0) {
+                log.warn("[FAILURE] Idempotency key {} was taken over before its response was stored", key);
+            }
+        }
+        catch (RuntimeException exception) {
+            log.error("[FAILURE] Response of the idempotency key {} could not be stored", key);
+        }
+
+        remember(localKey, stored, execution);
+        return response;
+
+    }
+
+    private void remember(String localKey, StoredResponse stored, CompletableFuture<StoredResponse> execution) {
+        completed.put(localKey, stored);
+        execution.complete(stored);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) throw (RuntimeException) exception.getCause();
+            throw new IllegalStateException(exception.getCause());
+        }
+        catch (TimeoutException exception) {
+            throw new ConflictException(KEY_IN_USE);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(KEY_IN_USE);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(KEY_IN_USE);
+        }
+    }
+
+    String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(requestWriter().writeValueAsBytes(request)));
+        }
+        catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private ObjectWriter requestWriter() {
+        ObjectWriter writer = requestWriter;
+        if (writer == null) requestWriter = writer = requestMapper(objectMapper).writer();
+        return writer;
+    }
+
+    /** Copy of the objectMapper writing a request as its body is read: the READ_ONLY properties are left out and the
+     ** WRITE_ONLY ones written, with the properties and map entries sorted */
+    @SuppressWarnings("deprecation")
+    static ObjectMapper requestMapper(ObjectMapper objectMapper) {
+        ObjectMapper requestMapper = objectMapper.copy();
+        requestMapper.setAnnotationIntrospector(AnnotationIntrospector.pair(new JacksonAnnotationIntrospector() {
+            @Override
+            public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                JsonProperty.Access access = super.findPropertyAccess(annotated);
+                if (access == JsonProperty.Access.READ_ONLY) return JsonProperty.Access.WRITE_ONLY;
+                if (access == JsonProperty.Access.WRITE_ONLY) return JsonProperty.Access.READ_WRITE;
+                return null;
+            }
+        }, objectMapper.getSerializationConfig().getAnnotationIntrospector()));
+        return requestMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    private String json(Object body) {
+        try {
+            return body != null ? objectMapper.writeValueAsString(body) : null;
+        }
+        catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /** Response of the request that ran with a key, with its body as JSON */
+    static final class StoredResponse {
+
+        final String requestHash;
+        final int status;
+        final String location;
+        final String body;
+        final long storedAt = System.nanoTime();
+
+        StoredResponse(String requestHash, int status, String location, String body) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.location = location;
+            this.body = body;
+        }
+
+        static StoredResponse of(IdempotencyKeyEntity row) {
+            return new StoredResponse(row.getRequestHash(), row.getResponseStatus(), row.getResponseLocation(),
+                    row.getResponseBody());
+        }
+
+        ResponseEntity<Object> replay(String requestHash, String keyReused) {
+            if (!this.requestHash.equals(requestHash)) throw new InvalidRequestException(keyReused);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                    .header(REPLAYED_HEADER, "true")
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (location != null) response.location(URI.create(location));
+            return response.body(body);
+        }
+
+    }
+
+}
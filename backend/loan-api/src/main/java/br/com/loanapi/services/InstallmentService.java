@@ -1,17 +1,17 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.InstallmentDTO;
-import br.com.loanapi.models.entities.InstallmentEntity;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.repositories.InstallmentRepository;
+import br.com.loanapi.utils.KeysetPagination;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static br.com.loanapi.utils.StringConstants.LOG_BAR;
 import static br.com.loanapi.utils.StringConstants.REQUEST_SUCCESSFULL;
@@ -23,40 +23,39 @@ public class InstallmentService {
     @Autowired
     InstallmentRepository repository;
 
-    @Autowired
-    ModelMapperConfig modelMapper;
 
     String INSTALLMENT_NOT_FOUND = "Installment not found";
 
-    public List<InstallmentDTO> findAll() {
+    public PageDTO<InstallmentDTO> findAll(String after, Integer limit) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findAll method...");
+        log.debug("[PROGRESS] Searching for a page of installments after the token {}...", after);
+        int pageSize = KeysetPagination.limit(limit);
+        Long afterId = KeysetPagination.afterId(after);
+        List<InstallmentDTO> page = repository.findPageAfter(afterId, KeysetPagination.pageable(pageSize));
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findAll method...");
-        log.info("[PROGRESS] Verifying if there is installments saved in the database...");
-        if(!repository.findAll().isEmpty()) {
-            log.info(REQUEST_SUCCESSFULL);
-            return repository.findAll().stream().map(x -> modelMapper.mapper().map(x, InstallmentDTO.class))
-                    .collect(Collectors.toList());
+        if (page.isEmpty() && afterId == 0) {
+            log.error("[FAILURE]  There is no installments saved in the database");
+            throw new ObjectNotFoundException("There is no installments saved in the database");
         }
 
-        log.error("[FAILURE]  There is no installments saved in the database");
-        throw new ObjectNotFoundException("There is no installments saved in the database");
+        return KeysetPagination.page(page, pageSize, InstallmentDTO::getId, Function.identity());
 
     }
 
     public InstallmentDTO findById(Long id) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findById method...");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findById method...");
 
-        log.info("[PROGRESS] Searching for a loan by id {}...", id);
-        Optional<InstallmentEntity> installment = repository.findById(id);
+        log.debug("[PROGRESS] Searching for a loan by id {}...", id);
+        Optional<InstallmentDTO> installment = repository.findDTOById(id);
 
-        installment.ifPresent(installmentEntity -> log.info(REQUEST_SUCCESSFULL));
+        installment.ifPresent(installmentDTO -> log.info(REQUEST_SUCCESSFULL));
         if(installment.isEmpty()) log.error("[FAILURE]  Installment with id {} not found", id);
 
-        return modelMapper.mapper().map(
-                installment.orElseThrow(() -> new ObjectNotFoundException(INSTALLMENT_NOT_FOUND)), InstallmentDTO.class);
+        return installment.orElseThrow(() -> new ObjectNotFoundException(INSTALLMENT_NOT_FOUND));
     }
 
 }
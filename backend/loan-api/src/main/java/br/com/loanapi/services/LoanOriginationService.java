@@ -0,0 +1,219 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.exceptions.ObjectNotFoundException;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.entities.CustomerEntity;
+import br.com.loanapi.models.entities.LoanOriginationEntity;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.LoanOriginationRepository;
+import br.com.loanapi.validations.LoanValidation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static br.com.loanapi.utils.StringConstants.*;
+
+/** Asynchronous loan origination (loan.origination.mode: async). The request is validated, saved as a pending job in
+ ** the outbox and answered; a bounded worker pool then calculates the installments and saves the loan. A job is
+ ** claimed with a conditional update before it runs, so each attempt runs on a single worker of a single node, and it
+ ** completes in the transaction that saves the loan. Jobs left pending (queue full, failed attempt, restart) or
+ ** processing past the lease (node lost mid job) are queued again by the outbox poll */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "loan.origination", name = "mode", havingValue = "async")
+public class LoanOriginationService {
+
+    /** Jobs queued per status at each poll */
+    static final int POLL_BATCH = 100;
+
+    String ORIGINATION_NOT_FOUND = "Loan origination not found";
+
+    @Autowired
+    LoanOriginationRepository repository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    LoanService loanService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("loanOriginationExecutor")
+    TaskExecutor executor;
+
+    LoanValidation validation = new LoanValidation();
+
+    private final int maxAttempts;
+    private final Duration pollInterval;
+    private final Duration lease;
+
+    /** Jobs queued or running on this node, so the poll doesn't queue them twice */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public LoanOriginationService(@Value("${loan.origination.max-attempts}") int maxAttempts,
+                                  @Value("${loan.origination.poll-interval}") Duration pollInterval,
+                                  @Value("${loan.origination.lease}") Duration lease) {
+        this.maxAttempts = maxAttempts;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    public LoanOriginationDTO accept(Long customerId, LoanDTO loan) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting accept method");
+
+        validation.validateRequest(loan);
+
+        log.debug("[PROGRESS] Searching for a customer with the customerId received in JSON...");
+        if (!customerRepository.existsById(customerId)) {
+            log.warn(CUSTOMER_NOT_FOUND_LOG);
+            throw new InvalidRequestException(CUSTOMER_NOT_FOUND);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LoanOriginationEntity job = new LoanOriginationEntity(null, UUID.randomUUID().toString(), customerId,
+                loan.getStartDate(), loan.getOriginalValue(), loan.getInterestRate(), loan.getNumberOfInstallments(),
+                loan.getPaymentDate(), loan.getAmortization(), OriginationStatusEnum.PENDING, 0, null, null, now, now);
+
+        log.debug("[PROGRESS] Saving the pending loan into the outbox...");
+        repository.save(job);
+        dispatch(job.getId(), OriginationStatusEnum.PENDING, now.plusSeconds(1));
+
+        log.info("[SUCCESS] Loan of ${} accepted for customer {} as job {}",
+                loan.getOriginalValue(), customerId, job.getJobId());
+        return toDTO(job);
+
+    }
+
+    public LoanOriginationDTO findByJobId(String jobId) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findByJobId method...");
+
+        return repository.findDTOByJobId(jobId).orElseThrow(() -> {
+            log.error("[FAILURE]  Loan origination with job id {} not found", jobId);
+            return new ObjectNotFoundException(ORIGINATION_NOT_FOUND);
+        });
+
+    }
+
+    /** Queues the jobs processing past their lease and the jobs pending for longer than a poll interval (the newer
+     ** ones are still in the queue of the node that accepted them), at startup and then every poll interval */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${loan.origination.poll-interval}",
+            initialDelayString = "${loan.origination.poll-interval}")
+    public void dispatchPending() {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiry = now.minus(lease);
+        LocalDateTime pendingSince = now.minus(pollInterval);
+
+        repository.findIdsByStatusUpdatedBefore(OriginationStatusEnum.PROCESSING, leaseExpiry,
+                PageRequest.of(0, POLL_BATCH)).forEach(id -> dispatch(id, OriginationStatusEnum.PROCESSING, leaseExpiry));
+        repository.findIdsByStatusUpdatedBefore(OriginationStatusEnum.PENDING, pendingSince,
+                PageRequest.of(0, POLL_BATCH)).forEach(id -> dispatch(id, OriginationStatusEnum.PENDING, pendingSince));
+
+    }
+
+    void dispatch(Long id, OriginationStatusEnum status, LocalDateTime updatedBefore) {
+
+        if (!inFlight.add(id)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    process(id, status, updatedBefore);
+                }
+                finally {
+                    inFlight.remove(id);
+                }
+            });
+        }
+        catch (TaskRejectedException exception) {
+            inFlight.remove(id);
+            log.warn("[INFO] Loan origination queue full, job {} stays pending until the next poll", id);
+        }
+
+    }
+
+    /** One attempt of the job: the installments are calculated outside of any transaction, then the loan is saved and
+     ** the job completed together. A rejected loan fails at once, anything else is retried up to the max attempts */
+    void process(Long id, OriginationStatusEnum status, LocalDateTime updatedBefore) {
+
+        if (repository.claim(id, status, updatedBefore, LocalDateTime.now()) == 0) return;
+        LoanOriginationEntity job = repository.findById(id).orElseThrow();
+        long startedAt = System.nanoTime();
+
+        try {
+            LoanDTO loan = toLoan(job);
+            loanService.schedule(loan);
+
+            Long loanId = transactionTemplate.execute(transaction -> {
+                CustomerEntity customer = customerRepository.findById(job.getCustomerId())
+                        .orElseThrow(() -> new InvalidRequestException(CUSTOMER_NOT_FOUND));
+                Long saved = loanService.persist(customer, loan);
+                if (repository.release(id, job.getAttempts(), OriginationStatusEnum.COMPLETED, saved, null,
+                        LocalDateTime.now()) == 0) throw new LeaseLostException();
+                return saved;
+            });
+
+            log.info("[SUCCESS] Loan {} of job {} created for customer {}: {} {} installments in {} ms", loanId,
+                    job.getJobId(), job.getCustomerId(), loan.getNumberOfInstallments(), loan.getAmortization(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        }
+        catch (LeaseLostException exception) {
+            log.warn("[FAILURE] Job {} was claimed again while attempt {} ran, its loan was rolled back",
+                    job.getJobId(), job.getAttempts());
+        }
+        catch (InvalidRequestException exception) {
+            log.warn("[FAILURE] Job {} rejected: {}", job.getJobId(), exception.getMessage());
+            repository.release(id, job.getAttempts(), OriginationStatusEnum.FAILED, null, exception.getMessage(),
+                    LocalDateTime.now());
+        }
+        catch (RuntimeException exception) {
+            OriginationStatusEnum next = job.getAttempts() >= maxAttempts
+                    ? OriginationStatusEnum.FAILED : OriginationStatusEnum.PENDING;
+            log.error("[FAILURE] Attempt {} of job {} failed, job {}: {}", job.getAttempts(), job.getJobId(), next,
+                    exception.getMessage());
+            repository.release(id, job.getAttempts(), next, null, exception.getMessage(), LocalDateTime.now());
+        }
+
+    }
+
+    static LoanDTO toLoan(LoanOriginationEntity job) {
+        return new LoanDTO(null, job.getStartDate(), job.getOriginalValue(), null, job.getInterestRate(),
+                job.getNumberOfInstallments(), job.getPaymentDate(), job.getAmortization());
+    }
+
+    static LoanOriginationDTO toDTO(LoanOriginationEntity job) {
+        return new LoanOriginationDTO(job.getJobId(), job.getCustomerId(), job.getStatus(), job.getAttempts(),
+                job.getLoanId(), job.getError(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+
+    /** The attempt found its claim taken over: the transaction saving the loan is rolled back */
+    static class LeaseLostException extends RuntimeException {
+    }
+
+}
@@ -1,26 +1,29 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
-import br.com.loanapi.exceptions.ConnectionFailedException;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.InstallmentDTO;
 import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.models.entities.CustomerEntity;
 import br.com.loanapi.models.entities.LoanEntity;
-import br.com.loanapi.proxys.InstallmentServiceProxy;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.proxys.InstallmentCalculationCoalescer;
+import br.com.loanapi.proxys.ResilientInstallmentClient;
 import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.InstallmentRepository;
 import br.com.loanapi.repositories.LoanRepository;
+import br.com.loanapi.utils.Includes;
+import br.com.loanapi.utils.KeysetPagination;
 import br.com.loanapi.validations.LoanValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 import static br.com.loanapi.utils.StringConstants.*;
 
@@ -35,10 +38,21 @@ public class LoanService {
     CustomerRepository customerRepository;
 
     @Autowired
-    InstallmentServiceProxy proxy;
+    InstallmentRepository installmentRepository;
 
     @Autowired
-    ModelMapperConfig modelMapper;
+    ResilientInstallmentClient installmentClient;
+
+    /** Only with loan.installment-client.coalescing.enabled */
+    @Autowired(required = false)
+    InstallmentCalculationCoalescer coalescer;
+
+    /** Only in loan.calculation.mode embedded */
+    @Autowired(required = false)
+    EmbeddedCalculationService embeddedCalculation;
+
+    @Autowired
+    EntityMapper mapper;
 
     String LOAN_NOT_FOUND = "Loan not found";
 
@@ -46,40 +60,24 @@ public class LoanService {
 
     public LoanDTO create(Long customerId, LoanDTO loan){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting create method");
+        long startedAt = System.nanoTime();
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting create method");
 
-        log.info("[PROGRESS] Searching for a customer with the customerId received in JSON...");
+        log.debug("[PROGRESS] Searching for a customer with the customerId received in JSON...");
         Optional<CustomerEntity> optionalCustomer = customerRepository.findById(customerId);
 
         if (validation.validateRequest(loan) && optionalCustomer.isPresent()) {
 
             CustomerEntity customer = optionalCustomer.get();
-            log.warn("[INFO] Customer found: {} {}", customer.getName(), customer.getLastName());
-
-            log.info("[PROGRESS] Trying to connect into installment calculation micro service...");
-            ResponseEntity<List<InstallmentDTO>> installmentMicroServiceRequest = proxy.calculateInstallments(loan);
-
-            if (installmentMicroServiceRequest.getStatusCode() == HttpStatus.OK) {
-                log.warn("[INFO] Microservice connection successfull");
-                List<InstallmentDTO> loanInstallments = installmentMicroServiceRequest.getBody();
-
-                log.info("[PROGRESS] Setting the calculated installments into the loan...");
-                loan.setInstallments(loanInstallments);
-
-                log.info("[PROGRESS] Setting the debit balance equals than the original loan value");
-                loan.setDebitBalance(loan.getOriginalValue());
+            log.debug("[INFO] Customer found: {} {}", customer.getName(), customer.getLastName());
 
-                log.info("[PROGRESS] Saving the loan into the customer with id {}", customerId);
-                customer.addLoan(modelMapper.mapper().map(loan, LoanEntity.class));
+            schedule(loan);
+            persist(customer, loan);
 
-                log.info("[PROGRESS] Updating the customer in the database...");
-                customerRepository.save(customer);
-            }
-            else {
-                log.error(MICROSERVICE_CONNECTION_FAILED_LOG);
-                throw new ConnectionFailedException("Installment Microservice connection failed");
-            }
+            log.info("[SUCCESS] Loan of ${} created for customer {}: {} {} installments in {} ms",
+                    loan.getOriginalValue(), customerId, loan.getNumberOfInstallments(), loan.getAmortization(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
 
             return loan;
         }
@@ -90,44 +88,94 @@ public class LoanService {
 
     }
 
-    public List<LoanDTO> findAll() {
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findAll method...");
-        log.info("[PROGRESS] Verifying if there is loans saved in the database...");
-        if(!repository.findAll().isEmpty()) {
-            log.info(REQUEST_SUCCESSFULL);
-            return repository.findAll().stream().map(x -> modelMapper.mapper().map(x, LoanDTO.class))
-                    .collect(Collectors.toList());
+    /** Calculates the installments of the loan in the installment micro service, or locally when it is unavailable
+     ** and the fallback is enabled, coalesced with the concurrent calculations when coalescing is enabled. In embedded
+     ** calculation mode they are always calculated in-process */
+    void schedule(LoanDTO loan) {
+
+        List<InstallmentDTO> loanInstallments;
+        if (embeddedCalculation != null) {
+            log.debug("[PROGRESS] Calculating the installments in-process...");
+            loanInstallments = embeddedCalculation.calculateInstallments(loan);
+        }
+        else if (coalescer != null) {
+            log.debug("[PROGRESS] Coalescing the calculation into a batch call to the installment micro service...");
+            loanInstallments = coalescer.calculateInstallments(loan);
+        }
+        else {
+            log.debug("[PROGRESS] Trying to connect into installment calculation micro service...");
+            loanInstallments = installmentClient.calculateInstallments(loan);
         }
-        log.error("[FAILURE]  There is no loans saved in the database");
-        throw new ObjectNotFoundException("There is no loans saved in the database");
+        log.debug("[INFO] Installments calculated");
+
+        log.debug("[PROGRESS] Setting the calculated installments into the loan...");
+        loan.setInstallments(loanInstallments);
+
+        log.debug("[PROGRESS] Setting the debit balance equals than the original loan value");
+        loan.setDebitBalance(loan.getOriginalValue());
+
     }
 
-    public LoanDTO findById(Long id) {
+    /** Saves the scheduled loan into the customer and returns its id */
+    Long persist(CustomerEntity customer, LoanDTO loan) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findById method...");
+        log.debug("[PROGRESS] Saving the loan into the customer with id {}", customer.getId());
+        LoanEntity loanEntity = mapper.toEntity(loan);
+        loanEntity.getInstallments().forEach(installment -> installment.setLoan(loanEntity));
+        loanEntity.setCustomer(customer);
 
-        log.info("[PROGRESS] Searching for a loan by id {}...", id);
-        Optional<LoanEntity> loan = repository.findById(id);
+        log.debug("[PROGRESS] Inserting the loan and its installments in JDBC batches...");
+        repository.save(loanEntity);
+        return loanEntity.getId();
+
+    }
+
+    public PageDTO<LoanDTO> findAll(String after, Integer limit) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findAll method...");
+        log.debug("[PROGRESS] Searching for a page of loans after the token {}...", after);
+        int pageSize = KeysetPagination.limit(limit);
+        Long afterId = KeysetPagination.afterId(after);
+        List<LoanDTO> page = repository.findPageAfter(afterId, KeysetPagination.pageable(pageSize));
+
+        if (page.isEmpty() && afterId == 0) {
+            log.error("[FAILURE]  There is no loans saved in the database");
+            throw new ObjectNotFoundException("There is no loans saved in the database");
+        }
+
+        return KeysetPagination.page(page, pageSize, LoanDTO::getId, Function.identity());
+
+    }
+
+    public LoanDTO findById(Long id, Set<String> include) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findById method...");
+
+        Set<String> includes = Includes.parse(include, Includes.INSTALLMENTS);
+
+        log.debug("[PROGRESS] Searching for a loan by id {}...", id);
+        Optional<LoanDTO> loan = repository.findDTOById(id);
 
-        loan.ifPresent(loanEntity -> log.info(REQUEST_SUCCESSFULL));
+        loan.ifPresent(loanDTO -> log.info(REQUEST_SUCCESSFULL));
         if(loan.isEmpty()) log.error("[FAILURE]  Loan with id {} not found", id);
 
-        return modelMapper.mapper().map(
-                loan.orElseThrow(() -> new ObjectNotFoundException(LOAN_NOT_FOUND)), LoanDTO.class);
+        LoanDTO loanDTO = loan.orElseThrow(() -> new ObjectNotFoundException(LOAN_NOT_FOUND));
+        if (includes.contains(Includes.INSTALLMENTS)) installmentRepository.fillInstallments(List.of(loanDTO));
+        return loanDTO;
     }
 
     public Boolean delete(Long id){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting deleteById method...");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting deleteById method...");
 
-        log.info("[PROGRESS] Searching for a loan by id {}...", id);
+        log.debug("[PROGRESS] Searching for a loan by id {}...", id);
         Optional<LoanEntity> loan = repository.findById(id);
 
         if (loan.isPresent()) {
-            log.warn("[PROGRESS] Loan finded. Removing...");
+            log.debug("[PROGRESS] Loan finded. Removing...");
             repository.deleteById(id);
 
             log.warn(REQUEST_SUCCESSFULL);
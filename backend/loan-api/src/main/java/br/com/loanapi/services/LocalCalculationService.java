@@ -0,0 +1,68 @@
+package br.com.loanapi.services;
+
+import br.com.installmentmicroservice.services.InstallmentCalculationService;
+import br.com.installmentmicroservice.utils.BusinessDayCalendar;
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Calculates the installments in-process with the engine of the installment-service (installment-calculation
+ ** library), so the schedules match the ones calculated remotely as long as both use the same holidays file */
+@Slf4j
+@Service
+public class LocalCalculationService {
+
+    private final InstallmentCalculationService calculationService;
+
+    public LocalCalculationService(@Value("${loan.calculation.holidays-file}") String holidaysFile) throws IOException {
+        if (holidaysFile.isBlank()) {
+            calculationService = new InstallmentCalculationService();
+        }
+        else {
+            calculationService = new InstallmentCalculationService(
+                    BusinessDayCalendar.fromFile(Path.of(holidaysFile)), null);
+            log.info("[STARTING] Local installment calculation using the holidays of {}", holidaysFile);
+        }
+    }
+
+    public List<InstallmentDTO> calculateInstallments(LoanDTO loan) {
+
+        List<br.com.installmentmicroservice.models.dto.InstallmentDTO> schedule;
+        try {
+            schedule = calculationService.installmentDistributorByAmortizationType(toCalculation(loan));
+        }
+        catch (ParseException exception) {
+            log.warn("[FAILURE] Invalid start date: {}", loan.getStartDate());
+            throw new InvalidRequestException("Invalid start date");
+        }
+
+        List<InstallmentDTO> installments = new ArrayList<>(schedule.size());
+        for (br.com.installmentmicroservice.models.dto.InstallmentDTO installment : schedule) {
+            installments.add(new InstallmentDTO(null, installment.getMaturityDate(), installment.getPaymentDate(),
+                    installment.getMonth(), installment.getAmortization(), installment.getInterest(),
+                    installment.getValue()));
+        }
+        return installments;
+
+    }
+
+    static br.com.installmentmicroservice.models.dto.LoanDTO toCalculation(LoanDTO loan) {
+        return new br.com.installmentmicroservice.models.dto.LoanDTO(
+                loan.getStartDate(),
+                loan.getOriginalValue(),
+                loan.getInterestRate(),
+                loan.getNumberOfInstallments(),
+                br.com.installmentmicroservice.models.enums.PaymentDateEnum.valueOf(loan.getPaymentDate().name()),
+                br.com.installmentmicroservice.models.enums.AmortizationEnum.valueOf(loan.getAmortization().name()));
+    }
+
+}
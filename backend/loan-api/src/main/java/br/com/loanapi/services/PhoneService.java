@@ -1,25 +1,28 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.models.dto.PhoneDTO;
 import br.com.loanapi.models.entities.AddressEntity;
 import br.com.loanapi.models.entities.CustomerEntity;
 import br.com.loanapi.models.entities.PhoneEntity;
 import br.com.loanapi.models.enums.ValidationTypeEnum;
+import br.com.loanapi.models.mappers.EntityMapper;
 import br.com.loanapi.repositories.AddressRepository;
 import br.com.loanapi.repositories.CustomerRepository;
 import br.com.loanapi.repositories.PhoneRepository;
+import br.com.loanapi.utils.KeysetPagination;
 import br.com.loanapi.validations.PhoneValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static br.com.loanapi.utils.StringConstants.*;
 
@@ -37,16 +40,19 @@ public class PhoneService {
     AddressRepository addressRepository;
 
     @Autowired
-    ModelMapperConfig modelMapper;
+    EntityMapper mapper;
+
+    @Autowired(required = false)
+    UniquenessFilterService uniquenessFilter;
 
     PhoneValidation validation = new PhoneValidation();
 
     public PhoneDTO create(PhoneDTO phone){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting create method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting create method");
 
-        log.info("[PROGRESS] Finding a customer in database betwen the id {}...", phone.getCustomerJsonId());
+        log.debug("[PROGRESS] Finding a customer in database betwen the id {}...", phone.getCustomerJsonId());
         Optional<CustomerEntity> optionalCustomer = customerRepository.findById(phone.getCustomerJsonId());
 
         if (optionalCustomer.isEmpty()) {
@@ -56,10 +62,25 @@ public class PhoneService {
 
         if (validation.validateRequest(ValidationTypeEnum.CREATE, phone, repository)) {
 
-            phone.setCustomer(modelMapper.mapper().map(optionalCustomer.get(), CustomerDTO.class));
-
-            log.info(REQUEST_SUCCESSFULL);
-            return modelMapper.mapper().map(repository.save(modelMapper.mapper().map(phone, PhoneEntity.class)), PhoneDTO.class);
+            phone.setCustomer(mapper.toDTO(optionalCustomer.get()));
+
+            if (uniquenessFilter != null && uniquenessFilter.mightContain(phone)) {
+                log.debug("[PROGRESS] The phone may be saved already. Searching for it before saving...");
+                validation.exists(phone, repository);
+                uniquenessFilter.falsePositive();
+            }
+
+            try {
+                PhoneDTO savedPhone = mapper.toDTO(repository.save(mapper.toEntity(phone)));
+                if (uniquenessFilter != null) uniquenessFilter.put(phone);
+                log.info(REQUEST_SUCCESSFULL);
+                return savedPhone;
+            }
+            catch (DataIntegrityViolationException exception) {
+                log.debug("[PROGRESS] A unique key was violated. Searching for the duplicated phone...");
+                validation.exists(phone, repository);
+                throw exception;
+            }
 
         }
 
@@ -68,36 +89,40 @@ public class PhoneService {
 
     }
 
-    public List<PhoneDTO> findAll() {
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findAll method");
-        if(!repository.findAll().isEmpty()) {
-            log.warn(REQUEST_SUCCESSFULL);
-            return repository.findAll().stream().map(x -> modelMapper.mapper().map(x, PhoneDTO.class))
-                    .collect(Collectors.toList());
+    public PageDTO<PhoneDTO> findAll(String after, Integer limit) {
+
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findAll method...");
+        log.debug("[PROGRESS] Searching for a page of phones after the token {}...", after);
+        int pageSize = KeysetPagination.limit(limit);
+        Long afterId = KeysetPagination.afterId(after);
+        List<PhoneDTO> page = repository.findPageAfter(afterId, KeysetPagination.pageable(pageSize));
+
+        if (page.isEmpty() && afterId == 0) {
+            log.warn(PHONE_NOT_FOUND_LOG);
+            throw new ObjectNotFoundException("There is no phones saved in the database");
         }
-        log.warn(PHONE_NOT_FOUND_LOG);
-        throw new ObjectNotFoundException("There is no phones saved in the database");
+
+        return KeysetPagination.page(page, pageSize, PhoneDTO::getId, Function.identity());
+
     }
 
     public PhoneDTO findById(Long id) {
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting findById method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting findById method");
 
-        Optional<PhoneEntity> phone = repository.findById(id);
-        return modelMapper.mapper().map(
-                phone.orElseThrow(() -> new ObjectNotFoundException(PHONE_NOT_FOUND)), PhoneDTO.class);
+        return repository.findDTOById(id).orElseThrow(() -> new ObjectNotFoundException(PHONE_NOT_FOUND));
     }
 
     public PhoneDTO update(Long id, PhoneDTO phone) {
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting update method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting update method");
 
-        log.info("[PROGRESS] Searching for a phoneEntity by id {}...", id);
+        log.debug("[PROGRESS] Searching for a phoneEntity by id {}...", id);
         Optional<PhoneEntity> phoneEntityOptional = repository.findById(id);
 
-        log.info("[PROGRESS] Searching for a customer by id {}...", phone.getCustomerJsonId());
+        log.debug("[PROGRESS] Searching for a customer by id {}...", phone.getCustomerJsonId());
         Optional<CustomerEntity> phoneCustomerOptional = customerRepository.findById(phone.getCustomerJsonId());
 
         if (phoneCustomerOptional.isEmpty()) {
@@ -108,14 +133,15 @@ public class PhoneService {
         if (phoneEntityOptional.isPresent() && validation.validateRequest(ValidationTypeEnum.UPDATE, phone, repository)) {
 
             PhoneEntity phoneEntity = phoneEntityOptional.get();
-            log.warn("[INFO] Phone found: ({}){}", phoneEntity.getPrefix(), phoneEntity.getNumber());
+            log.debug("[INFO] Phone found: ({}){}", phoneEntity.getPrefix(), phoneEntity.getNumber());
 
-            log.info("[PROGRESS] Charging the phone with the updated attributes...");
+            log.debug("[PROGRESS] Charging the phone with the updated attributes...");
             phoneEntity.setPhoneType(phone.getPhoneType());
             phoneEntity.setNumber(phone.getNumber());
             phoneEntity.setPrefix(phone.getPrefix());
             phoneEntity.setCustomer(phoneCustomerOptional.get());
             repository.save(phoneEntity);
+            if (uniquenessFilter != null) uniquenessFilter.put(phone);
             return phone;
         }
 
@@ -125,14 +151,15 @@ public class PhoneService {
 
     public Boolean delete(Long id){
 
-        log.info(LOG_BAR);
-        log.info("[STARTING] Starting delete by id method");
+        log.debug(LOG_BAR);
+        log.debug("[STARTING] Starting delete by id method");
 
-        log.info("[PROGRESS] Searching in database for a Phone with id {}...", id);
+        log.debug("[PROGRESS] Searching in database for a Phone with id {}...", id);
         if (repository.findById(id).isPresent()) {
 
-            log.warn("[INFO] Phone found and removed from database.");
+            log.debug("[INFO] Phone found and removed from database.");
             repository.deleteById(id);
+            if (uniquenessFilter != null) uniquenessFilter.removed();
 
             log.warn(REQUEST_SUCCESSFULL);
             return true;
@@ -0,0 +1,217 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.PhoneDTO;
+import br.com.loanapi.models.dto.UniquenessFilterStatsDTO;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.PhoneRepository;
+import br.com.loanapi.utils.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/** Per node Bloom filter over the unique keys of the customers (rg, cpf, email) and phones (prefix and number). A
+ ** definite miss lets a create go straight to the insert; a possible duplicate is probed first, so the request fails
+ ** before writing anything. The unique constraints stay the source of truth: a key missing from the filter (another
+ ** node inserted it) only costs the rollback of the insert. Keys are normalized (punctuation dropped, email in lower
+ ** case), so the filter may only err towards a probe. Deleted keys can't leave a Bloom filter: they are dropped when
+ ** the filter is rebuilt from the tables, at startup and every loan.uniqueness-filter.rebuild-interval */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "loan.uniqueness-filter", name = "enabled", havingValue = "true")
+public class UniquenessFilterService {
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    PhoneRepository phoneRepository;
+
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+
+    /** Null until the first build, when every key is reported as a possible duplicate */
+    private volatile BloomFilter filter;
+    /** The filter being built, which also receives the keys saved meanwhile */
+    private volatile BloomFilter building;
+    private volatile String lastRebuild;
+
+    private final AtomicLong removedSinceRebuild = new AtomicLong();
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong possibleDuplicates = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public UniquenessFilterService(@Value("${loan.uniqueness-filter.expected-keys}") long expectedKeys,
+                                   @Value("${loan.uniqueness-filter.false-positive-rate}") double falsePositiveRate) {
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /** Sized for twice the keys saved (at least loan.uniqueness-filter.expected-keys), and swapped once complete */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${loan.uniqueness-filter.rebuild-interval}",
+            initialDelayString = "${loan.uniqueness-filter.rebuild-interval}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+
+        long startedAt = System.nanoTime();
+        long savedKeys = 3 * customerRepository.count() + phoneRepository.count();
+        BloomFilter next = BloomFilter.create(Math.max(expectedKeys, 2 * savedKeys), falsePositiveRate);
+        building = next;
+
+        try (Stream<Object[]> customers = customerRepository.streamUniqueKeys()) {
+            customers.forEach(row -> {
+                if (row[0] != null) next.put(rgKey((String) row[0]));
+                if (row[1] != null) next.put(cpfKey((String) row[1]));
+                if (row[2] != null) next.put(emailKey((String) row[2]));
+            });
+        }
+        try (Stream<Object[]> phones = phoneRepository.streamUniqueKeys()) {
+            phones.forEach(row -> next.put(phoneKey((Integer) row[0], (String) row[1])));
+        }
+
+        filter = next;
+        building = null;
+        removedSinceRebuild.set(0);
+        lastRebuild = LocalDateTime.now().toString();
+
+        log.info("[SUCCESS] Uniqueness filter rebuilt with {} keys in {} bits ({} hash functions) in {} ms",
+                savedKeys, next.bitSize(), next.hashFunctions(), (System.nanoTime() - startedAt) / 1_000_000);
+
+    }
+
+    /** False only when no key of the customer or of its phones was ever saved */
+    public boolean mightContain(CustomerDTO customer) {
+        return mightContain(keys(customer));
+    }
+
+    public boolean mightContain(PhoneDTO phone) {
+        return mightContain(List.of(phoneKey(phone.getPrefix(), phone.getNumber())));
+    }
+
+    public void put(CustomerDTO customer) {
+        keys(customer).forEach(this::put);
+    }
+
+    public void put(PhoneDTO phone) {
+        put(phoneKey(phone.getPrefix(), phone.getNumber()));
+    }
+
+    /** A customer or phone was deleted: its keys stay in the filter until the next rebuild */
+    public void removed() {
+        removedSinceRebuild.incrementAndGet();
+    }
+
+    /** The filter reported a possible duplicate and the probe found none */
+    public void falsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    public UniquenessFilterStatsDTO stats() {
+
+        BloomFilter current = filter;
+        long misses = definiteMisses.get();
+        long positives = falsePositives.get();
+
+        if (current == null) {
+            return new UniquenessFilterStatsDTO(0L, removedSinceRebuild.get(), 0L, 0, 0L, falsePositiveRate,
+                    null, misses, possibleDuplicates.get(), positives, null, null);
+        }
+
+        return new UniquenessFilterStatsDTO(
+                estimatedKeys(current),
+                removedSinceRebuild.get(),
+                current.bitSize(),
+                current.hashFunctions(),
+                current.memoryBytes(),
+                falsePositiveRate,
+                current.expectedFalsePositiveRate(),
+                misses,
+                possibleDuplicates.get(),
+                positives,
+                misses + positives == 0 ? 0.0 : (double) positives / (misses + positives),
+                lastRebuild);
+
+    }
+
+    private boolean mightContain(List<String> keys) {
+
+        BloomFilter current = filter;
+        if (current == null) return true;
+
+        for (String key : keys) {
+            if (current.mightContain(key)) {
+                possibleDuplicates.incrementAndGet();
+                return true;
+            }
+        }
+        definiteMisses.incrementAndGet();
+        return false;
+
+    }
+
+    /** Reads building before filter: a rebuild publishes filter = building before clearing building, so a key put
+     ** while it is swapped still reaches the new filter, at worst twice */
+    private void put(String key) {
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        if (current != null) current.put(key);
+        if (next != null) next.put(key);
+    }
+
+    /** Swamidass-Baldi estimate of the distinct keys put: -(m/k) ln(1 - set bits/m) */
+    static long estimatedKeys(BloomFilter filter) {
+        double bits = filter.bitSize();
+        return Math.round(-bits / filter.hashFunctions() * Math.log(1 - filter.setBits() / bits));
+    }
+
+    static List<String> keys(CustomerDTO customer) {
+        List<String> keys = new ArrayList<>();
+        if (customer.getRg() != null) keys.add(rgKey(customer.getRg()));
+        if (customer.getCpf() != null) keys.add(cpfKey(customer.getCpf()));
+        if (customer.getEmail() != null) keys.add(emailKey(customer.getEmail()));
+        if (customer.getPhones() != null) {
+            for (PhoneDTO phone : customer.getPhones()) keys.add(phoneKey(phone.getPrefix(), phone.getNumber()));
+        }
+        return keys;
+    }
+
+    static String rgKey(String rg) {
+        return "rg:" + alphanumeric(rg);
+    }
+
+    static String cpfKey(String cpf) {
+        return "cpf:" + alphanumeric(cpf);
+    }
+
+    static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String phoneKey(Integer prefix, String number) {
+        return "phone:" + prefix + ":" + alphanumeric(number);
+    }
+
+    private static String alphanumeric(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) normalized.append(Character.toUpperCase(c));
+        }
+        return normalized.toString();
+    }
+
+}
@@ -0,0 +1,111 @@
+package br.com.loanapi.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Bloom filter of strings: mightContain never answers false for a key that was put, and answers true for a key that
+ ** wasn't with about the false positive rate it was sized for. Keys can't be removed. Bits are set with compare and
+ ** set, so puts and lookups may run concurrently. Each key is hashed once (64 bit FNV-1a, then mixed) and the k bit
+ ** positions derived from the two halves of the hash (Kirsch-Mitzenmacher double hashing), which addresses up to 2^32
+ ** bits (512 MB) */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray((int) ((bitSize + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = (long) words.length() * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /** m = -n ln(p) / ln(2)^2 bits and k = m/n ln(2) hash functions */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+
+        if (expectedKeys < 1) expectedKeys = 1;
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bits > 1L << 32) throw new IllegalArgumentException("Bloom filter too large");
+        int hashFunctions = Math.max(1, (int) Math.round((double) bits / expectedKeys * Math.log(2)));
+
+        return new BloomFilter(Math.max(bits, Long.SIZE), hashFunctions);
+
+    }
+
+    public void put(String key) {
+
+        long hash = hash(key);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(first + i * second);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+
+    }
+
+    public boolean mightContain(String key) {
+
+        long hash = hash(key);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(first + i * second);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long memoryBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    public long setBits() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) setBits += Long.bitCount(words.get(i));
+        return setBits;
+    }
+
+    /** Probability that a key never put is reported as present, given the bits set so far: (set bits / m)^k */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits() / bitSize, hashFunctions);
+    }
+
+    private long index(int combinedHash) {
+        return Integer.toUnsignedLong(combinedHash) % bitSize;
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
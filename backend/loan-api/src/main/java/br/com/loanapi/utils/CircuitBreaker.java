@@ -0,0 +1,145 @@
+package br.com.loanapi.utils;
+
+import java.util.function.LongSupplier;
+
+/** Count based circuit breaker. While CLOSED the outcomes of the latest windowSize calls are kept in a ring, and once
+ ** at least minimumCalls were recorded a failure rate at or over the threshold opens the circuit. While OPEN every
+ ** call is rejected; after openDuration the circuit turns HALF_OPEN and lets halfOpenCalls trial calls through: all of
+ ** them succeeding closes it again, any of them failing opens it for another openDuration.
+ ** Every transition starts a new generation, and outcomes of calls permitted in an older generation are ignored, so a
+ ** slow call started before the circuit opened can't close it or count as a trial */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Returned by tryAcquire when the call is rejected */
+    public static final long REJECTED = -1;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    private long openings;
+    private long rejections;
+
+    /** failureRateThreshold is a percentage, from 1 to 100 */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos,
+                          int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1
+                || failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /** The generation the call was permitted in, to be handed back to onSuccess, onFailure or release, or REJECTED */
+    public synchronized long tryAcquire() {
+
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+
+        if (state == State.CLOSED) return generation;
+        if (state == State.HALF_OPEN && trialPermits < halfOpenCalls) {
+            trialPermits++;
+            return generation;
+        }
+
+        rejections++;
+        return REJECTED;
+
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) return;
+        if (state == State.CLOSED) record(false);
+        else if (state == State.HALF_OPEN && ++trialSuccesses == halfOpenCalls) transition(State.CLOSED);
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) return;
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= minimumCalls && failureRate() >= failureRateThreshold) open();
+        }
+        else if (state == State.HALF_OPEN) open();
+    }
+
+    /** A permitted call that was never made: its trial permit is given back */
+    public synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) trialPermits--;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** Percentage of failures among the calls in the window, 0 while empty */
+    public synchronized double failureRate() {
+        return windowCalls == 0 ? 0.0 : windowFailures * 100.0 / windowCalls;
+    }
+
+    public synchronized long openings() {
+        return openings;
+    }
+
+    public synchronized long rejections() {
+        return rejections;
+    }
+
+    /** Nanoseconds left until the open circuit lets trial calls through, 0 when it isn't open */
+    public synchronized long remainingOpenNanos() {
+        return state == State.OPEN ? Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)) : 0;
+    }
+
+    private void record(boolean failed) {
+        if (windowCalls == windowSize) {
+            if (window[windowIndex]) windowFailures--;
+        }
+        else {
+            windowCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) windowFailures++;
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void open() {
+        openedAt = nanoClock.getAsLong();
+        openings++;
+        transition(State.OPEN);
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+        trialPermits = 0;
+        trialSuccesses = 0;
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.loanapi.utils;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Nested collections a read endpoint only returns when asked for with ?include=a,b. Reads project the columns of
+ ** the endpoint instead of loading entities, and every included collection is one more query, so the statements of
+ ** a request depend on what it includes and never on how many rows it returns */
+public class Includes {
+
+    public static final String PHONES = "phones";
+    public static final String LOANS = "loans";
+    public static final String INSTALLMENTS = "installments";
+    public static final String CUSTOMERS = "customers";
+
+    Includes() {}
+
+    /** The requested collections, failing on any the endpoint doesn't have */
+    public static Set<String> parse(Set<String> include, String... allowed) {
+
+        Set<String> includes = new HashSet<>();
+        if (include == null) return includes;
+
+        for (String collection : include) {
+            String name = collection.trim();
+            if (name.isEmpty()) continue;
+            if (!List.of(allowed).contains(name)) {
+                throw new InvalidRequestException("Invalid include " + name + ", expected one of " + String.join(", ", allowed));
+            }
+            includes.add(name);
+        }
+
+        return includes;
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.loanapi.utils;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.models.dto.PageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Keyset pagination of the list endpoints: every page is one "where id > ?1 order by id" query limited to one row
+ ** more than the page, so neither the table nor the following pages are ever loaded and the extra row tells whether
+ ** there is a next page. The continuation token is the last id of the page, base64url encoded so clients don't
+ ** build it themselves */
+public class KeysetPagination {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    KeysetPagination() {}
+
+    /** Id to start after: 0 (before every generated id) on the first page */
+    public static Long afterId(String token) {
+
+        if (token == null || token.isBlank()) return 0L;
+
+        try {
+            byte[] id = Base64.getUrlDecoder().decode(token);
+            if (id.length != Long.BYTES) throw new IllegalArgumentException();
+            return ByteBuffer.wrap(id).getLong();
+        }
+        catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException("Invalid page token");
+        }
+
+    }
+
+    /** The requested page size, DEFAULT_LIMIT when missing and never above MAX_LIMIT */
+    public static int limit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit < 1) throw new InvalidRequestException("The page limit must be at least 1");
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /** One row more than the page, see page */
+    public static Pageable pageable(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <E, D> PageDTO<D> page(List<E> rows, int limit, Function<E, Long> id, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        return new PageDTO<>(
+                page.stream().map(mapper).collect(Collectors.toList()),
+                hasNext ? token(id.apply(page.get(limit - 1))) : null);
+    }
+
+    static String token(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.com.loanapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Lock free histogram of durations, recorded in microseconds: below 8 us each value has its own bucket, above it
+ ** every power of two range is split in 8 linear buckets, so a percentile is read within 1/16 of the recorded values
+ ** (the middle of the bucket is reported). Durations over 2^40 us (12 days) land in the last bucket */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_RANGE = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray((MAX_RANGE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        buckets.incrementAndGet(index(nanos / 1000));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanMillis() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0.0 : totalNanos.sum() / 1e6 / recorded;
+    }
+
+    public double maxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /** Duration under which the share q (0 to 1) of the recordings fall, 0 while empty */
+    public double percentileMillis(double q) {
+
+        long recorded = 0;
+        for (int i = 0; i < buckets.length(); i++) recorded += buckets.get(i);
+        if (recorded == 0) return 0.0;
+
+        long rank = Math.max(1, (long) Math.ceil(q * recorded));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min(middleMicros(i) / 1e3, maxMillis());
+        }
+        return maxMillis();
+
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int range = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_RANGE);
+        int subBucket = (int) (micros >>> (range - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (range - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static double middleMicros(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int range = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (range - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (range - SUB_BUCKET_BITS);
+        return lower + width / 2.0;
+    }
+
+}
@@ -0,0 +1,162 @@
+package br.com.loanapi.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Balances calls across the instances of a service, handing each call to the healthy instance with the fewest calls
+ ** in flight. Ties are broken from a rotating start, so an idle service still gets its calls spread round robin.
+ ** An instance is ejected after unhealthyThreshold consecutive failures, counting both the failed calls and the
+ ** failed health probes, and only a successful probe brings it back. When every instance left is ejected the calls
+ ** still go to one of them, as failing is the only alternative.
+ ** The instance list may be replaced at any time: instances kept keep their state and counters */
+public class LeastOutstandingBalancer {
+
+    public static final class Instance {
+
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder ejections = new LongAdder();
+        private volatile boolean healthy = true;
+
+        Instance(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        /** Scheme, host and port, without a trailing slash */
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public boolean healthy() {
+            return healthy;
+        }
+
+        public int outstanding() {
+            return outstanding.get();
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public long ejections() {
+            return ejections.sum();
+        }
+
+    }
+
+    private final int unhealthyThreshold;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<Instance> instances = List.of();
+
+    public LeastOutstandingBalancer(Collection<String> addresses, int unhealthyThreshold) {
+        if (unhealthyThreshold < 1) throw new IllegalArgumentException("Invalid unhealthy threshold");
+        this.unhealthyThreshold = unhealthyThreshold;
+        update(addresses);
+    }
+
+    /** Replaces the instances with the addresses given (host:port, or a URL with its scheme) */
+    public synchronized void update(Collection<String> addresses) {
+
+        List<Instance> updated = new ArrayList<>();
+        for (String address : addresses) {
+            String baseUrl = baseUrl(address);
+            if (baseUrl.isEmpty() || updated.stream().anyMatch(instance -> instance.baseUrl.equals(baseUrl))) continue;
+            updated.add(instances.stream()
+                    .filter(instance -> instance.baseUrl.equals(baseUrl))
+                    .findFirst()
+                    .orElseGet(() -> new Instance(baseUrl)));
+        }
+
+        if (updated.isEmpty()) throw new IllegalArgumentException("No instance to balance across");
+        instances = List.copyOf(updated);
+
+    }
+
+    public List<Instance> instances() {
+        return instances;
+    }
+
+    /** The instance for the next call, skipping the ones already tried by it, or null when every one was tried.
+     ** The call must be reported back to finish */
+    public Instance choose(Set<Instance> tried) {
+
+        List<Instance> current = instances;
+        int start = Math.floorMod(next.getAndIncrement(), current.size());
+
+        Instance chosen = leastOutstanding(current, start, tried, true);
+        if (chosen == null) chosen = leastOutstanding(current, start, tried, false);
+        if (chosen == null) return null;
+
+        chosen.outstanding.incrementAndGet();
+        chosen.calls.increment();
+        return chosen;
+
+    }
+
+    /** Whether an instance not tried yet is left for another attempt */
+    public boolean hasUntried(Set<Instance> tried) {
+        return instances.stream().anyMatch(instance -> !tried.contains(instance));
+    }
+
+    /** Ends a call handed out by choose. A failure is an IO error, a timeout or a 5xx */
+    public void finish(Instance instance, boolean succeeded) {
+        instance.outstanding.decrementAndGet();
+        if (succeeded) instance.consecutiveFailures.set(0);
+        else {
+            instance.failures.increment();
+            failed(instance);
+        }
+    }
+
+    /** Result of a health probe of the instance */
+    public void probed(Instance instance, boolean up) {
+        if (!up) failed(instance);
+        else {
+            instance.consecutiveFailures.set(0);
+            instance.healthy = true;
+        }
+    }
+
+    private void failed(Instance instance) {
+        if (instance.consecutiveFailures.incrementAndGet() >= unhealthyThreshold && instance.healthy) {
+            instance.healthy = false;
+            instance.ejections.increment();
+        }
+    }
+
+    private static Instance leastOutstanding(List<Instance> instances, int start, Set<Instance> tried,
+                                             boolean healthyOnly) {
+        Instance chosen = null;
+        int chosenOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < instances.size(); i++) {
+            Instance instance = instances.get((start + i) % instances.size());
+            if (tried.contains(instance) || (healthyOnly && !instance.healthy)) continue;
+            int outstanding = instance.outstanding.get();
+            if (outstanding < chosenOutstanding) {
+                chosen = instance;
+                chosenOutstanding = outstanding;
+            }
+        }
+        return chosen;
+    }
+
+    private static String baseUrl(String address) {
+        String trimmed = address.trim();
+        while (trimmed.endsWith("/")) trimmed = trimmed.substring(0, trimmed.length() - 1);
+        if (trimmed.isEmpty()) return trimmed;
+        return trimmed.contains("://") ? trimmed : "http://" + trimmed;
+    }
+
+}
@@ -0,0 +1,66 @@
+package br.com.loanapi.utils;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/** Timeout derived from the latencies of the calls that succeeded: the p99 of the previous window times the multiplier,
+ ** kept within min..max. The budget starts at max and is only recomputed from windows of at least minimumCalls, so a
+ ** quiet window keeps the last budget instead of deriving it from a handful of calls */
+public class TimeoutBudget {
+
+    private final double multiplier;
+    private final long minMillis;
+    private final long maxMillis;
+    private final long windowNanos;
+    private final int minimumCalls;
+    private final LongSupplier nanoClock;
+
+    private volatile LatencyHistogram window = new LatencyHistogram();
+    private volatile long windowStartedAt;
+    private volatile long budgetMillis;
+
+    public TimeoutBudget(double multiplier, Duration min, Duration max, Duration window, int minimumCalls,
+                         LongSupplier nanoClock) {
+        if (multiplier < 1 || min.isNegative() || min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Invalid timeout budget settings");
+        }
+        this.multiplier = multiplier;
+        this.minMillis = Math.max(1, min.toMillis());
+        this.maxMillis = max.toMillis();
+        this.windowNanos = window.toNanos();
+        this.minimumCalls = minimumCalls;
+        this.nanoClock = nanoClock;
+        this.windowStartedAt = nanoClock.getAsLong();
+        this.budgetMillis = maxMillis;
+    }
+
+    /** Latency of a call that succeeded */
+    public void record(long nanos) {
+        rotateIfDue();
+        window.record(nanos);
+    }
+
+    public int millis() {
+        rotateIfDue();
+        return (int) budgetMillis;
+    }
+
+    private void rotateIfDue() {
+
+        if (nanoClock.getAsLong() - windowStartedAt < windowNanos) return;
+
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            if (now - windowStartedAt < windowNanos) return;
+            LatencyHistogram finished = window;
+            window = new LatencyHistogram();
+            windowStartedAt = now;
+            if (finished.count() >= minimumCalls) {
+                long derived = (long) Math.ceil(finished.percentileMillis(0.99) * multiplier);
+                budgetMillis = Math.min(maxMillis, Math.max(minMillis, derived));
+            }
+        }
+
+    }
+
+}
@@ -14,7 +14,7 @@ public class AddressValidation {
 
     public boolean validateRequest(ValidationTypeEnum validationType, AddressDTO address, AddressRepository repository){
 
-        log.info("[STARTING] Starting address validation");
+        log.debug("[STARTING] Starting address validation");
 
         notNull(address);
         if (validationType == ValidationTypeEnum.CREATE) {
@@ -26,13 +26,13 @@ public class AddressValidation {
         verifyPostalCode(address.getPostalCode());
         verifyCity(address.getCity());
 
-        log.info("[SUCCESS]  Validation successfull");
+        log.debug("[SUCCESS]  Validation successfull");
         return true;
     }
 
     public boolean exists(AddressDTO address, AddressRepository repository) {
 
-        log.info("[PROGRESS] Validating if the object already exists in database...");
+        log.debug("[PROGRESS] Validating if the object already exists in database...");
         if (repository.findByStreetNumberAndPostalCode(address.getStreet(), address.getNumber(), address.getPostalCode()).isEmpty()) return true;
 
         log.error("[FAILURE] Address validation failed. The address already exists in database");
@@ -42,7 +42,7 @@ public class AddressValidation {
 
     public boolean notNull(AddressDTO address) {
 
-        log.info("[PROGRESS] Validating if the object have null attributes...");
+        log.debug("[PROGRESS] Validating if the object have null attributes...");
         if(address.getStreet() != null &&
                 address.getNeighborhood() != null &&
                 address.getNumber() != null &&
@@ -56,7 +56,7 @@ public class AddressValidation {
 
     public boolean verifyStreet(String street){
 
-        log.info("[PROGRESS] Validating street name...");
+        log.debug("[PROGRESS] Validating street name...");
         if(street.length() <= 65) return true;
 
         log.error("[FAILURE] Address validation failed. The street name is too long (+65 characters)");
@@ -65,7 +65,7 @@ public class AddressValidation {
 
     public boolean verifyNeighborhood(String neighborhood){
 
-        log.info("[PROGRESS] Validating neighborhood name...");
+        log.debug("[PROGRESS] Validating neighborhood name...");
         if(neighborhood.length() <= 65) return true;
 
         log.error("[FAILURE] Address validation failed. The neighborhood name is too long (+65 characters)");
@@ -74,7 +74,7 @@ public class AddressValidation {
 
     public boolean verifyNumber(Integer number) {
 
-        log.info("[PROGRESS] Validating street number...");
+        log.debug("[PROGRESS] Validating street number...");
         if(number.toString().matches(STREET_NUMBER_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Address validation failed. The number must have only numbers with the max size of 5 characters");
@@ -84,7 +84,7 @@ public class AddressValidation {
 
     public boolean verifyPostalCode(String postalCode) {
 
-        log.info("[PROGRESS] Validating postal code...");
+        log.debug("[PROGRESS] Validating postal code...");
         if(postalCode.matches(POSTAL_CODE_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Address validation failed. The postal code should follow the pattern xxxxx-xxx with only numbers");
@@ -94,7 +94,7 @@ public class AddressValidation {
 
     public boolean verifyCity(String city) {
 
-        log.info("[PROGRESS] Validating city...");
+        log.debug("[PROGRESS] Validating city...");
         if (city.length() <= 65) return true;
 
         log.error("[FAILURE] Address validation failed. The city name is too long (+65 characters)");
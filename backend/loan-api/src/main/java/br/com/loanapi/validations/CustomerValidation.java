@@ -10,23 +10,22 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static br.com.loanapi.utils.RegexPatterns.*;
 
 @Slf4j
 public class CustomerValidation {
 
+    /** Doesn't look for the unique keys: the insert relies on the constraints, see verifyDuplicates */
     public boolean validateRequest(ValidationTypeEnum validationType,
                                    CustomerDTO customer,
                                    CustomerRepository repository,
                                    PhoneRepository phoneRepository){
 
-        log.info("[STARTING] Starting customer validation");
+        log.debug("[STARTING] Starting customer validation");
 
         notNull(customer);
-        if (validationType == ValidationTypeEnum.CREATE) {
-            exists(customer, repository);
-        }
         verifyName(customer.getName());
         verifyLastName(customer.getLastName());
         verifyRg(customer.getRg());
@@ -36,10 +35,17 @@ public class CustomerValidation {
         verifyPontuation(customer.getPontuation());
         verifyPhone(validationType, customer.getPhones(), phoneRepository);
 
-        log.info("[SUCCESS]  Validation successfull");
+        log.debug("[SUCCESS]  Validation successfull");
         return true;
     }
 
+    /** Called when a write broke a unique constraint: throws the message of the key already taken by another customer
+     ** or phone, with a query per table. Returns when none is, the violation being something else */
+    public void verifyDuplicates(CustomerDTO customer, CustomerRepository repository, PhoneRepository phoneRepository) {
+        exists(customer, repository);
+        if (customer.getPhones() != null) new PhoneValidation().exists(customer.getPhones(), phoneRepository);
+    }
+
     public boolean notNull(CustomerDTO customer){
         if(customer.getName() != null &&
                 customer.getLastName() != null &&
@@ -51,17 +57,22 @@ public class CustomerValidation {
 
     public boolean exists(CustomerDTO customerDTO, CustomerRepository repository){
 
-        log.info("[PROGRESS] Validating if the object already exists in database...");
+        log.debug("[PROGRESS] Validating if the object already exists in database...");
 
         List<String> errors = new ArrayList<>();
 
-        if (repository.findByRg(customerDTO.getRg()).isPresent()) {
+        List<CustomerDTO> holders = repository.findDTOsByRgOrCpfOrEmail(
+                customerDTO.getRg(), customerDTO.getCpf(), customerDTO.getEmail()).stream()
+                .filter(holder -> !holder.getId().equals(customerDTO.getId()))
+                .collect(Collectors.toList());
+
+        if (holders.stream().anyMatch(holder -> customerDTO.getRg().equals(holder.getRg()))) {
             errors.add("The typed rg already exists in the database");
         }
-        if(repository.findByCpf(customerDTO.getCpf()).isPresent()) {
+        if (holders.stream().anyMatch(holder -> customerDTO.getCpf().equals(holder.getCpf()))) {
             errors.add("The typed cpf already exists in the database");
         }
-        if(repository.findByEmail(customerDTO.getEmail()).isPresent()) {
+        if (holders.stream().anyMatch(holder -> customerDTO.getEmail().equals(holder.getEmail()))) {
             errors.add("The typed email already exists in the database");
         }
 
@@ -80,7 +91,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyName(String name){
-        log.info("[PROGRESS] Validating customer name...");
+        log.debug("[PROGRESS] Validating customer name...");
         if(name.length() <= 65)return true;
 
         log.error("[FAILURE] Customer name validation failed. The name is too long (+65 characters)");
@@ -88,7 +99,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyLastName(String lastName){
-        log.info("[PROGRESS] Validating customer last name...");
+        log.debug("[PROGRESS] Validating customer last name...");
         if(lastName.length() <= 65) return true;
 
         log.error("[FAILURE] Customer last name validation failed. The name is too long (+65 characters)");
@@ -96,7 +107,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyBirthDate(String birthDate){
-        log.info("[PROGRESS] Validating customer birth date...");
+        log.debug("[PROGRESS] Validating customer birth date...");
         if (birthDate.matches(DATE_REGEX)) return true;
 
         log.error("[FAILURE] Birth date validation failed. The date pattern is incorrect: {}", birthDate);
@@ -105,7 +116,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyRg(String rg){
-        log.info("[PROGRESS] Validating customer RG...");
+        log.debug("[PROGRESS] Validating customer RG...");
         if (rg.matches(RG_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Rg validation failed. The rg pattern is invalid: {}", rg);
@@ -114,7 +125,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyCpf(String cpf){
-        log.info("[PROGRESS] Validating customer CPF...");
+        log.debug("[PROGRESS] Validating customer CPF...");
         if (cpf.matches(CPF_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] CPF validation failed. The CPF pattern is invalid: {}", cpf);
@@ -122,7 +133,7 @@ public class CustomerValidation {
     }
 
     public boolean verifyEmail(String email){
-        log.info("[PROGRESS] Validating customer email...");
+        log.debug("[PROGRESS] Validating customer email...");
         if(email.matches(EMAIL_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Email validation failed. The email pattern is invalid: {}", email);
@@ -135,12 +146,12 @@ public class CustomerValidation {
     }
 
     public boolean verifyPhone(ValidationTypeEnum validationType, List<PhoneDTO> phones, PhoneRepository phoneRepository){
-        log.info("[PROGRESS] Validating customer phones...");
+        log.debug("[PROGRESS] Validating customer phones...");
         PhoneValidation validation = new PhoneValidation();
         if (!phones.isEmpty() && validationType == ValidationTypeEnum.CREATE || validationType == ValidationTypeEnum.UPDATE) {
             for (PhoneDTO phone : phones) {
                 if (validation.validateRequest(validationType, phone, phoneRepository)) {
-                    log.info("[PROGRESS] Phone {} validated", phone.getNumber());
+                    log.debug("[PROGRESS] Phone {} validated", phone.getNumber());
                 }
             }
             return true;
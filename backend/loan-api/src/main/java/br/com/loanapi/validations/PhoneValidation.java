@@ -6,6 +6,9 @@ import br.com.loanapi.models.enums.ValidationTypeEnum;
 import br.com.loanapi.repositories.PhoneRepository;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static br.com.loanapi.utils.RegexPatterns.PHONE_PREFIX_REGEX_PATTERN;
 import static br.com.loanapi.utils.RegexPatterns.PHONE_REGEX_PATTERN;
 
@@ -16,29 +19,38 @@ public class PhoneValidation {
                                    PhoneDTO phone,
                                    PhoneRepository repository) {
 
-        log.info("[STARTING] Starting Phone validation");
+        log.debug("[STARTING] Starting Phone validation");
 
         notNull(phone);
-        if (validationType == ValidationTypeEnum.CREATE) {
-            exists(phone, repository);
-        }
         verifyPrefix(phone.getPrefix());
         verifyNumber(phone.getNumber());
 
-        log.info("[SUCCESS]  Validation successfull");
+        log.debug("[SUCCESS]  Validation successfull");
         return true;
     }
 
     public boolean exists(PhoneDTO phoneDTO, PhoneRepository repository) {
-        log.info("[PROGRESS] Validating if the object already exists in database...");
-        if (repository.findByPrefixAndNumber(phoneDTO.getPrefix(), phoneDTO.getNumber()).isEmpty()) return true;
+        return exists(List.of(phoneDTO), repository);
+    }
 
-        log.error("[FAILURE] Phone validation failed. The phone already exists in database");
-        throw new InvalidRequestException("The phone already exist at database");
+    /** One query for all the phones, matching the prefixes of the numbers found */
+    public boolean exists(List<PhoneDTO> phones, PhoneRepository repository) {
+        log.debug("[PROGRESS] Validating if the objects already exist in database...");
+        List<PhoneDTO> saved = repository.findDTOsByNumbers(phones.stream().map(PhoneDTO::getNumber).collect(Collectors.toSet()));
+
+        for (PhoneDTO phone : phones) {
+            if (saved.stream().anyMatch(other -> other.getNumber().equals(phone.getNumber())
+                    && other.getPrefix().equals(phone.getPrefix())
+                    && !other.getId().equals(phone.getId()))) {
+                log.error("[FAILURE] Phone validation failed. The phone already exists in database");
+                throw new InvalidRequestException("The phone already exist at database");
+            }
+        }
+        return true;
     }
 
     public boolean notNull(PhoneDTO phone) {
-        log.info("[PROGRESS] Validating if the object have null attributes...");
+        log.debug("[PROGRESS] Validating if the object have null attributes...");
         if (phone.getPrefix() != null &&
                 phone.getNumber() != null &&
                 phone.getPhoneType() != null) return true;
@@ -48,7 +60,7 @@ public class PhoneValidation {
     }
 
     public boolean verifyPrefix(Integer prefix) {
-        log.info("[PROGRESS] Validating phone prefix...");
+        log.debug("[PROGRESS] Validating phone prefix...");
         if (prefix.toString().matches(PHONE_PREFIX_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Phone prefix validation failed: {}", prefix);
@@ -56,7 +68,7 @@ public class PhoneValidation {
     }
 
     public boolean verifyNumber(String number) {
-        log.info("[PROGRESS] Validating phone number...");
+        log.debug("[PROGRESS] Validating phone number...");
         if (number.matches(PHONE_REGEX_PATTERN)) return true;
 
         log.error("[FAILURE] Phone number validation failed: {}", number);
@@ -0,0 +1,81 @@
+-- Schema of the entities in br.com.loanapi.models.entities. Hibernate validates it on startup (ddl-auto: validate),
+-- so every change to an entity needs a new migration
+
+-- Pooled id generators: MySQL has no sequences, so each one is a single row table holding the next block
+create table address_seq (next_val bigint) engine=InnoDB;
+insert into address_seq values (1);
+create table customer_seq (next_val bigint) engine=InnoDB;
+insert into customer_seq values (1);
+create table phone_seq (next_val bigint) engine=InnoDB;
+insert into phone_seq values (1);
+create table loan_seq (next_val bigint) engine=InnoDB;
+insert into loan_seq values (1);
+create table installment_seq (next_val bigint) engine=InnoDB;
+insert into installment_seq values (1);
+
+create table tb_address (
+    id bigint not null,
+    city varchar(65),
+    neighborhood varchar(65),
+    number integer,
+    postal_code varchar(9),
+    state varchar(255),
+    street varchar(65),
+    primary key (id)
+) engine=InnoDB;
+
+create table tb_customer (
+    customer_id bigint not null,
+    birth_date varchar(255),
+    cpf varchar(14),
+    email varchar(65),
+    last_name varchar(65),
+    name varchar(65),
+    pontuation double precision,
+    rg varchar(12),
+    signup_date varchar(255),
+    address_id bigint,
+    primary key (customer_id),
+    constraint uk_customer_cpf unique (cpf),
+    constraint uk_customer_email unique (email),
+    constraint uk_customer_rg unique (rg),
+    constraint fk_customer_address foreign key (address_id) references tb_address (id)
+) engine=InnoDB;
+
+create table tb_phone (
+    phone_id bigint not null,
+    phone_number varchar(255) not null,
+    phone_type varchar(255) not null,
+    phone_prefix integer not null,
+    customer_id bigint,
+    primary key (phone_id),
+    constraint uk_phone_prefix_number unique (phone_number, phone_prefix),
+    constraint fk_phone_customer foreign key (customer_id) references tb_customer (customer_id)
+) engine=InnoDB;
+
+create table tb_loan (
+    loan_id bigint not null,
+    loan_amortization varchar(255) not null,
+    loan_debit_balance double precision not null,
+    loan_interest_rate double precision not null,
+    loan_number_of_installments integer not null,
+    loan_original_value double precision not null,
+    loan_payment_date varchar(255) not null,
+    loan_start_date varchar(255) not null,
+    customer_id bigint,
+    primary key (loan_id),
+    constraint fk_loan_customer foreign key (customer_id) references tb_customer (customer_id)
+) engine=InnoDB;
+
+create table tb_installment (
+    installment_id bigint not null,
+    installment_amortization double precision not null,
+    installment_interest double precision not null,
+    installment_maturity_date varchar(255) not null,
+    installment_month integer not null,
+    installment_payment_date varchar(255),
+    installment_value double precision not null,
+    loan_id bigint not null,
+    primary key (installment_id),
+    constraint fk_installment_loan foreign key (loan_id) references tb_loan (loan_id)
+) engine=InnoDB;
@@ -0,0 +1,21 @@
+-- One index per lookup of the repositories (RepositoryQueryPlanTest fails when a query scans a table). InnoDB
+-- secondary indexes end with the primary key, so "where fk = ? order by id" is served in index order
+
+-- AddressRepository.findByStreetNumberAndPostalCode: the postal code is the most selective column
+create index idx_address_postal_code_number_street on tb_address (postal_code, number, street);
+
+-- CustomerRepository.findDTOsByRgOrCpfOrEmail is a union of point reads of the unique keys of V1.
+-- CustomerRepository.findDTOsByAddressId (and the fk_customer_address checks)
+create index idx_customer_address on tb_customer (address_id);
+
+-- PhoneRepository.findDTOsByNumbers is served by uk_phone_prefix_number, which leads with the number.
+-- PhoneRepository.findDTOsByCustomerId
+create index idx_phone_customer on tb_phone (customer_id);
+
+-- LoanRepository.findDTOsByCustomerId
+create index idx_loan_customer on tb_loan (customer_id);
+
+-- InstallmentRepository.findDTOsByLoanIds reads whole schedules in month order: covering, so a schedule is one
+-- range of the index with no lookup of the rows
+create index idx_installment_loan_month on tb_installment (loan_id, installment_month, installment_maturity_date,
+    installment_payment_date, installment_amortization, installment_interest, installment_value);
@@ -0,0 +1,28 @@
+-- Outbox of the asynchronous loan originations (loan.origination.mode: async). A request is answered only once its
+-- row is committed, and the row is left only when the loan is saved or rejected, so no accepted loan is lost
+
+create table loan_origination_seq (next_val bigint) engine=InnoDB;
+insert into loan_origination_seq values (1);
+
+create table tb_loan_origination (
+    origination_id bigint not null,
+    origination_amortization varchar(255) not null,
+    origination_attempts integer not null,
+    origination_created_at datetime(6) not null,
+    origination_customer_id bigint not null,
+    origination_error longtext,
+    origination_interest_rate double precision not null,
+    origination_job_id varchar(36) not null,
+    origination_loan_id bigint,
+    origination_number_of_installments integer not null,
+    origination_original_value double precision not null,
+    origination_payment_date varchar(255) not null,
+    origination_start_date varchar(255) not null,
+    origination_status varchar(10) not null,
+    origination_updated_at datetime(6) not null,
+    primary key (origination_id),
+    constraint uk_loan_origination_job_id unique (origination_job_id)
+) engine=InnoDB;
+
+-- LoanOriginationRepository.findIdsByStatusUpdatedBefore: the jobs of a status, oldest first
+create index idx_loan_origination_status_updated on tb_loan_origination (origination_status, origination_updated_at);
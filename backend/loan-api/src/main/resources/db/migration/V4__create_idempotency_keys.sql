@@ -0,0 +1,25 @@
+-- Idempotency-Key of the POST /api/loan and POST /api/customer requests, with the response stored for the retries.
+-- The unique key lets a single request of every node claim a key; the row is deleted if its request fails, and purged
+-- once older than loan.idempotency.retention
+
+create table idempotency_key_seq (next_val bigint) engine=InnoDB;
+insert into idempotency_key_seq values (1);
+
+create table tb_idempotency_key (
+    idempotency_id bigint not null,
+    idempotency_attempts integer not null,
+    idempotency_created_at datetime(6) not null,
+    idempotency_key varchar(255) not null,
+    idempotency_request_hash varchar(64) not null,
+    idempotency_response_body longtext,
+    idempotency_response_location varchar(255),
+    idempotency_response_status integer,
+    idempotency_scope varchar(32) not null,
+    idempotency_status varchar(11) not null,
+    idempotency_updated_at datetime(6) not null,
+    primary key (idempotency_id),
+    constraint uk_idempotency_scope_key unique (idempotency_scope, idempotency_key)
+) engine=InnoDB;
+
+-- IdempotencyKeyRepository.purge: the keys last updated before the retention
+create index idx_idempotency_updated on tb_idempotency_key (idempotency_updated_at);
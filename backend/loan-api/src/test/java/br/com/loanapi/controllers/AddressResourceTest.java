@@ -1,6 +1,7 @@
 package br.com.loanapi.controllers;
 
 import br.com.loanapi.mocks.dto.AddressDTODataBuilder;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.AddressService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -12,7 +13,6 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.util.ArrayList;
 
 @SpringBootTest
 @DisplayName("Resource: Address")
@@ -37,17 +37,17 @@ class AddressResourceTest {
     @Test
     @DisplayName("Should test find all endpoint")
     void shouldTestFindAll() {
-        Mockito.when(service.findAll()).thenReturn(new ArrayList<>());
-        Assertions.assertEquals("<200 OK OK,[],[]>", resource.findAll().toString());
+        Mockito.when(service.findAll(null, null)).thenReturn(new PageDTO<>());
+        Assertions.assertEquals("<200 OK OK,PageDTO(content=[], next=null),[]>", resource.findAll(null, null).toString());
     }
 
     @Test
     @DisplayName("Should test find by id endpoint")
     void shouldTestFindById() {
-        Mockito.when(service.findById(Mockito.any())).thenReturn(AddressDTODataBuilder.builder().build());
+        Mockito.when(service.findById(Mockito.any(), Mockito.any())).thenReturn(AddressDTODataBuilder.builder().build());
         Assertions.assertEquals("<200 OK OK,AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
                 "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[]),[]>",
-                resource.findById(1L).toString());
+                resource.findById(1L, null).toString());
     }
 
     @Test
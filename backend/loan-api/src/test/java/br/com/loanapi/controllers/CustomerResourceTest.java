@@ -1,7 +1,9 @@
 package br.com.loanapi.controllers;
 
 import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.CustomerService;
+import br.com.loanapi.services.IdempotencyService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +13,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 
 import java.text.ParseException;
-import java.util.ArrayList;
+import java.util.function.Supplier;
 
 @SpringBootTest
 @DisplayName("Resource: Customer")
@@ -26,6 +29,9 @@ class CustomerResourceTest {
     @Mock
     CustomerService service;
 
+    @Mock
+    IdempotencyService idempotency;
+
     @Test
     @DisplayName("Should test create endpoint")
     void shouldTestCreateEndPoint() {
@@ -35,27 +41,39 @@ class CustomerResourceTest {
                         "email=joao@email.com, pontuation=0.0, address=AddressDTO(id=1, street=Rua 9, " +
                         "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
                         "state=SAO_PAULO, customers=[]), phones=[], loans=[]),[]>",
-                resource.create(CustomerDTODataBuilder.builder()
+                resource.create(null, CustomerDTODataBuilder.builder()
                 .build()).toString());
     }
 
+    @Test
+    @DisplayName("Should test create endpoint with an idempotency key")
+    void shouldTestCreateEndPointWithAnIdempotencyKey() {
+        Mockito.when(idempotency.execute(Mockito.eq(IdempotencyService.CUSTOMER_SCOPE), Mockito.eq("key"),
+                Mockito.any(), Mockito.any())).thenAnswer(invocation ->
+                invocation.<Supplier<ResponseEntity<Object>>>getArgument(3).get());
+        Mockito.when(service.create(Mockito.any())).thenReturn(CustomerDTODataBuilder.builder().build());
+        Assertions.assertEquals(200, resource.create("key", CustomerDTODataBuilder.builder().build())
+                .getStatusCodeValue());
+        Mockito.verify(service).create(Mockito.any());
+    }
+
     @Test
     @DisplayName("Should test find all endpoint")
     void shouldTestFindAll() {
-        Mockito.when(service.findAll()).thenReturn(new ArrayList<>());
-        Assertions.assertEquals("<200 OK OK,[],[]>", resource.findAll().toString());
+        Mockito.when(service.findAll(null, null)).thenReturn(new PageDTO<>());
+        Assertions.assertEquals("<200 OK OK,PageDTO(content=[], next=null),[]>", resource.findAll(null, null).toString());
     }
 
     @Test
     @DisplayName("Should test find by id endpoint")
     void shouldTestFindById() {
-        Mockito.when(service.findById(Mockito.any())).thenReturn(CustomerDTODataBuilder.builder().build());
+        Mockito.when(service.findById(Mockito.any(), Mockito.any())).thenReturn(CustomerDTODataBuilder.builder().build());
         Assertions.assertEquals("<200 OK OK,CustomerDTO(id=1, name=João, lastName=da Silva, " +
                         "birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, " +
                         "email=joao@email.com, pontuation=0.0, address=AddressDTO(id=1, street=Rua 9, " +
                         "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
                         "state=SAO_PAULO, customers=[]), phones=[], loans=[]),[]>",
-                resource.findById(1L).toString());
+                resource.findById(1L, null).toString());
     }
 
     @Test
@@ -1,6 +1,7 @@
 package br.com.loanapi.controllers;
 
 import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.InstallmentService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -12,7 +13,6 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.util.ArrayList;
 
 @SpringBootTest
 @DisplayName("Resource: Installment")
@@ -28,8 +28,8 @@ class InstallmentResourceTest {
     @Test
     @DisplayName("Should test find all endpoint")
     void shouldTestFindAll() {
-        Mockito.when(service.findAll()).thenReturn(new ArrayList<>());
-        Assertions.assertEquals("<200 OK OK,[],[]>", resource.findAll().toString());
+        Mockito.when(service.findAll(null, null)).thenReturn(new PageDTO<>());
+        Assertions.assertEquals("<200 OK OK,PageDTO(content=[], next=null),[]>", resource.findAll(null, null).toString());
     }
 
     @Test
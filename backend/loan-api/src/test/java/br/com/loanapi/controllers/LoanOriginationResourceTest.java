@@ -0,0 +1,35 @@
+package br.com.loanapi.controllers;
+
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import br.com.loanapi.services.LoanOriginationService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@DisplayName("Resource: Loan origination")
+@ExtendWith(MockitoExtension.class)
+class LoanOriginationResourceTest {
+
+    @InjectMocks
+    LoanOriginationResource resource;
+
+    @Mock
+    LoanOriginationService service;
+
+    @Test
+    @DisplayName("Should test find by job id endpoint")
+    void shouldTestFindByJobId() {
+        Mockito.when(service.findByJobId("job")).thenReturn(new LoanOriginationDTO(
+                "job", 1L, OriginationStatusEnum.COMPLETED, 1, 42L, null, "2022-06-30T10:00", "2022-06-30T10:01"));
+        Assertions.assertEquals("<200 OK OK,LoanOriginationDTO(jobId=job, customerId=1, status=COMPLETED, " +
+                        "attempts=1, loanId=42, error=null, createdAt=2022-06-30T10:00, updatedAt=2022-06-30T10:01),[]>",
+                resource.findByJobId("job").toString());
+    }
+
+}
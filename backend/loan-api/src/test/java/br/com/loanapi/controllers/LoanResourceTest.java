@@ -1,6 +1,11 @@
 package br.com.loanapi.controllers;
 
 import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.dto.PageDTO;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import br.com.loanapi.services.IdempotencyService;
+import br.com.loanapi.services.LoanOriginationService;
 import br.com.loanapi.services.LoanService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -11,8 +16,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
 
-import java.util.ArrayList;
 
 @SpringBootTest
 @DisplayName("Resource: Loan")
@@ -25,6 +32,9 @@ class LoanResourceTest {
     @Mock
     LoanService service;
 
+    @Mock
+    IdempotencyService idempotency;
+
     @Test
     @DisplayName("Should test create endpoint")
     void shouldTestCreateEndPoint() {
@@ -37,20 +47,45 @@ class LoanResourceTest {
                         "pontuation=0.0, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
                         "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[]), " +
                         "phones=[], loans=[]), installments=[]),[]>",
-                resource.create(1L, LoanDTODataBuilder.builder().build()).toString());
+                resource.create(null, 1L, LoanDTODataBuilder.builder().build()).toString());
+    }
+
+    @Test
+    @DisplayName("Should test create endpoint in asynchronous origination mode")
+    void shouldTestCreateEndPointInAsynchronousOriginationMode() {
+        LoanOriginationService originationService = Mockito.mock(LoanOriginationService.class);
+        resource.originationService = originationService;
+        Mockito.when(originationService.accept(Mockito.any(), Mockito.any())).thenReturn(new LoanOriginationDTO(
+                "job", 1L, OriginationStatusEnum.PENDING, 0, null, null, "2022-06-30T10:00", "2022-06-30T10:00"));
+        Assertions.assertEquals("<202 ACCEPTED Accepted,LoanOriginationDTO(jobId=job, customerId=1, status=PENDING, " +
+                        "attempts=0, loanId=null, error=null, createdAt=2022-06-30T10:00, updatedAt=2022-06-30T10:00)," +
+                        "[Location:\"/api/loan/origination/job\"]>",
+                resource.create(null, 1L, LoanDTODataBuilder.builder().build()).toString());
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("Should test create endpoint with an idempotency key")
+    void shouldTestCreateEndPointWithAnIdempotencyKey() {
+        Mockito.when(idempotency.execute(Mockito.eq(IdempotencyService.LOAN_SCOPE), Mockito.eq("key"),
+                Mockito.eq(List.of(1L, LoanDTODataBuilder.builder().build())), Mockito.any()))
+                .thenReturn(ResponseEntity.ok().header(IdempotencyService.REPLAYED_HEADER, "true").body("{\"id\":1}"));
+        Assertions.assertEquals("<200 OK OK,{\"id\":1},[Idempotent-Replayed:\"true\"]>",
+                resource.create("key", 1L, LoanDTODataBuilder.builder().build()).toString());
+        Mockito.verifyNoInteractions(service);
     }
 
     @Test
     @DisplayName("Should test find all endpoint")
     void shouldTestFindAll() {
-        Mockito.when(service.findAll()).thenReturn(new ArrayList<>());
-        Assertions.assertEquals("<200 OK OK,[],[]>", resource.findAll().toString());
+        Mockito.when(service.findAll(null, null)).thenReturn(new PageDTO<>());
+        Assertions.assertEquals("<200 OK OK,PageDTO(content=[], next=null),[]>", resource.findAll(null, null).toString());
     }
 
     @Test
     @DisplayName("Should test find by id endpoint")
     void shouldTestFindById() {
-        Mockito.when(service.findById(Mockito.any())).thenReturn(LoanDTODataBuilder.builder().build());
+        Mockito.when(service.findById(Mockito.any(), Mockito.any())).thenReturn(LoanDTODataBuilder.builder().build());
         Assertions.assertEquals("<200 OK OK,LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, " +
                         "debitBalance=2800.0, interestRate=10.0, numberOfInstallments=10, " +
                         "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, " +
@@ -59,7 +94,7 @@ class LoanResourceTest {
                         "pontuation=0.0, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
                         "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[]), phones=[], " +
                         "loans=[]), installments=[]),[]>",
-                resource.findById(1L).toString());
+                resource.findById(1L, null).toString());
     }
 
     @Test
@@ -1,6 +1,7 @@
 package br.com.loanapi.controllers;
 
 import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
+import br.com.loanapi.models.dto.PageDTO;
 import br.com.loanapi.services.PhoneService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +14,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.text.ParseException;
-import java.util.ArrayList;
 
 @SpringBootTest
 @DisplayName("Resource: Phone")
@@ -42,8 +42,8 @@ class PhoneResourceTest {
     @Test
     @DisplayName("Should test find all endpoint")
     void shouldTestFindAll() {
-        Mockito.when(service.findAll()).thenReturn(new ArrayList<>());
-        Assertions.assertEquals("<200 OK OK,[],[]>", resource.findAll().toString());
+        Mockito.when(service.findAll(null, null)).thenReturn(new PageDTO<>());
+        Assertions.assertEquals("<200 OK OK,PageDTO(content=[], next=null),[]>", resource.findAll(null, null).toString());
     }
 
     @Test
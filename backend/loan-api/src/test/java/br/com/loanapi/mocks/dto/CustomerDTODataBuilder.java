@@ -88,6 +88,11 @@ public class CustomerDTODataBuilder {
         return this;
     }
 
+    public CustomerDTODataBuilder withoutAddress(){
+        customer.setAddress(null);
+        return this;
+    }
+
     public CustomerDTO build(){
         return customer;
     }
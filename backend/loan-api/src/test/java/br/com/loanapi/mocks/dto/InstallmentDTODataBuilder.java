@@ -42,6 +42,11 @@ public class InstallmentDTODataBuilder {
         return this;
     }
 
+    public InstallmentDTODataBuilder withoutLoan(){
+        installment.setLoan(null);
+        return this;
+    }
+
     public InstallmentDTO build(){
         return installment;
     }
@@ -50,6 +50,11 @@ public class LoanDTODataBuilder {
         return this;
     }
 
+    public LoanDTODataBuilder withoutCustomer(){
+        loan.setCustomer(null);
+        return this;
+    }
+
     public LoanDTO build(){
         return loan;
     }
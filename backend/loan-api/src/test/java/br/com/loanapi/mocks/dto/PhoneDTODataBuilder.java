@@ -38,6 +38,11 @@ public class PhoneDTODataBuilder {
         return this;
     }
 
+    public PhoneDTODataBuilder withoutCustomer(){
+        phoneDTO.setCustomer(null);
+        return this;
+    }
+
     public PhoneDTO build(){
         return phoneDTO;
     }
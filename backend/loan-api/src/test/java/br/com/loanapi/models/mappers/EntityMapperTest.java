@@ -0,0 +1,62 @@
+package br.com.loanapi.models.mappers;
+
+import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.mocks.entity.AddressEntityDataBuilder;
+import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
+import br.com.loanapi.mocks.entity.PhoneEntityDataBuilder;
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.entities.AddressEntity;
+import br.com.loanapi.models.entities.CustomerEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("Mapper: Entity")
+class EntityMapperTest {
+
+    EntityMapper mapper = new EntityMapperImpl();
+
+    @Test
+    @DisplayName("Should map a loan and its installments to the entity and back")
+    void shouldMapALoanToTheEntityAndBack() {
+
+        LoanDTO loan = LoanDTODataBuilder.builder().withoutCustomer().build();
+        loan.setInstallments(List.of(InstallmentDTODataBuilder.builder().withoutLoan().build()));
+
+        Assertions.assertEquals(loan.toString(), mapper.toDTO(mapper.toEntity(loan)).toString());
+
+    }
+
+    @Test
+    @DisplayName("Should map each object of a cyclic graph once")
+    void shouldMapEachObjectOfACyclicGraphOnce() {
+
+        AddressEntity address = AddressEntityDataBuilder.builder().build();
+        CustomerEntity customer = CustomerEntityDataBuilder.builder().build();
+        address.setCustomers(new ArrayList<>());
+        address.addCustomer(customer);
+        customer.setPhones(new ArrayList<>());
+        customer.addPhone(PhoneEntityDataBuilder.builder().build());
+        customer.setLoans(new ArrayList<>());
+
+        CustomerDTO customerDTO = mapper.toDTO(customer);
+
+        Assertions.assertSame(customerDTO, customerDTO.getAddress().getCustomers().get(0));
+        Assertions.assertSame(customerDTO, customerDTO.getPhones().get(0).getCustomer());
+        Assertions.assertEquals("Rua 9", customerDTO.getAddress().getStreet());
+
+    }
+
+    @Test
+    @DisplayName("Should make new copies on every call")
+    void shouldMakeNewCopiesOnEveryCall() {
+        CustomerEntity customer = CustomerEntityDataBuilder.builder().build();
+        Assertions.assertNotSame(mapper.toDTO(customer), mapper.toDTO(customer));
+    }
+
+}
@@ -0,0 +1,167 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.exceptions.ServiceUnavailableException;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.models.dto.BatchResultDTO;
+import br.com.loanapi.models.dto.InstallmentCoalescingStatsDTO;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@DisplayName("Proxy: InstallmentCalculationCoalescer")
+@ExtendWith(MockitoExtension.class)
+class InstallmentCalculationCoalescerTest {
+
+    @Mock
+    ResilientInstallmentClient client;
+
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    InstallmentCalculationCoalescer coalescer(Duration window, int maxBatchSize) {
+        InstallmentCalculationCoalescer coalescer = new InstallmentCalculationCoalescer(window, maxBatchSize);
+        coalescer.client = client;
+        return coalescer;
+    }
+
+    static LoanDTO loan(double originalValue) {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setOriginalValue(originalValue);
+        return loan;
+    }
+
+    /** One installment carrying the original value of the loan, so each caller can tell its own result */
+    static List<InstallmentDTO> scheduleOf(LoanDTO loan) {
+        return List.of(new InstallmentDTO(null, "11-12-2011", null, 1, loan.getOriginalValue(), 0.0,
+                loan.getOriginalValue()));
+    }
+
+    static List<BatchResultDTO> resultsOf(List<LoanDTO> loans) {
+        List<BatchResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < loans.size(); i++) results.add(new BatchResultDTO(i, scheduleOf(loans.get(i)), null));
+        return results;
+    }
+
+    List<Future<List<InstallmentDTO>>> callConcurrently(InstallmentCalculationCoalescer coalescer, List<LoanDTO> loans) {
+        return loans.stream()
+                .map(loan -> callers.submit(() -> coalescer.calculateInstallments(loan)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should send the concurrent calls in one batch as soon as it is full")
+    @SuppressWarnings("unchecked")
+    void shouldSendTheConcurrentCallsInOneBatchAsSoonAsItIsFull() throws Exception {
+
+        Mockito.when(client.calculateBatch(Mockito.any()))
+                .thenAnswer(invocation -> resultsOf(invocation.getArgument(0)));
+        InstallmentCalculationCoalescer coalescer = coalescer(Duration.ofSeconds(10), 4);
+        List<LoanDTO> loans = List.of(loan(1000.0), loan(2000.0), loan(3000.0), loan(4000.0));
+
+        long startedAt = System.nanoTime();
+        List<Future<List<InstallmentDTO>>> results = callConcurrently(coalescer, loans);
+        for (int i = 0; i < loans.size(); i++) {
+            Assertions.assertEquals(scheduleOf(loans.get(i)), results.get(i).get(5, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(5));
+        ArgumentCaptor<List<LoanDTO>> batch = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(client).calculateBatch(batch.capture());
+        Assertions.assertEquals(4, batch.getValue().size());
+        Mockito.verify(client, Mockito.never()).calculateInstallments(Mockito.any());
+
+        InstallmentCoalescingStatsDTO stats = coalescer.stats();
+        Assertions.assertEquals(4L, stats.getCalls());
+        Assertions.assertEquals(1L, stats.getBatches());
+        Assertions.assertEquals(1L, stats.getFullBatches());
+        Assertions.assertEquals(4.0, stats.getMeanBatchSize());
+
+    }
+
+    @Test
+    @DisplayName("Should send a lone call alone once its window is over")
+    void shouldSendALoneCallAloneOnceItsWindowIsOver() {
+
+        LoanDTO loan = loan(5000.0);
+        Mockito.when(client.calculateInstallments(loan)).thenReturn(scheduleOf(loan));
+
+        long startedAt = System.nanoTime();
+        Assertions.assertEquals(scheduleOf(loan), coalescer(Duration.ofMillis(20), 4).calculateInstallments(loan));
+
+        Assertions.assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(20));
+        Mockito.verify(client, Mockito.never()).calculateBatch(Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should fail only the caller whose loan the service rejected")
+    void shouldFailOnlyTheCallerWhoseLoanTheServiceRejected() throws Exception {
+
+        Mockito.when(client.calculateBatch(Mockito.any())).thenAnswer(invocation -> {
+            List<BatchResultDTO> results = resultsOf(invocation.getArgument(0));
+            results.set(1, new BatchResultDTO(1, null, "Invalid start date"));
+            return results;
+        });
+        List<LoanDTO> loans = List.of(loan(1000.0), loan(2000.0));
+        InstallmentCalculationCoalescer coalescer = coalescer(Duration.ofSeconds(10), 2);
+
+        List<Future<List<InstallmentDTO>>> results = callConcurrently(coalescer, loans);
+
+        List<InstallmentDTO> first = null;
+        InvalidRequestException rejected = null;
+        for (Future<List<InstallmentDTO>> result : results) {
+            try {
+                first = result.get(5, TimeUnit.SECONDS);
+            }
+            catch (ExecutionException exception) {
+                rejected = (InvalidRequestException) exception.getCause();
+            }
+        }
+
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(rejected);
+        Assertions.assertEquals("Invalid start date", rejected.getMessage());
+
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a batch call that failed")
+    void shouldFailEveryCallerOfABatchCallThatFailed() throws Exception {
+
+        Mockito.when(client.calculateBatch(Mockito.any()))
+                .thenThrow(new ServiceUnavailableException(ResilientInstallmentClient.SERVICE_UNAVAILABLE));
+        InstallmentCalculationCoalescer coalescer = coalescer(Duration.ofSeconds(10), 3);
+
+        for (Future<List<InstallmentDTO>> result : callConcurrently(coalescer,
+                List.of(loan(1000.0), loan(2000.0), loan(3000.0)))) {
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(exception.getCause() instanceof ServiceUnavailableException);
+        }
+
+    }
+
+}
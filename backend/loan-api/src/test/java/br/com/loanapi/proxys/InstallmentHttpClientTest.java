@@ -0,0 +1,169 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.config.InstallmentClientConfig;
+import br.com.loanapi.models.dto.InstallmentClientStatsDTO;
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@DisplayName("Proxy: Installment HTTP client")
+class InstallmentHttpClientTest {
+
+    private static final String SCHEDULE = "[" + "{\"month\":1,\"value\":412.0},".repeat(200) + "{\"month\":2}]";
+
+    HttpServer server;
+    List<String> requestEncodings = Collections.synchronizedList(new ArrayList<>());
+    List<String> requestBodies = Collections.synchronizedList(new ArrayList<>());
+
+    MeteredConnectionManager connectionManager;
+    InstallmentClientMetrics metrics;
+    Client client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/installment-service", exchange -> {
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            InputStream body = "gzip".equals(encoding)
+                    ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody();
+            requestEncodings.add(String.valueOf(encoding));
+            requestBodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(SCHEDULE.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(compressed.toByteArray());
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        InstallmentClientConfig config = new InstallmentClientConfig();
+        connectionManager = config.installmentConnectionManager(10, 5, Duration.ofMinutes(1));
+        metrics = new InstallmentClientMetrics();
+        metrics.connectionManager = connectionManager;
+        CloseableHttpClient httpClient = config.installmentHttpClient(connectionManager, metrics,
+                Duration.ofSeconds(15), Duration.ofSeconds(1), 2048);
+        LeastOutstandingBalancer balancer = new LeastOutstandingBalancer(
+                List.of("localhost:" + server.getAddress().getPort()), 3);
+        client = new InstallmentServiceProxyConfig().feignClient(httpClient, metrics, balancer, 0);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should reuse one kept alive connection for sequential calls")
+    void shouldReuseOneKeptAliveConnectionForSequentialCalls() throws IOException {
+
+        for (int i = 0; i < 5; i++) Assertions.assertEquals(SCHEDULE, call("{\"originalValue\":5000.0}"));
+
+        InstallmentClientStatsDTO stats = metrics.stats();
+        Assertions.assertEquals(1L, stats.getConnects());
+        Assertions.assertEquals(5L, stats.getRequests());
+        Assertions.assertEquals(0L, stats.getFailedRequests());
+        Assertions.assertEquals(1, stats.getAvailableConnections());
+        Assertions.assertEquals(0, stats.getLeasedConnections());
+        Assertions.assertTrue(stats.getRequestP99Millis() > 0.0);
+
+    }
+
+    @Test
+    @DisplayName("Should gzip only the request bodies over the minimum size")
+    void shouldGzipOnlyTheRequestBodiesOverTheMinimumSize() throws IOException {
+
+        String small = "{\"originalValue\":5000.0}";
+        String large = "[" + "{\"originalValue\":5000.0},".repeat(200) + "{}]";
+
+        call(small);
+        call(large);
+
+        Assertions.assertEquals(List.of("null", "gzip"), requestEncodings);
+        Assertions.assertEquals(List.of(small, large), requestBodies);
+        Assertions.assertEquals(1L, metrics.stats().getGzippedRequests());
+
+    }
+
+    @Test
+    @DisplayName("Should count the calls that fail to connect")
+    void shouldCountTheCallsThatFailToConnect() {
+
+        server.stop(0);
+
+        Assertions.assertThrows(IOException.class, () -> call("{}"));
+        Assertions.assertEquals(1L, metrics.stats().getFailedRequests());
+
+    }
+
+    @Test
+    @DisplayName("Should give up a slow call at the read timeout of its options")
+    void shouldGiveUpASlowCallAtTheReadTimeoutOfItsOptions() {
+
+        Request request = Request.create(Request.HttpMethod.POST,
+                "http://localhost:" + server.getAddress().getPort() + "/slow",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+        long startedAt = System.nanoTime();
+
+        Assertions.assertThrows(SocketTimeoutException.class, () -> client.execute(request,
+                new Request.Options(100, TimeUnit.MILLISECONDS, 100, TimeUnit.MILLISECONDS, false)));
+        Assertions.assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(1L, metrics.stats().getFailedRequests());
+
+    }
+
+    private String call(String body) throws IOException {
+        Request request = Request.create(Request.HttpMethod.POST,
+                "http://localhost:" + server.getAddress().getPort() + "/installment-service",
+                Map.of("Content-Type", List.of("application/json")), body.getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false))) {
+            return new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
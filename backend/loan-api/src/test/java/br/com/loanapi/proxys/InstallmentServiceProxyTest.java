@@ -0,0 +1,72 @@
+package br.com.loanapi.proxys;
+
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("Proxy: InstallmentService")
+class InstallmentServiceProxyTest {
+
+    private static final List<InstallmentDTO> INSTALLMENTS = List.of(
+            new InstallmentDTO(null, "2022-9-12", null, 1, 400.0, 12.0, 412.0, null),
+            new InstallmentDTO(null, "2022-10-10", null, 2, 400.0, 8.0, 408.0, null));
+
+    private final Decoder decoder = new InstallmentServiceProxyConfig().feignDecoder(HttpMessageConverters::new);
+
+    @Test
+    @DisplayName("Should ask for the binary schedule with json as fallback")
+    void shouldAskForTheBinaryScheduleWithJsonAsFallback() {
+        MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(InstallmentServiceProxy.class).stream()
+                .filter(method -> method.method().getName().equals("calculateInstallments"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(List.of(ScheduleWireFormat.ACCEPT), List.copyOf(metadata.template().headers().get("Accept")));
+    }
+
+    @Test
+    @DisplayName("Should decode the binary schedule")
+    void shouldDecodeTheBinarySchedule() throws Exception {
+        Response response = response(ScheduleWireFormat.MEDIA_TYPE, ScheduleWireFormat.encode(INSTALLMENTS, new ScheduleInstallments()));
+        Assertions.assertEquals(INSTALLMENTS, ((ResponseEntity<?>) decoder.decode(response, scheduleType())).getBody());
+    }
+
+    @Test
+    @DisplayName("Should decode the json schedule")
+    void shouldDecodeTheJsonSchedule() throws Exception {
+        String json = "[{\"maturityDate\":\"2022-9-12\",\"month\":1,\"amortization\":400.0,\"interest\":12.0,\"value\":412.0}," +
+                "{\"maturityDate\":\"2022-10-10\",\"month\":2,\"amortization\":400.0,\"interest\":8.0,\"value\":408.0}]";
+        Response response = response("application/json", json.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(INSTALLMENTS, ((ResponseEntity<?>) decoder.decode(response, scheduleType())).getBody());
+    }
+
+    private Response response(String contentType, byte[] body) {
+        return Response.builder()
+                .status(200)
+                .reason("OK")
+                .headers(Map.of("Content-Type", Collections.singletonList(contentType)))
+                .request(Request.create(Request.HttpMethod.POST, "http://localhost:8091/installment-service",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build();
+    }
+
+    private Type scheduleType() throws NoSuchMethodException {
+        return InstallmentServiceProxy.class.getMethod("calculateInstallments", LoanDTO.class, Request.Options.class).getGenericReturnType();
+    }
+
+}
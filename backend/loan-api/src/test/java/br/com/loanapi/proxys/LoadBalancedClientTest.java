@@ -0,0 +1,267 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.config.InstallmentClientConfig;
+import br.com.loanapi.models.dto.InstallmentInstanceDTO;
+import br.com.loanapi.utils.LeastOutstandingBalancer;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@DisplayName("Proxy: LoadBalancedClient")
+class LoadBalancedClientTest {
+
+    /** Three local installment-service instances on their own ports, answering their port */
+    List<HttpServer> servers = new ArrayList<>();
+    List<AtomicInteger> calls = new ArrayList<>();
+    List<AtomicInteger> statuses = new ArrayList<>();
+
+    MeteredConnectionManager connectionManager;
+    CloseableHttpClient httpClient;
+    LeastOutstandingBalancer balancer;
+    Client client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        for (int i = 0; i < 3; i++) {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            AtomicInteger serverCalls = new AtomicInteger();
+            AtomicInteger status = new AtomicInteger(200);
+            server.createContext("/installment-service", exchange -> {
+                if (!exchange.getRequestURI().getPath().endsWith("/health")) serverCalls.incrementAndGet();
+                byte[] body = String.valueOf(server.getAddress().getPort()).getBytes(StandardCharsets.UTF_8);
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(status.get(), body.length);
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(body);
+                }
+            });
+            server.start();
+            servers.add(server);
+            calls.add(serverCalls);
+            statuses.add(status);
+        }
+
+        InstallmentClientConfig config = new InstallmentClientConfig();
+        connectionManager = config.installmentConnectionManager(10, 5, Duration.ofMinutes(1));
+        InstallmentClientMetrics metrics = new InstallmentClientMetrics();
+        metrics.connectionManager = connectionManager;
+        httpClient = config.installmentHttpClient(connectionManager, metrics,
+                Duration.ofSeconds(15), Duration.ofSeconds(1), 2048);
+        balancer = config.installmentBalancer(servers.stream()
+                .map(server -> "localhost:" + server.getAddress().getPort())
+                .collect(Collectors.toList()), 2);
+        client = new InstallmentServiceProxyConfig().feignClient(httpClient, metrics, balancer, 1);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    @DisplayName("Should spread the calls across every instance")
+    void shouldSpreadTheCallsAcrossEveryInstance() throws IOException {
+
+        for (int i = 0; i < 30; i++) Assertions.assertEquals(200, call().status());
+
+        for (AtomicInteger serverCalls : calls) Assertions.assertEquals(10, serverCalls.get());
+
+    }
+
+    @Test
+    @DisplayName("Should retry a call refused by a stopped instance on another one")
+    void shouldRetryACallRefusedByAStoppedInstanceOnAnotherOne() throws IOException {
+
+        servers.get(0).stop(0);
+
+        for (int i = 0; i < 6; i++) Assertions.assertEquals(200, call().status());
+
+        Assertions.assertEquals(6, calls.get(1).get() + calls.get(2).get());
+        Assertions.assertFalse(balancer.instances().get(0).healthy());
+
+    }
+
+    @Test
+    @DisplayName("Should retry a 5xx on another instance")
+    void shouldRetryA5xxOnAnotherInstance() throws IOException {
+
+        statuses.get(0).set(503);
+
+        for (int i = 0; i < 3; i++) Assertions.assertEquals(200, call().status());
+
+        Assertions.assertEquals(2, calls.get(0).get());
+        Assertions.assertEquals(3, calls.get(1).get() + calls.get(2).get());
+        Assertions.assertFalse(balancer.instances().get(0).healthy());
+
+    }
+
+    @Test
+    @DisplayName("Should return the last failure once the retries are over")
+    void shouldReturnTheLastFailureOnceTheRetriesAreOver() throws IOException {
+
+        statuses.forEach(status -> status.set(500));
+
+        Assertions.assertEquals(500, call().status());
+        Assertions.assertEquals(2, calls.stream().mapToInt(AtomicInteger::get).sum());
+
+    }
+
+    @Test
+    @DisplayName("Should give the retries only the time left on the budget of the call")
+    void shouldGiveTheRetriesOnlyTheTimeLeftOnTheBudgetOfTheCall() throws IOException {
+
+        AtomicLong clock = new AtomicLong();
+        List<Request.Options> attempts = new ArrayList<>();
+        Client slowFailures = (request, options) -> {
+            attempts.add(options);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+            return Response.builder().status(503).request(request).headers(Map.of()).body(new byte[0]).build();
+        };
+        client = new LoadBalancedClient(slowFailures, balancer, 2, clock::get);
+
+        Assertions.assertEquals(503, call().status());
+
+        Assertions.assertEquals(2, attempts.size());
+        Assertions.assertEquals(1000, attempts.get(0).readTimeoutMillis());
+        Assertions.assertEquals(400, attempts.get(1).readTimeoutMillis());
+        Assertions.assertEquals(400, attempts.get(1).connectTimeoutMillis());
+
+    }
+
+    @Test
+    @DisplayName("Should keep the call outstanding until the body of its response is closed")
+    void shouldKeepTheCallOutstandingUntilTheBodyOfItsResponseIsClosed() throws IOException {
+
+        client = new LoadBalancedClient((request, options) -> Response.builder().status(200).request(request)
+                .headers(Map.of()).body("8091".getBytes(StandardCharsets.UTF_8)).build(), balancer, 1);
+        Request request = Request.create(Request.HttpMethod.POST, "http://installment-service/installment-service",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+
+        Response response = client.execute(request, new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false));
+
+        Assertions.assertEquals(1, balancer.instances().stream().mapToInt(LeastOutstandingBalancer.Instance::outstanding).sum());
+        try (InputStream body = response.body().asInputStream()) {
+            Assertions.assertEquals("8091", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        response.close();
+        Assertions.assertEquals(0, balancer.instances().stream().mapToInt(LeastOutstandingBalancer.Instance::outstanding).sum());
+        Assertions.assertEquals(0, balancer.instances().stream().mapToLong(LeastOutstandingBalancer.Instance::failures).sum());
+
+    }
+
+    @Test
+    @DisplayName("Should count a response whose body fails to be read as a failed call")
+    void shouldCountAResponseWhoseBodyFailsToBeReadAsAFailedCall() throws IOException {
+
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        client = new LoadBalancedClient((request, options) -> Response.builder().status(200).request(request)
+                .headers(Map.of()).body(broken, null).build(), balancer, 1);
+        Request request = Request.create(Request.HttpMethod.POST, "http://installment-service/installment-service",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+
+        try (Response response = client.execute(request,
+                new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false))) {
+            Assertions.assertThrows(IOException.class, () -> response.body().asInputStream().readAllBytes());
+        }
+
+        Assertions.assertEquals(0, balancer.instances().stream().mapToInt(LeastOutstandingBalancer.Instance::outstanding).sum());
+        Assertions.assertEquals(1, balancer.instances().stream().mapToLong(LeastOutstandingBalancer.Instance::failures).sum());
+
+    }
+
+    @Test
+    @DisplayName("Should eject an instance failing its probes and bring it back once it answers them again")
+    void shouldEjectAnInstanceFailingItsProbesAndBringItBackOnceItAnswersThemAgain() throws IOException {
+
+        InstallmentInstanceMonitor monitor = monitor("");
+        statuses.get(2).set(503);
+
+        monitor.probe();
+        monitor.probe();
+        for (int i = 0; i < 4; i++) call();
+
+        Assertions.assertEquals(0, calls.get(2).get());
+        Assertions.assertEquals(List.of(true, true, false), monitor.instances().stream()
+                .map(InstallmentInstanceDTO::getHealthy).collect(Collectors.toList()));
+
+        statuses.get(2).set(200);
+        monitor.probe();
+        for (int i = 0; i < 3; i++) call();
+
+        Assertions.assertEquals(1, calls.get(2).get());
+
+    }
+
+    @Test
+    @DisplayName("Should reload the instances when the instances file changes")
+    void shouldReloadTheInstancesWhenTheInstancesFileChanges(@TempDir Path directory) throws IOException {
+
+        Path file = directory.resolve("instances.txt");
+        Files.writeString(file, "# installment-service\nlocalhost:" + servers.get(1).getAddress().getPort() + "\n");
+        InstallmentInstanceMonitor monitor = monitor(file.toString());
+        monitor.loadInstances();
+
+        for (int i = 0; i < 3; i++) call();
+        Assertions.assertEquals(3, calls.get(1).get());
+
+        Files.writeString(file, "localhost:" + servers.get(2).getAddress().getPort() + " # moved\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        monitor.probe();
+
+        for (int i = 0; i < 3; i++) call();
+        Assertions.assertEquals(3, calls.get(2).get());
+        Assertions.assertEquals(1, monitor.instances().size());
+
+    }
+
+    private InstallmentInstanceMonitor monitor(String instancesFile) {
+        InstallmentInstanceMonitor monitor = new InstallmentInstanceMonitor(instancesFile, Duration.ofSeconds(1));
+        monitor.balancer = balancer;
+        monitor.installmentHttpClient = httpClient;
+        return monitor;
+    }
+
+    private Response call() throws IOException {
+        Request request = Request.create(Request.HttpMethod.POST, "http://installment-service/installment-service",
+                Map.of("Content-Type", List.of("application/json")), "{}".getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false))) {
+            response.body().asInputStream().readAllBytes();
+            return response;
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package br.com.loanapi.proxys;
+
+import br.com.loanapi.exceptions.ConnectionFailedException;
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.exceptions.ServiceUnavailableException;
+import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.models.dto.BatchResultDTO;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.InstallmentResilienceStatsDTO;
+import br.com.loanapi.services.LocalCalculationService;
+import br.com.loanapi.utils.CircuitBreaker;
+import br.com.loanapi.utils.TimeoutBudget;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("Proxy: ResilientInstallmentClient")
+@ExtendWith(MockitoExtension.class)
+class ResilientInstallmentClientTest {
+
+    static final List<InstallmentDTO> INSTALLMENTS = List.of(InstallmentDTODataBuilder.builder().build());
+
+    static final Request REQUEST = Request.create(Request.HttpMethod.POST, "http://localhost:8091/installment-service",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Mock
+    InstallmentServiceProxy proxy;
+
+    @Mock
+    LocalCalculationService localCalculation;
+
+    ResilientInstallmentClient client(int maxConcurrentCalls, boolean fallback) {
+        ResilientInstallmentClient client = new ResilientInstallmentClient(maxConcurrentCalls, Duration.ZERO, fallback);
+        client.proxy = proxy;
+        client.localCalculation = localCalculation;
+        client.circuitBreaker = new CircuitBreaker(4, 2, 50, Duration.ofSeconds(10).toNanos(), 1, System::nanoTime);
+        client.timeoutBudget = new TimeoutBudget(3, Duration.ofMillis(200), Duration.ofSeconds(2), Duration.ofMinutes(1),
+                100, System::nanoTime);
+        client.batchTimeoutBudget = new TimeoutBudget(3, Duration.ofMillis(20), Duration.ofMillis(500),
+                Duration.ofMinutes(1), 20, System::nanoTime);
+        return client;
+    }
+
+    FeignException serverError() {
+        return FeignException.errorStatus("calculateInstallments", feign.Response.builder()
+                .status(503).reason("Service Unavailable").request(REQUEST).headers(Map.of()).build());
+    }
+
+    @Test
+    @DisplayName("Should call the service with the timeout budget")
+    void shouldCallTheServiceWithTheTimeoutBudget() {
+
+        Mockito.when(proxy.calculateInstallments(Mockito.any(), Mockito.any())).thenReturn(ResponseEntity.ok(INSTALLMENTS));
+
+        Assertions.assertEquals(INSTALLMENTS, client(2, false).calculateInstallments(LoanDTODataBuilder.builder().build()));
+
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        Mockito.verify(proxy).calculateInstallments(Mockito.any(), options.capture());
+        Assertions.assertEquals(2000, options.getValue().readTimeoutMillis());
+
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after the failures and reject the next calls without calling the service")
+    void shouldOpenTheCircuitAfterTheFailuresAndRejectTheNextCallsWithoutCallingTheService() {
+
+        ResilientInstallmentClient client = client(2, false);
+        Mockito.when(proxy.calculateInstallments(Mockito.any(), Mockito.any())).thenThrow(serverError());
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThrows(ConnectionFailedException.class,
+                    () -> client.calculateInstallments(LoanDTODataBuilder.builder().build()));
+        }
+        Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> client.calculateInstallments(LoanDTODataBuilder.builder().build()));
+
+        Mockito.verify(proxy, Mockito.times(2)).calculateInstallments(Mockito.any(), Mockito.any());
+        InstallmentResilienceStatsDTO stats = client.stats();
+        Assertions.assertEquals("OPEN", stats.getCircuitState());
+        Assertions.assertEquals(1L, stats.getCircuitRejections());
+        Assertions.assertEquals(2L, stats.getFailures());
+        Assertions.assertEquals(0, stats.getConcurrentCalls());
+
+    }
+
+    @Test
+    @DisplayName("Should calculate locally when the call times out and the fallback is enabled")
+    void shouldCalculateLocallyWhenTheCallTimesOutAndTheFallbackIsEnabled() {
+
+        ResilientInstallmentClient client = client(2, true);
+        Mockito.when(proxy.calculateInstallments(Mockito.any(), Mockito.any())).thenThrow(new RetryableException(-1,
+                "Read timed out", Request.HttpMethod.POST, new SocketTimeoutException("Read timed out"), null, REQUEST));
+        Mockito.when(localCalculation.calculateInstallments(Mockito.any())).thenReturn(INSTALLMENTS);
+
+        Assertions.assertEquals(INSTALLMENTS, client.calculateInstallments(LoanDTODataBuilder.builder().build()));
+
+        Assertions.assertEquals(1L, client.stats().getTimeouts());
+        Assertions.assertEquals(1L, client.stats().getFallbackCalculations());
+
+    }
+
+    @Test
+    @DisplayName("Should reject the calls over the bulkhead")
+    void shouldRejectTheCallsOverTheBulkhead() {
+
+        ResilientInstallmentClient client = client(0, false);
+
+        Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> client.calculateInstallments(LoanDTODataBuilder.builder().build()));
+
+        Mockito.verifyNoInteractions(proxy);
+        Assertions.assertEquals(1L, client.stats().getBulkheadRejections());
+        Assertions.assertEquals("CLOSED", client.stats().getCircuitState());
+
+    }
+
+    @Test
+    @DisplayName("Should throw the client errors back without counting them as failures")
+    void shouldThrowTheClientErrorsBackWithoutCountingThemAsFailures() {
+
+        ResilientInstallmentClient client = client(2, true);
+        Mockito.when(proxy.calculateInstallments(Mockito.any(), Mockito.any())).thenThrow(
+                FeignException.errorStatus("calculateInstallments", feign.Response.builder()
+                        .status(400).reason("Bad Request").request(REQUEST).headers(Map.of()).build()));
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThrows(FeignException.BadRequest.class,
+                    () -> client.calculateInstallments(LoanDTODataBuilder.builder().build()));
+        }
+
+        Assertions.assertEquals("CLOSED", client.stats().getCircuitState());
+        Assertions.assertEquals(0.0, client.stats().getFailureRate());
+        Mockito.verifyNoInteractions(localCalculation);
+
+    }
+
+    @Test
+    @DisplayName("Should call the batch endpoint with the batch budget of each of its loans")
+    void shouldCallTheBatchEndpointWithTheBatchBudgetOfEachOfItsLoans() {
+
+        ResilientInstallmentClient client = client(2, false);
+        List<BatchResultDTO> answer = List.of(new BatchResultDTO(0, INSTALLMENTS, null),
+                new BatchResultDTO(1, INSTALLMENTS, null), new BatchResultDTO(2, INSTALLMENTS, null));
+        Mockito.when(proxy.calculateBatch(Mockito.any(), Mockito.any())).thenReturn(ResponseEntity.ok(answer));
+
+        Assertions.assertEquals(answer, client.calculateBatch(List.of(LoanDTODataBuilder.builder().build(),
+                LoanDTODataBuilder.builder().build(), LoanDTODataBuilder.builder().build())));
+
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        Mockito.verify(proxy).calculateBatch(Mockito.any(), options.capture());
+        Assertions.assertEquals(1500, options.getValue().readTimeoutMillis());
+        Assertions.assertEquals(500, client.stats().getBatchTimeoutBudgetMillis());
+        Assertions.assertEquals(2000, client.stats().getTimeoutBudgetMillis());
+
+    }
+
+    @Test
+    @DisplayName("Should calculate each loan of a failed batch locally when the fallback is enabled")
+    void shouldCalculateEachLoanOfAFailedBatchLocallyWhenTheFallbackIsEnabled() {
+
+        ResilientInstallmentClient client = client(2, true);
+        Mockito.when(proxy.calculateBatch(Mockito.any(), Mockito.any())).thenThrow(serverError());
+        Mockito.when(localCalculation.calculateInstallments(Mockito.any()))
+                .thenReturn(INSTALLMENTS)
+                .thenThrow(new InvalidRequestException("Invalid start date"));
+
+        List<BatchResultDTO> results = client.calculateBatch(List.of(
+                LoanDTODataBuilder.builder().build(), LoanDTODataBuilder.builder().build()));
+
+        Assertions.assertEquals(List.of(new BatchResultDTO(0, INSTALLMENTS, null),
+                new BatchResultDTO(1, null, "Invalid start date")), results);
+        Assertions.assertEquals(1L, client.stats().getFailures());
+        Assertions.assertEquals(1L, client.stats().getFallbackCalculations());
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.loanapi.proxys;
+
+import br.com.installmentmicroservice.utils.ScheduleWireFormat;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("Proxy: ScheduleInstallments")
+class ScheduleInstallmentsTest {
+
+    ScheduleInstallments fields = new ScheduleInstallments();
+
+    @Test
+    @DisplayName("Should decode the same loan-api installments it encoded")
+    void shouldDecodeTheSameLoanApiInstallmentsItEncoded() {
+
+        List<InstallmentDTO> installments = Arrays.asList(
+                new InstallmentDTO(null, "2022-9-12", null, 1, 400.0, 12.0, 412.0, null),
+                new InstallmentDTO(null, "2023-12-29", null, 2, 1234567.89, 0.01, 1234567.9, null),
+                new InstallmentDTO(null, null, null, 3, -0.5, 0.0, -0.5, null));
+
+        byte[] schedule = ScheduleWireFormat.encode(installments, fields);
+
+        Assertions.assertEquals(8 + 3 * 32, schedule.length);
+        Assertions.assertEquals(installments, ScheduleWireFormat.decode(schedule, fields));
+
+    }
+
+    @Test
+    @DisplayName("Should reject what is not a schedule")
+    void shouldRejectWhatIsNotASchedule() {
+        byte[] json = "[{\"month\":1}]".getBytes();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ScheduleWireFormat.decode(json, fields));
+    }
+
+}
@@ -0,0 +1,174 @@
+package br.com.loanapi.repositories;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.OrdinalParameterDescriptor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.internal.ParameterMetadataImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedNativeQuery;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Runs EXPLAIN on the SQL of every @Query and named native query of the repositories against the MySQL schema of the
+ ** migrations, and fails when a table of the plan is scanned ("type" ALL) or read without a key. The test tables are
+ ** nearly empty, where MySQL would rather scan than seek, so max_seeks_for_key is lowered to cost the seeks as in a
+ ** table of any size. Only the temporary results of a query (e.g. the <union1,2,3> of a union) may be scanned */
+@SpringBootTest
+@DisplayName("Repository: Query plans")
+class RepositoryQueryPlanTest {
+
+    /** Read every row by design */
+    private static final Set<String> FULL_READS = Set.of("streamUniqueKeys");
+
+    private static final Pattern ORDINAL_PARAMETER = Pattern.compile("\\?(\\d+)");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(AddressRepository.class, CustomerRepository.class,
+            PhoneRepository.class, LoanRepository.class, InstallmentRepository.class, LoanOriginationRepository.class,
+            IdempotencyKeyRepository.class);
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should read every lookup query through an index")
+    void shouldReadEveryLookupQueryThroughAnIndex() {
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        List<String> scans = new ArrayList<>();
+        int explained = 0;
+
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+
+                Query query = method.getAnnotation(Query.class);
+                if (query == null || FULL_READS.contains(method.getName())) continue;
+
+                HQLQueryPlan plan = sessionFactory.getQueryPlanCache()
+                        .getHQLQueryPlan(query.value(), false, Collections.emptyMap());
+
+                for (String sql : plan.getSqlStrings()) {
+                    String scan = scannedTable("explain " + withLiterals(sql, plan.getParameterMetadata(), method));
+                    if (scan != null) scans.add(repository.getSimpleName() + "." + method.getName() + ": " + scan);
+                    explained++;
+                }
+
+            }
+
+            Class<?> entity = (Class<?>) ((ParameterizedType) repository.getGenericInterfaces()[0])
+                    .getActualTypeArguments()[0];
+            for (NamedNativeQuery query : entity.getAnnotationsByType(NamedNativeQuery.class)) {
+                Method method = finder(repository, query.name().substring(query.name().indexOf('.') + 1));
+                String scan = scannedTable("explain " + withLiterals(query.query(), method));
+                if (scan != null) scans.add(repository.getSimpleName() + "." + method.getName() + ": " + scan);
+                explained++;
+            }
+
+        }
+
+        Assertions.assertTrue(explained > 0);
+        Assertions.assertTrue(scans.isEmpty(), String.join("\n", scans));
+
+    }
+
+    /** Rows without a table are the ones MySQL answers without reading any (e.g. "no matching row in const table") */
+    private String scannedTable(String explain) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set session max_seeks_for_key = 1");
+                try (ResultSet plan = statement.executeQuery(explain)) {
+                    while (plan.next()) {
+                        String table = plan.getString("table");
+                        if (table == null || table.startsWith("<")) continue;
+                        if ("ALL".equals(plan.getString("type"))) return "full scan of " + table;
+                        if (plan.getString("key") == null) return "no key for " + table;
+                    }
+                    return null;
+                }
+                finally {
+                    statement.execute("set session max_seeks_for_key = default");
+                }
+            }
+        });
+    }
+
+    private static Method finder(Class<?> repository, String name) {
+        for (Method method : repository.getDeclaredMethods()) {
+            if (method.getName().equals(name)) return method;
+        }
+        throw new AssertionError("No " + repository.getSimpleName() + "." + name + " for its named query");
+    }
+
+    /** The ?1, ?2... of a native query become literals of the type of the method parameters */
+    private static String withLiterals(String sql, Method method) {
+        Matcher parameter = ORDINAL_PARAMETER.matcher(sql);
+        StringBuilder explained = new StringBuilder();
+        while (parameter.find()) {
+            int label = Integer.parseInt(parameter.group(1));
+            parameter.appendReplacement(explained,
+                    Matcher.quoteReplacement(literal(method.getGenericParameterTypes()[label - 1], label)));
+        }
+        return parameter.appendTail(explained).toString();
+    }
+
+    /** Every ? of the SQL becomes a literal of the type of the method parameter it was translated from, found through
+     ** the SQL locations of the ordinal parameters (?1 is the first method parameter) */
+    private static String withLiterals(String sql, ParameterMetadataImpl parameters, Method method) {
+
+        Map<Integer, String> literals = new HashMap<>();
+        for (Integer label : parameters.getOrdinalParameterLabels()) {
+            OrdinalParameterDescriptor descriptor = parameters.getOrdinalParameterDescriptor(label);
+            for (int location : descriptor.getSourceLocations()) {
+                literals.put(location, literal(method.getGenericParameterTypes()[label - 1], label));
+            }
+        }
+
+        StringBuilder explained = new StringBuilder();
+        int location = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') explained.append(literals.get(location++));
+            else explained.append(c);
+        }
+        Assertions.assertEquals(literals.size(), location, method.getName());
+        return explained.toString();
+
+    }
+
+    /** Distinct values, so the planner can't fold the conditions of different parameters together */
+    private static String literal(Type type, int value) {
+        if (type instanceof ParameterizedType
+                && Collection.class.isAssignableFrom((Class<?>) ((ParameterizedType) type).getRawType())) {
+            return literal(((ParameterizedType) type).getActualTypeArguments()[0], value);
+        }
+        if (String.class.equals(type)) return "'" + value + "'";
+        if (type instanceof Class && ((Class<?>) type).isEnum()) return "'" + ((Class<?>) type).getEnumConstants()[0] + "'";
+        if (LocalDateTime.class.equals(type)) return "'2022-06-30 00:00:0" + value + "'";
+        return String.valueOf(value);
+    }
+
+}
@@ -1,12 +1,15 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.mocks.dto.AddressDTODataBuilder;
+import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
 import br.com.loanapi.mocks.entity.AddressEntityDataBuilder;
-import br.com.loanapi.models.entities.AddressEntity;
+import br.com.loanapi.models.dto.AddressDTO;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.models.mappers.EntityMapperImpl;
 import br.com.loanapi.repositories.AddressRepository;
+import br.com.loanapi.repositories.CustomerRepository;
 import br.com.loanapi.validations.AddressValidation;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
@@ -16,13 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static br.com.loanapi.utils.StringConstants.LOG_BAR;
 
@@ -36,7 +40,8 @@ class AddressServiceTest {
 
     @Mock AddressValidation validation;
     @Mock AddressRepository repository;
-    @Mock ModelMapperConfig modelMapper;
+    @Mock CustomerRepository customerRepository;
+    @Spy EntityMapper mapper = new EntityMapperImpl();
 
     @Test
     @DisplayName("Should test create method with success")
@@ -46,7 +51,6 @@ class AddressServiceTest {
         log.info("[PROGRESS] Running create method test with success...");
 
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(repository.save(Mockito.any())).thenReturn(AddressEntityDataBuilder.builder().build());
 
         Assertions.assertEquals("AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, number=583, " +
@@ -81,14 +85,13 @@ class AddressServiceTest {
         log.info(LOG_BAR);
         log.info("[PROGRESS] Running findAll method test with success...");
 
-        List<AddressEntity> addressEntityList = new ArrayList<>();
-        addressEntityList.add(AddressEntityDataBuilder.builder().build());
+        List<AddressDTO> addressList = new ArrayList<>();
+        addressList.add(AddressDTODataBuilder.builder().build());
 
-        Mockito.when(repository.findAll()).thenReturn(addressEntityList);
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(addressList);
 
-        Assertions.assertEquals("[AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, number=583, " +
-                "postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null)]", service.findAll().toString());
+        Assertions.assertEquals("PageDTO(content=[AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, number=583, " +
+                "postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[])], next=null)", service.findAll(null, null).toString());
 
     }
 
@@ -99,12 +102,12 @@ class AddressServiceTest {
         log.info(LOG_BAR);
         log.info("[PROGRESS] Running findAll method test with exception...");
 
-        List<AddressEntity> addressEntityList = new ArrayList<>();
+        List<AddressDTO> addressList = new ArrayList<>();
 
-        Mockito.when(repository.findAll()).thenReturn(addressEntityList);
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(addressList);
 
         try{
-            service.findAll();
+            service.findAll(null, null);
             Assertions.fail();
         }
         catch (ObjectNotFoundException exception) {
@@ -120,12 +123,30 @@ class AddressServiceTest {
         log.info(LOG_BAR);
         log.info("[PROGRESS] Running findById method test with success...");
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(AddressEntityDataBuilder.builder().build()));
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.of(AddressDTODataBuilder.builder().build()));
 
         Assertions.assertEquals("AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, number=583, " +
-                        "postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null)",
-                service.findById(1L).toString());
+                        "postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[])",
+                service.findById(1L, null).toString());
+
+    }
+
+    @Test
+    @DisplayName("Should test find by id method including the customers")
+    void shouldTestFindByIdMethodIncludingCustomers() {
+
+        log.info(LOG_BAR);
+        log.info("[PROGRESS] Running findById method test including the customers...");
+
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.of(AddressDTODataBuilder.builder().build()));
+        Mockito.when(customerRepository.findDTOsByAddressId(Mockito.any()))
+                .thenReturn(List.of(CustomerDTODataBuilder.builder().withoutAddress().build()));
+
+        Assertions.assertEquals("AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, number=583, " +
+                        "postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=[CustomerDTO(id=1, " +
+                        "name=João, lastName=da Silva, birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, " +
+                        "cpf=391.534.277-44, email=joao@email.com, pontuation=0.0, address=null, phones=[], loans=[])])",
+                service.findById(1L, Set.of("customers")).toString());
 
     }
 
@@ -136,11 +157,10 @@ class AddressServiceTest {
         log.info(LOG_BAR);
         log.info("[PROGRESS] Running findById method test with exception...");
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.empty());
 
         try{
-            service.findById(1L);
+            service.findById(1L, null);
             Assertions.fail();
         }
         catch (ObjectNotFoundException exception) {
@@ -157,7 +177,6 @@ class AddressServiceTest {
         log.info("[PROGRESS] Running update method test with success...");
 
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(AddressEntityDataBuilder.builder().build()));
         Mockito.when(repository.save(Mockito.any())).thenReturn(AddressEntityDataBuilder.builder().build());
 
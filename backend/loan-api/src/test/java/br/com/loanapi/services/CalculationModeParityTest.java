@@ -0,0 +1,117 @@
+package br.com.loanapi.services;
+
+import br.com.installmentmicroservice.InstallmentMicroServiceApplication;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.enums.AmortizationEnum;
+import br.com.loanapi.models.enums.PaymentDateEnum;
+import br.com.loanapi.proxys.InstallmentServiceProxy;
+import br.com.loanapi.proxys.InstallmentServiceProxyConfig;
+import feign.Feign;
+import feign.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Runs the installment-service in-process, on a random port, and checks that the schedules of the remote calculation
+ ** mode (the InstallmentServiceProxy, binary wire format included) and of the embedded one are the same */
+@DisplayName("Service: Calculation mode parity")
+class CalculationModeParityTest {
+
+    static final Request.Options OPTIONS = new Request.Options(5, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    static final String[] START_DATES = {"31-1-2020", "29-2-2024", "15-12-2022", "1-6-2021", "30-10-2019"};
+    static final double[] ORIGINAL_VALUES = {1000.0, 12345.67, 250000.0};
+    static final double[] INTEREST_RATES = {0.5, 1.99, 10.0};
+    static final int[] NUMBERS_OF_INSTALLMENTS = {1, 2, 12, 61, 360};
+
+    static ConfigurableApplicationContext installmentService;
+    static InstallmentServiceProxy remote;
+    static EmbeddedCalculationService embedded;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+
+        installmentService = new SpringApplicationBuilder(InstallmentMicroServiceApplication.class).run(
+                "--spring.config.name=installment-service-parity",
+                "--spring.autoconfigure.exclude=" + String.join(",", DataSourceAutoConfiguration.class.getName(),
+                        HibernateJpaAutoConfiguration.class.getName(), FlywayAutoConfiguration.class.getName()),
+                "--spring.mvc.pathmatch.matching-strategy=ant-path-matcher",
+                "--server.port=0",
+                "--installment.batch.max-size=50000",
+                "--installment.batch.parallelism=0",
+                "--installment.cache.enabled=false",
+                "--installment.calendar.holidays-file=",
+                "--installment.engine=scalar",
+                "--installment.gzip.max-inflated-size=64MB");
+        int port = ((WebServerApplicationContext) installmentService).getWebServer().getPort();
+
+        remote = Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> new HttpMessageConverters()))
+                .decoder(new InstallmentServiceProxyConfig().feignDecoder(() -> new HttpMessageConverters()))
+                .target(InstallmentServiceProxy.class, "http://localhost:" + port);
+
+        embedded = new EmbeddedCalculationService();
+        embedded.localCalculation = new LocalCalculationService("");
+
+    }
+
+    @AfterAll
+    static void tearDown() {
+        installmentService.close();
+    }
+
+    LoanDTO loan(String startDate, double originalValue, double interestRate, int numberOfInstallments,
+                 PaymentDateEnum paymentDate, AmortizationEnum amortization) {
+        LoanDTO loan = new LoanDTO();
+        loan.setStartDate(startDate);
+        loan.setOriginalValue(originalValue);
+        loan.setInterestRate(interestRate);
+        loan.setNumberOfInstallments(numberOfInstallments);
+        loan.setPaymentDate(paymentDate);
+        loan.setAmortization(amortization);
+        return loan;
+    }
+
+    @Test
+    @DisplayName("Should calculate the same schedules in the remote and in the embedded mode")
+    void shouldCalculateTheSameSchedulesInTheRemoteAndInTheEmbeddedMode() {
+
+        int loans = 0;
+        for (AmortizationEnum amortization : AmortizationEnum.values())
+            for (PaymentDateEnum paymentDate : PaymentDateEnum.values())
+                for (String startDate : START_DATES)
+                    for (double originalValue : ORIGINAL_VALUES)
+                        for (double interestRate : INTEREST_RATES)
+                            for (int numberOfInstallments : NUMBERS_OF_INSTALLMENTS) {
+
+                                LoanDTO loan = loan(startDate, originalValue, interestRate, numberOfInstallments,
+                                        paymentDate, amortization);
+                                List<InstallmentDTO> expected = remote.calculateInstallments(loan, OPTIONS).getBody();
+
+                                Assertions.assertEquals(expected, embedded.calculateInstallments(loan), loan.toString());
+                                loans++;
+
+                            }
+
+        Assertions.assertEquals(2 * 5 * 5 * 3 * 3 * 5, loans);
+
+    }
+
+}
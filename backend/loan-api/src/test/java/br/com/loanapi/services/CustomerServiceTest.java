@@ -1,16 +1,22 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
+import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
 import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
 import br.com.loanapi.mocks.entity.AddressEntityDataBuilder;
 import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
 import br.com.loanapi.mocks.entity.PhoneEntityDataBuilder;
-import br.com.loanapi.models.entities.CustomerEntity;
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.models.mappers.EntityMapperImpl;
 import br.com.loanapi.repositories.AddressRepository;
 import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.InstallmentRepository;
+import br.com.loanapi.repositories.LoanRepository;
 import br.com.loanapi.repositories.PhoneRepository;
 import br.com.loanapi.validations.CustomerValidation;
 import br.com.loanapi.validations.PhoneValidation;
@@ -21,13 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @SpringBootTest
 @DisplayName("Service: Customer")
@@ -46,8 +54,8 @@ class CustomerServiceTest {
     @Mock
     CustomerRepository repository;
 
-    @Mock
-    ModelMapperConfig modelMapper;
+    @Spy
+    EntityMapper mapper = new EntityMapperImpl();
 
     @Mock
     AddressRepository addressRepository;
@@ -55,12 +63,20 @@ class CustomerServiceTest {
     @Mock
     PhoneRepository phoneRepository;
 
+    @Mock
+    LoanRepository loanRepository;
+
+    @Mock
+    InstallmentRepository installmentRepository;
+
+    @Mock
+    UniquenessFilterService uniquenessFilter;
+
     @Test
     @DisplayName("create: Should test create method with address present")
     void shouldTestCreateMethodWithAddressPresent() {
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.of(AddressEntityDataBuilder.builder().withCustomersList().build()));
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(addressRepository.save(Mockito.any())).thenReturn(AddressEntityDataBuilder.builder().build());
         Assertions.assertNotNull(service.create(CustomerDTODataBuilder.builder().withPhoneList().build()));
     }
@@ -70,11 +86,49 @@ class CustomerServiceTest {
     void shouldTestCreateMethodWithoutAddressPresent() {
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(addressRepository.save(Mockito.any())).thenReturn(AddressEntityDataBuilder.builder().withCustomersList().build());
         Assertions.assertNotNull(service.create(CustomerDTODataBuilder.builder().withAddresssWithCustomers().withPhoneList().build()));
     }
 
+    @Test
+    @DisplayName("create: Should test create method with a duplicate found by the uniqueness filter")
+    void shouldTestCreateMethodWithADuplicateFoundByTheUniquenessFilter() {
+        Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(uniquenessFilter.mightContain(Mockito.any(CustomerDTO.class))).thenReturn(true);
+        Mockito.doThrow(new InvalidRequestException("Customer validation failed. Error: [The typed cpf already exists in the database]"))
+                .when(validation).verifyDuplicates(Mockito.any(), Mockito.any(), Mockito.any());
+
+        try {
+            service.create(CustomerDTODataBuilder.builder().withPhoneList().build());
+            Assertions.fail();
+        }
+        catch(InvalidRequestException exception) {
+            Assertions.assertEquals("Customer validation failed. Error: [The typed cpf already exists in the database]",
+                    exception.getMessage());
+            Mockito.verify(addressRepository, Mockito.never()).save(Mockito.any());
+        }
+    }
+
+    @Test
+    @DisplayName("create: Should test create method with a duplicated key")
+    void shouldTestCreateMethodWithADuplicatedKey() {
+        Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(addressRepository.save(Mockito.any())).thenThrow(new DataIntegrityViolationException("uk_cpf"));
+        Mockito.doThrow(new InvalidRequestException("Customer validation failed. Error: [The typed cpf already exists in the database]"))
+                .when(validation).verifyDuplicates(Mockito.any(), Mockito.any(), Mockito.any());
+
+        try {
+            service.create(CustomerDTODataBuilder.builder().withPhoneList().build());
+            Assertions.fail();
+        }
+        catch(InvalidRequestException exception) {
+            Assertions.assertEquals("Customer validation failed. Error: [The typed cpf already exists in the database]",
+                    exception.getMessage());
+        }
+    }
+
     @Test
     @DisplayName("create: Should test create method with exception")
     void shouldTestCreateMethodWithException(){
@@ -95,18 +149,15 @@ class CustomerServiceTest {
     @DisplayName("findAll: Should test findAll method with success")
     void shouldTestFindAllMethodWithSuccess() {
 
-        List<CustomerEntity> customers = new ArrayList<>();
-        customers.add(CustomerEntityDataBuilder.builder().build());
+        List<CustomerDTO> customers = new ArrayList<>();
+        customers.add(CustomerDTODataBuilder.builder().withoutAddress().build());
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findAll()).thenReturn(customers);
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(customers);
 
-        Assertions.assertEquals("[CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
+        Assertions.assertEquals("PageDTO(content=[CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
                         "signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, email=joao@email.com, " +
-                        "pontuation=null, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
-                        "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null), " +
-                        "phones=null, loans=null)]",
-                service.findAll().toString());
+                        "pontuation=0.0, address=null, phones=[], loans=[])], next=null)",
+                service.findAll(null, null).toString());
 
     }
 
@@ -115,11 +166,11 @@ class CustomerServiceTest {
     @DisplayName("findAll: Should test findAll method with exception")
     void shouldTestFindAllMethodWithException(){
 
-        List<CustomerEntity> customers = new ArrayList<>();
-        Mockito.when(repository.findAll()).thenReturn(customers);
+        List<CustomerDTO> customers = new ArrayList<>();
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(customers);
 
         try {
-            service.findAll();
+            service.findAll(null, null);
             Assertions.fail();
         }
         catch(ObjectNotFoundException exception) {
@@ -132,15 +183,48 @@ class CustomerServiceTest {
     @DisplayName("findById: Should test findById method with success")
     void shouldTestFindByIdMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(CustomerDTODataBuilder.builder().withoutAddress().build()));
+
+        Assertions.assertEquals("CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
+                        "signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, email=joao@email.com, " +
+                        "pontuation=0.0, address=null, phones=[], loans=[])",
+                service.findById(1L, null).toString());
+
+        Mockito.verifyNoInteractions(phoneRepository, loanRepository, installmentRepository);
+
+    }
+
+    @Test
+    @DisplayName("findById: Should test findById method including every collection")
+    void shouldTestFindByIdMethodIncludingEveryCollection() {
+
+        InstallmentDTO installment = InstallmentDTODataBuilder.builder().build();
+        installment.getLoan().setId(1L);
+
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(CustomerDTODataBuilder.builder().withoutAddress().build()));
+        Mockito.when(phoneRepository.findDTOsByCustomerId(Mockito.any()))
+                .thenReturn(List.of(PhoneDTODataBuilder.builder().withoutCustomer().build()));
+        Mockito.when(loanRepository.findDTOsByCustomerId(Mockito.any()))
+                .thenReturn(List.of(LoanDTODataBuilder.builder().withoutCustomer().build()));
+        Mockito.when(installmentRepository.findDTOsByLoanIds(Mockito.any())).thenReturn(List.of(installment));
+        Mockito.doCallRealMethod().when(installmentRepository).fillInstallments(Mockito.any());
 
         Assertions.assertEquals("CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
                         "signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, email=joao@email.com, " +
-                        "pontuation=null, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
-                        "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null), " +
-                        "phones=null, loans=null)",
-                service.findById(1L).toString());
+                        "pontuation=0.0, address=null, phones=[PhoneDTO(id=1, prefix=11, number=97981-5415, " +
+                        "phoneType=MOBILE, customerJsonId=1, customer=null)], loans=[LoanDTO(id=1, " +
+                        "startDate=11-11-2011, originalValue=5000.0, debitBalance=2800.0, interestRate=10.0, " +
+                        "numberOfInstallments=10, paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, customer=null, " +
+                        "installments=[InstallmentDTO(id=1, maturityDate=11-11-2011, paymentDate=11-11-2021, " +
+                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=null)])])",
+                service.findById(1L, Set.of("phones", "loans", "installments")).toString());
+
+        Mockito.verify(repository).findDTOById(1L);
+        Mockito.verify(phoneRepository).findDTOsByCustomerId(1L);
+        Mockito.verify(loanRepository).findDTOsByCustomerId(1L);
+        Mockito.verify(installmentRepository).findDTOsByLoanIds(Set.of(1L));
 
     }
 
@@ -148,11 +232,10 @@ class CustomerServiceTest {
     @DisplayName("findById: Should test findById method with exception")
     void shouldTestFindByIdMethodWithException() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.empty());
 
         try {
-            service.findById(1L);
+            service.findById(1L, null);
         }
         catch (ObjectNotFoundException exception){
             Assertions.assertEquals("Customer not found", exception.getMessage());
@@ -164,7 +247,6 @@ class CustomerServiceTest {
     @DisplayName("update: Should test update method with success")
     void shouldTestUpdateMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(phoneValidation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.of(AddressEntityDataBuilder.builder().withCustomersList().build()));
@@ -178,7 +260,6 @@ class CustomerServiceTest {
     @DisplayName("update: Should test update method with not found address")
     void shouldTestUpdateMethodWithNotFoundAddress() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(phoneValidation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(addressRepository.findByStreetNumberAndPostalCode(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
@@ -0,0 +1,274 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.models.dto.AddressDTO;
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.entities.IdempotencyKeyEntity;
+import br.com.loanapi.models.enums.IdempotencyStatusEnum;
+import br.com.loanapi.repositories.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@DisplayName("Service: Idempotency")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    IdempotencyService service;
+
+    @Mock
+    IdempotencyKeyRepository repository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    AtomicInteger runs = new AtomicInteger();
+
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(100, Duration.ofDays(1), Duration.ofMinutes(2), Duration.ofSeconds(5));
+        service.repository = repository;
+        service.objectMapper = objectMapper;
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    static LoanDTO loan(double originalValue) {
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setOriginalValue(originalValue);
+        return loan;
+    }
+
+    /** Creates the loan 1, counting its runs */
+    Supplier<ResponseEntity<Object>> creation() {
+        return () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.created(URI.create("/api/loan/1")).body(List.of(1, "created"));
+        };
+    }
+
+    void claimsWithoutAnotherRequest() {
+        claimsWithoutAnotherRequest(IdempotencyService.LOAN_SCOPE);
+    }
+
+    void claimsWithoutAnotherRequest(String scope) {
+        Mockito.when(repository.findByScopeAndKey(scope, "key")).thenReturn(Optional.empty());
+        Mockito.when(repository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> {
+            IdempotencyKeyEntity claim = invocation.getArgument(0);
+            claim.setId(1L);
+            return claim;
+        });
+    }
+
+    /** A customer as read from the same request body, at another time */
+    CustomerDTO customer(String signUpDate) throws Exception {
+        CustomerDTO customer = objectMapper.readValue(IdempotencyService.requestMapper(objectMapper)
+                .writeValueAsString(CustomerDTODataBuilder.builder().withPhoneList().build()), CustomerDTO.class);
+        customer.setSignUpDate(signUpDate);
+        return customer;
+    }
+
+    @Test
+    @DisplayName("Should run the first request and store its response")
+    void shouldRunTheFirstRequestAndStoreItsResponse() {
+
+        claimsWithoutAnotherRequest();
+        Mockito.when(repository.complete(Mockito.eq(1L), Mockito.eq(1), Mockito.eq(201), Mockito.eq("/api/loan/1"),
+                Mockito.eq("[1,\"created\"]"), Mockito.any())).thenReturn(1);
+
+        ResponseEntity<Object> response =
+                service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation());
+
+        Assertions.assertEquals(201, response.getStatusCodeValue());
+        Assertions.assertEquals(List.of(1, "created"), response.getBody());
+        Assertions.assertEquals(1, runs.get());
+        Mockito.verify(repository).complete(Mockito.eq(1L), Mockito.eq(1), Mockito.eq(201),
+                Mockito.eq("/api/loan/1"), Mockito.eq("[1,\"created\"]"), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should return the stored response to a retry without running it again")
+    void shouldReturnTheStoredResponseToARetryWithoutRunningItAgain() {
+
+        claimsWithoutAnotherRequest();
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+
+        service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation());
+        ResponseEntity<Object> retry = service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation());
+
+        Assertions.assertEquals(1, runs.get());
+        Assertions.assertEquals("<201 CREATED Created,[1,\"created\"],[Idempotent-Replayed:\"true\", " +
+                "Content-Type:\"application/json\", Location:\"/api/loan/1\"]>", retry.toString());
+        Mockito.verify(repository).findByScopeAndKey(Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectAKeyReusedForADifferentRequest() {
+
+        claimsWithoutAnotherRequest();
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+        service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation());
+
+        InvalidRequestException exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(6000.0), creation()));
+
+        Assertions.assertEquals("The Idempotency-Key was already used for a different request", exception.getMessage());
+        Assertions.assertEquals(1, runs.get());
+
+    }
+
+    @Test
+    @DisplayName("Should return the stored response to a customer retry read with another sign up date")
+    void shouldReturnTheStoredResponseToACustomerRetryReadWithAnotherSignUpDate() throws Exception {
+
+        claimsWithoutAnotherRequest(IdempotencyService.CUSTOMER_SCOPE);
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+
+        service.execute(IdempotencyService.CUSTOMER_SCOPE, "key", customer("2022-06-30T10:00:00"), creation());
+        ResponseEntity<Object> retry = service.execute(IdempotencyService.CUSTOMER_SCOPE, "key",
+                customer("2022-06-30T10:00:05"), creation());
+
+        Assertions.assertEquals(1, runs.get());
+        Assertions.assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+
+    }
+
+    @Test
+    @DisplayName("Should reject a customer key reused with another address")
+    void shouldRejectACustomerKeyReusedWithAnotherAddress() throws Exception {
+
+        claimsWithoutAnotherRequest(IdempotencyService.CUSTOMER_SCOPE);
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+        service.execute(IdempotencyService.CUSTOMER_SCOPE, "key", customer("2022-06-30T10:00:00"), creation());
+
+        CustomerDTO movedOut = customer("2022-06-30T10:00:00");
+        AddressDTO address = movedOut.getAddress();
+        address.setStreet(address.getStreet() + " 2");
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.execute(IdempotencyService.CUSTOMER_SCOPE, "key", movedOut, creation()));
+        Assertions.assertEquals(1, runs.get());
+
+    }
+
+    @Test
+    @DisplayName("Should reject a blank key")
+    void shouldRejectABlankKey() {
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.execute(IdempotencyService.LOAN_SCOPE, " ", loan(5000.0), creation()));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should release the key of a failed request so its retry runs again")
+    void shouldReleaseTheKeyOfAFailedRequestSoItsRetryRunsAgain() {
+
+        claimsWithoutAnotherRequest();
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), () -> {
+                    throw new InvalidRequestException("Customer not found");
+                }));
+        Mockito.verify(repository).release(1L, 1);
+
+        Assertions.assertEquals(201, service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation())
+                .getStatusCodeValue());
+        Assertions.assertEquals(1, runs.get());
+
+    }
+
+    @Test
+    @DisplayName("Should return the response stored by another node")
+    void shouldReturnTheResponseStoredByAnotherNode() throws Exception {
+
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(repository.findByScopeAndKey(IdempotencyService.LOAN_SCOPE, "key")).thenReturn(Optional.of(
+                new IdempotencyKeyEntity(1L, IdempotencyService.LOAN_SCOPE, "key", service.hash(loan(5000.0)),
+                        IdempotencyStatusEnum.COMPLETED, 201, "/api/loan/1", "[1,\"created\"]", 1, now, now)));
+
+        ResponseEntity<Object> response =
+                service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), creation());
+
+        Assertions.assertEquals(0, runs.get());
+        Assertions.assertEquals(201, response.getStatusCodeValue());
+        Assertions.assertEquals("[1,\"created\"]", response.getBody());
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the request running instead of running it")
+    void shouldMakeAConcurrentDuplicateWaitForTheRequestRunningInsteadOfRunningIt() throws Exception {
+
+        claimsWithoutAnotherRequest();
+        Mockito.when(repository.complete(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<ResponseEntity<Object>> slowCreation = () -> {
+            started.countDown();
+            try {
+                finish.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return creation().get();
+        };
+
+        Future<ResponseEntity<Object>> first = callers.submit(
+                () -> service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), slowCreation));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<Object>> duplicate = callers.submit(
+                () -> service.execute(IdempotencyService.LOAN_SCOPE, "key", loan(5000.0), slowCreation));
+        Thread.sleep(100);
+        Assertions.assertFalse(duplicate.isDone());
+        finish.countDown();
+
+        Assertions.assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatusCodeValue());
+        ResponseEntity<Object> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(201, replayed.getStatusCodeValue());
+        Assertions.assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        Assertions.assertEquals(1, runs.get());
+        Mockito.verify(repository).saveAndFlush(Mockito.any());
+
+    }
+
+}
@@ -1,9 +1,8 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
-import br.com.loanapi.mocks.entity.InstallmentEntityDataBuilder;
-import br.com.loanapi.models.entities.InstallmentEntity;
+import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.models.dto.InstallmentDTO;
 import br.com.loanapi.repositories.InstallmentRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +12,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
@@ -31,29 +29,18 @@ class InstallmentServiceTest {
     @Mock
     InstallmentRepository repository;
 
-    @Mock
-    ModelMapperConfig modelMapper;
-
     @Test
     @DisplayName("Should test findAll method with success")
     void shouldTestFindAllMethodWithSuccess() {
 
-        List<InstallmentEntity> installments = new ArrayList<>();
-        installments.add(InstallmentEntityDataBuilder.builder().build());
+        List<InstallmentDTO> installments = new ArrayList<>();
+        installments.add(InstallmentDTODataBuilder.builder().withoutLoan().build());
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findAll()).thenReturn(installments);
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(installments);
 
-        Assertions.assertEquals("[InstallmentDTO(id=1, maturityDate=11-11-2011, paymentDate=11-11-2021, " +
-                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=LoanDTO(id=1, " +
-                        "startDate=11-11-2011, originalValue=5000.0, debitBalance=2800.0, interestRate=10.0, " +
-                        "numberOfInstallments=10, paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, " +
-                        "customer=CustomerDTO(id=1, name=João, lastName=da Silva, " +
-                        "birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, " +
-                        "email=joao@email.com, pontuation=null, address=AddressDTO(id=1, street=Rua 9, " +
-                        "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
-                        "state=SAO_PAULO, customers=null), phones=null, loans=null), installments=null))]",
-                service.findAll().toString());
+        Assertions.assertEquals("PageDTO(content=[InstallmentDTO(id=1, maturityDate=11-11-2011, paymentDate=11-11-2021, " +
+                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=null)], next=null)",
+                service.findAll(null, null).toString());
 
     }
 
@@ -62,11 +49,11 @@ class InstallmentServiceTest {
     @DisplayName("Should test findAll method with exception")
     void shouldTestFindAllMethodWithException(){
 
-        List<InstallmentEntity> cities = new ArrayList<>();
-        Mockito.when(repository.findAll()).thenReturn(cities);
+        List<InstallmentDTO> cities = new ArrayList<>();
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(cities);
 
         try {
-            service.findAll();
+            service.findAll(null, null);
             Assertions.fail();
         }
         catch(ObjectNotFoundException exception) {
@@ -79,18 +66,11 @@ class InstallmentServiceTest {
     @DisplayName("Should test findById method with success")
     void shouldTestFindByIdMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(InstallmentEntityDataBuilder.builder().build()));
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(InstallmentDTODataBuilder.builder().withoutLoan().build()));
 
         Assertions.assertEquals("InstallmentDTO(id=1, maturityDate=11-11-2011, paymentDate=11-11-2021, " +
-                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=LoanDTO(id=1, " +
-                        "startDate=11-11-2011, originalValue=5000.0, debitBalance=2800.0, interestRate=10.0, " +
-                        "numberOfInstallments=10, paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, " +
-                        "customer=CustomerDTO(id=1, name=João, lastName=da Silva, " +
-                        "birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, " +
-                        "email=joao@email.com, pontuation=null, address=AddressDTO(id=1, street=Rua 9, " +
-                        "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
-                        "state=SAO_PAULO, customers=null), phones=null, loans=null), installments=null))",
+                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=null)",
                 service.findById(1L).toString());
 
     }
@@ -99,8 +79,7 @@ class InstallmentServiceTest {
     @DisplayName("Should test findById method with exception")
     void shouldTestFindByIdMethodWithException() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.empty());
 
         try {
             service.findById(1L);
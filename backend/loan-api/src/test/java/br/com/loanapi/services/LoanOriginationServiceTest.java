@@ -0,0 +1,262 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.exceptions.ConnectionFailedException;
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.exceptions.ObjectNotFoundException;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
+import br.com.loanapi.models.dto.LoanOriginationDTO;
+import br.com.loanapi.models.entities.LoanOriginationEntity;
+import br.com.loanapi.models.enums.AmortizationEnum;
+import br.com.loanapi.models.enums.OriginationStatusEnum;
+import br.com.loanapi.models.enums.PaymentDateEnum;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.LoanOriginationRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@DisplayName("Service: Loan origination")
+@ExtendWith(MockitoExtension.class)
+class LoanOriginationServiceTest {
+
+    LoanOriginationService service;
+
+    @Mock
+    LoanOriginationRepository repository;
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    @Mock
+    LoanService loanService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    List<Runnable> queued = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new LoanOriginationService(3, Duration.ofSeconds(10), Duration.ofMinutes(2));
+        service.repository = repository;
+        service.customerRepository = customerRepository;
+        service.loanService = loanService;
+        service.transactionTemplate = transactionTemplate;
+        service.executor = queued::add;
+    }
+
+    LoanOriginationEntity job(int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return new LoanOriginationEntity(7L, "8d6f0c1e-3a51-4c3e-9b0e-2f4a7d1c5b90", 1L, "11-11-2011", 5000.0, 10.0,
+                10, PaymentDateEnum.FIFTH_BUSINESS_DAY, AmortizationEnum.SAC, OriginationStatusEnum.PROCESSING,
+                attempts, null, null, now, now);
+    }
+
+    void claimed(int attempts) {
+        Mockito.when(repository.claim(Mockito.eq(7L), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(1);
+        Mockito.when(repository.findById(7L)).thenReturn(Optional.of(job(attempts)));
+    }
+
+    void inTransaction() {
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Long>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should save the pending job and queue it")
+    void shouldSaveThePendingJobAndQueueIt() {
+
+        Mockito.when(customerRepository.existsById(1L)).thenReturn(true);
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation -> {
+            invocation.<LoanOriginationEntity>getArgument(0).setId(7L);
+            return invocation.getArgument(0);
+        });
+
+        LoanOriginationDTO job = service.accept(1L, LoanDTODataBuilder.builder().build());
+
+        Assertions.assertEquals(OriginationStatusEnum.PENDING, job.getStatus());
+        Assertions.assertEquals(0, job.getAttempts());
+        Assertions.assertNull(job.getLoanId());
+        Assertions.assertEquals(36, job.getJobId().length());
+        Assertions.assertEquals(1, queued.size());
+
+    }
+
+    @Test
+    @DisplayName("Should reject the loan of a missing customer before saving it")
+    void shouldRejectTheLoanOfAMissingCustomerBeforeSavingIt() {
+
+        Mockito.when(customerRepository.existsById(1L)).thenReturn(false);
+
+        try {
+            service.accept(1L, LoanDTODataBuilder.builder().build());
+            Assertions.fail();
+        }
+        catch (InvalidRequestException exception) {
+            Assertions.assertEquals("Customer not found", exception.getMessage());
+        }
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should keep the job pending when the queue is full")
+    void shouldKeepTheJobPendingWhenTheQueueIsFull() {
+
+        service.executor = task -> {
+            throw new TaskRejectedException("Queue full");
+        };
+        service.dispatch(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        service.executor = queued::add;
+        service.dispatch(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+        service.dispatch(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Assertions.assertEquals(1, queued.size());
+
+    }
+
+    @Test
+    @DisplayName("Should complete the job in the transaction that saves the loan")
+    void shouldCompleteTheJobInTheTransactionThatSavesTheLoan() {
+
+        claimed(1);
+        inTransaction();
+        Mockito.when(customerRepository.findById(1L))
+                .thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        Mockito.when(loanService.persist(Mockito.any(), Mockito.any())).thenReturn(42L);
+        Mockito.when(repository.release(Mockito.eq(7L), Mockito.eq(1), Mockito.eq(OriginationStatusEnum.COMPLETED),
+                Mockito.eq(42L), Mockito.isNull(), Mockito.any())).thenReturn(1);
+
+        service.process(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Mockito.verify(loanService).schedule(Mockito.any());
+        Mockito.verify(repository, Mockito.times(1)).release(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should skip a job claimed by another worker")
+    void shouldSkipAJobClaimedByAnotherWorker() {
+
+        Mockito.when(repository.claim(Mockito.eq(7L), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+
+        service.process(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.any());
+        Mockito.verifyNoInteractions(loanService);
+
+    }
+
+    @Test
+    @DisplayName("Should leave the job to its new claim when the lease was lost")
+    void shouldLeaveTheJobToItsNewClaimWhenTheLeaseWasLost() {
+
+        claimed(1);
+        inTransaction();
+        Mockito.when(customerRepository.findById(1L))
+                .thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        Mockito.when(loanService.persist(Mockito.any(), Mockito.any())).thenReturn(42L);
+        Mockito.when(repository.release(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(0);
+
+        service.process(7L, OriginationStatusEnum.PROCESSING, LocalDateTime.now());
+
+        Mockito.verify(repository, Mockito.times(1)).release(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should put the job back to pending when an attempt fails")
+    void shouldPutTheJobBackToPendingWhenAnAttemptFails() {
+
+        claimed(1);
+        Mockito.doThrow(new ConnectionFailedException("Installment Microservice connection failed"))
+                .when(loanService).schedule(Mockito.any());
+
+        service.process(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Mockito.verify(repository).release(Mockito.eq(7L), Mockito.eq(1), Mockito.eq(OriginationStatusEnum.PENDING),
+                Mockito.isNull(), Mockito.eq("Installment Microservice connection failed"), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should fail the job once its attempts are exhausted")
+    void shouldFailTheJobOnceItsAttemptsAreExhausted() {
+
+        claimed(3);
+        Mockito.doThrow(new ConnectionFailedException("Installment Microservice connection failed"))
+                .when(loanService).schedule(Mockito.any());
+
+        service.process(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Mockito.verify(repository).release(Mockito.eq(7L), Mockito.eq(3), Mockito.eq(OriginationStatusEnum.FAILED),
+                Mockito.isNull(), Mockito.eq("Installment Microservice connection failed"), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should fail the job at once when the customer was deleted meanwhile")
+    void shouldFailTheJobAtOnceWhenTheCustomerWasDeletedMeanwhile() {
+
+        claimed(1);
+        inTransaction();
+        Mockito.when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+
+        service.process(7L, OriginationStatusEnum.PENDING, LocalDateTime.now());
+
+        Mockito.verify(repository).release(Mockito.eq(7L), Mockito.eq(1), Mockito.eq(OriginationStatusEnum.FAILED),
+                Mockito.isNull(), Mockito.eq("Customer not found"), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("Should queue the jobs past their lease and the jobs left pending on poll")
+    void shouldQueueTheJobsPastTheirLeaseAndTheJobsLeftPendingOnPoll() {
+
+        Mockito.when(repository.findIdsByStatusUpdatedBefore(Mockito.eq(OriginationStatusEnum.PROCESSING),
+                Mockito.any(), Mockito.any())).thenReturn(List.of(1L));
+        Mockito.when(repository.findIdsByStatusUpdatedBefore(Mockito.eq(OriginationStatusEnum.PENDING),
+                Mockito.any(), Mockito.any())).thenReturn(List.of(2L, 3L));
+
+        service.dispatchPending();
+
+        Assertions.assertEquals(3, queued.size());
+
+    }
+
+    @Test
+    @DisplayName("Should test findByJobId method with exception")
+    void shouldTestFindByJobIdMethodWithException() {
+
+        Mockito.when(repository.findDTOByJobId(Mockito.any())).thenReturn(Optional.empty());
+
+        try {
+            service.findByJobId("missing");
+            Assertions.fail();
+        }
+        catch (ObjectNotFoundException exception) {
+            Assertions.assertEquals("Loan origination not found", exception.getMessage());
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.entities.CustomerEntity;
+import br.com.loanapi.proxys.ResilientInstallmentClient;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.InstallmentRepository;
+import br.com.loanapi.repositories.LoanRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Writes a customer and its loan to the MySQL of application.yml (deleting them afterwards), so it only runs with
+ ** mvn test -Plive-database */
+@Tag("live-database")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Service: Loan statements")
+class LoanServiceStatementsTest {
+
+    @Autowired
+    LoanService service;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    LoanRepository loanRepository;
+
+    @Autowired
+    InstallmentRepository installmentRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    ResilientInstallmentClient installmentClient;
+
+    Long customerId;
+
+    /** Deletes only the rows created by the test: the customer cascades to its loan and the loan to its installments */
+    @AfterEach
+    void cleanUp() {
+        if (customerId != null) customerRepository.deleteById(customerId);
+    }
+
+    @Test
+    @DisplayName("Should insert a loan of 360 installments in a handful of statements")
+    void shouldInsertALoanOf360InstallmentsInAHandfulOfStatements() {
+
+        CustomerEntity customer = CustomerEntityDataBuilder.builder().build();
+        customer.setId(null);
+        customer.setAddress(null);
+        customer = customerRepository.save(customer);
+        customerId = customer.getId();
+
+        List<InstallmentDTO> installments = new ArrayList<>();
+        for (int month = 1; month <= 360; month++) {
+            InstallmentDTO installment = InstallmentDTODataBuilder.builder().withoutLoan().build();
+            installment.setId(null);
+            installment.setMonth(month);
+            installments.add(installment);
+        }
+        LoanDTO loan = LoanDTODataBuilder.builder().withoutCustomer().build();
+        loan.setId(null);
+        loan.setNumberOfInstallments(360);
+
+        Mockito.when(installmentClient.calculateInstallments(Mockito.any())).thenReturn(installments);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        service.create(customer.getId(), loan);
+
+        Assertions.assertEquals(361, statistics.getEntityInsertCount());
+        /* The customer select, the sequences, the loan insert and the installment insert, prepared once and executed
+         * in batches of 100. Without batching every installment would prepare its own statement */
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 10,
+                statistics.getPrepareStatementCount() + " statements");
+
+        LoanDTO saved = loanRepository.findDTOsByCustomerId(customer.getId()).get(0);
+        installmentRepository.fillInstallments(List.of(saved));
+        Assertions.assertEquals(360, saved.getInstallments().size());
+
+    }
+
+}
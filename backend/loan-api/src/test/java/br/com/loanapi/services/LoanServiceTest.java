@@ -1,6 +1,5 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.mocks.dto.InstallmentDTODataBuilder;
@@ -8,9 +7,13 @@ import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
 import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
 import br.com.loanapi.mocks.entity.LoanEntityDataBuilder;
 import br.com.loanapi.models.dto.InstallmentDTO;
-import br.com.loanapi.models.entities.LoanEntity;
-import br.com.loanapi.proxys.InstallmentServiceProxy;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.models.mappers.EntityMapperImpl;
+import br.com.loanapi.proxys.InstallmentCalculationCoalescer;
+import br.com.loanapi.proxys.ResilientInstallmentClient;
 import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.InstallmentRepository;
 import br.com.loanapi.repositories.LoanRepository;
 import br.com.loanapi.validations.LoanValidation;
 import org.junit.jupiter.api.Assertions;
@@ -20,14 +23,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.ResponseEntity;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @SpringBootTest
 @DisplayName("Service: Loan")
@@ -44,13 +47,16 @@ class LoanServiceTest {
     LoanRepository repository;
 
     @Mock
-    InstallmentServiceProxy proxy;
+    ResilientInstallmentClient installmentClient;
 
     @Mock
     CustomerRepository customerRepository;
 
     @Mock
-    ModelMapperConfig modelMapper;
+    InstallmentRepository installmentRepository;
+
+    @Spy
+    EntityMapper mapper = new EntityMapperImpl();
 
     @Test
     @DisplayName("Should test create method with success")
@@ -59,9 +65,8 @@ class LoanServiceTest {
         List<InstallmentDTO> installmentDTOList = new ArrayList<>();
         installmentDTOList.add(InstallmentDTODataBuilder.builder().build());
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(validation.validateRequest(Mockito.any())).thenReturn(true);
-        Mockito.when(proxy.calculateInstallments(Mockito.any())).thenReturn(ResponseEntity.ok().body(installmentDTOList));
+        Mockito.when(installmentClient.calculateInstallments(Mockito.any())).thenReturn(installmentDTOList);
         Mockito.when(customerRepository.findById(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().withLoanList().build()));
 
         Assertions.assertEquals("LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, debitBalance=5000.0, " +
@@ -100,25 +105,51 @@ class LoanServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should calculate the installments in-process in embedded calculation mode")
+    void shouldCalculateTheInstallmentsInProcessInEmbeddedCalculationMode() {
+
+        List<InstallmentDTO> installments = List.of(InstallmentDTODataBuilder.builder().build());
+        service.embeddedCalculation = Mockito.mock(EmbeddedCalculationService.class);
+        Mockito.when(service.embeddedCalculation.calculateInstallments(Mockito.any())).thenReturn(installments);
+
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        service.schedule(loan);
+
+        Assertions.assertEquals(installments, loan.getInstallments());
+        Mockito.verifyNoInteractions(installmentClient);
+
+    }
+
+    @Test
+    @DisplayName("Should coalesce the calculation when coalescing is enabled")
+    void shouldCoalesceTheCalculationWhenCoalescingIsEnabled() {
+
+        List<InstallmentDTO> installments = List.of(InstallmentDTODataBuilder.builder().build());
+        service.coalescer = Mockito.mock(InstallmentCalculationCoalescer.class);
+        Mockito.when(service.coalescer.calculateInstallments(Mockito.any())).thenReturn(installments);
+
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        service.schedule(loan);
+
+        Assertions.assertEquals(installments, loan.getInstallments());
+        Mockito.verifyNoInteractions(installmentClient);
+
+    }
+
     @Test
     @DisplayName("Should test findAll method with success")
     void shouldTestFindAllMethodWithSuccess() {
 
-        List<LoanEntity> loans = new ArrayList<>();
-        loans.add(LoanEntityDataBuilder.builder().build());
+        List<LoanDTO> loans = new ArrayList<>();
+        loans.add(LoanDTODataBuilder.builder().withoutCustomer().build());
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findAll()).thenReturn(loans);
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(loans);
 
-        Assertions.assertEquals("[LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, " +
+        Assertions.assertEquals("PageDTO(content=[LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, " +
                         "debitBalance=2800.0, interestRate=10.0, numberOfInstallments=10, " +
-                        "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, " +
-                        "customer=CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
-                        "signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, email=joao@email.com, " +
-                        "pontuation=null, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
-                        "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null), " +
-                        "phones=null, loans=null), installments=null)]",
-                service.findAll().toString());
+                        "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, customer=null, installments=[])], next=null)",
+                service.findAll(null, null).toString());
 
     }
 
@@ -127,11 +158,11 @@ class LoanServiceTest {
     @DisplayName("Should test findAll method with exception")
     void shouldTestFindAllMethodWithException(){
 
-        List<LoanEntity> loans = new ArrayList<>();
-        Mockito.when(repository.findAll()).thenReturn(loans);
+        List<LoanDTO> loans = new ArrayList<>();
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(loans);
 
         try {
-            service.findAll();
+            service.findAll(null, null);
             Assertions.fail();
         }
         catch(ObjectNotFoundException exception) {
@@ -144,18 +175,48 @@ class LoanServiceTest {
     @DisplayName("Should test findById method with success")
     void shouldTestFindByIdMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(LoanEntityDataBuilder.builder().build()));
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(LoanDTODataBuilder.builder().withoutCustomer().build()));
 
         Assertions.assertEquals("LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, " +
                         "debitBalance=2800.0, interestRate=10.0, numberOfInstallments=10, " +
-                        "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, " +
-                        "customer=CustomerDTO(id=1, name=João, lastName=da Silva, birthDate=11-11-2011, " +
-                        "signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, email=joao@email.com, " +
-                        "pontuation=null, address=AddressDTO(id=1, street=Rua 9, neighborhood=Lauzane Paulista, " +
-                        "number=583, postalCode=02442-090, city=São Paulo, state=SAO_PAULO, customers=null), " +
-                        "phones=null, loans=null), installments=null)",
-                service.findById(1L).toString());
+                        "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, customer=null, installments=[])",
+                service.findById(1L, null).toString());
+
+    }
+
+    @Test
+    @DisplayName("Should test findById method including the installments")
+    void shouldTestFindByIdMethodIncludingInstallments() {
+
+        InstallmentDTO installment = InstallmentDTODataBuilder.builder().build();
+        installment.getLoan().setId(1L);
+
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(LoanDTODataBuilder.builder().withoutCustomer().build()));
+        Mockito.when(installmentRepository.findDTOsByLoanIds(Mockito.any())).thenReturn(List.of(installment));
+        Mockito.doCallRealMethod().when(installmentRepository).fillInstallments(Mockito.any());
+
+        Assertions.assertEquals("LoanDTO(id=1, startDate=11-11-2011, originalValue=5000.0, " +
+                        "debitBalance=2800.0, interestRate=10.0, numberOfInstallments=10, " +
+                        "paymentDate=FIFTH_BUSINESS_DAY, amortization=SAC, customer=null, " +
+                        "installments=[InstallmentDTO(id=1, maturityDate=11-11-2011, paymentDate=11-11-2021, " +
+                        "month=4, amortization=1000.0, interest=10.0, value=1100.0, loan=null)])",
+                service.findById(1L, Set.of("installments")).toString());
+
+    }
+
+    @Test
+    @DisplayName("Should test findById method with an invalid include")
+    void shouldTestFindByIdMethodWithInvalidInclude() {
+
+        try {
+            service.findById(1L, Set.of("customer"));
+            Assertions.fail();
+        }
+        catch (InvalidRequestException exception){
+            Assertions.assertEquals("Invalid include customer, expected one of installments", exception.getMessage());
+        }
 
     }
 
@@ -163,11 +224,10 @@ class LoanServiceTest {
     @DisplayName("Should test findById method with exception")
     void shouldTestFindByIdMethodWithException() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.empty());
 
         try {
-            service.findById(1L);
+            service.findById(1L, null);
         }
         catch (ObjectNotFoundException exception){
             Assertions.assertEquals("Loan not found", exception.getMessage());
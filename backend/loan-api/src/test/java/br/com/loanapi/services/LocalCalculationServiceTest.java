@@ -0,0 +1,57 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.mocks.dto.LoanDTODataBuilder;
+import br.com.loanapi.models.dto.InstallmentDTO;
+import br.com.loanapi.models.dto.LoanDTO;
+import br.com.loanapi.models.enums.AmortizationEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+@DisplayName("Service: LocalCalculation")
+class LocalCalculationServiceTest {
+
+    @Test
+    @DisplayName("Should calculate the same SAC schedule of the installment-service")
+    void shouldCalculateTheSameSacScheduleOfTheInstallmentService() throws IOException {
+
+        List<InstallmentDTO> installments = new LocalCalculationService("")
+                .calculateInstallments(LoanDTODataBuilder.builder().build());
+
+        Assertions.assertEquals(10, installments.size());
+        Assertions.assertEquals(new InstallmentDTO(null, "17-6-8", null, 1, 500.0, 500.0, 1000.0), installments.get(0));
+        Assertions.assertEquals(new InstallmentDTO(null, "18-3-9", null, 10, 500.0, 50.0, 550.0), installments.get(9));
+
+    }
+
+    @Test
+    @DisplayName("Should calculate the same PRICE schedule of the installment-service")
+    void shouldCalculateTheSamePriceScheduleOfTheInstallmentService() throws IOException {
+
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setAmortization(AmortizationEnum.PRICE);
+
+        List<InstallmentDTO> installments = new LocalCalculationService("").calculateInstallments(loan);
+
+        Assertions.assertEquals(new InstallmentDTO(null, "17-6-8", null, 1, 313.73, 500.0, 813.73), installments.get(0));
+        Assertions.assertEquals(5000.0, installments.stream().mapToDouble(InstallmentDTO::getAmortization).sum(), 0.001);
+
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid start date")
+    void shouldRejectAnInvalidStartDate() throws IOException {
+
+        LoanDTO loan = LoanDTODataBuilder.builder().build();
+        loan.setStartDate("11/11/2011");
+        LocalCalculationService service = new LocalCalculationService("");
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.calculateInstallments(loan));
+
+    }
+
+}
@@ -1,12 +1,13 @@
 package br.com.loanapi.services;
 
-import br.com.loanapi.config.ModelMapperConfig;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.exceptions.ObjectNotFoundException;
 import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
 import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
 import br.com.loanapi.mocks.entity.PhoneEntityDataBuilder;
-import br.com.loanapi.models.entities.PhoneEntity;
+import br.com.loanapi.models.dto.PhoneDTO;
+import br.com.loanapi.models.mappers.EntityMapper;
+import br.com.loanapi.models.mappers.EntityMapperImpl;
 import br.com.loanapi.repositories.CustomerRepository;
 import br.com.loanapi.repositories.PhoneRepository;
 import br.com.loanapi.validations.PhoneValidation;
@@ -17,9 +18,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,13 +45,15 @@ class PhoneServiceTest {
     CustomerRepository customerRepository;
 
     @Mock
-    ModelMapperConfig modelMapper;
+    UniquenessFilterService uniquenessFilter;
+
+    @Spy
+    EntityMapper mapper = new EntityMapperImpl();
 
     @Test
     @DisplayName("Should test create method with success")
     void shouldTestCreateMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
         Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         Mockito.when(customerRepository.findById(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().withAddresssWithCustomers().withPhoneList().build()));
         Mockito.when(repository.save(Mockito.any())).thenReturn(PhoneEntityDataBuilder.builder().build());
@@ -64,6 +68,47 @@ class PhoneServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should test create method with a duplicate found by the uniqueness filter")
+    void shouldTestCreateMethodWithADuplicateFoundByTheUniquenessFilter() {
+
+        Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        Mockito.when(customerRepository.findById(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        Mockito.when(uniquenessFilter.mightContain(Mockito.any(PhoneDTO.class))).thenReturn(true);
+        Mockito.when(validation.exists(Mockito.any(PhoneDTO.class), Mockito.any()))
+                .thenThrow(new InvalidRequestException("The phone already exist at database"));
+
+        try {
+            service.create(PhoneDTODataBuilder.builder().withMockedCustomer().build());
+            Assertions.fail();
+        }
+        catch(InvalidRequestException exception) {
+            Assertions.assertEquals("The phone already exist at database", exception.getMessage());
+            Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+        }
+
+    }
+
+    @Test
+    @DisplayName("Should test create method with a duplicated phone")
+    void shouldTestCreateMethodWithADuplicatedPhone() {
+
+        Mockito.when(validation.validateRequest(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        Mockito.when(customerRepository.findById(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        Mockito.when(repository.save(Mockito.any())).thenThrow(new DataIntegrityViolationException("uk_phone_prefix_number"));
+        Mockito.when(validation.exists(Mockito.any(PhoneDTO.class), Mockito.any()))
+                .thenThrow(new InvalidRequestException("The phone already exist at database"));
+
+        try {
+            service.create(PhoneDTODataBuilder.builder().withMockedCustomer().build());
+            Assertions.fail();
+        }
+        catch(InvalidRequestException exception) {
+            Assertions.assertEquals("The phone already exist at database", exception.getMessage());
+        }
+
+    }
+
     @Test
     @DisplayName("Should test create method with exception")
     void shouldTestCreateMethodWithException(){
@@ -82,19 +127,14 @@ class PhoneServiceTest {
     @DisplayName("Should test findAll method with success")
     void shouldTestFindAllMethodWithSuccess() {
 
-        List<PhoneEntity> phones = new ArrayList<>();
-        phones.add(PhoneEntityDataBuilder.builder().build());
+        List<PhoneDTO> phones = new ArrayList<>();
+        phones.add(PhoneDTODataBuilder.builder().withoutCustomer().build());
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findAll()).thenReturn(phones);
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(phones);
 
-        Assertions.assertEquals("[PhoneDTO(id=1, prefix=11, number=97981-5415, phoneType=MOBILE, " +
-                        "customerJsonId=null, customer=CustomerDTO(id=1, name=João, lastName=da Silva, " +
-                        "birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, " +
-                        "email=joao@email.com, pontuation=null, address=AddressDTO(id=1, street=Rua 9, " +
-                        "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
-                        "state=SAO_PAULO, customers=null), phones=null, loans=null))]",
-                service.findAll().toString());
+        Assertions.assertEquals("PageDTO(content=[PhoneDTO(id=1, prefix=11, number=97981-5415, phoneType=MOBILE, " +
+                        "customerJsonId=1, customer=null)], next=null)",
+                service.findAll(null, null).toString());
 
     }
 
@@ -103,11 +143,11 @@ class PhoneServiceTest {
     @DisplayName("Should test findAll method with exception")
     void shouldTestFindAllMethodWithException(){
 
-        List<PhoneEntity> phones = new ArrayList<>();
-        Mockito.when(repository.findAll()).thenReturn(phones);
+        List<PhoneDTO> phones = new ArrayList<>();
+        Mockito.when(repository.findPageAfter(Mockito.any(), Mockito.any())).thenReturn(phones);
 
         try {
-            service.findAll();
+            service.findAll(null, null);
             Assertions.fail();
         }
         catch(ObjectNotFoundException exception) {
@@ -120,15 +160,11 @@ class PhoneServiceTest {
     @DisplayName("Should test findById method with success")
     void shouldTestFindByIdMethodWithSuccess() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.of(PhoneEntityDataBuilder.builder().build()));
+        Mockito.when(repository.findDTOById(Mockito.any()))
+                .thenReturn(Optional.of(PhoneDTODataBuilder.builder().withoutCustomer().build()));
 
         Assertions.assertEquals("PhoneDTO(id=1, prefix=11, number=97981-5415, phoneType=MOBILE, " +
-                        "customerJsonId=null, customer=CustomerDTO(id=1, name=João, lastName=da Silva, " +
-                        "birthDate=11-11-2011, signUpDate=11-11-2021, rg=55.626.926-4, cpf=391.534.277-44, " +
-                        "email=joao@email.com, pontuation=null, address=AddressDTO(id=1, street=Rua 9, " +
-                        "neighborhood=Lauzane Paulista, number=583, postalCode=02442-090, city=São Paulo, " +
-                        "state=SAO_PAULO, customers=null), phones=null, loans=null))",
+                        "customerJsonId=1, customer=null)",
                 service.findById(1L).toString());
 
     }
@@ -137,8 +173,7 @@ class PhoneServiceTest {
     @DisplayName("Should test findById method with exception")
     void shouldTestFindByIdMethodWithException() {
 
-        Mockito.when(modelMapper.mapper()).thenReturn(new ModelMapper());
-        Mockito.when(repository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOById(Mockito.any())).thenReturn(Optional.empty());
 
         try {
             service.findById(1L);
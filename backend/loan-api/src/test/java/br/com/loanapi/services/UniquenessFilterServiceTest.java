@@ -0,0 +1,130 @@
+package br.com.loanapi.services;
+
+import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
+import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
+import br.com.loanapi.models.dto.CustomerDTO;
+import br.com.loanapi.models.dto.PhoneDTO;
+import br.com.loanapi.models.dto.UniquenessFilterStatsDTO;
+import br.com.loanapi.repositories.CustomerRepository;
+import br.com.loanapi.repositories.PhoneRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+@DisplayName("Service: Uniqueness filter")
+@ExtendWith(MockitoExtension.class)
+class UniquenessFilterServiceTest {
+
+    UniquenessFilterService service;
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    @Mock
+    PhoneRepository phoneRepository;
+
+    @BeforeEach
+    void setUp() {
+        service = new UniquenessFilterService(1000, 0.01);
+        service.customerRepository = customerRepository;
+        service.phoneRepository = phoneRepository;
+    }
+
+    void rebuild() {
+        Mockito.when(customerRepository.count()).thenReturn(1L);
+        Mockito.when(phoneRepository.count()).thenReturn(1L);
+        Mockito.when(customerRepository.streamUniqueKeys()).thenReturn(Stream.<Object[]>of(
+                new Object[] {"55.626.926-4", "391.534.277-44", "joao@email.com"}));
+        Mockito.when(phoneRepository.streamUniqueKeys()).thenReturn(Stream.<Object[]>of(
+                new Object[] {11, "97981-5415"}));
+        service.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should report every customer as a possible duplicate before the first build")
+    void shouldReportEveryCustomerAsAPossibleDuplicateBeforeTheFirstBuild() {
+        Assertions.assertTrue(service.mightContain(CustomerDTODataBuilder.builder().build()));
+        Assertions.assertNull(service.stats().getLastRebuild());
+    }
+
+    @Test
+    @DisplayName("Should find the keys streamed from the tables, whatever their punctuation or case")
+    void shouldFindTheKeysStreamedFromTheTables() {
+
+        rebuild();
+
+        CustomerDTO customer = CustomerDTODataBuilder.builder().build();
+        customer.setRg("99.999.999-9");
+        customer.setCpf("39153427744");
+        customer.setEmail("other@email.com");
+        Assertions.assertTrue(service.mightContain(customer));
+
+        customer.setCpf("111.222.333-44");
+        customer.setEmail(" JOAO@email.com");
+        Assertions.assertTrue(service.mightContain(customer));
+
+        Assertions.assertTrue(service.mightContain(PhoneDTODataBuilder.builder().build()));
+
+    }
+
+    @Test
+    @DisplayName("Should miss the keys never saved and find them once put")
+    void shouldMissTheKeysNeverSavedAndFindThemOncePut() {
+
+        rebuild();
+
+        CustomerDTO customer = CustomerDTODataBuilder.builder().build();
+        customer.setRg("99.999.999-9");
+        customer.setCpf("111.222.333-44");
+        customer.setEmail("other@email.com");
+        PhoneDTO phone = PhoneDTODataBuilder.builder().build();
+        phone.setNumber("3333-4444");
+
+        Assertions.assertFalse(service.mightContain(customer));
+        Assertions.assertFalse(service.mightContain(phone));
+
+        service.put(customer);
+        service.put(phone);
+
+        Assertions.assertTrue(service.mightContain(customer));
+        Assertions.assertTrue(service.mightContain(phone));
+
+    }
+
+    @Test
+    @DisplayName("Should expose the size and the counters of the filter")
+    void shouldExposeTheSizeAndTheCountersOfTheFilter() {
+
+        rebuild();
+
+        CustomerDTO customer = CustomerDTODataBuilder.builder().build();
+        customer.setRg("99.999.999-9");
+        customer.setCpf("111.222.333-44");
+        customer.setEmail("other@email.com");
+        service.mightContain(customer);
+        service.mightContain(CustomerDTODataBuilder.builder().build());
+        service.falsePositive();
+        service.removed();
+
+        UniquenessFilterStatsDTO stats = service.stats();
+        Assertions.assertEquals(4L, stats.getKeys());
+        Assertions.assertEquals(9600L, stats.getBitSize());
+        Assertions.assertEquals(7, stats.getHashFunctions());
+        Assertions.assertEquals(1200L, stats.getMemoryBytes());
+        Assertions.assertEquals(1L, stats.getDefiniteMisses());
+        Assertions.assertEquals(1L, stats.getPossibleDuplicates());
+        Assertions.assertEquals(1L, stats.getFalsePositives());
+        Assertions.assertEquals(0.5, stats.getObservedFalsePositiveRate());
+        Assertions.assertEquals(1L, stats.getRemovedSinceRebuild());
+        Assertions.assertTrue(stats.getExpectedFalsePositiveRate() < 0.01);
+
+    }
+
+}
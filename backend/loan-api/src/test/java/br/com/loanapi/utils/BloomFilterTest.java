@@ -0,0 +1,50 @@
+package br.com.loanapi.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Util: Bloom filter")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should size the filter by the expected keys and false positive rate")
+    void shouldSizeTheFilterByTheExpectedKeysAndFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        Assertions.assertEquals(9600, filter.bitSize());
+        Assertions.assertEquals(7, filter.hashFunctions());
+        Assertions.assertEquals(1200, filter.memoryBytes());
+        Assertions.assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("Should contain every key put")
+    void shouldContainEveryKeyPut() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("cpf:" + i);
+        for (int i = 0; i < 10_000; i++) Assertions.assertTrue(filter.mightContain("cpf:" + i));
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate it was sized for")
+    void shouldKeepTheFalsePositiveRateItWasSizedFor() {
+
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("email:customer" + i + "@email.com");
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) if (filter.mightContain("email:other" + i + "@email.com")) falsePositives++;
+
+        Assertions.assertTrue(falsePositives < 1500, falsePositives + " false positives");
+        Assertions.assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+
+    }
+
+    @Test
+    @DisplayName("Should reject a false positive rate out of (0, 1)")
+    void shouldRejectAFalsePositiveRateOutOfRange() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1000, 0.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1000, 1.0));
+    }
+
+}
@@ -0,0 +1,118 @@
+package br.com.loanapi.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Util: CircuitBreaker")
+class CircuitBreakerTest {
+
+    long now;
+
+    CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(10, 4, 50, TimeUnit.SECONDS.toNanos(10), 2, () -> now);
+    }
+
+    void calls(int successes, int failures) {
+        for (int i = 0; i < successes; i++) circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+        for (int i = 0; i < failures; i++) circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the minimum calls were made")
+    void shouldStayClosedUntilTheMinimumCallsWereMade() {
+
+        calls(0, 3);
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        Assertions.assertEquals(100.0, circuitBreaker.failureRate());
+
+    }
+
+    @Test
+    @DisplayName("Should open at the failure rate threshold and reject the calls while open")
+    void shouldOpenAtTheFailureRateThresholdAndRejectTheCallsWhileOpen() {
+
+        calls(3, 2);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        calls(0, 1);
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        Assertions.assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+        Assertions.assertEquals(1L, circuitBreaker.openings());
+        Assertions.assertEquals(1L, circuitBreaker.rejections());
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(10), circuitBreaker.remainingOpenNanos());
+
+    }
+
+    @Test
+    @DisplayName("Should only count the latest calls of the window")
+    void shouldOnlyCountTheLatestCallsOfTheWindow() {
+
+        calls(0, 3);
+        calls(10, 0);
+
+        Assertions.assertEquals(0.0, circuitBreaker.failureRate());
+
+    }
+
+    @Test
+    @DisplayName("Should close after the trial calls of the half open circuit succeed")
+    void shouldCloseAfterTheTrialCallsOfTheHalfOpenCircuitSucceed() {
+
+        calls(0, 4);
+        now += TimeUnit.SECONDS.toNanos(10);
+
+        long first = circuitBreaker.tryAcquire();
+        long second = circuitBreaker.tryAcquire();
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        Assertions.assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess(first);
+        circuitBreaker.onSuccess(second);
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        Assertions.assertEquals(0.0, circuitBreaker.failureRate());
+
+    }
+
+    @Test
+    @DisplayName("Should open again when a trial call fails")
+    void shouldOpenAgainWhenATrialCallFails() {
+
+        calls(0, 4);
+        now += TimeUnit.SECONDS.toNanos(10);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        Assertions.assertEquals(2L, circuitBreaker.openings());
+
+    }
+
+    @Test
+    @DisplayName("Should ignore the outcome of a call permitted before the circuit opened")
+    void shouldIgnoreTheOutcomeOfACallPermittedBeforeTheCircuitOpened() {
+
+        long slow = circuitBreaker.tryAcquire();
+        calls(0, 4);
+        now += TimeUnit.SECONDS.toNanos(10);
+        long trial = circuitBreaker.tryAcquire();
+
+        circuitBreaker.onSuccess(slow);
+        circuitBreaker.onSuccess(slow);
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+
+        circuitBreaker.release(trial);
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.loanapi.utils;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+@DisplayName("Util: Includes")
+class IncludesTest {
+
+    @Test
+    @DisplayName("Should include nothing when no collection is requested")
+    void shouldIncludeNothingWhenNoCollectionIsRequested() {
+        Assertions.assertEquals(Set.of(), Includes.parse(null, Includes.PHONES, Includes.LOANS));
+        Assertions.assertEquals(Set.of(), Includes.parse(Set.of(" "), Includes.PHONES, Includes.LOANS));
+    }
+
+    @Test
+    @DisplayName("Should include the requested collections")
+    void shouldIncludeTheRequestedCollections() {
+        Assertions.assertEquals(Set.of("phones", "loans"),
+                Includes.parse(Set.of("phones", " loans"), Includes.PHONES, Includes.LOANS, Includes.INSTALLMENTS));
+    }
+
+    @Test
+    @DisplayName("Should reject a collection the endpoint doesn't have")
+    void shouldRejectUnknownCollection() {
+        InvalidRequestException exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> Includes.parse(Set.of("address"), Includes.PHONES, Includes.LOANS));
+        Assertions.assertEquals("Invalid include address, expected one of phones, loans", exception.getMessage());
+    }
+
+}
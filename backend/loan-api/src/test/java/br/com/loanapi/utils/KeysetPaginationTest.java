@@ -0,0 +1,45 @@
+package br.com.loanapi.utils;
+
+import br.com.loanapi.exceptions.InvalidRequestException;
+import br.com.loanapi.models.dto.PageDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+@DisplayName("Util: KeysetPagination")
+class KeysetPaginationTest {
+
+    @Test
+    @DisplayName("Should continue after the last id of a full page")
+    void shouldContinueAfterTheLastIdOfAFullPage() {
+
+        PageDTO<Long> page = KeysetPagination.page(List.of(3L, 7L, 9L), 2, Function.identity(), Function.identity());
+
+        Assertions.assertEquals(List.of(3L, 7L), page.getContent());
+        Assertions.assertEquals(7L, KeysetPagination.afterId(page.getNext()));
+        Assertions.assertEquals(3, KeysetPagination.pageable(2).getPageSize());
+
+    }
+
+    @Test
+    @DisplayName("Should end on a page without the extra row")
+    void shouldEndOnAPageWithoutTheExtraRow() {
+        PageDTO<Long> page = KeysetPagination.page(List.of(3L, 7L), 2, Function.identity(), Function.identity());
+        Assertions.assertEquals(new PageDTO<>(List.of(3L, 7L), null), page);
+        Assertions.assertEquals(0L, KeysetPagination.afterId(null));
+    }
+
+    @Test
+    @DisplayName("Should cap the limit and reject invalid limits and tokens")
+    void shouldCapTheLimitAndRejectInvalidLimitsAndTokens() {
+        Assertions.assertEquals(KeysetPagination.DEFAULT_LIMIT, KeysetPagination.limit(null));
+        Assertions.assertEquals(KeysetPagination.MAX_LIMIT, KeysetPagination.limit(1_000_000));
+        Assertions.assertThrows(InvalidRequestException.class, () -> KeysetPagination.limit(0));
+        Assertions.assertThrows(InvalidRequestException.class, () -> KeysetPagination.afterId("not a token"));
+        Assertions.assertThrows(InvalidRequestException.class, () -> KeysetPagination.afterId("AAAA"));
+    }
+
+}
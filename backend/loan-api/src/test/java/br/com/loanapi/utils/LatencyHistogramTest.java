@@ -0,0 +1,55 @@
+package br.com.loanapi.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Utils: LatencyHistogram")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should read the percentiles within a sixteenth of the recorded values")
+    void shouldReadThePercentilesWithinASixteenthOfTheRecordedValues() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) histogram.record(millis * 1_000_000L);
+
+        Assertions.assertEquals(1000L, histogram.count());
+        Assertions.assertEquals(500.5, histogram.meanMillis(), 1e-9);
+        Assertions.assertEquals(1000.0, histogram.maxMillis(), 1e-9);
+        Assertions.assertEquals(500.0, histogram.percentileMillis(0.5), 500.0 / 16);
+        Assertions.assertEquals(990.0, histogram.percentileMillis(0.99), 990.0 / 16);
+        Assertions.assertTrue(histogram.percentileMillis(1.0) <= 1000.0);
+
+    }
+
+    @Test
+    @DisplayName("Should keep a bucket per microsecond below 8 us")
+    void shouldKeepABucketPerMicrosecondBelow8Us() {
+        for (int micros = 0; micros < 8; micros++) {
+            Assertions.assertEquals(micros, LatencyHistogram.index(micros));
+            Assertions.assertEquals(micros, LatencyHistogram.middleMicros(micros), 1e-9);
+        }
+        Assertions.assertEquals(8, LatencyHistogram.index(8));
+        Assertions.assertEquals(16, LatencyHistogram.index(16));
+        Assertions.assertEquals(17, LatencyHistogram.index(18));
+    }
+
+    @Test
+    @DisplayName("Should place every value inside the bucket it reports")
+    void shouldPlaceEveryValueInsideTheBucketItReports() {
+        for (long micros = 8; micros < 1_000_000; micros = micros * 3 / 2 + 1) {
+            double middle = LatencyHistogram.middleMicros(LatencyHistogram.index(micros));
+            Assertions.assertEquals(micros, middle, micros / 16.0 + 0.5, String.valueOf(micros));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer zero while empty")
+    void shouldAnswerZeroWhileEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0.0, histogram.percentileMillis(0.99));
+        Assertions.assertEquals(0.0, histogram.meanMillis());
+    }
+
+}
@@ -0,0 +1,136 @@
+package br.com.loanapi.utils;
+
+import br.com.loanapi.utils.LeastOutstandingBalancer.Instance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@DisplayName("Util: LeastOutstandingBalancer")
+class LeastOutstandingBalancerTest {
+
+    LeastOutstandingBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        balancer = new LeastOutstandingBalancer(List.of("localhost:8091", "localhost:8092", "http://localhost:8093/"), 2);
+    }
+
+    Instance instance(int index) {
+        return balancer.instances().get(index);
+    }
+
+    @Test
+    @DisplayName("Should normalize the addresses into base urls")
+    void shouldNormalizeTheAddressesIntoBaseUrls() {
+        Assertions.assertEquals("http://localhost:8091", instance(0).baseUrl());
+        Assertions.assertEquals("http://localhost:8093", instance(2).baseUrl());
+    }
+
+    @Test
+    @DisplayName("Should spread the calls of an idle service round robin")
+    void shouldSpreadTheCallsOfAnIdleServiceRoundRobin() {
+
+        Set<Instance> chosen = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Instance instance = balancer.choose(Set.of());
+            chosen.add(instance);
+            balancer.finish(instance, true);
+        }
+
+        Assertions.assertEquals(3, chosen.size());
+
+    }
+
+    @Test
+    @DisplayName("Should choose the instance with the fewest calls in flight")
+    void shouldChooseTheInstanceWithTheFewestCallsInFlight() {
+
+        Instance first = balancer.choose(Set.of());
+        Instance second = balancer.choose(Set.of());
+        balancer.choose(Set.of());
+        balancer.finish(second, true);
+
+        Assertions.assertSame(second, balancer.choose(Set.of()));
+        Assertions.assertEquals(1, first.outstanding());
+
+    }
+
+    @Test
+    @DisplayName("Should skip the instances already tried and give up once every one was")
+    void shouldSkipTheInstancesAlreadyTriedAndGiveUpOnceEveryOneWas() {
+
+        Set<Instance> tried = new HashSet<>(List.of(instance(0), instance(1)));
+
+        Assertions.assertSame(instance(2), balancer.choose(tried));
+        tried.add(instance(2));
+        Assertions.assertFalse(balancer.hasUntried(tried));
+        Assertions.assertNull(balancer.choose(tried));
+
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after the consecutive failures until a probe succeeds")
+    void shouldEjectAnInstanceAfterTheConsecutiveFailuresUntilAProbeSucceeds() {
+
+        balancer.finish(balancer.choose(Set.of(instance(1), instance(2))), false);
+        Assertions.assertTrue(instance(0).healthy());
+        balancer.probed(instance(0), false);
+        Assertions.assertFalse(instance(0).healthy());
+
+        for (int i = 0; i < 6; i++) Assertions.assertNotSame(instance(0), balancer.choose(Set.of()));
+
+        balancer.probed(instance(0), true);
+        Assertions.assertTrue(instance(0).healthy());
+        Assertions.assertEquals(1L, instance(0).ejections());
+        Assertions.assertEquals(1L, instance(0).failures());
+
+    }
+
+    @Test
+    @DisplayName("Should reset the failures of an instance on a successful call")
+    void shouldResetTheFailuresOfAnInstanceOnASuccessfulCall() {
+
+        Set<Instance> others = Set.of(instance(1), instance(2));
+        balancer.finish(balancer.choose(others), false);
+        balancer.finish(balancer.choose(others), true);
+        balancer.finish(balancer.choose(others), false);
+
+        Assertions.assertTrue(instance(0).healthy());
+
+    }
+
+    @Test
+    @DisplayName("Should still call an ejected instance when no healthy one is left")
+    void shouldStillCallAnEjectedInstanceWhenNoHealthyOneIsLeft() {
+
+        for (Instance instance : balancer.instances()) {
+            balancer.probed(instance, false);
+            balancer.probed(instance, false);
+        }
+
+        Assertions.assertNotNull(balancer.choose(Set.of()));
+
+    }
+
+    @Test
+    @DisplayName("Should keep the state of the instances kept by an update")
+    void shouldKeepTheStateOfTheInstancesKeptByAnUpdate() {
+
+        Instance kept = instance(1);
+        balancer.choose(Set.of(instance(0), instance(2)));
+
+        balancer.update(List.of("localhost:8092", "localhost:8094"));
+
+        Assertions.assertEquals(2, balancer.instances().size());
+        Assertions.assertSame(kept, instance(0));
+        Assertions.assertEquals(1, kept.outstanding());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> balancer.update(List.of(" ")));
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.com.loanapi.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Util: TimeoutBudget")
+class TimeoutBudgetTest {
+
+    long now;
+
+    TimeoutBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        budget = new TimeoutBudget(3, Duration.ofMillis(200), Duration.ofSeconds(5), Duration.ofMinutes(1), 10,
+                () -> now);
+    }
+
+    void record(int calls, long millis) {
+        for (int i = 0; i < calls; i++) budget.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("Should start at the max budget")
+    void shouldStartAtTheMaxBudget() {
+        record(100, 100);
+        Assertions.assertEquals(5000, budget.millis());
+    }
+
+    @Test
+    @DisplayName("Should derive the budget from the p99 of the previous window")
+    void shouldDeriveTheBudgetFromTheP99OfThePreviousWindow() {
+
+        record(100, 100);
+        now += TimeUnit.MINUTES.toNanos(1);
+
+        Assertions.assertTrue(budget.millis() >= 300 && budget.millis() <= 320, "budget: " + budget.millis());
+
+    }
+
+    @Test
+    @DisplayName("Should keep the budget within the min and the max")
+    void shouldKeepTheBudgetWithinTheMinAndTheMax() {
+
+        record(100, 1);
+        now += TimeUnit.MINUTES.toNanos(1);
+        Assertions.assertEquals(200, budget.millis());
+
+        record(100, 4000);
+        now += TimeUnit.MINUTES.toNanos(1);
+        Assertions.assertEquals(5000, budget.millis());
+
+    }
+
+    @Test
+    @DisplayName("Should keep the last budget after a window with too few calls")
+    void shouldKeepTheLastBudgetAfterAWindowWithTooFewCalls() {
+
+        record(100, 1);
+        now += TimeUnit.MINUTES.toNanos(1);
+        budget.millis();
+
+        record(5, 4000);
+        now += TimeUnit.MINUTES.toNanos(1);
+        Assertions.assertEquals(200, budget.millis());
+
+    }
+
+}
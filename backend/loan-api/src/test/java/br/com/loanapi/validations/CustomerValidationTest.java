@@ -3,7 +3,6 @@ package br.com.loanapi.validations;
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.mocks.dto.CustomerDTODataBuilder;
 import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
-import br.com.loanapi.mocks.entity.CustomerEntityDataBuilder;
 import br.com.loanapi.models.dto.CustomerDTO;
 import br.com.loanapi.models.dto.PhoneDTO;
 import br.com.loanapi.models.enums.ValidationTypeEnum;
@@ -21,7 +20,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @SpringBootTest
 @DisplayName("Validation: Customer")
@@ -191,9 +189,19 @@ class CustomerValidationTest {
     @DisplayName("Should test exists with success")
     void shouldTestExistsWithSuccess() {
 
-        Mockito.when(repository.findByRg(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(repository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(repository.findByEmail(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOsByRgOrCpfOrEmail(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(new ArrayList<>());
+
+        Assertions.assertTrue(validation.exists(CustomerDTODataBuilder.builder().build(), repository));
+
+    }
+
+    @Test
+    @DisplayName("Should test exists with the keys held by the customer itself")
+    void shouldTestExistsWithTheKeysHeldByTheCustomerItself() {
+
+        Mockito.when(repository.findDTOsByRgOrCpfOrEmail(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(CustomerDTODataBuilder.builder().withoutAddress().build()));
 
         Assertions.assertTrue(validation.exists(CustomerDTODataBuilder.builder().build(), repository));
 
@@ -203,9 +211,10 @@ class CustomerValidationTest {
     @DisplayName("Should test exists with all failures")
     void shouldTestExistsWithAllFailures() {
 
-        Mockito.when(repository.findByRg(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
-        Mockito.when(repository.findByCpf(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
-        Mockito.when(repository.findByEmail(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        CustomerDTO holder = CustomerDTODataBuilder.builder().withoutAddress().build();
+        holder.setId(2L);
+        Mockito.when(repository.findDTOsByRgOrCpfOrEmail(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(holder));
 
         try {
             validation.exists(CustomerDTODataBuilder.builder().build(), repository);
@@ -223,9 +232,12 @@ class CustomerValidationTest {
     @DisplayName("Should test exists with just one failure")
     void shouldTestExistsWithJustOneFailure() {
 
-        Mockito.when(repository.findByRg(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(repository.findByCpf(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(repository.findByEmail(Mockito.any())).thenReturn(Optional.of(CustomerEntityDataBuilder.builder().build()));
+        CustomerDTO holder = CustomerDTODataBuilder.builder().withoutAddress().build();
+        holder.setId(2L);
+        holder.setRg("12.345.678-9");
+        holder.setCpf("123.456.789-00");
+        Mockito.when(repository.findDTOsByRgOrCpfOrEmail(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(holder));
 
         try {
             validation.exists(CustomerDTODataBuilder.builder().build(), repository);
@@ -238,6 +250,26 @@ class CustomerValidationTest {
 
     }
 
+    @Test
+    @DisplayName("Should test verifyDuplicates with a duplicated phone")
+    void shouldTestVerifyDuplicatesWithADuplicatedPhone() {
+
+        PhoneDTO savedPhone = PhoneDTODataBuilder.builder().withoutCustomer().build();
+        savedPhone.setId(2L);
+        Mockito.when(repository.findDTOsByRgOrCpfOrEmail(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(new ArrayList<>());
+        Mockito.when(phoneRepository.findDTOsByNumbers(Mockito.any())).thenReturn(List.of(savedPhone));
+
+        try {
+            validation.verifyDuplicates(CustomerDTODataBuilder.builder().withPhone().build(), repository, phoneRepository);
+            Assertions.fail();
+        }
+        catch (InvalidRequestException exception){
+            Assertions.assertEquals("The phone already exist at database", exception.getMessage());
+        }
+
+    }
+
     @Test
     @DisplayName("Should validate validate request with success")
     void shouldValidateValidateRequestWithSuccess() {
@@ -2,7 +2,6 @@ package br.com.loanapi.validations;
 
 import br.com.loanapi.exceptions.InvalidRequestException;
 import br.com.loanapi.mocks.dto.PhoneDTODataBuilder;
-import br.com.loanapi.mocks.entity.PhoneEntityDataBuilder;
 import br.com.loanapi.models.dto.PhoneDTO;
 import br.com.loanapi.models.enums.ValidationTypeEnum;
 import br.com.loanapi.repositories.PhoneRepository;
@@ -16,7 +15,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
 
 @SpringBootTest
 @DisplayName("Validation: Phone")
@@ -103,14 +103,26 @@ class PhoneValidationTest {
     @Test
     @DisplayName("Should test exists validation with success")
     void shouldTestExistsValidationWithSuccess() {
-        Mockito.when(repository.findByPrefixAndNumber(Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(repository.findDTOsByNumbers(Mockito.any())).thenReturn(new ArrayList<>());
+        Assertions.assertTrue(validation.exists(PhoneDTODataBuilder.builder().build(), repository));
+    }
+
+    @Test
+    @DisplayName("Should test exists validation with the same number in another prefix")
+    void shouldTestExistsValidationWithTheSameNumberInAnotherPrefix() {
+        PhoneDTO savedPhone = PhoneDTODataBuilder.builder().withoutCustomer().build();
+        savedPhone.setId(2L);
+        savedPhone.setPrefix(21);
+        Mockito.when(repository.findDTOsByNumbers(Mockito.any())).thenReturn(List.of(savedPhone));
         Assertions.assertTrue(validation.exists(PhoneDTODataBuilder.builder().build(), repository));
     }
 
     @Test
     @DisplayName("Should test exists validation with exception")
     void shouldTestExistsValidationWithException() {
-        Mockito.when(repository.findByPrefixAndNumber(Mockito.any(), Mockito.any())).thenReturn(Optional.of(PhoneEntityDataBuilder.builder().build()));
+        PhoneDTO savedPhone = PhoneDTODataBuilder.builder().withoutCustomer().build();
+        savedPhone.setId(2L);
+        Mockito.when(repository.findDTOsByNumbers(Mockito.any())).thenReturn(List.of(savedPhone));
         try {
             validation.exists(PhoneDTODataBuilder.builder().build(), repository);
             Assertions.fail();